@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+/**
+ * Latency of requests from an {@link McpAsyncClient} to an {@link McpAsyncServer} in the
+ * same JVM, including the JSON codec on both sides but no network I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.AverageTime, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EndToEndBenchmark {
+
+	private McpAsyncServer server;
+
+	private McpAsyncClient client;
+
+	private McpSchema.CallToolRequest callTool;
+
+	private McpSchema.ReadResourceRequest readResource;
+
+	@Setup
+	public void setUp() {
+		InProcessTransportProvider transportProvider = new InProcessTransportProvider(true);
+		this.server = McpServer.async(transportProvider)
+			.serverInfo("benchmark-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).resources(false, false).build())
+			.tools(McpServerFeatures.AsyncToolSpecification.builder()
+				.tool(McpSchema.Tool.builder()
+					.name("echo")
+					.description("Echoes its text argument")
+					.inputSchema(new McpSchema.JsonSchema("object", Map.of("text", Map.of("type", "string")),
+							List.of("text"), null, null, null))
+					.build())
+				.callHandler((exchange,
+						request) -> Mono.just(McpSchema.CallToolResult.builder()
+							.addTextContent(String.valueOf(request.arguments().get("text")))
+							.build()))
+				.build())
+			.resources(new McpServerFeatures.AsyncResourceSpecification(
+					McpSchema.Resource.builder()
+						.uri("file:///readme.txt")
+						.name("readme")
+						.mimeType("text/plain")
+						.build(),
+					(exchange, request) -> Mono.just(new McpSchema.ReadResourceResult(List
+						.of(new McpSchema.TextResourceContents(request.uri(), "text/plain", "Read me first."))))))
+			.build();
+
+		this.client = McpClient.async(transportProvider.clientTransport())
+			.clientInfo(new McpSchema.Implementation("benchmark-client", "1.0.0"))
+			.build();
+		this.client.initialize().block();
+
+		this.callTool = new McpSchema.CallToolRequest("echo", Map.of("text", "hello"));
+		this.readResource = new McpSchema.ReadResourceRequest("file:///readme.txt");
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.client.closeGracefully().block();
+		this.server.closeGracefully().block();
+	}
+
+	@Benchmark
+	public Object ping() {
+		return this.client.ping().block();
+	}
+
+	@Benchmark
+	public McpSchema.CallToolResult callTool() {
+		return this.client.callTool(this.callTool).block();
+	}
+
+	@Benchmark
+	public McpSchema.ReadResourceResult readResource() {
+		return this.client.readResource(this.readResource).block();
+	}
+
+}
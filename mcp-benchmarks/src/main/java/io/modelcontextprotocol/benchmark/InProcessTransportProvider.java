@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransport;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Connects clients to a server in the same JVM, delivering messages synchronously on the
+ * calling thread without I/O. Messages can optionally be serialized to JSON and parsed
+ * back, as a network transport would, so that benchmarks either include or exclude the
+ * codec.
+ */
+final class InProcessTransportProvider implements McpServerTransportProvider {
+
+	private final McpJsonMapper jsonMapper = McpJsonMapper.getDefault();
+
+	private final boolean serializeMessages;
+
+	private final List<McpServerSession> sessions = new CopyOnWriteArrayList<>();
+
+	private volatile McpServerSession.Factory sessionFactory;
+
+	/**
+	 * Creates a provider.
+	 * @param serializeMessages whether messages are serialized to JSON and parsed back
+	 */
+	InProcessTransportProvider(boolean serializeMessages) {
+		this.serializeMessages = serializeMessages;
+	}
+
+	@Override
+	public void setSessionFactory(McpServerSession.Factory sessionFactory) {
+		this.sessionFactory = sessionFactory;
+	}
+
+	@Override
+	public Mono<Void> notifyClients(String method, Object params) {
+		return Flux.fromIterable(this.sessions).flatMap(session -> session.sendNotification(method, params)).then();
+	}
+
+	@Override
+	public boolean supportsRawJson() {
+		return this.jsonMapper.supportsRawJson();
+	}
+
+	@Override
+	public Mono<Void> closeGracefully() {
+		return Flux.fromIterable(this.sessions).flatMap(McpServerSession::closeGracefully).then();
+	}
+
+	/**
+	 * Creates a transport for a new client. The server session is created when the client
+	 * connects.
+	 * @return the client transport
+	 */
+	McpClientTransport clientTransport() {
+		return new ClientTransport();
+	}
+
+	private McpSchema.JSONRPCMessage transfer(McpSchema.JSONRPCMessage message) throws IOException {
+		if (!this.serializeMessages) {
+			return message;
+		}
+		return McpSchema.deserializeJsonRpcMessage(this.jsonMapper, this.jsonMapper.writeValueAsBytes(message));
+	}
+
+	private final class ClientTransport implements McpClientTransport {
+
+		private volatile McpServerSession session;
+
+		@Override
+		public Mono<Void> connect(Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler) {
+			return Mono.fromRunnable(() -> {
+				this.session = InProcessTransportProvider.this.sessionFactory.create(new ServerTransport(handler));
+				InProcessTransportProvider.this.sessions.add(this.session);
+			});
+		}
+
+		@Override
+		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+			return Mono.fromCallable(() -> transfer(message)).flatMap(this.session::handle);
+		}
+
+		@Override
+		public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
+			return InProcessTransportProvider.this.jsonMapper.convertValue(data, typeRef);
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.defer(() -> {
+				McpServerSession session = this.session;
+				if (session == null) {
+					return Mono.empty();
+				}
+				InProcessTransportProvider.this.sessions.remove(session);
+				return session.closeGracefully();
+			});
+		}
+
+	}
+
+	private final class ServerTransport implements McpServerTransport {
+
+		private final Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler;
+
+		private ServerTransport(Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler) {
+			this.handler = handler;
+		}
+
+		@Override
+		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+			return this.handler.apply(Mono.fromCallable(() -> transfer(message))).then();
+		}
+
+		@Override
+		public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
+			return InProcessTransportProvider.this.jsonMapper.convertValue(data, typeRef);
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.empty();
+		}
+
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.modelcontextprotocol.json.BinaryData;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of JSON-RPC messages and serialization of large tool and resource results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonRpcCodecBenchmark {
+
+	/** Approximate size of the payload of the messages in bytes */
+	@Param({ "1024", "1048576" })
+	int payloadSize;
+
+	private McpJsonMapper jsonMapper;
+
+	private byte[] callToolRequest;
+
+	private byte[] callToolResponse;
+
+	private McpSchema.JSONRPCResponse callToolResult;
+
+	private McpSchema.JSONRPCResponse readResourceResult;
+
+	private McpSchema.JSONRPCResponse readResourceBinaryResult;
+
+	@Setup
+	public void setUp() throws IOException {
+		this.jsonMapper = McpJsonMapper.getDefault();
+
+		this.callToolRequest = this.jsonMapper.writeValueAsBytes(
+				new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL, "request-1",
+						new McpSchema.CallToolRequest("echo", Map.of("text", text(this.payloadSize), "count", 3))));
+
+		// Results made of 64 chunks of text, as returned by tools listing many items
+		List<McpSchema.Content> content = new ArrayList<>();
+		for (int i = 0; i < 64; i++) {
+			content.add(new McpSchema.TextContent(text(this.payloadSize / 64)));
+		}
+		this.callToolResult = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, "request-1",
+				McpSchema.CallToolResult.builder().content(content).isError(false).build(), null);
+		this.callToolResponse = this.jsonMapper.writeValueAsBytes(this.callToolResult);
+
+		byte[] blob = new byte[this.payloadSize * 3 / 4];
+		for (int i = 0; i < blob.length; i++) {
+			blob[i] = (byte) i;
+		}
+		this.readResourceResult = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, "request-2",
+				new McpSchema.ReadResourceResult(List.of(new McpSchema.BlobResourceContents("file:///data.bin",
+						"application/octet-stream", Base64.getEncoder().encodeToString(blob)))),
+				null);
+		this.readResourceBinaryResult = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, "request-3",
+				new McpSchema.ReadResourceResult(List.of(new McpSchema.BlobResourceContents("file:///data.bin",
+						"application/octet-stream", BinaryData.of(blob)))),
+				null);
+	}
+
+	@Benchmark
+	public McpSchema.JSONRPCMessage deserializeCallToolRequest() throws IOException {
+		return McpSchema.deserializeJsonRpcMessage(this.jsonMapper, this.callToolRequest);
+	}
+
+	@Benchmark
+	public McpSchema.JSONRPCMessage deserializeCallToolResponse() throws IOException {
+		return McpSchema.deserializeJsonRpcMessage(this.jsonMapper, this.callToolResponse);
+	}
+
+	@Benchmark
+	public byte[] serializeCallToolResult() throws IOException {
+		return this.jsonMapper.writeValueAsBytes(this.callToolResult);
+	}
+
+	@Benchmark
+	public byte[] serializeReadResourceResult() throws IOException {
+		return this.jsonMapper.writeValueAsBytes(this.readResourceResult);
+	}
+
+	@Benchmark
+	public byte[] serializeReadResourceBinaryResult() throws IOException {
+		return this.jsonMapper.writeValueAsBytes(this.readResourceBinaryResult);
+	}
+
+	private static String text(int length) {
+		StringBuilder text = new StringBuilder(length);
+		while (text.length() < length) {
+			text.append("The quick brown fox jumps over the lazy dog. ");
+		}
+		text.setLength(length);
+		return text.toString();
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.modelcontextprotocol.json.schema.JsonSchemaValidator;
+import io.modelcontextprotocol.json.schema.jackson.DefaultJsonSchemaValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validation of structured tool output by {@link DefaultJsonSchemaValidator}, with the
+ * schema already compiled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSchemaValidatorBenchmark {
+
+	/** Number of items of the validated content */
+	@Param({ "1", "100" })
+	int items;
+
+	private JsonSchemaValidator validator;
+
+	private Map<String, Object> schema;
+
+	private Map<String, Object> validContent;
+
+	private Map<String, Object> invalidContent;
+
+	@Setup
+	public void setUp() {
+		this.validator = new DefaultJsonSchemaValidator();
+		this.schema = Map.of("type", "object", "properties",
+				Map.of("items",
+						Map.of("type", "array", "items",
+								Map.of("type", "object", "properties",
+										Map.of("id", Map.of("type", "integer"), "name", Map.of("type", "string"),
+												"tags", Map.of("type", "array", "items", Map.of("type", "string"))),
+										"required", List.of("id", "name")))),
+				"required", List.of("items"));
+
+		List<Map<String, Object>> validItems = new ArrayList<>();
+		List<Map<String, Object>> invalidItems = new ArrayList<>();
+		for (int i = 0; i < this.items; i++) {
+			validItems.add(Map.of("id", i, "name", "item-" + i, "tags", List.of("a", "b")));
+			invalidItems.add(Map.of("id", "item-" + i, "tags", List.of("a", "b")));
+		}
+		this.validContent = Map.of("items", validItems);
+		this.invalidContent = Map.of("items", invalidItems);
+
+		this.validator.validate(this.schema, this.validContent);
+	}
+
+	@Benchmark
+	public JsonSchemaValidator.ValidationResponse validate() {
+		return this.validator.validate(this.schema, this.validContent);
+	}
+
+	@Benchmark
+	public JsonSchemaValidator.ValidationResponse validateInvalid() {
+		return this.validator.validate(this.schema, this.invalidContent);
+	}
+
+}
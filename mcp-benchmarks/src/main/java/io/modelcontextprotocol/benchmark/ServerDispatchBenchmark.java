@@ -0,0 +1,152 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+/**
+ * Dispatch of tool calls, resource reads and list operations by {@link McpAsyncServer} to
+ * servers with large catalogs, excluding the JSON codec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerDispatchBenchmark {
+
+	/** Number of tools, resources and resource templates of the server */
+	@Param({ "10", "1000", "10000" })
+	int catalogSize;
+
+	private McpAsyncServer server;
+
+	private McpClientTransport transport;
+
+	private McpSchema.JSONRPCRequest callTool;
+
+	private McpSchema.JSONRPCRequest readResource;
+
+	private McpSchema.JSONRPCRequest readResourceTemplate;
+
+	private McpSchema.JSONRPCRequest listTools;
+
+	@Setup
+	public void setUp() {
+		McpSchema.CallToolResult toolResult = McpSchema.CallToolResult.builder().addTextContent("done").build();
+		McpSchema.ReadResourceResult resourceResult = new McpSchema.ReadResourceResult(
+				List.of(new McpSchema.TextResourceContents("file:///resource", "text/plain", "content")));
+		McpSchema.JsonSchema inputSchema = new McpSchema.JsonSchema("object", Map.of("text", Map.of("type", "string")),
+				List.of("text"), null, null, null);
+
+		List<McpServerFeatures.AsyncToolSpecification> tools = new ArrayList<>();
+		List<McpServerFeatures.AsyncResourceSpecification> resources = new ArrayList<>();
+		List<McpServerFeatures.AsyncResourceTemplateSpecification> resourceTemplates = new ArrayList<>();
+		for (int i = 0; i < this.catalogSize; i++) {
+			tools.add(McpServerFeatures.AsyncToolSpecification.builder()
+				.tool(McpSchema.Tool.builder()
+					.name("tool-" + i)
+					.description("Tool number " + i)
+					.inputSchema(inputSchema)
+					.build())
+				.callHandler((exchange, request) -> Mono.just(toolResult))
+				.build());
+			resources.add(new McpServerFeatures.AsyncResourceSpecification(McpSchema.Resource.builder()
+				.uri("file:///resources/" + i)
+				.name("resource-" + i)
+				.mimeType("text/plain")
+				.build(), (exchange, request) -> Mono.just(resourceResult)));
+			resourceTemplates.add(new McpServerFeatures.AsyncResourceTemplateSpecification(
+					new McpSchema.ResourceTemplate("file:///templates/" + i + "/{id}", "template-" + i, null,
+							"text/plain", null),
+					(exchange, request) -> Mono.just(resourceResult)));
+		}
+
+		InProcessTransportProvider transportProvider = new InProcessTransportProvider(false);
+		this.server = McpServer.async(transportProvider)
+			.serverInfo("benchmark-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).resources(false, false).build())
+			.tools(tools)
+			.resources(resources)
+			.resourceTemplates(resourceTemplates)
+			.build();
+
+		this.transport = transportProvider.clientTransport();
+		this.transport.connect(response -> response).block();
+		this.transport
+			.sendMessage(
+					new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_INITIALIZE, "initialize",
+							new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+									McpSchema.ClientCapabilities.builder().build(),
+									new McpSchema.Implementation("benchmark-client", "1.0.0"))))
+			.block();
+		this.transport
+			.sendMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+					McpSchema.METHOD_NOTIFICATION_INITIALIZED, null))
+			.block();
+
+		int middle = this.catalogSize / 2;
+		this.callTool = request(McpSchema.METHOD_TOOLS_CALL,
+				new McpSchema.CallToolRequest("tool-" + middle, Map.of("text", "hello")));
+		this.readResource = request(McpSchema.METHOD_RESOURCES_READ,
+				new McpSchema.ReadResourceRequest("file:///resources/" + middle));
+		this.readResourceTemplate = request(McpSchema.METHOD_RESOURCES_READ,
+				new McpSchema.ReadResourceRequest("file:///templates/" + middle + "/42"));
+		this.listTools = request(McpSchema.METHOD_TOOLS_LIST, new McpSchema.PaginatedRequest(null));
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.server.closeGracefully().block();
+	}
+
+	@Benchmark
+	public void callTool() {
+		this.transport.sendMessage(this.callTool).block();
+	}
+
+	@Benchmark
+	public void readResource() {
+		this.transport.sendMessage(this.readResource).block();
+	}
+
+	@Benchmark
+	public void readResourceTemplate() {
+		this.transport.sendMessage(this.readResourceTemplate).block();
+	}
+
+	@Benchmark
+	public void listTools() {
+		this.transport.sendMessage(this.listTools).block();
+	}
+
+	private static McpSchema.JSONRPCRequest request(String method, Object params) {
+		return new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, method, "request", params);
+	}
+
+}
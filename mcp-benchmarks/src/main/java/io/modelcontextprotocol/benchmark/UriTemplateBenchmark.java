@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.modelcontextprotocol.util.DefaultMcpUriTemplateManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Matching of URIs against a compiled {@link DefaultMcpUriTemplateManager}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UriTemplateBenchmark {
+
+	private static final String MATCHING_URI = "api://tenants/acme/users/12345/posts/67890";
+
+	private static final String OTHER_URI = "api://tenants/acme/groups/12345/posts/67890";
+
+	private DefaultMcpUriTemplateManager template;
+
+	@Setup
+	public void setUp() {
+		this.template = new DefaultMcpUriTemplateManager("api://tenants/{tenant}/users/{userId}/posts/{postId}");
+	}
+
+	@Benchmark
+	public boolean matches() {
+		return this.template.matches(MATCHING_URI);
+	}
+
+	@Benchmark
+	public boolean matchesOtherUri() {
+		return this.template.matches(OTHER_URI);
+	}
+
+	@Benchmark
+	public Map<String, String> match() {
+		return this.template.match(MATCHING_URI);
+	}
+
+	@Benchmark
+	public Map<String, String> extractVariableValues() {
+		return this.template.extractVariableValues(MATCHING_URI);
+	}
+
+}
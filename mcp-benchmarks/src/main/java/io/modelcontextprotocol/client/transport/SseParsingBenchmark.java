@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.client.transport;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+/**
+ * Parsing of a Server-Sent Events stream by
+ * {@link ResponseSubscribers.SseLineSubscriber}. It lives in the package of the
+ * subscriber, which is not public.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SseParsingBenchmark {
+
+	/** Number of events of the stream */
+	@Param({ "1", "100" })
+	int events;
+
+	/** Size of the data of each event in bytes */
+	@Param({ "128", "65536" })
+	int dataSize;
+
+	private List<String> lines;
+
+	private HttpResponse.ResponseInfo responseInfo;
+
+	@Setup
+	public void setUp() {
+		StringBuilder data = new StringBuilder(
+				"{\"jsonrpc\":\"2.0\",\"method\":\"notifications/message\",\"params\":{");
+		data.append("\"level\":\"info\",\"data\":\"");
+		while (data.length() < this.dataSize - 3) {
+			data.append('x');
+		}
+		data.append("\"}}");
+
+		this.lines = new ArrayList<>();
+		for (int i = 0; i < this.events; i++) {
+			this.lines.add("id: " + i);
+			this.lines.add("event: message");
+			this.lines.add("data: " + data);
+			this.lines.add("");
+		}
+
+		HttpHeaders headers = HttpHeaders.of(Map.of("Content-Type", List.of("text/event-stream")), (k, v) -> true);
+		this.responseInfo = new HttpResponse.ResponseInfo() {
+
+			@Override
+			public int statusCode() {
+				return 200;
+			}
+
+			@Override
+			public HttpHeaders headers() {
+				return headers;
+			}
+
+			@Override
+			public HttpClient.Version version() {
+				return HttpClient.Version.HTTP_1_1;
+			}
+
+		};
+	}
+
+	@Benchmark
+	public Long parse() {
+		return Flux.<ResponseSubscribers.ResponseEvent>create(sink -> Flux.fromIterable(this.lines)
+			.subscribe(new ResponseSubscribers.SseLineSubscriber(this.responseInfo, sink))).count().block();
+	}
+
+}
@@ -179,9 +179,11 @@ public class McpAsyncClient {
 	 * @param jsonSchemaValidator the JSON schema validator to use for validating tool
 	 * @param features the MCP Client supported features. responses against output
 	 * schemas.
+	 * @param maxPendingRequests the maximum number of requests awaiting a response from
+	 * the server, or 0 for no limit.
 	 */
 	McpAsyncClient(McpClientTransport transport, Duration requestTimeout, Duration initializationTimeout,
-			JsonSchemaValidator jsonSchemaValidator, McpClientFeatures.Async features) {
+			JsonSchemaValidator jsonSchemaValidator, McpClientFeatures.Async features, int maxPendingRequests) {
 
 		Assert.notNull(transport, "Transport must not be null");
 		Assert.notNull(requestTimeout, "Request timeout must not be null");
@@ -317,7 +319,7 @@ public class McpAsyncClient {
 
 		this.initializer = new LifecycleInitializer(clientCapabilities, clientInfo, transport.protocolVersions(),
 				initializationTimeout, ctx -> new McpClientSession(requestTimeout, transport, requestHandlers,
-						notificationHandlers, con -> con.contextWrite(ctx)),
+						notificationHandlers, con -> con.contextWrite(ctx), maxPendingRequests),
 				postInitializationHook);
 
 		this.transport.setExceptionHandler(this.initializer::handleException);
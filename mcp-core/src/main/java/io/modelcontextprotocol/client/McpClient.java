@@ -17,7 +17,9 @@ import io.modelcontextprotocol.spec.McpSchema.Implementation;
 import io.modelcontextprotocol.spec.McpSchema.Root;
 import io.modelcontextprotocol.spec.McpTransport;
 import io.modelcontextprotocol.util.Assert;
+import io.modelcontextprotocol.util.VirtualThreads;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.Duration;
 import java.util.ArrayList;
@@ -166,6 +168,8 @@ public interface McpClient {
 
 		private Duration initializationTimeout = Duration.ofSeconds(20);
 
+		private int maxPendingRequests;
+
 		private ClientCapabilities capabilities;
 
 		private Implementation clientInfo = new Implementation("Java SDK MCP Client", "0.15.0");
@@ -194,6 +198,8 @@ public interface McpClient {
 
 		private boolean enableCallToolSchemaCaching = false; // Default to false
 
+		private boolean virtualThreads = false;
+
 		private SyncSpec(McpClientTransport transport) {
 			Assert.notNull(transport, "Transport must not be null");
 			this.transport = transport;
@@ -226,6 +232,21 @@ public interface McpClient {
 			return this;
 		}
 
+		/**
+		 * Sets the maximum number of requests awaiting a response from the server.
+		 * Further requests wait until a response arrives; the request timeout includes
+		 * the time spent waiting. By default the number of pending requests is unlimited.
+		 * @param maxPendingRequests The maximum number of pending requests. Must be
+		 * positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if maxPendingRequests is not positive
+		 */
+		public SyncSpec maxPendingRequests(int maxPendingRequests) {
+			Assert.isTrue(maxPendingRequests > 0, "Max pending requests must be greater than 0");
+			this.maxPendingRequests = maxPendingRequests;
+			return this;
+		}
+
 		/**
 		 * Sets the client capabilities that will be advertised to the server during
 		 * connection initialization. Capabilities define what features the client
@@ -478,6 +499,20 @@ public interface McpClient {
 			return this;
 		}
 
+		/**
+		 * Runs each call of a blocking handler or consumer, such as sampling or
+		 * elicitation requests, on its own virtual thread instead of the bounded elastic
+		 * scheduler. Virtual threads require Java 21 or later; on older runtimes the
+		 * handlers keep running on the bounded elastic scheduler.
+		 * @param virtualThreads true to offload work to virtual threads
+		 * @return This builder instance for method chaining
+		 * @see VirtualThreads
+		 */
+		public SyncSpec virtualThreads(boolean virtualThreads) {
+			this.virtualThreads = virtualThreads;
+			return this;
+		}
+
 		/**
 		 * Create an instance of {@link McpSyncClient} with the provided configurations or
 		 * sensible defaults.
@@ -489,11 +524,12 @@ public interface McpClient {
 					this.promptsChangeConsumers, this.loggingConsumers, this.progressConsumers, this.samplingHandler,
 					this.elicitationHandler, this.enableCallToolSchemaCaching);
 
-			McpClientFeatures.Async asyncFeatures = McpClientFeatures.Async.fromSync(syncFeatures);
+			McpClientFeatures.Async asyncFeatures = McpClientFeatures.Async.fromSync(syncFeatures,
+					this.virtualThreads ? VirtualThreads.scheduler() : Schedulers.boundedElastic());
 
 			return new McpSyncClient(new McpAsyncClient(transport, this.requestTimeout, this.initializationTimeout,
-					jsonSchemaValidator != null ? jsonSchemaValidator : JsonSchemaValidator.getDefault(),
-					asyncFeatures), this.contextProvider);
+					jsonSchemaValidator != null ? jsonSchemaValidator : JsonSchemaValidator.getDefault(), asyncFeatures,
+					this.maxPendingRequests), this.contextProvider);
 		}
 
 	}
@@ -522,6 +558,8 @@ public interface McpClient {
 
 		private Duration initializationTimeout = Duration.ofSeconds(20);
 
+		private int maxPendingRequests;
+
 		private ClientCapabilities capabilities;
 
 		private Implementation clientInfo = new Implementation("Java SDK MCP Client", "0.15.0");
@@ -580,6 +618,21 @@ public interface McpClient {
 			return this;
 		}
 
+		/**
+		 * Sets the maximum number of requests awaiting a response from the server.
+		 * Further requests wait until a response arrives; the request timeout includes
+		 * the time spent waiting. By default the number of pending requests is unlimited.
+		 * @param maxPendingRequests The maximum number of pending requests. Must be
+		 * positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if maxPendingRequests is not positive
+		 */
+		public AsyncSpec maxPendingRequests(int maxPendingRequests) {
+			Assert.isTrue(maxPendingRequests > 0, "Max pending requests must be greater than 0");
+			this.maxPendingRequests = maxPendingRequests;
+			return this;
+		}
+
 		/**
 		 * Sets the client capabilities that will be advertised to the server during
 		 * connection initialization. Capabilities define what features the client
@@ -832,7 +885,8 @@ public interface McpClient {
 					new McpClientFeatures.Async(this.clientInfo, this.capabilities, this.roots,
 							this.toolsChangeConsumers, this.resourcesChangeConsumers, this.resourcesUpdateConsumers,
 							this.promptsChangeConsumers, this.loggingConsumers, this.progressConsumers,
-							this.samplingHandler, this.elicitationHandler, this.enableCallToolSchemaCaching));
+							this.samplingHandler, this.elicitationHandler, this.enableCallToolSchemaCaching),
+					this.maxPendingRequests);
 		}
 
 	}
@@ -16,6 +16,7 @@ import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.Utils;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 /**
@@ -146,49 +147,59 @@ class McpClientFeatures {
 		 * user.
 		 */
 		public static Async fromSync(Sync syncSpec) {
+			return fromSync(syncSpec, Schedulers.boundedElastic());
+		}
+
+		/**
+		 * Convert a synchronous specification into an asynchronous one, offloading the
+		 * blocking handlers to the given scheduler.
+		 * @param syncSpec a potentially blocking, synchronous specification.
+		 * @param scheduler the scheduler the handlers are offloaded to
+		 * @return a specification which is protected from blocking calls specified by the
+		 * user.
+		 */
+		public static Async fromSync(Sync syncSpec, Scheduler scheduler) {
+			Assert.notNull(scheduler, "Scheduler must not be null");
 			List<Function<List<McpSchema.Tool>, Mono<Void>>> toolsChangeConsumers = new ArrayList<>();
 			for (Consumer<List<McpSchema.Tool>> consumer : syncSpec.toolsChangeConsumers()) {
-				toolsChangeConsumers.add(t -> Mono.<Void>fromRunnable(() -> consumer.accept(t))
-					.subscribeOn(Schedulers.boundedElastic()));
+				toolsChangeConsumers.add(t -> Mono.<Void>fromRunnable(() -> consumer.accept(t)).subscribeOn(scheduler));
 			}
 
 			List<Function<List<McpSchema.Resource>, Mono<Void>>> resourcesChangeConsumers = new ArrayList<>();
 			for (Consumer<List<McpSchema.Resource>> consumer : syncSpec.resourcesChangeConsumers()) {
-				resourcesChangeConsumers.add(r -> Mono.<Void>fromRunnable(() -> consumer.accept(r))
-					.subscribeOn(Schedulers.boundedElastic()));
+				resourcesChangeConsumers
+					.add(r -> Mono.<Void>fromRunnable(() -> consumer.accept(r)).subscribeOn(scheduler));
 			}
 
 			List<Function<List<McpSchema.ResourceContents>, Mono<Void>>> resourcesUpdateConsumers = new ArrayList<>();
 			for (Consumer<List<McpSchema.ResourceContents>> consumer : syncSpec.resourcesUpdateConsumers()) {
-				resourcesUpdateConsumers.add(r -> Mono.<Void>fromRunnable(() -> consumer.accept(r))
-					.subscribeOn(Schedulers.boundedElastic()));
+				resourcesUpdateConsumers
+					.add(r -> Mono.<Void>fromRunnable(() -> consumer.accept(r)).subscribeOn(scheduler));
 			}
 
 			List<Function<List<McpSchema.Prompt>, Mono<Void>>> promptsChangeConsumers = new ArrayList<>();
 			for (Consumer<List<McpSchema.Prompt>> consumer : syncSpec.promptsChangeConsumers()) {
-				promptsChangeConsumers.add(p -> Mono.<Void>fromRunnable(() -> consumer.accept(p))
-					.subscribeOn(Schedulers.boundedElastic()));
+				promptsChangeConsumers
+					.add(p -> Mono.<Void>fromRunnable(() -> consumer.accept(p)).subscribeOn(scheduler));
 			}
 
 			List<Function<McpSchema.LoggingMessageNotification, Mono<Void>>> loggingConsumers = new ArrayList<>();
 			for (Consumer<McpSchema.LoggingMessageNotification> consumer : syncSpec.loggingConsumers()) {
-				loggingConsumers.add(l -> Mono.<Void>fromRunnable(() -> consumer.accept(l))
-					.subscribeOn(Schedulers.boundedElastic()));
+				loggingConsumers.add(l -> Mono.<Void>fromRunnable(() -> consumer.accept(l)).subscribeOn(scheduler));
 			}
 
 			List<Function<McpSchema.ProgressNotification, Mono<Void>>> progressConsumers = new ArrayList<>();
 			for (Consumer<McpSchema.ProgressNotification> consumer : syncSpec.progressConsumers()) {
-				progressConsumers.add(l -> Mono.<Void>fromRunnable(() -> consumer.accept(l))
-					.subscribeOn(Schedulers.boundedElastic()));
+				progressConsumers.add(l -> Mono.<Void>fromRunnable(() -> consumer.accept(l)).subscribeOn(scheduler));
 			}
 
 			Function<McpSchema.CreateMessageRequest, Mono<McpSchema.CreateMessageResult>> samplingHandler = r -> Mono
 				.fromCallable(() -> syncSpec.samplingHandler().apply(r))
-				.subscribeOn(Schedulers.boundedElastic());
+				.subscribeOn(scheduler);
 
 			Function<McpSchema.ElicitRequest, Mono<McpSchema.ElicitResult>> elicitationHandler = r -> Mono
 				.fromCallable(() -> syncSpec.elicitationHandler().apply(r))
-				.subscribeOn(Schedulers.boundedElastic());
+				.subscribeOn(scheduler);
 
 			return new Async(syncSpec.clientInfo(), syncSpec.clientCapabilities(), syncSpec.roots(),
 					toolsChangeConsumers, resourcesChangeConsumers, resourcesUpdateConsumers, promptsChangeConsumers,
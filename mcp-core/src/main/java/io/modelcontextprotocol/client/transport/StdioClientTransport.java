@@ -7,7 +7,6 @@ package io.modelcontextprotocol.client.transport;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -21,6 +20,7 @@ import io.modelcontextprotocol.spec.McpClientTransport;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.JSONRPCMessage;
 import io.modelcontextprotocol.util.Assert;
+import io.modelcontextprotocol.util.NewlineEscapingOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
@@ -291,17 +291,15 @@ public class StdioClientTransport implements McpClientTransport {
 			.handle((message, s) -> {
 				if (message != null && !isClosing) {
 					try {
-						String jsonMessage = jsonMapper.writeValueAsString(message);
-						// Escape any embedded newlines in the JSON message as per spec:
-						// https://spec.modelcontextprotocol.io/specification/basic/transports/#stdio
-						// - Messages are delimited by newlines, and MUST NOT contain
-						// embedded newlines.
-						jsonMessage = jsonMessage.replace("\r\n", "\\n").replace("\n", "\\n").replace("\r", "\\n");
-
 						var os = this.process.getOutputStream();
 						synchronized (os) {
-							os.write(jsonMessage.getBytes(StandardCharsets.UTF_8));
-							os.write("\n".getBytes(StandardCharsets.UTF_8));
+							// Escape any embedded newlines in the JSON message as per
+							// spec:
+							// https://spec.modelcontextprotocol.io/specification/basic/transports/#stdio
+							// - Messages are delimited by newlines, and MUST NOT contain
+							// embedded newlines.
+							jsonMapper.writeValue(new NewlineEscapingOutputStream(os), message);
+							os.write('\n');
 							os.flush();
 						}
 						s.next(message);
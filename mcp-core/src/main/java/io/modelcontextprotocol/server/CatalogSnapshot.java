@@ -0,0 +1,186 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.RawJson;
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * Serves the pages of a list request, e.g. {@code tools/list}, from an immutable snapshot
+ * of a catalog. A page is built and encoded once per version of the catalog, and the
+ * encoded JSON is returned as {@link RawJson}, so that it is written into the response as
+ * is. A change of the catalog discards the snapshot, and the next list request builds a
+ * new one.
+ * <p>
+ * Every page carries the hash of the whole catalog in its {@code _meta}, under
+ * {@value #VERSION_META_KEY}. The hash only depends on the listed items, not on the order
+ * they were registered in, so clients can compare it across pages, reconnections and
+ * server instances to tell whether the catalog changed.
+ * <p>
+ * Only the pages reached from the first page are cached, so the size of a snapshot is
+ * bounded by the size of the catalog whatever cursors clients send.
+ *
+ * @param <T> the feature specification type
+ * @param <I> the type of the listed items
+ */
+final class CatalogSnapshot<T, I> {
+
+	/**
+	 * The {@code _meta} key of the catalog hash.
+	 */
+	static final String VERSION_META_KEY = "java-sdk/catalogVersion";
+
+	private static final String FIRST_PAGE = "";
+
+	private final McpJsonMapper jsonMapper;
+
+	private final boolean rawJson;
+
+	private final LongSupplier version;
+
+	private final BiFunction<String, Integer, FeatureRegistry.Page<T>> pager;
+
+	private final Function<T, I> itemExtractor;
+
+	private final ResultFactory<I> resultFactory;
+
+	private volatile Snapshot snapshot;
+
+	/**
+	 * Creates a snapshot of a catalog.
+	 * @param jsonMapper encodes the pages
+	 * @param rawJson whether the encoded pages are returned as {@link RawJson}, i.e.
+	 * whether the transport writes such values as is
+	 * @param version returns the version of the catalog
+	 * @param pager returns the page of the catalog for a cursor and page size
+	 * @param itemExtractor extracts the listed item from a feature specification
+	 * @param resultFactory creates the list result from the items of a page, its next
+	 * cursor and its meta
+	 */
+	CatalogSnapshot(McpJsonMapper jsonMapper, boolean rawJson, LongSupplier version,
+			BiFunction<String, Integer, FeatureRegistry.Page<T>> pager, Function<T, I> itemExtractor,
+			ResultFactory<I> resultFactory) {
+		Assert.notNull(jsonMapper, "JSON mapper must not be null");
+		Assert.notNull(version, "Version must not be null");
+		Assert.notNull(pager, "Pager must not be null");
+		Assert.notNull(itemExtractor, "Item extractor must not be null");
+		Assert.notNull(resultFactory, "Result factory must not be null");
+		this.jsonMapper = jsonMapper;
+		this.rawJson = rawJson;
+		this.version = version;
+		this.pager = pager;
+		this.itemExtractor = itemExtractor;
+		this.resultFactory = resultFactory;
+	}
+
+	/**
+	 * Returns the list result following the given cursor.
+	 * @param cursor the cursor of the page, or null for the first page
+	 * @param pageSize the maximum number of items in the page, or zero for all
+	 * @return the encoded result, or the result itself if raw JSON is not supported
+	 * @throws IllegalArgumentException if the cursor is not valid
+	 */
+	Object page(String cursor, int pageSize) {
+		long version = this.version.getAsLong();
+		Snapshot snapshot = this.snapshot;
+		if (snapshot == null || snapshot.version() != version) {
+			snapshot = new Snapshot(version, hash(this.pager.apply(null, 0)));
+			if (this.version.getAsLong() == version) {
+				this.snapshot = snapshot;
+			}
+		}
+
+		String key = (cursor != null) ? cursor : FIRST_PAGE;
+		Object result = snapshot.pages().get(key);
+		if (result != null) {
+			return result;
+		}
+
+		FeatureRegistry.Page<T> page = this.pager.apply(cursor, pageSize);
+		result = encode(
+				this.resultFactory.create(items(page), page.nextCursor(), Map.of(VERSION_META_KEY, snapshot.hash())));
+		if (this.version.getAsLong() == version && (cursor == null || snapshot.cursors().contains(cursor))) {
+			if (page.nextCursor() != null) {
+				snapshot.cursors().add(page.nextCursor());
+			}
+			snapshot.pages().putIfAbsent(key, result);
+		}
+		return result;
+	}
+
+	private List<I> items(FeatureRegistry.Page<T> page) {
+		return page.items().stream().map(this.itemExtractor).toList();
+	}
+
+	private String hash(FeatureRegistry.Page<T> catalog) {
+		try {
+			// Items are hashed in the order of their encoded JSON, so that the hash does
+			// not depend on the order they were registered in
+			List<byte[]> encoded = new ArrayList<>();
+			for (I item : items(catalog)) {
+				encoded.add(this.jsonMapper.writeValueAsBytes(item));
+			}
+			encoded.sort(Arrays::compare);
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			for (byte[] json : encoded) {
+				digest.update(json);
+				digest.update((byte) '\n');
+			}
+			return HexFormat.of().formatHex(digest.digest());
+		}
+		catch (IOException | NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("Failed to hash the catalog", ex);
+		}
+	}
+
+	private Object encode(Object result) {
+		if (!this.rawJson) {
+			return result;
+		}
+		try {
+			return RawJson.of(this.jsonMapper.writeValueAsBytes(result));
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to encode the catalog", ex);
+		}
+	}
+
+	/**
+	 * Creates a list result, e.g. the canonical constructor of
+	 * {@link io.modelcontextprotocol.spec.McpSchema.ListToolsResult}.
+	 *
+	 * @param <I> the type of the listed items
+	 */
+	@FunctionalInterface
+	interface ResultFactory<I> {
+
+		Object create(List<I> items, String nextCursor, Map<String, Object> meta);
+
+	}
+
+	private record Snapshot(long version, String hash, Map<String, Object> pages, Set<String> cursors) {
+
+		private Snapshot(long version, String hash) {
+			this(version, hash, new ConcurrentHashMap<>(), ConcurrentHashMap.newKeySet());
+		}
+
+	}
+
+}
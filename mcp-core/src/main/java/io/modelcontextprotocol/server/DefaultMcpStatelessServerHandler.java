@@ -5,6 +5,8 @@
 package io.modelcontextprotocol.server;
 
 import io.modelcontextprotocol.common.McpTransportContext;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.spec.InFlightRequests;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
 import org.slf4j.Logger;
@@ -12,6 +14,7 @@ import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
 
 import java.util.Map;
+import java.util.function.Function;
 
 class DefaultMcpStatelessServerHandler implements McpStatelessServerHandler {
 
@@ -21,10 +24,32 @@ class DefaultMcpStatelessServerHandler implements McpStatelessServerHandler {
 
 	Map<String, McpStatelessNotificationHandler> notificationHandlers;
 
+	/**
+	 * Requests being handled, keyed by their caller and ID. Request IDs are chosen by the
+	 * clients, so a request can only be cancelled by the caller that sent it.
+	 */
+	final InFlightRequests inFlightRequests = new InFlightRequests();
+
+	/**
+	 * Extracts the caller of a request from its transport context, or null if the caller
+	 * is not known, in which case the request cannot be cancelled
+	 */
+	final Function<McpTransportContext, ?> cancellationScope;
+
+	McpJsonMapper jsonMapper;
+
 	public DefaultMcpStatelessServerHandler(Map<String, McpStatelessRequestHandler<?>> requestHandlers,
 			Map<String, McpStatelessNotificationHandler> notificationHandlers) {
+		this(requestHandlers, notificationHandlers, null, transportContext -> null);
+	}
+
+	public DefaultMcpStatelessServerHandler(Map<String, McpStatelessRequestHandler<?>> requestHandlers,
+			Map<String, McpStatelessNotificationHandler> notificationHandlers, McpJsonMapper jsonMapper,
+			Function<McpTransportContext, ?> cancellationScope) {
 		this.requestHandlers = requestHandlers;
 		this.notificationHandlers = notificationHandlers;
+		this.jsonMapper = jsonMapper;
+		this.cancellationScope = cancellationScope;
 	}
 
 	@Override
@@ -34,8 +59,17 @@ class DefaultMcpStatelessServerHandler implements McpStatelessServerHandler {
 		if (requestHandler == null) {
 			return Mono.error(new McpError("Missing handler for request type: " + request.method()));
 		}
-		return requestHandler.handle(transportContext, request.params())
+		Object caller = this.cancellationScope.apply(transportContext);
+		Mono<?> handling = (caller == null || request.id() == null)
+				? requestHandler.handle(transportContext, request.params())
+				: this.inFlightRequests.track(new CallerRequestId(caller, request.id()),
+						cancellation -> requestHandler.handle(transportContext, request.params()));
+		return handling
 			.map(result -> new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), result, null))
+			// Each request is an HTTP exchange of its own that must be answered, so a
+			// cancelled request gets an error rather than no response
+			.switchIfEmpty(Mono.error(
+					() -> McpError.builder(McpSchema.ErrorCodes.INTERNAL_ERROR).message("Request cancelled").build()))
 			.onErrorResume(t -> {
 				McpSchema.JSONRPCResponse.JSONRPCError error;
 				if (t instanceof McpError mcpError && mcpError.getJsonRpcError() != null) {
@@ -52,6 +86,22 @@ class DefaultMcpStatelessServerHandler implements McpStatelessServerHandler {
 	@Override
 	public Mono<Void> handleNotification(McpTransportContext transportContext,
 			McpSchema.JSONRPCNotification notification) {
+		if (McpSchema.METHOD_NOTIFICATION_CANCELLED.equals(notification.method())) {
+			Object caller = this.cancellationScope.apply(transportContext);
+			if (caller == null) {
+				// Without a known caller, a client could cancel the requests of another
+				logger.debug("Ignoring cancellation from an unknown caller: {}", notification.params());
+				return Mono.empty();
+			}
+			McpJsonMapper mapper = (this.jsonMapper != null) ? this.jsonMapper : McpJsonMapper.getDefault();
+			McpSchema.CancelledNotification cancelled = mapper.convertValue(notification.params(),
+					McpSchema.CancelledNotification.class);
+			if (cancelled != null && cancelled.requestId() != null) {
+				this.inFlightRequests.cancel(new McpSchema.CancelledNotification(
+						new CallerRequestId(caller, cancelled.requestId()), cancelled.reason()));
+			}
+			return Mono.empty();
+		}
 		McpStatelessNotificationHandler notificationHandler = this.notificationHandlers.get(notification.method());
 		if (notificationHandler == null) {
 			logger.warn("Missing handler for notification type: {}", notification.method());
@@ -60,4 +110,7 @@ class DefaultMcpStatelessServerHandler implements McpStatelessServerHandler {
 		return notificationHandler.handle(transportContext, notification.params());
 	}
 
+	private record CallerRequestId(Object caller, Object requestId) {
+	}
+
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * A concurrent registry of server features keyed by name. Lookups by name are constant
+ * time, while iteration follows registration order, so dispatch cost does not grow with
+ * the size of the catalog and list results stay stable.
+ * <p>
+ * All updates of a given name are serialized, so an add, replace or remove is observed
+ * either completely or not at all. A replaced feature keeps its original position.
+ * Updates that must be observed as a whole build a new registry with
+ * {@link #replacedBy(List)}, {@link #with(List)} or {@link #without(Collection)} and
+ * publish it in place of this one. Iteration is weakly consistent and never throws
+ * {@link java.util.ConcurrentModificationException}.
+ *
+ * @param <T> the feature specification type
+ */
+final class FeatureRegistry<T> {
+
+	private final Function<T, String> nameExtractor;
+
+	private final AtomicLong positions = new AtomicLong();
+
+	private final AtomicLong version = new AtomicLong();
+
+	private final ConcurrentHashMap<String, Entry<T>> byName = new ConcurrentHashMap<>();
+
+	private final ConcurrentSkipListMap<Long, T> byPosition = new ConcurrentSkipListMap<>();
+
+	/**
+	 * Creates an empty registry.
+	 * @param nameExtractor extracts the unique name of a feature specification
+	 */
+	FeatureRegistry(Function<T, String> nameExtractor) {
+		Assert.notNull(nameExtractor, "Name extractor must not be null");
+		this.nameExtractor = nameExtractor;
+	}
+
+	/**
+	 * Creates a registry holding the given features in place of the features of this
+	 * registry, which is left unchanged. Features whose name is registered here keep
+	 * their position, the others follow in the given order, so that cursors issued by
+	 * this registry remain valid, and the version is greater than the version of this
+	 * registry. This registry must not be updated concurrently.
+	 * @param features the features of the new registry
+	 * @return the new registry
+	 */
+	FeatureRegistry<T> replacedBy(List<T> features) {
+		FeatureRegistry<T> replacement = new FeatureRegistry<>(this.nameExtractor);
+		replacement.positions.set(this.positions.get());
+		for (T feature : features) {
+			Assert.notNull(feature, "Feature must not be null");
+			String name = this.nameExtractor.apply(feature);
+			Entry<T> existing = this.byName.get(name);
+			Entry<T> previous = replacement.byName.get(name);
+			long position = (previous != null) ? previous.position()
+					: (existing != null) ? existing.position() : replacement.positions.incrementAndGet();
+			replacement.byName.put(name, new Entry<>(position, feature));
+			replacement.byPosition.put(position, feature);
+		}
+		replacement.version.set(this.version.get() + 1);
+		return replacement;
+	}
+
+	/**
+	 * Creates a registry holding the features of this registry and the given features,
+	 * which replace the features registered under the same name. This registry is left
+	 * unchanged and must not be updated concurrently.
+	 * @param features the features to add
+	 * @return the new registry
+	 * @see #replacedBy(List)
+	 */
+	FeatureRegistry<T> with(List<T> features) {
+		List<T> combined = new ArrayList<>(this.byPosition.values());
+		combined.addAll(features);
+		return replacedBy(combined);
+	}
+
+	/**
+	 * Creates a registry holding the features of this registry except the ones registered
+	 * under the given names. This registry is left unchanged and must not be updated
+	 * concurrently.
+	 * @param names the names of the features to leave out
+	 * @return the new registry
+	 * @see #replacedBy(List)
+	 */
+	FeatureRegistry<T> without(Collection<String> names) {
+		Set<String> excluded = new HashSet<>(names);
+		return replacedBy(stream().filter(feature -> !excluded.contains(this.nameExtractor.apply(feature))).toList());
+	}
+
+	/**
+	 * Adds a feature, replacing any feature registered under the same name.
+	 * @param feature the feature specification to add
+	 * @return true if an existing feature was replaced
+	 */
+	boolean put(T feature) {
+		Assert.notNull(feature, "Feature must not be null");
+		AtomicBoolean replaced = new AtomicBoolean();
+		this.byName.compute(this.nameExtractor.apply(feature), (name, existing) -> {
+			long position;
+			if (existing != null) {
+				position = existing.position();
+				replaced.set(true);
+			}
+			else {
+				position = this.positions.incrementAndGet();
+			}
+			this.byPosition.put(position, feature);
+			this.version.incrementAndGet();
+			return new Entry<>(position, feature);
+		});
+		return replaced.get();
+	}
+
+	/**
+	 * Removes the feature registered under the given name.
+	 * @param name the feature name
+	 * @return true if a feature was removed
+	 */
+	boolean remove(String name) {
+		AtomicBoolean removed = new AtomicBoolean();
+		this.byName.computeIfPresent(name, (key, existing) -> {
+			this.byPosition.remove(existing.position());
+			this.version.incrementAndGet();
+			removed.set(true);
+			return null;
+		});
+		return removed.get();
+	}
+
+	/**
+	 * Returns the feature registered under the given name.
+	 * @param name the feature name
+	 * @return the feature, or null if none is registered
+	 */
+	T get(String name) {
+		Entry<T> entry = this.byName.get(name);
+		return entry != null ? entry.feature() : null;
+	}
+
+	/**
+	 * Returns the version of the registry, which changes whenever a feature is added,
+	 * replaced or removed.
+	 * @return the current version
+	 */
+	long version() {
+		return this.version.get();
+	}
+
+	/**
+	 * Returns a live view of the registered features in registration order.
+	 * @return the registered features
+	 */
+	Collection<T> values() {
+		return this.byPosition.values();
+	}
+
+	/**
+	 * Returns the registered features in registration order.
+	 * @return a stream of the registered features
+	 */
+	Stream<T> stream() {
+		return this.byPosition.values().stream();
+	}
+
+	/**
+	 * Returns the features registered after the position encoded in the cursor, in
+	 * registration order. Cursors encode a registration position rather than an offset,
+	 * so they stay valid while features are added or removed concurrently: removed
+	 * features are skipped, features added later appear on a later page, and no feature
+	 * is returned twice.
+	 * @param cursor the opaque cursor returned with the previous page, or null for the
+	 * first page
+	 * @param pageSize the maximum number of features in the page, or zero to return all
+	 * remaining features
+	 * @return the page, with a next cursor if more features follow
+	 * @throws IllegalArgumentException if the cursor was not issued by a registry
+	 */
+	Page<T> page(String cursor, int pageSize) {
+		NavigableMap<Long, T> remaining = (cursor == null) ? this.byPosition
+				: this.byPosition.tailMap(decodeCursor(cursor), false);
+		if (pageSize <= 0) {
+			return new Page<>(List.copyOf(remaining.values()), null);
+		}
+
+		List<T> items = new ArrayList<>(pageSize);
+		long lastPosition = 0;
+		for (Map.Entry<Long, T> entry : remaining.entrySet()) {
+			if (items.size() == pageSize) {
+				return new Page<>(items, encodeCursor(lastPosition));
+			}
+			items.add(entry.getValue());
+			lastPosition = entry.getKey();
+		}
+		return new Page<>(items, null);
+	}
+
+	private static String encodeCursor(long position) {
+		return Base64.getUrlEncoder()
+			.withoutPadding()
+			.encodeToString(Long.toString(position).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static long decodeCursor(String cursor) {
+		try {
+			return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+		}
+		catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+		}
+	}
+
+	/**
+	 * A page of features.
+	 *
+	 * @param items the features in the page
+	 * @param nextCursor the cursor of the next page, or null if this is the last page
+	 * @param <T> the feature specification type
+	 */
+	record Page<T>(List<T> items, String nextCursor) {
+	}
+
+	private record Entry<T>(long position, T feature) {
+	}
+
+}
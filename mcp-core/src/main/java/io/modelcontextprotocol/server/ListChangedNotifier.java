@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import io.modelcontextprotocol.util.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Sends list changed notifications, merging the changes of a burst into a single
+ * notification per list. The first change of a list opens a window; the changes made
+ * while it is open join it, and one notification is sent when it closes. A change
+ * completes as soon as it is recorded, without waiting for the notification, so that
+ * changes made one after the other, e.g. blocking registrations in a loop, are merged
+ * rather than each waiting for a window.
+ * <p>
+ * The window is closed before the notification is sent, so a change made while clients
+ * are being notified opens a new window rather than being lost. With a zero window every
+ * change is notified immediately.
+ */
+final class ListChangedNotifier {
+
+	private static final Logger logger = LoggerFactory.getLogger(ListChangedNotifier.class);
+
+	private final Duration window;
+
+	private final Function<String, Mono<Void>> sender;
+
+	private final Scheduler scheduler;
+
+	private final ConcurrentHashMap<String, Window> openWindows = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a notifier timing its windows on the parallel scheduler.
+	 * @param window the time during which changes of a list are merged
+	 * @param sender sends the notification with the given method to the clients
+	 */
+	ListChangedNotifier(Duration window, Function<String, Mono<Void>> sender) {
+		this(window, sender, Schedulers.parallel());
+	}
+
+	ListChangedNotifier(Duration window, Function<String, Mono<Void>> sender, Scheduler scheduler) {
+		Assert.notNull(window, "Window must not be null");
+		Assert.isTrue(!window.isNegative(), "Window must not be negative");
+		Assert.notNull(sender, "Sender must not be null");
+		Assert.notNull(scheduler, "Scheduler must not be null");
+		this.window = window;
+		this.sender = sender;
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Records a change of a list.
+	 * @param method the list changed notification method, e.g.
+	 * {@code notifications/tools/list_changed}
+	 * @return a Mono that completes when the notification has been sent with a zero
+	 * window, or once the change is recorded otherwise
+	 */
+	Mono<Void> listChanged(String method) {
+		if (this.window.isZero()) {
+			return this.sender.apply(method);
+		}
+		return Mono.fromRunnable(() -> {
+			Window candidate = new Window(method);
+			if (this.openWindows.putIfAbsent(method, candidate) == null) {
+				candidate.notification.subscribe(null,
+						e -> logger.debug("Failed to send {} notification: {}", method, e.getMessage()));
+			}
+		});
+	}
+
+	/**
+	 * Returns the number of lists with changes waiting to be notified.
+	 * @return the number of open windows
+	 */
+	int pendingCount() {
+		return this.openWindows.size();
+	}
+
+	private final class Window {
+
+		private final Mono<Void> notification;
+
+		private Window(String method) {
+			this.notification = Mono.delay(ListChangedNotifier.this.window, ListChangedNotifier.this.scheduler)
+				.then(Mono.defer(() -> {
+					ListChangedNotifier.this.openWindows.remove(method, this);
+					return ListChangedNotifier.this.sender.apply(method);
+				}));
+		}
+
+	}
+
+}
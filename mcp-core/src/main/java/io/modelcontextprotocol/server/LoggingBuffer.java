@@ -0,0 +1,314 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.modelcontextprotocol.spec.McpLoggableSession;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.util.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Buffers the logging messages sent through
+ * {@link McpAsyncServerExchange#loggingNotification(McpSchema.LoggingMessageNotification)},
+ * so that a chatty handler neither waits for every message to be written nor saturates
+ * the connection of its client. Messages below the level set by the client are dropped
+ * before they are buffered.
+ * <p>
+ * Each session has its own bounded buffer. When a buffer is full, its oldest message is
+ * dropped to make room for the new one. The first message of an empty buffer opens a
+ * batch that is sent once the batch interval has elapsed, with every message buffered in
+ * the meantime, in order; with a zero interval, messages are sent as soon as the previous
+ * batch was written. The response of a request is only sent after the messages of its
+ * session logged until the request was handled, so they still reach the client first;
+ * messages logged later, e.g. by other requests, do not hold the response back.
+ * <p>
+ * A buffer is registered with the {@link McpServer} builders, e.g.
+ * {@code loggingBuffer(LoggingBuffer.builder().capacity(500).batchInterval(Duration.ofMillis(20)).build())}.
+ */
+public final class LoggingBuffer {
+
+	private static final Logger logger = LoggerFactory.getLogger(LoggingBuffer.class);
+
+	/**
+	 * Default maximum number of messages buffered per session.
+	 */
+	public static final int DEFAULT_CAPACITY = 1000;
+
+	private final int capacity;
+
+	private final Duration batchInterval;
+
+	private final Scheduler scheduler;
+
+	private final ConcurrentHashMap<String, SessionBuffer> buffers = new ConcurrentHashMap<>();
+
+	private final AtomicLong droppedCount = new AtomicLong();
+
+	private LoggingBuffer(int capacity, Duration batchInterval, Scheduler scheduler) {
+		this.capacity = capacity;
+		this.batchInterval = batchInterval;
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Returns the maximum number of messages buffered per session.
+	 * @return the capacity of a session buffer
+	 */
+	public int capacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Returns the time during which messages are collected before they are sent.
+	 * @return the batch interval
+	 */
+	public Duration batchInterval() {
+		return this.batchInterval;
+	}
+
+	/**
+	 * Returns the number of messages dropped because the buffer of their session was
+	 * full.
+	 * @return the number of dropped messages
+	 */
+	public long droppedCount() {
+		return this.droppedCount.get();
+	}
+
+	/**
+	 * Returns the number of messages waiting to be sent, over all sessions.
+	 * @return the number of buffered messages
+	 */
+	public int bufferedCount() {
+		return this.buffers.values().stream().mapToInt(SessionBuffer::size).sum();
+	}
+
+	/**
+	 * Returns the buffer of a session, creating it if needed. A request keeps the buffer
+	 * of its session while it is handled, so that the messages it logs after the session
+	 * was removed are discarded rather than buffered again.
+	 * @param sessionId the ID of the session
+	 * @return the buffer of the session
+	 */
+	SessionBuffer forSession(String sessionId) {
+		return this.buffers.computeIfAbsent(sessionId, id -> new SessionBuffer());
+	}
+
+	/**
+	 * Discards the messages buffered for a session, e.g. because it closed, and ignores
+	 * the messages offered to its buffer from then on.
+	 * @param sessionId the ID of the session
+	 */
+	void removeSession(String sessionId) {
+		SessionBuffer buffer = this.buffers.remove(sessionId);
+		if (buffer != null) {
+			buffer.remove();
+		}
+	}
+
+	/**
+	 * Creates a new Builder instance for constructing LoggingBuffer.
+	 * @return A new Builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder class for creating LoggingBuffer instances with fluent API.
+	 */
+	public static class Builder {
+
+		private int capacity = DEFAULT_CAPACITY;
+
+		private Duration batchInterval = Duration.ZERO;
+
+		private Scheduler scheduler = Schedulers.parallel();
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the maximum number of messages buffered per session. Defaults to
+		 * {@link #DEFAULT_CAPACITY}.
+		 * @param capacity The capacity of a session buffer
+		 * @return This builder instance for method chaining
+		 */
+		public Builder capacity(int capacity) {
+			Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+			this.capacity = capacity;
+			return this;
+		}
+
+		/**
+		 * Sets the time during which messages are collected before they are sent
+		 * together. Defaults to zero, which sends messages as soon as possible.
+		 * @param batchInterval The batch interval
+		 * @return This builder instance for method chaining
+		 */
+		public Builder batchInterval(Duration batchInterval) {
+			Assert.notNull(batchInterval, "Batch interval must not be null");
+			Assert.isTrue(!batchInterval.isNegative(), "Batch interval must not be negative");
+			this.batchInterval = batchInterval;
+			return this;
+		}
+
+		Builder scheduler(Scheduler scheduler) {
+			Assert.notNull(scheduler, "Scheduler must not be null");
+			this.scheduler = scheduler;
+			return this;
+		}
+
+		/**
+		 * Builds and returns a new LoggingBuffer instance.
+		 * @return A new LoggingBuffer configured with the builder's settings
+		 */
+		public LoggingBuffer build() {
+			return new LoggingBuffer(this.capacity, this.batchInterval, this.scheduler);
+		}
+
+	}
+
+	/**
+	 * The buffer of a session. At most one batch is sent at a time; messages buffered
+	 * while a batch is being sent make up the next one. Messages are numbered in the
+	 * order they are offered, so that a flush only waits for the messages offered before
+	 * it.
+	 */
+	final class SessionBuffer {
+
+		private final ArrayDeque<Message> messages = new ArrayDeque<>();
+
+		private final List<Waiter> waiters = new ArrayList<>();
+
+		private long offered;
+
+		private long sent;
+
+		private boolean draining;
+
+		private boolean removed;
+
+		private SessionBuffer() {
+		}
+
+		/**
+		 * Buffers a logging message, unless the session was removed.
+		 * @param session the session, or the stream of a request, to send the message to
+		 * @param loggingMessageNotification the logging message
+		 * @return a Mono that completes once the message is buffered
+		 */
+		Mono<Void> offer(McpLoggableSession session, McpSchema.LoggingMessageNotification loggingMessageNotification) {
+			return Mono.fromRunnable(() -> add(session, loggingMessageNotification));
+		}
+
+		/**
+		 * Returns a Mono that completes once the messages offered before it was
+		 * subscribed have been sent.
+		 * @return a Mono completing when the messages logged so far are sent
+		 */
+		Mono<Void> flush() {
+			return Mono.defer(() -> {
+				synchronized (this) {
+					if (this.removed || this.sent >= this.offered) {
+						return Mono.empty();
+					}
+					Waiter waiter = new Waiter(this.offered, Sinks.empty());
+					this.waiters.add(waiter);
+					return waiter.sent().asMono();
+				}
+			});
+		}
+
+		private void add(McpLoggableSession session, McpSchema.LoggingMessageNotification loggingMessageNotification) {
+			synchronized (this) {
+				if (this.removed) {
+					return;
+				}
+				if (this.messages.size() == LoggingBuffer.this.capacity) {
+					this.messages.pollFirst();
+					LoggingBuffer.this.droppedCount.incrementAndGet();
+				}
+				this.messages.addLast(new Message(++this.offered, session, loggingMessageNotification));
+				if (this.draining) {
+					return;
+				}
+				this.draining = true;
+			}
+			Mono<Void> delay = LoggingBuffer.this.batchInterval.isZero() ? Mono.empty()
+					: Mono.delay(LoggingBuffer.this.batchInterval, LoggingBuffer.this.scheduler).then();
+			delay.then(Mono.defer(this::sendBatch))
+				.subscribe(null, e -> logger.debug("Failed to send logging messages: {}", e.getMessage()));
+		}
+
+		private synchronized int size() {
+			return this.messages.size();
+		}
+
+		private void remove() {
+			List<Waiter> released;
+			synchronized (this) {
+				this.removed = true;
+				this.messages.clear();
+				released = new ArrayList<>(this.waiters);
+				this.waiters.clear();
+			}
+			released.forEach(waiter -> waiter.sent().tryEmitEmpty());
+		}
+
+		private Mono<Void> sendBatch() {
+			List<Message> batch;
+			synchronized (this) {
+				if (this.messages.isEmpty()) {
+					this.draining = false;
+					return Mono.empty();
+				}
+				batch = new ArrayList<>(this.messages);
+				this.messages.clear();
+			}
+			return Flux.fromIterable(batch)
+				.concatMap(message -> Mono
+					.defer(() -> message.session()
+						.sendNotification(McpSchema.METHOD_NOTIFICATION_MESSAGE, message.notification()))
+					.onErrorResume(e -> {
+						logger.debug("Failed to send logging message: {}", e.getMessage());
+						return Mono.empty();
+					})
+					.then(Mono.fromRunnable(() -> sent(message.sequence()))))
+				.then(Mono.defer(this::sendBatch));
+		}
+
+		private void sent(long sequence) {
+			List<Waiter> released = new ArrayList<>();
+			synchronized (this) {
+				this.sent = sequence;
+				this.waiters.removeIf(waiter -> waiter.sequence() <= sequence && released.add(waiter));
+			}
+			released.forEach(waiter -> waiter.sent().tryEmitEmpty());
+		}
+
+	}
+
+	private record Message(long sequence, McpLoggableSession session,
+			McpSchema.LoggingMessageNotification notification) {
+	}
+
+	private record Waiter(long sequence, Sinks.Empty<Void> sent) {
+	}
+
+}
@@ -5,16 +5,22 @@
 package io.modelcontextprotocol.server;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.RawJson;
 import io.modelcontextprotocol.json.TypeRef;
 import io.modelcontextprotocol.json.schema.JsonSchemaValidator;
 import io.modelcontextprotocol.spec.DefaultMcpStreamableServerSessionFactory;
@@ -24,7 +30,6 @@ import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
 import io.modelcontextprotocol.spec.McpSchema.CompleteResult.CompleteCompletion;
 import io.modelcontextprotocol.spec.McpSchema.ErrorCodes;
-import io.modelcontextprotocol.spec.McpSchema.LoggingLevel;
 import io.modelcontextprotocol.spec.McpSchema.LoggingMessageNotification;
 import io.modelcontextprotocol.spec.McpSchema.PromptReference;
 import io.modelcontextprotocol.spec.McpSchema.ResourceReference;
@@ -95,25 +100,54 @@ public class McpAsyncServer {
 
 	private final McpJsonMapper jsonMapper;
 
+	private final boolean rawJson;
+
 	private final JsonSchemaValidator jsonSchemaValidator;
 
+	private final int pageSize;
+
+	private final ToolInputValidator toolInputValidator;
+
+	private final Map<String, ToolBulkhead> toolBulkheads;
+
+	private final ToolResultCache toolResultCache;
+
+	private final RequestCoalescing requestCoalescing;
+
+	private final ResourceSubscriptions resourceSubscriptions;
+
+	/**
+	 * The exchanges of the subscribed sessions, to notify them one by one through
+	 * transports that cannot address sessions
+	 */
+	private final ConcurrentHashMap<String, McpAsyncServerExchange> subscriberExchanges = new ConcurrentHashMap<>();
+
+	private final ListChangedNotifier listChangedNotifier;
+
+	private final LoggingBuffer loggingBuffer;
+
+	private final ProgressThrottle progressThrottle;
+
 	private final McpSchema.ServerCapabilities serverCapabilities;
 
 	private final McpSchema.Implementation serverInfo;
 
 	private final String instructions;
 
-	private final CopyOnWriteArrayList<McpServerFeatures.AsyncToolSpecification> tools = new CopyOnWriteArrayList<>();
+	/**
+	 * Replaced as a whole on every update, under the tools lock
+	 */
+	private volatile FeatureRegistry<McpServerFeatures.AsyncToolSpecification> tools = new FeatureRegistry<>(
+			toolSpecification -> toolSpecification.tool().name());
 
-	private final ConcurrentHashMap<String, McpServerFeatures.AsyncResourceSpecification> resources = new ConcurrentHashMap<>();
+	private final Object toolsLock = new Object();
 
-	private final ConcurrentHashMap<String, McpServerFeatures.AsyncResourceTemplateSpecification> resourceTemplates = new ConcurrentHashMap<>();
+	private final ResourceRouter<McpServerFeatures.AsyncResourceSpecification> resources;
 
-	private final ConcurrentHashMap<String, McpServerFeatures.AsyncPromptSpecification> prompts = new ConcurrentHashMap<>();
+	private final ResourceRouter<McpServerFeatures.AsyncResourceTemplateSpecification> resourceTemplates;
 
-	// FIXME: this field is deprecated and should be remvoed together with the
-	// broadcasting loggingNotification.
-	private LoggingLevel minLoggingLevel = LoggingLevel.DEBUG;
+	private final FeatureRegistry<McpServerFeatures.AsyncPromptSpecification> prompts = new FeatureRegistry<>(
+			promptSpecification -> promptSpecification.prompt().name());
 
 	private final ConcurrentHashMap<McpSchema.CompleteReference, McpServerFeatures.AsyncCompletionSpecification> completions = new ConcurrentHashMap<>();
 
@@ -130,52 +164,110 @@ public class McpAsyncServer {
 	 */
 	McpAsyncServer(McpServerTransportProvider mcpTransportProvider, McpJsonMapper jsonMapper,
 			McpServerFeatures.Async features, Duration requestTimeout,
-			McpUriTemplateManagerFactory uriTemplateManagerFactory, JsonSchemaValidator jsonSchemaValidator) {
+			McpUriTemplateManagerFactory uriTemplateManagerFactory, JsonSchemaValidator jsonSchemaValidator,
+			int pageSize, int maxPendingRequests, boolean validateToolInputs, Map<String, ToolBulkhead> toolBulkheads,
+			ToolResultCache toolResultCache, RequestCoalescing requestCoalescing, Duration listChangedDebounce,
+			LoggingBuffer loggingBuffer, ProgressThrottle progressThrottle) {
 		this.mcpTransportProvider = mcpTransportProvider;
 		this.jsonMapper = jsonMapper;
+		// Encoded JSON is only passed on when the transport writes it as is
+		this.rawJson = mcpTransportProvider.supportsRawJson();
 		this.serverInfo = features.serverInfo();
 		this.serverCapabilities = features.serverCapabilities().mutate().logging().build();
 		this.instructions = features.instructions();
-		this.tools.addAll(withStructuredOutputHandling(jsonSchemaValidator, features.tools()));
-		this.resources.putAll(features.resources());
-		this.resourceTemplates.putAll(features.resourceTemplates());
-		this.prompts.putAll(features.prompts());
+		withStructuredOutputHandling(jsonSchemaValidator, this.rawJson, features.tools()).forEach(this.tools::put);
+		this.resources = new ResourceRouter<>(resourceSpecification -> resourceSpecification.resource().uri(),
+				uriTemplateManagerFactory);
+		features.resources().values().forEach(this.resources::put);
+		this.resourceTemplates = new ResourceRouter<>(
+				resourceTemplateSpecification -> resourceTemplateSpecification.resourceTemplate().uriTemplate(),
+				uriTemplateManagerFactory);
+		features.resourceTemplates().values().forEach(this.resourceTemplates::put);
+		features.prompts().values().forEach(this.prompts::put);
 		this.completions.putAll(features.completions());
 		this.uriTemplateManagerFactory = uriTemplateManagerFactory;
+		this.resourceSubscriptions = new ResourceSubscriptions(uriTemplateManagerFactory);
 		this.jsonSchemaValidator = jsonSchemaValidator;
+		this.pageSize = pageSize;
+		this.toolInputValidator = validateToolInputs ? new ToolInputValidator(jsonSchemaValidator, jsonMapper) : null;
+		this.toolBulkheads = Map.copyOf(toolBulkheads);
+		this.toolResultCache = toolResultCache;
+		this.requestCoalescing = requestCoalescing;
+		this.listChangedNotifier = new ListChangedNotifier(listChangedDebounce,
+				method -> mcpTransportProvider.notifyClients(method, null));
+		this.loggingBuffer = loggingBuffer;
+		this.progressThrottle = progressThrottle;
+		if (this.toolInputValidator != null) {
+			this.tools.values()
+				.forEach(toolSpecification -> this.toolInputValidator.register(toolSpecification.tool()));
+		}
 
 		Map<String, McpRequestHandler<?>> requestHandlers = prepareRequestHandlers();
 		Map<String, McpNotificationHandler> notificationHandlers = prepareNotificationHandlers(features);
 
 		this.protocolVersions = mcpTransportProvider.protocolVersions();
+		mcpTransportProvider.addSessionCloseListener(this::removeSubscriber);
+		if (this.loggingBuffer != null) {
+			mcpTransportProvider.addSessionCloseListener(this.loggingBuffer::removeSession);
+		}
 
 		mcpTransportProvider.setSessionFactory(transport -> new McpServerSession(UUID.randomUUID().toString(),
-				requestTimeout, transport, this::asyncInitializeRequestHandler, requestHandlers, notificationHandlers));
+				requestTimeout, transport, this::asyncInitializeRequestHandler, requestHandlers, notificationHandlers,
+				maxPendingRequests));
 	}
 
 	McpAsyncServer(McpStreamableServerTransportProvider mcpTransportProvider, McpJsonMapper jsonMapper,
 			McpServerFeatures.Async features, Duration requestTimeout,
-			McpUriTemplateManagerFactory uriTemplateManagerFactory, JsonSchemaValidator jsonSchemaValidator) {
+			McpUriTemplateManagerFactory uriTemplateManagerFactory, JsonSchemaValidator jsonSchemaValidator,
+			int pageSize, int maxPendingRequests, boolean validateToolInputs, Map<String, ToolBulkhead> toolBulkheads,
+			ToolResultCache toolResultCache, RequestCoalescing requestCoalescing, Duration listChangedDebounce,
+			LoggingBuffer loggingBuffer, ProgressThrottle progressThrottle) {
 		this.mcpTransportProvider = mcpTransportProvider;
 		this.jsonMapper = jsonMapper;
+		// Encoded JSON is only passed on when the transport writes it as is
+		this.rawJson = mcpTransportProvider.supportsRawJson();
 		this.serverInfo = features.serverInfo();
 		this.serverCapabilities = features.serverCapabilities().mutate().logging().build();
 		this.instructions = features.instructions();
-		this.tools.addAll(withStructuredOutputHandling(jsonSchemaValidator, features.tools()));
-		this.resources.putAll(features.resources());
-		this.resourceTemplates.putAll(features.resourceTemplates());
-		this.prompts.putAll(features.prompts());
+		withStructuredOutputHandling(jsonSchemaValidator, this.rawJson, features.tools()).forEach(this.tools::put);
+		this.resources = new ResourceRouter<>(resourceSpecification -> resourceSpecification.resource().uri(),
+				uriTemplateManagerFactory);
+		features.resources().values().forEach(this.resources::put);
+		this.resourceTemplates = new ResourceRouter<>(
+				resourceTemplateSpecification -> resourceTemplateSpecification.resourceTemplate().uriTemplate(),
+				uriTemplateManagerFactory);
+		features.resourceTemplates().values().forEach(this.resourceTemplates::put);
+		features.prompts().values().forEach(this.prompts::put);
 		this.completions.putAll(features.completions());
 		this.uriTemplateManagerFactory = uriTemplateManagerFactory;
+		this.resourceSubscriptions = new ResourceSubscriptions(uriTemplateManagerFactory);
 		this.jsonSchemaValidator = jsonSchemaValidator;
+		this.pageSize = pageSize;
+		this.toolInputValidator = validateToolInputs ? new ToolInputValidator(jsonSchemaValidator, jsonMapper) : null;
+		this.toolBulkheads = Map.copyOf(toolBulkheads);
+		this.toolResultCache = toolResultCache;
+		this.requestCoalescing = requestCoalescing;
+		this.listChangedNotifier = new ListChangedNotifier(listChangedDebounce,
+				method -> mcpTransportProvider.notifyClients(method, null));
+		this.loggingBuffer = loggingBuffer;
+		this.progressThrottle = progressThrottle;
+		if (this.toolInputValidator != null) {
+			this.tools.values()
+				.forEach(toolSpecification -> this.toolInputValidator.register(toolSpecification.tool()));
+		}
 
 		Map<String, McpRequestHandler<?>> requestHandlers = prepareRequestHandlers();
 		Map<String, McpNotificationHandler> notificationHandlers = prepareNotificationHandlers(features);
 
 		this.protocolVersions = mcpTransportProvider.protocolVersions();
+		mcpTransportProvider.addSessionCloseListener(this::removeSubscriber);
+		if (this.loggingBuffer != null) {
+			mcpTransportProvider.addSessionCloseListener(this.loggingBuffer::removeSession);
+		}
 
 		mcpTransportProvider.setSessionFactory(new DefaultMcpStreamableServerSessionFactory(requestTimeout,
-				this::asyncInitializeRequestHandler, requestHandlers, notificationHandlers));
+				this::asyncInitializeRequestHandler, requestHandlers, notificationHandlers,
+				mcpTransportProvider.eventStore(), maxPendingRequests, jsonMapper));
 	}
 
 	private Map<String, McpNotificationHandler> prepareNotificationHandlers(McpServerFeatures.Async features) {
@@ -215,6 +307,10 @@ public class McpAsyncServer {
 			requestHandlers.put(McpSchema.METHOD_RESOURCES_LIST, resourcesListRequestHandler());
 			requestHandlers.put(McpSchema.METHOD_RESOURCES_READ, resourcesReadRequestHandler());
 			requestHandlers.put(McpSchema.METHOD_RESOURCES_TEMPLATES_LIST, resourceTemplateListRequestHandler());
+			if (supportsResourceSubscriptions()) {
+				requestHandlers.put(McpSchema.METHOD_RESOURCES_SUBSCRIBE, resourcesSubscribeRequestHandler());
+				requestHandlers.put(McpSchema.METHOD_RESOURCES_UNSUBSCRIBE, resourcesUnsubscribeRequestHandler());
+			}
 		}
 
 		// Add prompts API handlers if provider exists
@@ -232,9 +328,51 @@ public class McpAsyncServer {
 		if (this.serverCapabilities.completions() != null) {
 			requestHandlers.put(McpSchema.METHOD_COMPLETION_COMPLETE, completionCompleteRequestHandler());
 		}
+
+		if (this.progressThrottle != null) {
+			requestHandlers.replaceAll((method, handler) -> withProgressThrottle(handler));
+		}
+		if (this.loggingBuffer != null) {
+			requestHandlers.replaceAll((method, handler) -> withLoggingBuffer(handler));
+		}
 		return requestHandlers;
 	}
 
+	/**
+	 * Makes a request handler report progress through an emitter of the progress
+	 * throttle, and send its response only once the latest progress has been sent.
+	 */
+	private <T> McpRequestHandler<T> withProgressThrottle(McpRequestHandler<T> handler) {
+		return (exchange, params) -> Mono.defer(() -> {
+			ProgressThrottle.Emitter emitter = this.progressThrottle.emitter(exchange.session());
+			return handler.handle(exchange.withProgressEmitter(emitter), params)
+				.flatMap(result -> emitter.flush().thenReturn(result))
+				.switchIfEmpty(emitter.flush().then(Mono.empty()))
+				.onErrorResume(error -> emitter.flush().then(Mono.error(error)))
+				.doOnCancel(emitter::dispose);
+		});
+	}
+
+	/**
+	 * Makes a request handler log through the buffer of its session, and send its
+	 * response only once the messages logged until it was handled have been sent.
+	 */
+	private <T> McpRequestHandler<T> withLoggingBuffer(McpRequestHandler<T> handler) {
+		return (exchange, params) -> Mono.defer(() -> {
+			if (exchange.sessionId() == null) {
+				return handler.handle(exchange, params);
+			}
+			LoggingBuffer.SessionBuffer buffer = this.loggingBuffer.forSession(exchange.sessionId());
+			// Subscribed once the handler completed, so the flush does not wait for the
+			// messages other requests log afterwards
+			Mono<Void> flush = buffer.flush();
+			return handler.handle(exchange.withLoggingBuffer(buffer), params)
+				.flatMap(result -> flush.thenReturn(result))
+				.switchIfEmpty(flush.then(Mono.empty()))
+				.onErrorResume(error -> flush.then(Mono.error(error)));
+		});
+	}
+
 	// ---------------------------------------
 	// Lifecycle Management
 	// ---------------------------------------
@@ -320,35 +458,134 @@ public class McpAsyncServer {
 	 * @return Mono that completes when clients have been notified of the change
 	 */
 	public Mono<Void> addTool(McpServerFeatures.AsyncToolSpecification toolSpecification) {
-		if (toolSpecification == null) {
-			return Mono.error(new IllegalArgumentException("Tool specification must not be null"));
+		return addTools(Collections.singletonList(toolSpecification));
+	}
+
+	/**
+	 * Add several tool call specifications at runtime as a single update. All
+	 * specifications are checked before any tool is added, the new tool list is published
+	 * at once, and clients are notified of the change once it is.
+	 * @param toolSpecifications The tool specifications to add
+	 * @return Mono that completes when clients have been notified of the change
+	 */
+	public Mono<Void> addTools(List<McpServerFeatures.AsyncToolSpecification> toolSpecifications) {
+		Mono<Void> invalid = checkToolSpecifications(toolSpecifications);
+		if (invalid != null) {
+			return invalid;
+		}
+
+		var wrappedToolSpecifications = withStructuredOutputHandling(this.jsonSchemaValidator, this.rawJson,
+				toolSpecifications);
+
+		return Mono.defer(() -> {
+			if (wrappedToolSpecifications.isEmpty()) {
+				return Mono.empty();
+			}
+			synchronized (this.toolsLock) {
+				FeatureRegistry<McpServerFeatures.AsyncToolSpecification> previous = this.tools;
+				if (this.toolInputValidator != null) {
+					wrappedToolSpecifications
+						.forEach(toolSpecification -> this.toolInputValidator.register(toolSpecification.tool()));
+				}
+				this.tools = previous.with(wrappedToolSpecifications);
+				wrappedToolSpecifications.forEach(toolSpecification -> toolAdded(previous, toolSpecification));
+			}
+			return toolsListChanged();
+		});
+	}
+
+	/**
+	 * Replace all the tools of the server at runtime as a single update. Tools that are
+	 * not in the given specifications are removed, the others are added or replaced, and
+	 * clients are notified of the change once. The new tool list is published at once, so
+	 * concurrent list and call requests see either the previous or the new list, never a
+	 * mix of both.
+	 * @param toolSpecifications The tool specifications making up the new tool list
+	 * @return Mono that completes when clients have been notified of the change
+	 */
+	public Mono<Void> replaceTools(List<McpServerFeatures.AsyncToolSpecification> toolSpecifications) {
+		Mono<Void> invalid = checkToolSpecifications(toolSpecifications);
+		if (invalid != null) {
+			return invalid;
 		}
-		if (toolSpecification.tool() == null) {
-			return Mono.error(new IllegalArgumentException("Tool must not be null"));
+
+		var wrappedToolSpecifications = withStructuredOutputHandling(this.jsonSchemaValidator, this.rawJson,
+				toolSpecifications);
+
+		return Mono.defer(() -> {
+			synchronized (this.toolsLock) {
+				FeatureRegistry<McpServerFeatures.AsyncToolSpecification> previous = this.tools;
+				Set<String> toolNames = new HashSet<>();
+				wrappedToolSpecifications.forEach(toolSpecification -> {
+					toolNames.add(toolSpecification.tool().name());
+					if (this.toolInputValidator != null) {
+						this.toolInputValidator.register(toolSpecification.tool());
+					}
+				});
+				this.tools = previous.replacedBy(wrappedToolSpecifications);
+				previous.stream().map(toolSpecification -> toolSpecification.tool().name()).forEach(toolName -> {
+					if (!toolNames.contains(toolName) && this.toolInputValidator != null) {
+						this.toolInputValidator.unregister(toolName);
+					}
+					if (this.toolResultCache != null) {
+						this.toolResultCache.invalidate(toolName);
+					}
+				});
+				logger.debug("Replaced tools, now {}", toolNames);
+			}
+			return toolsListChanged();
+		});
+	}
+
+	private Mono<Void> checkToolSpecifications(List<McpServerFeatures.AsyncToolSpecification> toolSpecifications) {
+		if (toolSpecifications == null) {
+			return Mono.error(new IllegalArgumentException("Tool specifications must not be null"));
 		}
-		if (toolSpecification.call() == null && toolSpecification.callHandler() == null) {
-			return Mono.error(new IllegalArgumentException("Tool call handler must not be null"));
+		for (McpServerFeatures.AsyncToolSpecification toolSpecification : toolSpecifications) {
+			if (toolSpecification == null) {
+				return Mono.error(new IllegalArgumentException("Tool specification must not be null"));
+			}
+			if (toolSpecification.tool() == null) {
+				return Mono.error(new IllegalArgumentException("Tool must not be null"));
+			}
+			if (toolSpecification.call() == null && toolSpecification.callHandler() == null) {
+				return Mono.error(new IllegalArgumentException("Tool call handler must not be null"));
+			}
 		}
 		if (this.serverCapabilities.tools() == null) {
 			return Mono.error(new IllegalStateException("Server must be configured with tool capabilities"));
 		}
+		return null;
+	}
 
-		var wrappedToolSpecification = withStructuredOutputHandling(this.jsonSchemaValidator, toolSpecification);
+	private void toolAdded(FeatureRegistry<McpServerFeatures.AsyncToolSpecification> previous,
+			McpServerFeatures.AsyncToolSpecification toolSpecification) {
+		if (previous.get(toolSpecification.tool().name()) != null) {
+			logger.warn("Replace existing Tool with name '{}'", toolSpecification.tool().name());
+		}
+		if (this.toolResultCache != null) {
+			this.toolResultCache.invalidate(toolSpecification.tool().name());
+		}
 
-		return Mono.defer(() -> {
-			// Remove tools with duplicate tool names first
-			if (this.tools.removeIf(th -> th.tool().name().equals(wrappedToolSpecification.tool().name()))) {
-				logger.warn("Replace existing Tool with name '{}'", wrappedToolSpecification.tool().name());
-			}
+		logger.debug("Added tool handler: {}", toolSpecification.tool().name());
+	}
 
-			this.tools.add(wrappedToolSpecification);
-			logger.debug("Added tool handler: {}", wrappedToolSpecification.tool().name());
+	private void toolRemoved(String toolName) {
+		if (this.toolInputValidator != null) {
+			this.toolInputValidator.unregister(toolName);
+		}
+		if (this.toolResultCache != null) {
+			this.toolResultCache.invalidate(toolName);
+		}
 
-			if (this.serverCapabilities.tools().listChanged()) {
-				return notifyToolsListChanged();
-			}
-			return Mono.empty();
-		});
+		logger.debug("Removed tool handler: {}", toolName);
+	}
+
+	private Mono<Void> toolsListChanged() {
+		if (this.serverCapabilities.tools().listChanged()) {
+			return notifyToolsListChanged();
+		}
+		return Mono.empty();
 	}
 
 	private static class StructuredOutputCallToolHandler
@@ -356,11 +593,13 @@ public class McpAsyncServer {
 
 		private final BiFunction<McpAsyncServerExchange, McpSchema.CallToolRequest, Mono<McpSchema.CallToolResult>> delegateCallToolResult;
 
-		private final JsonSchemaValidator jsonSchemaValidator;
-
 		private final Map<String, Object> outputSchema;
 
-		public StructuredOutputCallToolHandler(JsonSchemaValidator jsonSchemaValidator,
+		private final JsonSchemaValidator.CompiledSchema compiledOutputSchema;
+
+		private final boolean reuseValidatedJson;
+
+		public StructuredOutputCallToolHandler(JsonSchemaValidator jsonSchemaValidator, boolean reuseValidatedJson,
 				Map<String, Object> outputSchema,
 				BiFunction<McpAsyncServerExchange, McpSchema.CallToolRequest, Mono<McpSchema.CallToolResult>> delegateHandler) {
 
@@ -369,7 +608,9 @@ public class McpAsyncServer {
 
 			this.delegateCallToolResult = delegateHandler;
 			this.outputSchema = outputSchema;
-			this.jsonSchemaValidator = jsonSchemaValidator;
+			// Compile when the tool is registered rather than on its first call
+			this.compiledOutputSchema = (outputSchema != null) ? jsonSchemaValidator.compile(outputSchema) : null;
+			this.reuseValidatedJson = reuseValidatedJson;
 		}
 
 		@Override
@@ -406,7 +647,7 @@ public class McpAsyncServer {
 				}
 
 				// Validate the result against the output schema
-				var validation = this.jsonSchemaValidator.validate(outputSchema, result.structuredContent());
+				var validation = this.compiledOutputSchema.validate(result.structuredContent());
 
 				if (!validation.valid()) {
 					logger.warn("Tool call result validation failed: {}", validation.errorMessage());
@@ -416,6 +657,13 @@ public class McpAsyncServer {
 						.build();
 				}
 
+				Object structuredContent = result.structuredContent();
+				if (this.reuseValidatedJson && validation.jsonStructuredOutput() != null) {
+					// Send the JSON produced by the validation rather than serializing
+					// the structured content once more
+					structuredContent = RawJson.of(validation.jsonStructuredOutput());
+				}
+
 				if (Utils.isEmpty(result.content())) {
 					// For backwards compatibility, a tool that returns structured
 					// content SHOULD also return functionally equivalent unstructured
@@ -426,10 +674,13 @@ public class McpAsyncServer {
 					return CallToolResult.builder()
 						.content(List.of(new McpSchema.TextContent(validation.jsonStructuredOutput())))
 						.isError(result.isError())
-						.structuredContent(result.structuredContent())
+						.structuredContent(structuredContent)
 						.build();
 				}
 
+				if (structuredContent != result.structuredContent()) {
+					return new CallToolResult(result.content(), result.isError(), structuredContent, result.meta());
+				}
 				return result;
 			});
 		}
@@ -437,17 +688,21 @@ public class McpAsyncServer {
 	}
 
 	private static List<McpServerFeatures.AsyncToolSpecification> withStructuredOutputHandling(
-			JsonSchemaValidator jsonSchemaValidator, List<McpServerFeatures.AsyncToolSpecification> tools) {
+			JsonSchemaValidator jsonSchemaValidator, boolean reuseValidatedJson,
+			List<McpServerFeatures.AsyncToolSpecification> tools) {
 
 		if (Utils.isEmpty(tools)) {
 			return tools;
 		}
 
-		return tools.stream().map(tool -> withStructuredOutputHandling(jsonSchemaValidator, tool)).toList();
+		return tools.stream()
+			.map(tool -> withStructuredOutputHandling(jsonSchemaValidator, reuseValidatedJson, tool))
+			.toList();
 	}
 
 	private static McpServerFeatures.AsyncToolSpecification withStructuredOutputHandling(
-			JsonSchemaValidator jsonSchemaValidator, McpServerFeatures.AsyncToolSpecification toolSpecification) {
+			JsonSchemaValidator jsonSchemaValidator, boolean reuseValidatedJson,
+			McpServerFeatures.AsyncToolSpecification toolSpecification) {
 
 		if (toolSpecification.callHandler() instanceof StructuredOutputCallToolHandler) {
 			// If the tool is already wrapped, return it as is
@@ -461,7 +716,7 @@ public class McpAsyncServer {
 
 		return McpServerFeatures.AsyncToolSpecification.builder()
 			.tool(toolSpecification.tool())
-			.callHandler(new StructuredOutputCallToolHandler(jsonSchemaValidator,
+			.callHandler(new StructuredOutputCallToolHandler(jsonSchemaValidator, reuseValidatedJson,
 					toolSpecification.tool().outputSchema(), toolSpecification.callHandler()))
 			.build();
 	}
@@ -471,7 +726,7 @@ public class McpAsyncServer {
 	 * @return A Flux stream of all registered tools
 	 */
 	public Flux<Tool> listTools() {
-		return Flux.fromIterable(this.tools).map(McpServerFeatures.AsyncToolSpecification::tool);
+		return Flux.fromIterable(this.tools.values()).map(McpServerFeatures.AsyncToolSpecification::tool);
 	}
 
 	/**
@@ -480,7 +735,18 @@ public class McpAsyncServer {
 	 * @return Mono that completes when clients have been notified of the change
 	 */
 	public Mono<Void> removeTool(String toolName) {
-		if (toolName == null) {
+		return removeTools(Collections.singletonList(toolName));
+	}
+
+	/**
+	 * Remove several tool handlers at runtime as a single update. The new tool list is
+	 * published at once, and clients are notified of the change once it is, if any of the
+	 * tools was removed.
+	 * @param toolNames The names of the tool handlers to remove
+	 * @return Mono that completes when clients have been notified of the change
+	 */
+	public Mono<Void> removeTools(Collection<String> toolNames) {
+		if (toolNames == null || toolNames.stream().anyMatch(toolName -> toolName == null)) {
 			return Mono.error(new IllegalArgumentException("Tool name must not be null"));
 		}
 		if (this.serverCapabilities.tools() == null) {
@@ -488,55 +754,125 @@ public class McpAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			if (this.tools.removeIf(toolSpecification -> toolSpecification.tool().name().equals(toolName))) {
-
-				logger.debug("Removed tool handler: {}", toolName);
-				if (this.serverCapabilities.tools().listChanged()) {
-					return notifyToolsListChanged();
+			synchronized (this.toolsLock) {
+				FeatureRegistry<McpServerFeatures.AsyncToolSpecification> previous = this.tools;
+				Set<String> removedToolNames = new LinkedHashSet<>();
+				for (String toolName : toolNames) {
+					if (previous.get(toolName) != null) {
+						removedToolNames.add(toolName);
+					}
+					else {
+						logger.warn("Ignore as a Tool with name '{}' not found", toolName);
+					}
 				}
+				if (removedToolNames.isEmpty()) {
+					return Mono.empty();
+				}
+				this.tools = previous.without(removedToolNames);
+				removedToolNames.forEach(this::toolRemoved);
 			}
-			else {
-				logger.warn("Ignore as a Tool with name '{}' not found", toolName);
-			}
-
-			return Mono.empty();
+			return toolsListChanged();
 		});
 	}
 
 	/**
-	 * Notifies clients that the list of available tools has changed.
-	 * @return A Mono that completes when all clients have been notified
+	 * Notifies clients that the list of available tools has changed. Changes made within
+	 * the list changed debounce of the server are merged into one notification.
+	 * @return A Mono that completes when all clients have been notified, or, with a list
+	 * changed debounce, once the change is recorded
 	 */
 	public Mono<Void> notifyToolsListChanged() {
-		return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null);
+		return this.listChangedNotifier.listChanged(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED);
 	}
 
-	private McpRequestHandler<McpSchema.ListToolsResult> toolsListRequestHandler() {
-		return (exchange, params) -> {
-			List<Tool> tools = this.tools.stream().map(McpServerFeatures.AsyncToolSpecification::tool).toList();
+	/**
+	 * Removes the cached results of the tool with the given name, e.g. because the data
+	 * it reads changed. Has no effect if the server has no tool result cache.
+	 * @param toolName The name of the tool
+	 */
+	public void invalidateToolResults(String toolName) {
+		Assert.notNull(toolName, "Tool name must not be null");
+		if (this.toolResultCache != null) {
+			this.toolResultCache.invalidate(toolName);
+		}
+	}
 
-			return Mono.just(new McpSchema.ListToolsResult(tools, null));
-		};
+	/**
+	 * Removes the cached results of all tools. Has no effect if the server has no tool
+	 * result cache.
+	 */
+	public void invalidateToolResults() {
+		if (this.toolResultCache != null) {
+			this.toolResultCache.invalidateAll();
+		}
+	}
+
+	/**
+	 * Reads the cursor of a paginated list request and returns the page that follows it.
+	 * @param params the raw list request parameters, possibly null
+	 * @param catalog the snapshot of the listed catalog
+	 * @return the list result, or an {@link ErrorCodes#INVALID_PARAMS} error if the
+	 * cursor is not valid
+	 */
+	private Mono<Object> listPage(Object params, CatalogSnapshot<?, ?> catalog) {
+		McpSchema.PaginatedRequest request = (params != null)
+				? this.jsonMapper.convertValue(params, McpSchema.PaginatedRequest.class) : null;
+		String cursor = (request != null) ? request.cursor() : null;
+		return Mono.fromCallable(() -> catalog.page(cursor, this.pageSize))
+			.onErrorMap(IllegalArgumentException.class,
+					ex -> McpError.builder(ErrorCodes.INVALID_PARAMS)
+						.message("Invalid cursor")
+						.data("Invalid cursor: " + cursor)
+						.build());
+	}
+
+	private McpRequestHandler<Object> toolsListRequestHandler() {
+		var catalog = new CatalogSnapshot<McpServerFeatures.AsyncToolSpecification, McpSchema.Tool>(this.jsonMapper,
+				this.rawJson, () -> this.tools.version(), (cursor, pageSize) -> this.tools.page(cursor, pageSize),
+				McpServerFeatures.AsyncToolSpecification::tool, McpSchema.ListToolsResult::new);
+		return (exchange, params) -> listPage(params, catalog);
 	}
 
-	private McpRequestHandler<CallToolResult> toolsCallRequestHandler() {
+	private McpRequestHandler<Object> toolsCallRequestHandler() {
 		return (exchange, params) -> {
 			McpSchema.CallToolRequest callToolRequest = jsonMapper.convertValue(params,
 					new TypeRef<McpSchema.CallToolRequest>() {
 					});
 
-			Optional<McpServerFeatures.AsyncToolSpecification> toolSpecification = this.tools.stream()
-				.filter(tr -> callToolRequest.name().equals(tr.tool().name()))
-				.findAny();
+			McpServerFeatures.AsyncToolSpecification toolSpecification = this.tools.get(callToolRequest.name());
 
-			if (toolSpecification.isEmpty()) {
+			if (toolSpecification == null) {
 				return Mono.error(McpError.builder(McpSchema.ErrorCodes.INVALID_PARAMS)
 					.message("Unknown tool: invalid_tool_name")
 					.data("Tool not found: " + callToolRequest.name())
 					.build());
 			}
 
-			return toolSpecification.get().callHandler().apply(exchange, callToolRequest);
+			if (this.toolInputValidator != null) {
+				McpError validationError = this.toolInputValidator.validate(callToolRequest);
+				if (validationError != null) {
+					return Mono.error(validationError);
+				}
+			}
+
+			ToolBulkhead bulkhead = this.toolBulkheads.get(callToolRequest.name());
+			Supplier<Mono<CallToolResult>> call = (bulkhead != null)
+					? () -> bulkhead.execute(callToolRequest.name(),
+							() -> toolSpecification.callHandler().apply(exchange, callToolRequest))
+					: () -> toolSpecification.callHandler().apply(exchange, callToolRequest);
+
+			if (this.requestCoalescing != null && this.requestCoalescing.coalescesTool(toolSpecification.tool())) {
+				Supplier<Mono<CallToolResult>> invocation = call;
+				call = () -> this.requestCoalescing.callTool(this.jsonMapper, exchange.sessionId(),
+						exchange.transportContext(), callToolRequest, invocation);
+			}
+
+			if (this.toolResultCache != null && ToolResultCache.isCacheable(toolSpecification.tool())) {
+				return this.toolResultCache.call(this.jsonMapper, this.rawJson, exchange.transportContext(),
+						callToolRequest, call);
+			}
+
+			return call.get().cast(Object.class);
 		};
 	}
 
@@ -560,8 +896,7 @@ public class McpAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			var previous = this.resources.put(resourceSpecification.resource().uri(), resourceSpecification);
-			if (previous != null) {
+			if (this.resources.put(resourceSpecification)) {
 				logger.warn("Replace existing Resource with URI '{}'", resourceSpecification.resource().uri());
 			}
 			else {
@@ -597,8 +932,7 @@ public class McpAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			McpServerFeatures.AsyncResourceSpecification removed = this.resources.remove(resourceUri);
-			if (removed != null) {
+			if (this.resources.remove(resourceUri)) {
 				logger.debug("Removed resource handler: {}", resourceUri);
 				if (this.serverCapabilities.resources().listChanged()) {
 					return notifyResourcesListChanged();
@@ -626,9 +960,7 @@ public class McpAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			var previous = this.resourceTemplates.put(resourceTemplateSpecification.resourceTemplate().uriTemplate(),
-					resourceTemplateSpecification);
-			if (previous != null) {
+			if (this.resourceTemplates.put(resourceTemplateSpecification)) {
 				logger.warn("Replace existing Resource Template with URI '{}'",
 						resourceTemplateSpecification.resourceTemplate().uriTemplate());
 			}
@@ -665,8 +997,7 @@ public class McpAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			McpServerFeatures.AsyncResourceTemplateSpecification removed = this.resourceTemplates.remove(uriTemplate);
-			if (removed != null) {
+			if (this.resourceTemplates.remove(uriTemplate)) {
 				logger.debug("Removed resource template: {}", uriTemplate);
 			}
 			else {
@@ -677,40 +1008,110 @@ public class McpAsyncServer {
 	}
 
 	/**
-	 * Notifies clients that the list of available resources has changed.
-	 * @return A Mono that completes when all clients have been notified
+	 * Notifies clients that the list of available resources has changed. Changes made
+	 * within the list changed debounce of the server are merged into one notification.
+	 * @return A Mono that completes when all clients have been notified, or, with a list
+	 * changed debounce, once the change is recorded
 	 */
 	public Mono<Void> notifyResourcesListChanged() {
-		return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED, null);
+		return this.listChangedNotifier.listChanged(McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED);
 	}
 
 	/**
-	 * Notifies clients that the resources have updated.
-	 * @return A Mono that completes when all clients have been notified
+	 * Notifies clients that a resource has updated. When the server supports resource
+	 * subscriptions, only the clients that subscribed to the resource, or to a URI
+	 * template matching it, are notified. Otherwise all clients are notified.
+	 * @param resourcesUpdatedNotification The notification with the URI of the updated
+	 * resource
+	 * @return A Mono that completes when the subscribed clients have been notified
 	 */
 	public Mono<Void> notifyResourcesUpdated(McpSchema.ResourcesUpdatedNotification resourcesUpdatedNotification) {
-		return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED,
-				resourcesUpdatedNotification);
+		if (!supportsResourceSubscriptions()) {
+			return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED,
+					resourcesUpdatedNotification);
+		}
+		return Mono.defer(() -> {
+			Set<String> subscribers = this.resourceSubscriptions.subscribers(resourcesUpdatedNotification.uri());
+			if (subscribers.isEmpty()) {
+				logger.debug("No subscribers for resource update: {}", resourcesUpdatedNotification.uri());
+				return Mono.empty();
+			}
+			return this.mcpTransportProvider
+				.notifyClients(subscribers, McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED,
+						resourcesUpdatedNotification)
+				.onErrorResume(UnsupportedOperationException.class, ex -> notifyEachSubscriber(subscribers,
+						McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED, resourcesUpdatedNotification));
+		});
 	}
 
-	private McpRequestHandler<McpSchema.ListResourcesResult> resourcesListRequestHandler() {
-		return (exchange, params) -> {
-			var resourceList = this.resources.values()
-				.stream()
-				.map(McpServerFeatures.AsyncResourceSpecification::resource)
-				.toList();
-			return Mono.just(new McpSchema.ListResourcesResult(resourceList, null));
-		};
+	private Mono<Void> notifyEachSubscriber(Set<String> sessionIds, String method, Object params) {
+		return Flux.fromIterable(sessionIds)
+			.flatMap(sessionId -> Mono.justOrEmpty(this.subscriberExchanges.get(sessionId)))
+			.flatMap(exchange -> exchange.sendNotification(method, params).onErrorResume(ex -> {
+				logger.warn("Failed to notify session {}: {}", exchange.sessionId(), ex.getMessage());
+				return Mono.empty();
+			}))
+			.then();
 	}
 
-	private McpRequestHandler<McpSchema.ListResourceTemplatesResult> resourceTemplateListRequestHandler() {
-		return (exchange, params) -> {
-			var resourceList = this.resourceTemplates.values()
-				.stream()
-				.map(McpServerFeatures.AsyncResourceTemplateSpecification::resourceTemplate)
-				.toList();
-			return Mono.just(new McpSchema.ListResourceTemplatesResult(resourceList, null));
-		};
+	private void removeSubscriber(String sessionId) {
+		this.resourceSubscriptions.removeSession(sessionId);
+		this.subscriberExchanges.remove(sessionId);
+	}
+
+	private boolean supportsResourceSubscriptions() {
+		return this.serverCapabilities.resources() != null
+				&& Boolean.TRUE.equals(this.serverCapabilities.resources().subscribe());
+	}
+
+	private McpRequestHandler<Object> resourcesSubscribeRequestHandler() {
+		return (exchange, params) -> Mono.defer(() -> {
+			McpSchema.SubscribeRequest subscribeRequest = jsonMapper.convertValue(params,
+					new TypeRef<McpSchema.SubscribeRequest>() {
+					});
+			if (!Utils.hasText(subscribeRequest.uri())) {
+				return Mono.error(
+						McpError.builder(ErrorCodes.INVALID_PARAMS).message("Resource URI must not be empty").build());
+			}
+			if (exchange.sessionId() == null) {
+				return Mono.error(McpError.builder(ErrorCodes.INTERNAL_ERROR)
+					.message("Resource subscriptions require a session ID")
+					.build());
+			}
+			this.resourceSubscriptions.subscribe(exchange.sessionId(), subscribeRequest.uri());
+			this.subscriberExchanges.put(exchange.sessionId(), exchange);
+			return Mono.just(Map.of());
+		});
+	}
+
+	private McpRequestHandler<Object> resourcesUnsubscribeRequestHandler() {
+		return (exchange, params) -> Mono.defer(() -> {
+			McpSchema.UnsubscribeRequest unsubscribeRequest = jsonMapper.convertValue(params,
+					new TypeRef<McpSchema.UnsubscribeRequest>() {
+					});
+			if (exchange.sessionId() != null) {
+				this.resourceSubscriptions.unsubscribe(exchange.sessionId(), unsubscribeRequest.uri());
+				if (this.resourceSubscriptions.subscriptions(exchange.sessionId()).isEmpty()) {
+					this.subscriberExchanges.remove(exchange.sessionId());
+				}
+			}
+			return Mono.just(Map.of());
+		});
+	}
+
+	private McpRequestHandler<Object> resourcesListRequestHandler() {
+		var catalog = new CatalogSnapshot<McpServerFeatures.AsyncResourceSpecification, McpSchema.Resource>(
+				this.jsonMapper, this.rawJson, this.resources::version, this.resources::page,
+				McpServerFeatures.AsyncResourceSpecification::resource, McpSchema.ListResourcesResult::new);
+		return (exchange, params) -> listPage(params, catalog);
+	}
+
+	private McpRequestHandler<Object> resourceTemplateListRequestHandler() {
+		var catalog = new CatalogSnapshot<McpServerFeatures.AsyncResourceTemplateSpecification, McpSchema.ResourceTemplate>(
+				this.jsonMapper, this.rawJson, this.resourceTemplates::version, this.resourceTemplates::page,
+				McpServerFeatures.AsyncResourceTemplateSpecification::resourceTemplate,
+				McpSchema.ListResourceTemplatesResult::new);
+		return (exchange, params) -> listPage(params, catalog);
 	}
 
 	private McpRequestHandler<McpSchema.ReadResourceResult> resourcesReadRequestHandler() {
@@ -723,31 +1124,44 @@ public class McpAsyncServer {
 			// First try to find a static resource specification
 			// Static resources have exact URIs
 			return this.findResourceSpecification(resourceUri)
-				.map(spec -> spec.readHandler().apply(ex, resourceRequest))
+				.map(spec -> readResource(ex, spec.resource().uri(), resourceRequest,
+						() -> spec.readHandler().apply(ex, resourceRequest)))
 				.orElseGet(() -> {
 					// If not found, try to find a dynamic resource specification
 					// Dynamic resources have URI templates
 					return this.findResourceTemplateSpecification(resourceUri)
-						.map(spec -> spec.readHandler().apply(ex, resourceRequest))
+						.map(spec -> readResource(ex, spec.resourceTemplate().uriTemplate(), resourceRequest,
+								() -> spec.readHandler().apply(ex, resourceRequest)))
 						.orElseGet(() -> Mono.error(RESOURCE_NOT_FOUND.apply(resourceUri)));
 				});
 		};
 	}
 
 	private Optional<McpServerFeatures.AsyncResourceSpecification> findResourceSpecification(String uri) {
-		var result = this.resources.values()
-			.stream()
-			.filter(spec -> this.uriTemplateManagerFactory.create(spec.resource().uri()).matches(uri))
-			.findFirst();
-		return result;
+		return Optional.ofNullable(this.resources.route(uri)).map(ResourceRouter.Match::specification);
 	}
 
 	private Optional<McpServerFeatures.AsyncResourceTemplateSpecification> findResourceTemplateSpecification(
 			String uri) {
-		return this.resourceTemplates.values()
-			.stream()
-			.filter(spec -> this.uriTemplateManagerFactory.create(spec.resourceTemplate().uriTemplate()).matches(uri))
-			.findFirst();
+		return Optional.ofNullable(this.resourceTemplates.route(uri)).map(ResourceRouter.Match::specification);
+	}
+
+	/**
+	 * Reads a resource, sharing the read with identical reads in flight when coalescing
+	 * is enabled for the resource.
+	 * @param exchange the exchange of the session reading the resource
+	 * @param registeredUri the URI or URI template the resource is registered with
+	 * @param request the resource read
+	 * @param read invokes the read handler
+	 * @return a Mono emitting the contents of the resource
+	 */
+	private Mono<McpSchema.ReadResourceResult> readResource(McpAsyncServerExchange exchange, String registeredUri,
+			McpSchema.ReadResourceRequest request, Supplier<Mono<McpSchema.ReadResourceResult>> read) {
+		if (this.requestCoalescing != null && this.requestCoalescing.coalescesResource(registeredUri)) {
+			return this.requestCoalescing.readResource(exchange.sessionId(), exchange.transportContext(), request,
+					read);
+		}
+		return read.get();
 	}
 
 	// ---------------------------------------
@@ -768,8 +1182,7 @@ public class McpAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			var previous = this.prompts.put(promptSpecification.prompt().name(), promptSpecification);
-			if (previous != null) {
+			if (this.prompts.put(promptSpecification)) {
 				logger.warn("Replace existing Prompt with name '{}'", promptSpecification.prompt().name());
 			}
 			else {
@@ -805,9 +1218,7 @@ public class McpAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			McpServerFeatures.AsyncPromptSpecification removed = this.prompts.remove(promptName);
-
-			if (removed != null) {
+			if (this.prompts.remove(promptName)) {
 				logger.debug("Removed prompt handler: {}", promptName);
 				if (this.serverCapabilities.prompts().listChanged()) {
 					return this.notifyPromptsListChanged();
@@ -822,27 +1233,20 @@ public class McpAsyncServer {
 	}
 
 	/**
-	 * Notifies clients that the list of available prompts has changed.
-	 * @return A Mono that completes when all clients have been notified
+	 * Notifies clients that the list of available prompts has changed. Changes made
+	 * within the list changed debounce of the server are merged into one notification.
+	 * @return A Mono that completes when all clients have been notified, or, with a list
+	 * changed debounce, once the change is recorded
 	 */
 	public Mono<Void> notifyPromptsListChanged() {
-		return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED, null);
+		return this.listChangedNotifier.listChanged(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED);
 	}
 
-	private McpRequestHandler<McpSchema.ListPromptsResult> promptsListRequestHandler() {
-		return (exchange, params) -> {
-			// TODO: Implement pagination
-			// McpSchema.PaginatedRequest request = objectMapper.convertValue(params,
-			// new TypeReference<McpSchema.PaginatedRequest>() {
-			// });
-
-			var promptList = this.prompts.values()
-				.stream()
-				.map(McpServerFeatures.AsyncPromptSpecification::prompt)
-				.toList();
-
-			return Mono.just(new McpSchema.ListPromptsResult(promptList, null));
-		};
+	private McpRequestHandler<Object> promptsListRequestHandler() {
+		var catalog = new CatalogSnapshot<McpServerFeatures.AsyncPromptSpecification, McpSchema.Prompt>(this.jsonMapper,
+				this.rawJson, this.prompts::version, this.prompts::page,
+				McpServerFeatures.AsyncPromptSpecification::prompt, McpSchema.ListPromptsResult::new);
+		return (exchange, params) -> listPage(params, catalog);
 	}
 
 	private McpRequestHandler<McpSchema.GetPromptResult> promptsGetRequestHandler() {
@@ -870,29 +1274,22 @@ public class McpAsyncServer {
 	// ---------------------------------------
 
 	/**
-	 * This implementation would, incorrectly, broadcast the logging message to all
-	 * connected clients, using a single minLoggingLevel for all of them. Similar to the
-	 * sampling and roots, the logging level should be set per client session and use the
-	 * ServerExchange to send the logging message to the right client.
+	 * Broadcast a logging message to the connected clients whose session accepts its
+	 * level, as set by each client with {@code logging/setLevel}. Sessions are filtered
+	 * before the message is serialized. Messages related to a request should rather be
+	 * sent with
+	 * {@link McpAsyncServerExchange#loggingNotification(LoggingMessageNotification)}, so
+	 * that they reach the client that made the request.
 	 * @param loggingMessageNotification The logging message to send
 	 * @return A Mono that completes when the notification has been sent
-	 * @deprecated Use
-	 * {@link McpAsyncServerExchange#loggingNotification(LoggingMessageNotification)}
-	 * instead.
 	 */
-	@Deprecated
 	public Mono<Void> loggingNotification(LoggingMessageNotification loggingMessageNotification) {
 
 		if (loggingMessageNotification == null) {
 			return Mono.error(new McpError("Logging message must not be null"));
 		}
 
-		if (loggingMessageNotification.level().level() < minLoggingLevel.level()) {
-			return Mono.empty();
-		}
-
-		return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_MESSAGE,
-				loggingMessageNotification);
+		return this.mcpTransportProvider.loggingNotification(loggingMessageNotification);
 	}
 
 	private McpRequestHandler<Object> setLoggerRequestHandler() {
@@ -904,10 +1301,6 @@ public class McpAsyncServer {
 
 				exchange.setMinLoggingLevel(newMinLoggingLevel.level());
 
-				// FIXME: this field is deprecated and should be removed together
-				// with the broadcasting loggingNotification.
-				this.minLoggingLevel = newMinLoggingLevel.level();
-
 				return Mono.just(Map.of());
 			});
 		};
@@ -972,14 +1365,10 @@ public class McpAsyncServer {
 					return EMPTY_COMPLETION_RESULT;
 				}
 
-				McpServerFeatures.AsyncResourceSpecification resourceSpec = this
-					.findResourceSpecification(resourceReference.uri())
-					.orElse(null);
+				var resourceMatch = this.resources.route(resourceReference.uri());
 
-				if (resourceSpec != null) {
-					if (!uriTemplateManagerFactory.create(resourceSpec.resource().uri())
-						.getVariableNames()
-						.contains(argumentName)) {
+				if (resourceMatch != null) {
+					if (!resourceMatch.uriTemplate().getVariableNames().contains(argumentName)) {
 
 						return Mono.error(McpError.builder(ErrorCodes.INVALID_PARAMS)
 							.message("Argument not found: " + argumentName + " in resource: " + resourceReference.uri())
@@ -987,12 +1376,10 @@ public class McpAsyncServer {
 					}
 				}
 				else {
-					var templateSpec = this.findResourceTemplateSpecification(resourceReference.uri()).orElse(null);
-					if (templateSpec != null) {
+					var templateMatch = this.resourceTemplates.route(resourceReference.uri());
+					if (templateMatch != null) {
 
-						if (!uriTemplateManagerFactory.create(templateSpec.resourceTemplate().uriTemplate())
-							.getVariableNames()
-							.contains(argumentName)) {
+						if (!templateMatch.uriTemplate().getVariableNames().contains(argumentName)) {
 
 							return Mono.error(McpError.builder(ErrorCodes.INVALID_PARAMS)
 								.message("Argument not found: " + argumentName + " in resource template: "
@@ -1027,15 +1414,15 @@ public class McpAsyncServer {
 	 * This method manually extracts the `ref` and `argument` fields from the input map,
 	 * determines the correct reference type (either prompt or resource), and constructs a
 	 * fully-typed {@code CompleteRequest} instance.
-	 * @param object the raw request parameters, expected to be a Map containing "ref" and
-	 * "argument" entries.
+	 * @param object the raw request parameters, containing "ref" and "argument" entries.
 	 * @return a {@link McpSchema.CompleteRequest} representing the structured completion
 	 * request.
 	 * @throws IllegalArgumentException if the "ref" type is not recognized.
 	 */
 	@SuppressWarnings("unchecked")
 	private McpSchema.CompleteRequest parseCompletionParams(Object object) {
-		Map<String, Object> params = (Map<String, Object>) object;
+		Map<String, Object> params = this.jsonMapper.convertValue(object, new TypeRef<>() {
+		});
 		Map<String, Object> refMap = (Map<String, Object>) params.get("ref");
 		Map<String, Object> argMap = (Map<String, Object>) params.get("argument");
 		Map<String, Object> contextMap = (Map<String, Object>) params.get("context");
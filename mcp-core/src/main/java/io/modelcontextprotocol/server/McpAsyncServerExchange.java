@@ -9,6 +9,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 
 import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.InFlightRequests;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpLoggableSession;
 import io.modelcontextprotocol.spec.McpSchema;
@@ -37,6 +38,12 @@ public class McpAsyncServerExchange {
 
 	private final McpTransportContext transportContext;
 
+	private final LoggingBuffer.SessionBuffer loggingBuffer;
+
+	private final ProgressThrottle.Emitter progressEmitter;
+
+	private final InFlightRequests.Cancellation cancellation;
+
 	private static final TypeRef<McpSchema.CreateMessageResult> CREATE_MESSAGE_RESULT_TYPE_REF = new TypeRef<>() {
 	};
 
@@ -69,6 +76,9 @@ public class McpAsyncServerExchange {
 		this.clientCapabilities = clientCapabilities;
 		this.clientInfo = clientInfo;
 		this.transportContext = McpTransportContext.EMPTY;
+		this.loggingBuffer = null;
+		this.progressEmitter = null;
+		this.cancellation = InFlightRequests.Cancellation.NONE;
 	}
 
 	/**
@@ -83,11 +93,69 @@ public class McpAsyncServerExchange {
 	public McpAsyncServerExchange(String sessionId, McpLoggableSession session,
 			McpSchema.ClientCapabilities clientCapabilities, McpSchema.Implementation clientInfo,
 			McpTransportContext transportContext) {
+		this(sessionId, session, clientCapabilities, clientInfo, transportContext, InFlightRequests.Cancellation.NONE);
+	}
+
+	/**
+	 * Create a new asynchronous exchange with the client, for a request that the client
+	 * can cancel.
+	 * @param session The server session representing a 1-1 interaction.
+	 * @param clientCapabilities The client capabilities that define the supported
+	 * features and functionality.
+	 * @param clientInfo The client implementation information.
+	 * @param transportContext context associated with the client as extracted from the
+	 * transport
+	 * @param cancellation the cancellation of the request being handled
+	 */
+	public McpAsyncServerExchange(String sessionId, McpLoggableSession session,
+			McpSchema.ClientCapabilities clientCapabilities, McpSchema.Implementation clientInfo,
+			McpTransportContext transportContext, InFlightRequests.Cancellation cancellation) {
+		this(sessionId, session, clientCapabilities, clientInfo, transportContext, cancellation, null, null);
+	}
+
+	private McpAsyncServerExchange(String sessionId, McpLoggableSession session,
+			McpSchema.ClientCapabilities clientCapabilities, McpSchema.Implementation clientInfo,
+			McpTransportContext transportContext, InFlightRequests.Cancellation cancellation,
+			LoggingBuffer.SessionBuffer loggingBuffer, ProgressThrottle.Emitter progressEmitter) {
+		Assert.notNull(cancellation, "Cancellation must not be null");
 		this.sessionId = sessionId;
 		this.session = session;
 		this.clientCapabilities = clientCapabilities;
 		this.clientInfo = clientInfo;
 		this.transportContext = transportContext;
+		this.cancellation = cancellation;
+		this.loggingBuffer = loggingBuffer;
+		this.progressEmitter = progressEmitter;
+	}
+
+	/**
+	 * Returns a copy of this exchange that sends its logging messages through the given
+	 * buffer.
+	 * @param loggingBuffer the buffer of the session
+	 * @return the buffered exchange
+	 */
+	McpAsyncServerExchange withLoggingBuffer(LoggingBuffer.SessionBuffer loggingBuffer) {
+		return new McpAsyncServerExchange(this.sessionId, this.session, this.clientCapabilities, this.clientInfo,
+				this.transportContext, this.cancellation, loggingBuffer, this.progressEmitter);
+	}
+
+	/**
+	 * Returns a copy of this exchange that sends its progress notifications through the
+	 * given emitter.
+	 * @param progressEmitter the emitter of the request
+	 * @return the throttled exchange
+	 */
+	McpAsyncServerExchange withProgressEmitter(ProgressThrottle.Emitter progressEmitter) {
+		return new McpAsyncServerExchange(this.sessionId, this.session, this.clientCapabilities, this.clientInfo,
+				this.transportContext, this.cancellation, this.loggingBuffer, progressEmitter);
+	}
+
+	/**
+	 * Returns the session, or the stream of the request, this exchange sends to.
+	 * @return the session
+	 */
+	McpLoggableSession session() {
+		return this.session;
 	}
 
 	/**
@@ -124,6 +192,25 @@ public class McpAsyncServerExchange {
 		return this.sessionId;
 	}
 
+	/**
+	 * Returns whether the client cancelled the request being handled. The subscription to
+	 * a cancelled handler is disposed; handlers doing blocking work can poll this method
+	 * to stop early.
+	 * @return true once the client cancelled the request
+	 */
+	public boolean isCancelled() {
+		return this.cancellation.isCancelled();
+	}
+
+	/**
+	 * Returns a Mono that completes when the client cancels the request being handled,
+	 * e.g. to release resources held outside of the handler's subscription.
+	 * @return a Mono completing on cancellation, never if the request is not cancelled
+	 */
+	public Mono<Void> cancellation() {
+		return this.cancellation.asMono();
+	}
+
 	/**
 	 * Create a new message using the sampling capabilities of the client. The Model
 	 * Context Protocol (MCP) provides a standardized way for servers to request LLM
@@ -208,7 +295,8 @@ public class McpAsyncServerExchange {
 
 	/**
 	 * Send a logging message notification to the client. Messages below the current
-	 * minimum logging level will be filtered out.
+	 * minimum logging level will be filtered out. If the server has a
+	 * {@link LoggingBuffer}, the returned Mono completes once the message is buffered.
 	 * @param loggingMessageNotification The logging message to send
 	 * @return A Mono that completes when the notification has been sent
 	 */
@@ -219,16 +307,21 @@ public class McpAsyncServerExchange {
 		}
 
 		return Mono.defer(() -> {
-			if (this.session.isNotificationForLevelAllowed(loggingMessageNotification.level())) {
-				return this.session.sendNotification(McpSchema.METHOD_NOTIFICATION_MESSAGE, loggingMessageNotification);
+			if (!this.session.isNotificationForLevelAllowed(loggingMessageNotification.level())) {
+				return Mono.empty();
+			}
+			if (this.loggingBuffer != null) {
+				return this.loggingBuffer.offer(this.session, loggingMessageNotification);
 			}
-			return Mono.empty();
+			return this.session.sendNotification(McpSchema.METHOD_NOTIFICATION_MESSAGE, loggingMessageNotification);
 		});
 	}
 
 	/**
 	 * Sends a notification to the client that the current progress status has changed for
-	 * long-running operations.
+	 * long-running operations. If the server has a {@link ProgressThrottle}, the returned
+	 * Mono completes once the notification is sent or kept as the latest progress of its
+	 * token.
 	 * @param progressNotification The progress notification to send
 	 * @return A Mono that completes when the notification has been sent
 	 */
@@ -236,9 +329,22 @@ public class McpAsyncServerExchange {
 		if (progressNotification == null) {
 			return Mono.error(new McpError("Progress notification must not be null"));
 		}
+		if (this.progressEmitter != null) {
+			return this.progressEmitter.emit(progressNotification);
+		}
 		return this.session.sendNotification(McpSchema.METHOD_NOTIFICATION_PROGRESS, progressNotification);
 	}
 
+	/**
+	 * Sends a notification to the client of this exchange.
+	 * @param method the name of the notification method
+	 * @param params the parameters of the notification
+	 * @return A Mono that completes when the notification has been sent
+	 */
+	Mono<Void> sendNotification(String method, Object params) {
+		return this.session.sendNotification(method, params);
+	}
+
 	/**
 	 * Sends a ping request to the client.
 	 * @return A Mono that completes with clients's ping response
@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import io.modelcontextprotocol.json.McpJsonMapper;
 
@@ -26,7 +27,10 @@ import io.modelcontextprotocol.spec.McpStreamableServerTransportProvider;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.DefaultMcpUriTemplateManagerFactory;
 import io.modelcontextprotocol.util.McpUriTemplateManagerFactory;
+import io.modelcontextprotocol.util.VirtualThreads;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Factory class for creating Model Context Protocol (MCP) servers. MCP servers expose
@@ -243,7 +247,9 @@ public interface McpServer {
 					: JsonSchemaValidator.getDefault();
 
 			return new McpAsyncServer(transportProvider, jsonMapper == null ? McpJsonMapper.getDefault() : jsonMapper,
-					features, requestTimeout, uriTemplateManagerFactory, jsonSchemaValidator);
+					features, requestTimeout, uriTemplateManagerFactory, jsonSchemaValidator, pageSize,
+					maxPendingRequests, validateToolInputs, toolBulkheads, toolResultCache, requestCoalescing,
+					listChangedDebounce, loggingBuffer, progressThrottle);
 		}
 
 	}
@@ -269,7 +275,9 @@ public interface McpServer {
 			var jsonSchemaValidator = this.jsonSchemaValidator != null ? this.jsonSchemaValidator
 					: JsonSchemaValidator.getDefault();
 			return new McpAsyncServer(transportProvider, jsonMapper == null ? McpJsonMapper.getDefault() : jsonMapper,
-					features, requestTimeout, uriTemplateManagerFactory, jsonSchemaValidator);
+					features, requestTimeout, uriTemplateManagerFactory, jsonSchemaValidator, pageSize,
+					maxPendingRequests, validateToolInputs, toolBulkheads, toolResultCache, requestCoalescing,
+					listChangedDebounce, loggingBuffer, progressThrottle);
 		}
 
 	}
@@ -333,6 +341,24 @@ public interface McpServer {
 
 		Duration requestTimeout = Duration.ofHours(10); // Default timeout
 
+		int pageSize;
+
+		int maxPendingRequests;
+
+		boolean validateToolInputs;
+
+		final Map<String, ToolBulkhead> toolBulkheads = new HashMap<>();
+
+		ToolResultCache toolResultCache;
+
+		RequestCoalescing requestCoalescing;
+
+		Duration listChangedDebounce = Duration.ZERO;
+
+		LoggingBuffer loggingBuffer;
+
+		ProgressThrottle progressThrottle;
+
 		public abstract McpAsyncServer build();
 
 		/**
@@ -363,6 +389,152 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Sets the maximum number of items returned per page by the tools/list,
+		 * resources/list, resources/templates/list and prompts/list operations. Clients
+		 * receive an opaque cursor to fetch the next page. Cursors stay valid while
+		 * features are added or removed. By default lists are not paginated.
+		 * @param pageSize The maximum number of items per page. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if pageSize is not positive
+		 */
+		public AsyncSpecification<S> pageSize(int pageSize) {
+			Assert.isTrue(pageSize > 0, "Page size must be greater than 0");
+			this.pageSize = pageSize;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of requests, such as sampling or elicitation requests,
+		 * a session may have sent to its client without having received a response.
+		 * Further requests wait until a response arrives; the request timeout includes
+		 * the time spent waiting. By default the number of pending requests is unlimited.
+		 * @param maxPendingRequests The maximum number of pending requests per session.
+		 * Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if maxPendingRequests is not positive
+		 */
+		public AsyncSpecification<S> maxPendingRequests(int maxPendingRequests) {
+			Assert.isTrue(maxPendingRequests > 0, "Max pending requests must be greater than 0");
+			this.maxPendingRequests = maxPendingRequests;
+			return this;
+		}
+
+		/**
+		 * Enables validation of the arguments of tool calls against the input schema of
+		 * the called tool. Input schemas are compiled with the configured
+		 * {@link JsonSchemaValidator} when tools are registered, and calls with invalid
+		 * arguments are rejected with an {@link McpSchema.ErrorCodes#INVALID_PARAMS
+		 * INVALID_PARAMS} error before the tool handler is invoked. Disabled by default.
+		 * @param validateToolInputs Whether to validate tool call arguments.
+		 * @return This builder instance for method chaining
+		 */
+		public AsyncSpecification<S> validateToolInputs(boolean validateToolInputs) {
+			this.validateToolInputs = validateToolInputs;
+			return this;
+		}
+
+		/**
+		 * Limits the concurrent calls to the given tools with a bulkhead. Tools
+		 * registered with the same bulkhead form a group sharing its limits, so the same
+		 * instance can be passed for several tools or several times. Calls to tools
+		 * without a bulkhead are not limited.
+		 * @param bulkhead The bulkhead limiting the calls. Must not be null.
+		 * @param toolNames The names of the tools whose calls are limited.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if bulkhead is null or no tool name is given
+		 * @see ToolBulkhead
+		 */
+		public AsyncSpecification<S> toolBulkhead(ToolBulkhead bulkhead, String... toolNames) {
+			Assert.notNull(bulkhead, "Tool bulkhead must not be null");
+			Assert.isTrue(toolNames != null && toolNames.length > 0, "At least one tool name must be provided");
+			for (String toolName : toolNames) {
+				Assert.hasText(toolName, "Tool name must not be empty");
+				this.toolBulkheads.put(toolName, bulkhead);
+			}
+			return this;
+		}
+
+		/**
+		 * Caches the results of the tools annotated as both read-only and idempotent,
+		 * keyed by the tool name and the canonical JSON of the arguments. Calls to other
+		 * tools are not cached. Disabled by default. Results are shared across sessions
+		 * unless the cache is built with a {@link ToolResultCache.Builder#scope scope},
+		 * so tools whose results depend on the caller must not be cached without one.
+		 * @param toolResultCache The cache holding the results. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if toolResultCache is null
+		 * @see ToolResultCache
+		 */
+		public AsyncSpecification<S> toolResultCache(ToolResultCache toolResultCache) {
+			Assert.notNull(toolResultCache, "Tool result cache must not be null");
+			this.toolResultCache = toolResultCache;
+			return this;
+		}
+
+		/**
+		 * Coalesces identical tool calls and resource reads that are in flight at the
+		 * same time, so that the handler is invoked once and its result shared. Only the
+		 * configured read-only tools and resources are coalesced. Disabled by default.
+		 * @param requestCoalescing The coalescing configuration. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if requestCoalescing is null
+		 * @see RequestCoalescing
+		 */
+		public AsyncSpecification<S> requestCoalescing(RequestCoalescing requestCoalescing) {
+			Assert.notNull(requestCoalescing, "Request coalescing must not be null");
+			this.requestCoalescing = requestCoalescing;
+			return this;
+		}
+
+		/**
+		 * Merges the list changed notifications of a burst of changes, e.g. a catalog
+		 * reload, into a single notification per list. The first change of a list opens a
+		 * window of the given duration, and the clients are notified once when it closes;
+		 * registrations complete without waiting for the notification. Defaults to zero,
+		 * which notifies every change immediately.
+		 * @param listChangedDebounce The duration during which changes are merged. Must
+		 * not be null or negative.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if listChangedDebounce is null or negative
+		 */
+		public AsyncSpecification<S> listChangedDebounce(Duration listChangedDebounce) {
+			Assert.notNull(listChangedDebounce, "List changed debounce must not be null");
+			Assert.isTrue(!listChangedDebounce.isNegative(), "List changed debounce must not be negative");
+			this.listChangedDebounce = listChangedDebounce;
+			return this;
+		}
+
+		/**
+		 * Buffers the logging messages that handlers send through their exchange, per
+		 * session and with a bounded capacity, dropping the oldest messages when a buffer
+		 * is full. Disabled by default.
+		 * @param loggingBuffer The logging buffer configuration. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if loggingBuffer is null
+		 * @see LoggingBuffer
+		 */
+		public AsyncSpecification<S> loggingBuffer(LoggingBuffer loggingBuffer) {
+			Assert.notNull(loggingBuffer, "Logging buffer must not be null");
+			this.loggingBuffer = loggingBuffer;
+			return this;
+		}
+
+		/**
+		 * Limits the rate of the progress notifications that handlers send through their
+		 * exchange, keeping only the latest progress of a token between two
+		 * notifications. Disabled by default.
+		 * @param progressThrottle The progress throttle configuration. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if progressThrottle is null
+		 * @see ProgressThrottle
+		 */
+		public AsyncSpecification<S> progressThrottle(ProgressThrottle progressThrottle) {
+			Assert.notNull(progressThrottle, "Progress throttle must not be null");
+			this.progressThrottle = progressThrottle;
+			return this;
+		}
+
 		/**
 		 * Sets the server implementation information that will be shared with clients
 		 * during connection initialization. This helps with version compatibility,
@@ -830,14 +1002,16 @@ public interface McpServer {
 			McpServerFeatures.Sync syncFeatures = new McpServerFeatures.Sync(this.serverInfo, this.serverCapabilities,
 					this.tools, this.resources, this.resourceTemplates, this.prompts, this.completions,
 					this.rootsChangeHandlers, this.instructions);
-			McpServerFeatures.Async asyncFeatures = McpServerFeatures.Async.fromSync(syncFeatures,
-					this.immediateExecution);
+			Scheduler executionScheduler = executionScheduler();
+			McpServerFeatures.Async asyncFeatures = McpServerFeatures.Async.fromSync(syncFeatures, executionScheduler);
 
 			var asyncServer = new McpAsyncServer(transportProvider,
 					jsonMapper == null ? McpJsonMapper.getDefault() : jsonMapper, asyncFeatures, requestTimeout,
 					uriTemplateManagerFactory,
-					jsonSchemaValidator != null ? jsonSchemaValidator : JsonSchemaValidator.getDefault());
-			return new McpSyncServer(asyncServer, this.immediateExecution);
+					jsonSchemaValidator != null ? jsonSchemaValidator : JsonSchemaValidator.getDefault(), pageSize,
+					maxPendingRequests, validateToolInputs, toolBulkheads, toolResultCache, requestCoalescing,
+					listChangedDebounce, loggingBuffer, progressThrottle);
+			return new McpSyncServer(asyncServer, executionScheduler);
 		}
 
 	}
@@ -861,14 +1035,16 @@ public interface McpServer {
 			McpServerFeatures.Sync syncFeatures = new McpServerFeatures.Sync(this.serverInfo, this.serverCapabilities,
 					this.tools, this.resources, this.resourceTemplates, this.prompts, this.completions,
 					this.rootsChangeHandlers, this.instructions);
-			McpServerFeatures.Async asyncFeatures = McpServerFeatures.Async.fromSync(syncFeatures,
-					this.immediateExecution);
+			Scheduler executionScheduler = executionScheduler();
+			McpServerFeatures.Async asyncFeatures = McpServerFeatures.Async.fromSync(syncFeatures, executionScheduler);
 			var jsonSchemaValidator = this.jsonSchemaValidator != null ? this.jsonSchemaValidator
 					: JsonSchemaValidator.getDefault();
 			var asyncServer = new McpAsyncServer(transportProvider,
 					jsonMapper == null ? McpJsonMapper.getDefault() : jsonMapper, asyncFeatures, this.requestTimeout,
-					this.uriTemplateManagerFactory, jsonSchemaValidator);
-			return new McpSyncServer(asyncServer, this.immediateExecution);
+					this.uriTemplateManagerFactory, jsonSchemaValidator, this.pageSize, this.maxPendingRequests,
+					this.validateToolInputs, this.toolBulkheads, this.toolResultCache, this.requestCoalescing,
+					this.listChangedDebounce, this.loggingBuffer, this.progressThrottle);
+			return new McpSyncServer(asyncServer, executionScheduler);
 		}
 
 	}
@@ -932,8 +1108,28 @@ public interface McpServer {
 
 		Duration requestTimeout = Duration.ofSeconds(10); // Default timeout
 
+		int pageSize;
+
+		int maxPendingRequests;
+
+		boolean validateToolInputs;
+
+		final Map<String, ToolBulkhead> toolBulkheads = new HashMap<>();
+
+		ToolResultCache toolResultCache;
+
+		RequestCoalescing requestCoalescing;
+
+		Duration listChangedDebounce = Duration.ZERO;
+
+		LoggingBuffer loggingBuffer;
+
+		ProgressThrottle progressThrottle;
+
 		boolean immediateExecution = false;
 
+		boolean virtualThreads = false;
+
 		public abstract McpSyncServer build();
 
 		/**
@@ -964,6 +1160,152 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Sets the maximum number of items returned per page by the tools/list,
+		 * resources/list, resources/templates/list and prompts/list operations. Clients
+		 * receive an opaque cursor to fetch the next page. Cursors stay valid while
+		 * features are added or removed. By default lists are not paginated.
+		 * @param pageSize The maximum number of items per page. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if pageSize is not positive
+		 */
+		public SyncSpecification<S> pageSize(int pageSize) {
+			Assert.isTrue(pageSize > 0, "Page size must be greater than 0");
+			this.pageSize = pageSize;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of requests, such as sampling or elicitation requests,
+		 * a session may have sent to its client without having received a response.
+		 * Further requests wait until a response arrives; the request timeout includes
+		 * the time spent waiting. By default the number of pending requests is unlimited.
+		 * @param maxPendingRequests The maximum number of pending requests per session.
+		 * Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if maxPendingRequests is not positive
+		 */
+		public SyncSpecification<S> maxPendingRequests(int maxPendingRequests) {
+			Assert.isTrue(maxPendingRequests > 0, "Max pending requests must be greater than 0");
+			this.maxPendingRequests = maxPendingRequests;
+			return this;
+		}
+
+		/**
+		 * Enables validation of the arguments of tool calls against the input schema of
+		 * the called tool. Input schemas are compiled with the configured
+		 * {@link JsonSchemaValidator} when tools are registered, and calls with invalid
+		 * arguments are rejected with an {@link McpSchema.ErrorCodes#INVALID_PARAMS
+		 * INVALID_PARAMS} error before the tool handler is invoked. Disabled by default.
+		 * @param validateToolInputs Whether to validate tool call arguments.
+		 * @return This builder instance for method chaining
+		 */
+		public SyncSpecification<S> validateToolInputs(boolean validateToolInputs) {
+			this.validateToolInputs = validateToolInputs;
+			return this;
+		}
+
+		/**
+		 * Limits the concurrent calls to the given tools with a bulkhead. Tools
+		 * registered with the same bulkhead form a group sharing its limits, so the same
+		 * instance can be passed for several tools or several times. Calls to tools
+		 * without a bulkhead are not limited.
+		 * @param bulkhead The bulkhead limiting the calls. Must not be null.
+		 * @param toolNames The names of the tools whose calls are limited.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if bulkhead is null or no tool name is given
+		 * @see ToolBulkhead
+		 */
+		public SyncSpecification<S> toolBulkhead(ToolBulkhead bulkhead, String... toolNames) {
+			Assert.notNull(bulkhead, "Tool bulkhead must not be null");
+			Assert.isTrue(toolNames != null && toolNames.length > 0, "At least one tool name must be provided");
+			for (String toolName : toolNames) {
+				Assert.hasText(toolName, "Tool name must not be empty");
+				this.toolBulkheads.put(toolName, bulkhead);
+			}
+			return this;
+		}
+
+		/**
+		 * Caches the results of the tools annotated as both read-only and idempotent,
+		 * keyed by the tool name and the canonical JSON of the arguments. Calls to other
+		 * tools are not cached. Disabled by default. Results are shared across sessions
+		 * unless the cache is built with a {@link ToolResultCache.Builder#scope scope},
+		 * so tools whose results depend on the caller must not be cached without one.
+		 * @param toolResultCache The cache holding the results. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if toolResultCache is null
+		 * @see ToolResultCache
+		 */
+		public SyncSpecification<S> toolResultCache(ToolResultCache toolResultCache) {
+			Assert.notNull(toolResultCache, "Tool result cache must not be null");
+			this.toolResultCache = toolResultCache;
+			return this;
+		}
+
+		/**
+		 * Coalesces identical tool calls and resource reads that are in flight at the
+		 * same time, so that the handler is invoked once and its result shared. Only the
+		 * configured read-only tools and resources are coalesced. Disabled by default.
+		 * @param requestCoalescing The coalescing configuration. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if requestCoalescing is null
+		 * @see RequestCoalescing
+		 */
+		public SyncSpecification<S> requestCoalescing(RequestCoalescing requestCoalescing) {
+			Assert.notNull(requestCoalescing, "Request coalescing must not be null");
+			this.requestCoalescing = requestCoalescing;
+			return this;
+		}
+
+		/**
+		 * Merges the list changed notifications of a burst of changes, e.g. a catalog
+		 * reload, into a single notification per list. The first change of a list opens a
+		 * window of the given duration, and the clients are notified once when it closes;
+		 * registrations complete without waiting for the notification. Defaults to zero,
+		 * which notifies every change immediately.
+		 * @param listChangedDebounce The duration during which changes are merged. Must
+		 * not be null or negative.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if listChangedDebounce is null or negative
+		 */
+		public SyncSpecification<S> listChangedDebounce(Duration listChangedDebounce) {
+			Assert.notNull(listChangedDebounce, "List changed debounce must not be null");
+			Assert.isTrue(!listChangedDebounce.isNegative(), "List changed debounce must not be negative");
+			this.listChangedDebounce = listChangedDebounce;
+			return this;
+		}
+
+		/**
+		 * Buffers the logging messages that handlers send through their exchange, per
+		 * session and with a bounded capacity, dropping the oldest messages when a buffer
+		 * is full. Disabled by default.
+		 * @param loggingBuffer The logging buffer configuration. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if loggingBuffer is null
+		 * @see LoggingBuffer
+		 */
+		public SyncSpecification<S> loggingBuffer(LoggingBuffer loggingBuffer) {
+			Assert.notNull(loggingBuffer, "Logging buffer must not be null");
+			this.loggingBuffer = loggingBuffer;
+			return this;
+		}
+
+		/**
+		 * Limits the rate of the progress notifications that handlers send through their
+		 * exchange, keeping only the latest progress of a token between two
+		 * notifications. Disabled by default.
+		 * @param progressThrottle The progress throttle configuration. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if progressThrottle is null
+		 * @see ProgressThrottle
+		 */
+		public SyncSpecification<S> progressThrottle(ProgressThrottle progressThrottle) {
+			Assert.notNull(progressThrottle, "Progress throttle must not be null");
+			this.progressThrottle = progressThrottle;
+			return this;
+		}
+
 		/**
 		 * Sets the server implementation information that will be shared with clients
 		 * during connection initialization. This helps with version compatibility,
@@ -1416,6 +1758,28 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Runs each call of a blocking tool, resource, prompt or completion handler on
+		 * its own virtual thread instead of the bounded elastic scheduler, whose number
+		 * of threads limits the number of concurrent blocking calls. Virtual threads
+		 * require Java 21 or later; on older runtimes the handlers keep running on the
+		 * bounded elastic scheduler. Has no effect when immediate execution is enabled.
+		 * @param virtualThreads When true, offload work to virtual threads.
+		 * @return This builder instance for method chaining.
+		 * @see VirtualThreads
+		 */
+		public SyncSpecification<S> virtualThreads(boolean virtualThreads) {
+			this.virtualThreads = virtualThreads;
+			return this;
+		}
+
+		Scheduler executionScheduler() {
+			if (this.immediateExecution) {
+				return null;
+			}
+			return this.virtualThreads ? VirtualThreads.scheduler() : Schedulers.boundedElastic();
+		}
+
 	}
 
 	class StatelessAsyncSpecification {
@@ -1474,6 +1838,18 @@ public interface McpServer {
 
 		Duration requestTimeout = Duration.ofSeconds(10); // Default timeout
 
+		int pageSize;
+
+		boolean validateToolInputs;
+
+		final Map<String, ToolBulkhead> toolBulkheads = new HashMap<>();
+
+		ToolResultCache toolResultCache;
+
+		RequestCoalescing requestCoalescing;
+
+		Function<McpTransportContext, ?> cancellationScope = transportContext -> null;
+
 		public StatelessAsyncSpecification(McpStatelessServerTransport transport) {
 			this.transport = transport;
 		}
@@ -1507,6 +1883,106 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Sets the maximum number of items returned per page by the tools/list,
+		 * resources/list, resources/templates/list and prompts/list operations. Clients
+		 * receive an opaque cursor to fetch the next page. Cursors stay valid while
+		 * features are added or removed. By default lists are not paginated.
+		 * @param pageSize The maximum number of items per page. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if pageSize is not positive
+		 */
+		public StatelessAsyncSpecification pageSize(int pageSize) {
+			Assert.isTrue(pageSize > 0, "Page size must be greater than 0");
+			this.pageSize = pageSize;
+			return this;
+		}
+
+		/**
+		 * Enables validation of the arguments of tool calls against the input schema of
+		 * the called tool. Input schemas are compiled with the configured
+		 * {@link JsonSchemaValidator} when tools are registered, and calls with invalid
+		 * arguments are rejected with an {@link McpSchema.ErrorCodes#INVALID_PARAMS
+		 * INVALID_PARAMS} error before the tool handler is invoked. Disabled by default.
+		 * @param validateToolInputs Whether to validate tool call arguments.
+		 * @return This builder instance for method chaining
+		 */
+		public StatelessAsyncSpecification validateToolInputs(boolean validateToolInputs) {
+			this.validateToolInputs = validateToolInputs;
+			return this;
+		}
+
+		/**
+		 * Limits the concurrent calls to the given tools with a bulkhead. Tools
+		 * registered with the same bulkhead form a group sharing its limits, so the same
+		 * instance can be passed for several tools or several times. Calls to tools
+		 * without a bulkhead are not limited.
+		 * @param bulkhead The bulkhead limiting the calls. Must not be null.
+		 * @param toolNames The names of the tools whose calls are limited.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if bulkhead is null or no tool name is given
+		 * @see ToolBulkhead
+		 */
+		public StatelessAsyncSpecification toolBulkhead(ToolBulkhead bulkhead, String... toolNames) {
+			Assert.notNull(bulkhead, "Tool bulkhead must not be null");
+			Assert.isTrue(toolNames != null && toolNames.length > 0, "At least one tool name must be provided");
+			for (String toolName : toolNames) {
+				Assert.hasText(toolName, "Tool name must not be empty");
+				this.toolBulkheads.put(toolName, bulkhead);
+			}
+			return this;
+		}
+
+		/**
+		 * Caches the results of the tools annotated as both read-only and idempotent,
+		 * keyed by the tool name and the canonical JSON of the arguments. Calls to other
+		 * tools are not cached. Disabled by default. Results are shared across sessions
+		 * unless the cache is built with a {@link ToolResultCache.Builder#scope scope},
+		 * so tools whose results depend on the caller must not be cached without one.
+		 * @param toolResultCache The cache holding the results. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if toolResultCache is null
+		 * @see ToolResultCache
+		 */
+		public StatelessAsyncSpecification toolResultCache(ToolResultCache toolResultCache) {
+			Assert.notNull(toolResultCache, "Tool result cache must not be null");
+			this.toolResultCache = toolResultCache;
+			return this;
+		}
+
+		/**
+		 * Coalesces identical tool calls and resource reads that are in flight at the
+		 * same time, so that the handler is invoked once and its result shared. Only the
+		 * configured read-only tools and resources are coalesced. Disabled by default.
+		 * @param requestCoalescing The coalescing configuration. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if requestCoalescing is null
+		 * @see RequestCoalescing
+		 */
+		public StatelessAsyncSpecification requestCoalescing(RequestCoalescing requestCoalescing) {
+			Assert.notNull(requestCoalescing, "Request coalescing must not be null");
+			this.requestCoalescing = requestCoalescing;
+			return this;
+		}
+
+		/**
+		 * Sets the function extracting the caller of a request from its transport
+		 * context, e.g. the authenticated principal, so that requests can be cancelled
+		 * with a {@value McpSchema#METHOD_NOTIFICATION_CANCELLED} notification. A request
+		 * can only be cancelled by its caller, as compared with {@code equals}, since
+		 * request IDs are chosen by the clients. By default, or when the function returns
+		 * null, the caller is not known and cancellations are ignored, so a request ends
+		 * with its HTTP exchange.
+		 * @param cancellationScope The function extracting the caller. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if cancellationScope is null
+		 */
+		public StatelessAsyncSpecification cancellationScope(Function<McpTransportContext, ?> cancellationScope) {
+			Assert.notNull(cancellationScope, "Cancellation scope must not be null");
+			this.cancellationScope = cancellationScope;
+			return this;
+		}
+
 		/**
 		 * Sets the server implementation information that will be shared with clients
 		 * during connection initialization. This helps with version compatibility,
@@ -1873,7 +2349,8 @@ public interface McpServer {
 					this.resources, this.resourceTemplates, this.prompts, this.completions, this.instructions);
 			return new McpStatelessAsyncServer(transport, jsonMapper == null ? McpJsonMapper.getDefault() : jsonMapper,
 					features, requestTimeout, uriTemplateManagerFactory,
-					jsonSchemaValidator != null ? jsonSchemaValidator : JsonSchemaValidator.getDefault());
+					jsonSchemaValidator != null ? jsonSchemaValidator : JsonSchemaValidator.getDefault(), pageSize,
+					validateToolInputs, toolBulkheads, toolResultCache, requestCoalescing, cancellationScope);
 		}
 
 	}
@@ -1884,6 +2361,8 @@ public interface McpServer {
 
 		boolean immediateExecution = false;
 
+		boolean virtualThreads = false;
+
 		McpUriTemplateManagerFactory uriTemplateManagerFactory = new DefaultMcpUriTemplateManagerFactory();
 
 		McpJsonMapper jsonMapper;
@@ -1936,6 +2415,18 @@ public interface McpServer {
 
 		Duration requestTimeout = Duration.ofSeconds(10); // Default timeout
 
+		int pageSize;
+
+		boolean validateToolInputs;
+
+		final Map<String, ToolBulkhead> toolBulkheads = new HashMap<>();
+
+		ToolResultCache toolResultCache;
+
+		RequestCoalescing requestCoalescing;
+
+		Function<McpTransportContext, ?> cancellationScope = transportContext -> null;
+
 		public StatelessSyncSpecification(McpStatelessServerTransport transport) {
 			this.transport = transport;
 		}
@@ -1969,6 +2460,106 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Sets the maximum number of items returned per page by the tools/list,
+		 * resources/list, resources/templates/list and prompts/list operations. Clients
+		 * receive an opaque cursor to fetch the next page. Cursors stay valid while
+		 * features are added or removed. By default lists are not paginated.
+		 * @param pageSize The maximum number of items per page. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if pageSize is not positive
+		 */
+		public StatelessSyncSpecification pageSize(int pageSize) {
+			Assert.isTrue(pageSize > 0, "Page size must be greater than 0");
+			this.pageSize = pageSize;
+			return this;
+		}
+
+		/**
+		 * Enables validation of the arguments of tool calls against the input schema of
+		 * the called tool. Input schemas are compiled with the configured
+		 * {@link JsonSchemaValidator} when tools are registered, and calls with invalid
+		 * arguments are rejected with an {@link McpSchema.ErrorCodes#INVALID_PARAMS
+		 * INVALID_PARAMS} error before the tool handler is invoked. Disabled by default.
+		 * @param validateToolInputs Whether to validate tool call arguments.
+		 * @return This builder instance for method chaining
+		 */
+		public StatelessSyncSpecification validateToolInputs(boolean validateToolInputs) {
+			this.validateToolInputs = validateToolInputs;
+			return this;
+		}
+
+		/**
+		 * Limits the concurrent calls to the given tools with a bulkhead. Tools
+		 * registered with the same bulkhead form a group sharing its limits, so the same
+		 * instance can be passed for several tools or several times. Calls to tools
+		 * without a bulkhead are not limited.
+		 * @param bulkhead The bulkhead limiting the calls. Must not be null.
+		 * @param toolNames The names of the tools whose calls are limited.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if bulkhead is null or no tool name is given
+		 * @see ToolBulkhead
+		 */
+		public StatelessSyncSpecification toolBulkhead(ToolBulkhead bulkhead, String... toolNames) {
+			Assert.notNull(bulkhead, "Tool bulkhead must not be null");
+			Assert.isTrue(toolNames != null && toolNames.length > 0, "At least one tool name must be provided");
+			for (String toolName : toolNames) {
+				Assert.hasText(toolName, "Tool name must not be empty");
+				this.toolBulkheads.put(toolName, bulkhead);
+			}
+			return this;
+		}
+
+		/**
+		 * Caches the results of the tools annotated as both read-only and idempotent,
+		 * keyed by the tool name and the canonical JSON of the arguments. Calls to other
+		 * tools are not cached. Disabled by default. Results are shared across sessions
+		 * unless the cache is built with a {@link ToolResultCache.Builder#scope scope},
+		 * so tools whose results depend on the caller must not be cached without one.
+		 * @param toolResultCache The cache holding the results. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if toolResultCache is null
+		 * @see ToolResultCache
+		 */
+		public StatelessSyncSpecification toolResultCache(ToolResultCache toolResultCache) {
+			Assert.notNull(toolResultCache, "Tool result cache must not be null");
+			this.toolResultCache = toolResultCache;
+			return this;
+		}
+
+		/**
+		 * Coalesces identical tool calls and resource reads that are in flight at the
+		 * same time, so that the handler is invoked once and its result shared. Only the
+		 * configured read-only tools and resources are coalesced. Disabled by default.
+		 * @param requestCoalescing The coalescing configuration. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if requestCoalescing is null
+		 * @see RequestCoalescing
+		 */
+		public StatelessSyncSpecification requestCoalescing(RequestCoalescing requestCoalescing) {
+			Assert.notNull(requestCoalescing, "Request coalescing must not be null");
+			this.requestCoalescing = requestCoalescing;
+			return this;
+		}
+
+		/**
+		 * Sets the function extracting the caller of a request from its transport
+		 * context, e.g. the authenticated principal, so that requests can be cancelled
+		 * with a {@value McpSchema#METHOD_NOTIFICATION_CANCELLED} notification. A request
+		 * can only be cancelled by its caller, as compared with {@code equals}, since
+		 * request IDs are chosen by the clients. By default, or when the function returns
+		 * null, the caller is not known and cancellations are ignored, so a request ends
+		 * with its HTTP exchange.
+		 * @param cancellationScope The function extracting the caller. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if cancellationScope is null
+		 */
+		public StatelessSyncSpecification cancellationScope(Function<McpTransportContext, ?> cancellationScope) {
+			Assert.notNull(cancellationScope, "Cancellation scope must not be null");
+			this.cancellationScope = cancellationScope;
+			return this;
+		}
+
 		/**
 		 * Sets the server implementation information that will be shared with clients
 		 * during connection initialization. This helps with version compatibility,
@@ -2346,15 +2937,40 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Runs each call of a blocking tool, resource, prompt or completion handler on
+		 * its own virtual thread instead of the bounded elastic scheduler, whose number
+		 * of threads limits the number of concurrent blocking calls. Virtual threads
+		 * require Java 21 or later; on older runtimes the handlers keep running on the
+		 * bounded elastic scheduler. Has no effect when immediate execution is enabled.
+		 * @param virtualThreads When true, offload work to virtual threads.
+		 * @return This builder instance for method chaining.
+		 * @see VirtualThreads
+		 */
+		public StatelessSyncSpecification virtualThreads(boolean virtualThreads) {
+			this.virtualThreads = virtualThreads;
+			return this;
+		}
+
+		Scheduler executionScheduler() {
+			if (this.immediateExecution) {
+				return null;
+			}
+			return this.virtualThreads ? VirtualThreads.scheduler() : Schedulers.boundedElastic();
+		}
+
 		public McpStatelessSyncServer build() {
 			var syncFeatures = new McpStatelessServerFeatures.Sync(this.serverInfo, this.serverCapabilities, this.tools,
 					this.resources, this.resourceTemplates, this.prompts, this.completions, this.instructions);
-			var asyncFeatures = McpStatelessServerFeatures.Async.fromSync(syncFeatures, this.immediateExecution);
+			Scheduler executionScheduler = executionScheduler();
+			var asyncFeatures = McpStatelessServerFeatures.Async.fromSync(syncFeatures, executionScheduler);
 			var asyncServer = new McpStatelessAsyncServer(transport,
 					jsonMapper == null ? McpJsonMapper.getDefault() : jsonMapper, asyncFeatures, requestTimeout,
 					uriTemplateManagerFactory,
-					this.jsonSchemaValidator != null ? this.jsonSchemaValidator : JsonSchemaValidator.getDefault());
-			return new McpStatelessSyncServer(asyncServer, this.immediateExecution);
+					this.jsonSchemaValidator != null ? this.jsonSchemaValidator : JsonSchemaValidator.getDefault(),
+					this.pageSize, this.validateToolInputs, this.toolBulkheads, this.toolResultCache,
+					this.requestCoalescing, this.cancellationScope);
+			return new McpStatelessSyncServer(asyncServer, executionScheduler);
 		}
 
 	}
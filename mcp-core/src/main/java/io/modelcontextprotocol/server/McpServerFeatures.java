@@ -16,6 +16,7 @@ import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.Utils;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 /**
@@ -96,35 +97,36 @@ public class McpServerFeatures {
 		 * blocking code offloading to prevent accidental blocking of the non-blocking
 		 * transport.
 		 * @param syncSpec a potentially blocking, synchronous specification.
-		 * @param immediateExecution when true, do not offload. Do NOT set to true when
-		 * using a non-blocking transport.
+		 * @param scheduler the scheduler the blocking handlers are offloaded to, or null
+		 * to run them on the calling thread. Do NOT set to null when using a non-blocking
+		 * transport.
 		 * @return a specification which is protected from blocking calls specified by the
 		 * user.
 		 */
-		static Async fromSync(Sync syncSpec, boolean immediateExecution) {
+		static Async fromSync(Sync syncSpec, Scheduler scheduler) {
 			List<McpServerFeatures.AsyncToolSpecification> tools = new ArrayList<>();
 			for (var tool : syncSpec.tools()) {
-				tools.add(AsyncToolSpecification.fromSync(tool, immediateExecution));
+				tools.add(AsyncToolSpecification.fromSync(tool, scheduler));
 			}
 
 			Map<String, AsyncResourceSpecification> resources = new HashMap<>();
 			syncSpec.resources().forEach((key, resource) -> {
-				resources.put(key, AsyncResourceSpecification.fromSync(resource, immediateExecution));
+				resources.put(key, AsyncResourceSpecification.fromSync(resource, scheduler));
 			});
 
 			Map<String, AsyncResourceTemplateSpecification> resourceTemplates = new HashMap<>();
 			syncSpec.resourceTemplates().forEach((key, resource) -> {
-				resourceTemplates.put(key, AsyncResourceTemplateSpecification.fromSync(resource, immediateExecution));
+				resourceTemplates.put(key, AsyncResourceTemplateSpecification.fromSync(resource, scheduler));
 			});
 
 			Map<String, AsyncPromptSpecification> prompts = new HashMap<>();
 			syncSpec.prompts().forEach((key, prompt) -> {
-				prompts.put(key, AsyncPromptSpecification.fromSync(prompt, immediateExecution));
+				prompts.put(key, AsyncPromptSpecification.fromSync(prompt, scheduler));
 			});
 
 			Map<McpSchema.CompleteReference, McpServerFeatures.AsyncCompletionSpecification> completions = new HashMap<>();
 			syncSpec.completions().forEach((key, completion) -> {
-				completions.put(key, AsyncCompletionSpecification.fromSync(completion, immediateExecution));
+				completions.put(key, AsyncCompletionSpecification.fromSync(completion, scheduler));
 			});
 
 			List<BiFunction<McpAsyncServerExchange, List<McpSchema.Root>, Mono<Void>>> rootChangeConsumers = new ArrayList<>();
@@ -132,7 +134,7 @@ public class McpServerFeatures {
 			for (var rootChangeConsumer : syncSpec.rootsChangeConsumers()) {
 				rootChangeConsumers.add((exchange, list) -> Mono
 					.<Void>fromRunnable(() -> rootChangeConsumer.accept(new McpSyncServerExchange(exchange), list))
-					.subscribeOn(Schedulers.boundedElastic()));
+					.subscribeOn((scheduler != null) ? scheduler : Schedulers.boundedElastic()));
 			}
 
 			return new Async(syncSpec.serverInfo(), syncSpec.serverCapabilities(), tools, resources, resourceTemplates,
@@ -237,10 +239,10 @@ public class McpServerFeatures {
 		}
 
 		static AsyncToolSpecification fromSync(SyncToolSpecification syncToolSpec) {
-			return fromSync(syncToolSpec, false);
+			return fromSync(syncToolSpec, Schedulers.boundedElastic());
 		}
 
-		static AsyncToolSpecification fromSync(SyncToolSpecification syncToolSpec, boolean immediate) {
+		static AsyncToolSpecification fromSync(SyncToolSpecification syncToolSpec, Scheduler scheduler) {
 
 			// FIXME: This is temporary, proper validation should be implemented
 			if (syncToolSpec == null) {
@@ -251,14 +253,14 @@ public class McpServerFeatures {
 				.call() != null) ? (exchange, map) -> {
 					var toolResult = Mono
 						.fromCallable(() -> syncToolSpec.call().apply(new McpSyncServerExchange(exchange), map));
-					return immediate ? toolResult : toolResult.subscribeOn(Schedulers.boundedElastic());
+					return (scheduler != null) ? toolResult.subscribeOn(scheduler) : toolResult;
 				} : null;
 
 			BiFunction<McpAsyncServerExchange, McpSchema.CallToolRequest, Mono<McpSchema.CallToolResult>> callHandler = (
 					exchange, req) -> {
 				var toolResult = Mono
 					.fromCallable(() -> syncToolSpec.callHandler().apply(new McpSyncServerExchange(exchange), req));
-				return immediate ? toolResult : toolResult.subscribeOn(Schedulers.boundedElastic());
+				return (scheduler != null) ? toolResult.subscribeOn(scheduler) : toolResult;
 			};
 
 			return new AsyncToolSpecification(syncToolSpec.tool(), deprecatedCall, callHandler);
@@ -354,7 +356,7 @@ public class McpServerFeatures {
 	public record AsyncResourceSpecification(McpSchema.Resource resource,
 			BiFunction<McpAsyncServerExchange, McpSchema.ReadResourceRequest, Mono<McpSchema.ReadResourceResult>> readHandler) {
 
-		static AsyncResourceSpecification fromSync(SyncResourceSpecification resource, boolean immediateExecution) {
+		static AsyncResourceSpecification fromSync(SyncResourceSpecification resource, Scheduler scheduler) {
 			// FIXME: This is temporary, proper validation should be implemented
 			if (resource == null) {
 				return null;
@@ -362,7 +364,7 @@ public class McpServerFeatures {
 			return new AsyncResourceSpecification(resource.resource(), (exchange, req) -> {
 				var resourceResult = Mono
 					.fromCallable(() -> resource.readHandler().apply(new McpSyncServerExchange(exchange), req));
-				return immediateExecution ? resourceResult : resourceResult.subscribeOn(Schedulers.boundedElastic());
+				return (scheduler != null) ? resourceResult.subscribeOn(scheduler) : resourceResult;
 			});
 		}
 	}
@@ -395,7 +397,7 @@ public class McpServerFeatures {
 			BiFunction<McpAsyncServerExchange, McpSchema.ReadResourceRequest, Mono<McpSchema.ReadResourceResult>> readHandler) {
 
 		static AsyncResourceTemplateSpecification fromSync(SyncResourceTemplateSpecification resource,
-				boolean immediateExecution) {
+				Scheduler scheduler) {
 			// FIXME: This is temporary, proper validation should be implemented
 			if (resource == null) {
 				return null;
@@ -403,7 +405,7 @@ public class McpServerFeatures {
 			return new AsyncResourceTemplateSpecification(resource.resourceTemplate(), (exchange, req) -> {
 				var resourceResult = Mono
 					.fromCallable(() -> resource.readHandler().apply(new McpSyncServerExchange(exchange), req));
-				return immediateExecution ? resourceResult : resourceResult.subscribeOn(Schedulers.boundedElastic());
+				return (scheduler != null) ? resourceResult.subscribeOn(scheduler) : resourceResult;
 			});
 		}
 	}
@@ -442,7 +444,7 @@ public class McpServerFeatures {
 	public record AsyncPromptSpecification(McpSchema.Prompt prompt,
 			BiFunction<McpAsyncServerExchange, McpSchema.GetPromptRequest, Mono<McpSchema.GetPromptResult>> promptHandler) {
 
-		static AsyncPromptSpecification fromSync(SyncPromptSpecification prompt, boolean immediateExecution) {
+		static AsyncPromptSpecification fromSync(SyncPromptSpecification prompt, Scheduler scheduler) {
 			// FIXME: This is temporary, proper validation should be implemented
 			if (prompt == null) {
 				return null;
@@ -450,7 +452,7 @@ public class McpServerFeatures {
 			return new AsyncPromptSpecification(prompt.prompt(), (exchange, req) -> {
 				var promptResult = Mono
 					.fromCallable(() -> prompt.promptHandler().apply(new McpSyncServerExchange(exchange), req));
-				return immediateExecution ? promptResult : promptResult.subscribeOn(Schedulers.boundedElastic());
+				return (scheduler != null) ? promptResult.subscribeOn(scheduler) : promptResult;
 			});
 		}
 	}
@@ -476,22 +478,22 @@ public class McpServerFeatures {
 
 		/**
 		 * Converts a synchronous {@link SyncCompletionSpecification} into an
-		 * {@link AsyncCompletionSpecification} by wrapping the handler in a bounded
-		 * elastic scheduler for safe non-blocking execution.
+		 * {@link AsyncCompletionSpecification} by offloading the handler to the given
+		 * scheduler for safe non-blocking execution.
 		 * @param completion the synchronous completion specification
+		 * @param scheduler the scheduler the handler is offloaded to, or null to run it
+		 * on the calling thread
 		 * @return an asynchronous wrapper of the provided sync specification, or
 		 * {@code null} if input is null
 		 */
-		static AsyncCompletionSpecification fromSync(SyncCompletionSpecification completion,
-				boolean immediateExecution) {
+		static AsyncCompletionSpecification fromSync(SyncCompletionSpecification completion, Scheduler scheduler) {
 			if (completion == null) {
 				return null;
 			}
 			return new AsyncCompletionSpecification(completion.referenceKey(), (exchange, request) -> {
 				var completionResult = Mono.fromCallable(
 						() -> completion.completionHandler().apply(new McpSyncServerExchange(exchange), request));
-				return immediateExecution ? completionResult
-						: completionResult.subscribeOn(Schedulers.boundedElastic());
+				return (scheduler != null) ? completionResult.subscribeOn(scheduler) : completionResult;
 			});
 		}
 	}
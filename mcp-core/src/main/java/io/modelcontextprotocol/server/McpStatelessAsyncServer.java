@@ -6,6 +6,7 @@ package io.modelcontextprotocol.server;
 
 import io.modelcontextprotocol.json.TypeRef;
 import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.RawJson;
 import io.modelcontextprotocol.common.McpTransportContext;
 import io.modelcontextprotocol.json.schema.JsonSchemaValidator;
 import io.modelcontextprotocol.server.McpStatelessServerFeatures.AsyncResourceTemplateSpecification;
@@ -29,13 +30,19 @@ import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static io.modelcontextprotocol.spec.McpError.RESOURCE_NOT_FOUND;
 
@@ -55,19 +62,28 @@ public class McpStatelessAsyncServer {
 
 	private final McpJsonMapper jsonMapper;
 
+	private final boolean rawJson;
+
 	private final McpSchema.ServerCapabilities serverCapabilities;
 
 	private final McpSchema.Implementation serverInfo;
 
 	private final String instructions;
 
-	private final CopyOnWriteArrayList<McpStatelessServerFeatures.AsyncToolSpecification> tools = new CopyOnWriteArrayList<>();
+	/**
+	 * Replaced as a whole on every update, under the tools lock
+	 */
+	private volatile FeatureRegistry<McpStatelessServerFeatures.AsyncToolSpecification> tools = new FeatureRegistry<>(
+			toolSpecification -> toolSpecification.tool().name());
+
+	private final Object toolsLock = new Object();
 
-	private final ConcurrentHashMap<String, McpStatelessServerFeatures.AsyncResourceTemplateSpecification> resourceTemplates = new ConcurrentHashMap<>();
+	private final ResourceRouter<McpStatelessServerFeatures.AsyncResourceTemplateSpecification> resourceTemplates;
 
-	private final ConcurrentHashMap<String, McpStatelessServerFeatures.AsyncResourceSpecification> resources = new ConcurrentHashMap<>();
+	private final ResourceRouter<McpStatelessServerFeatures.AsyncResourceSpecification> resources;
 
-	private final ConcurrentHashMap<String, McpStatelessServerFeatures.AsyncPromptSpecification> prompts = new ConcurrentHashMap<>();
+	private final FeatureRegistry<McpStatelessServerFeatures.AsyncPromptSpecification> prompts = new FeatureRegistry<>(
+			promptSpecification -> promptSpecification.prompt().name());
 
 	private final ConcurrentHashMap<McpSchema.CompleteReference, McpStatelessServerFeatures.AsyncCompletionSpecification> completions = new ConcurrentHashMap<>();
 
@@ -77,21 +93,50 @@ public class McpStatelessAsyncServer {
 
 	private final JsonSchemaValidator jsonSchemaValidator;
 
+	private final int pageSize;
+
+	private final ToolInputValidator toolInputValidator;
+
+	private final Map<String, ToolBulkhead> toolBulkheads;
+
+	private final ToolResultCache toolResultCache;
+
+	private final RequestCoalescing requestCoalescing;
+
 	McpStatelessAsyncServer(McpStatelessServerTransport mcpTransport, McpJsonMapper jsonMapper,
 			McpStatelessServerFeatures.Async features, Duration requestTimeout,
-			McpUriTemplateManagerFactory uriTemplateManagerFactory, JsonSchemaValidator jsonSchemaValidator) {
+			McpUriTemplateManagerFactory uriTemplateManagerFactory, JsonSchemaValidator jsonSchemaValidator,
+			int pageSize, boolean validateToolInputs, Map<String, ToolBulkhead> toolBulkheads,
+			ToolResultCache toolResultCache, RequestCoalescing requestCoalescing,
+			Function<McpTransportContext, ?> cancellationScope) {
 		this.mcpTransportProvider = mcpTransport;
 		this.jsonMapper = jsonMapper;
+		// Encoded JSON is only passed on when the transport writes it as is
+		this.rawJson = mcpTransport.supportsRawJson();
 		this.serverInfo = features.serverInfo();
 		this.serverCapabilities = features.serverCapabilities();
 		this.instructions = features.instructions();
-		this.tools.addAll(withStructuredOutputHandling(jsonSchemaValidator, features.tools()));
-		this.resources.putAll(features.resources());
-		this.resourceTemplates.putAll(features.resourceTemplates());
-		this.prompts.putAll(features.prompts());
+		withStructuredOutputHandling(jsonSchemaValidator, this.rawJson, features.tools()).forEach(this.tools::put);
+		this.resources = new ResourceRouter<>(resourceSpecification -> resourceSpecification.resource().uri(),
+				uriTemplateManagerFactory);
+		features.resources().values().forEach(this.resources::put);
+		this.resourceTemplates = new ResourceRouter<>(
+				resourceTemplateSpecification -> resourceTemplateSpecification.resourceTemplate().uriTemplate(),
+				uriTemplateManagerFactory);
+		features.resourceTemplates().values().forEach(this.resourceTemplates::put);
+		features.prompts().values().forEach(this.prompts::put);
 		this.completions.putAll(features.completions());
 		this.uriTemplateManagerFactory = uriTemplateManagerFactory;
 		this.jsonSchemaValidator = jsonSchemaValidator;
+		this.pageSize = pageSize;
+		this.toolInputValidator = validateToolInputs ? new ToolInputValidator(jsonSchemaValidator, jsonMapper) : null;
+		this.toolBulkheads = Map.copyOf(toolBulkheads);
+		this.toolResultCache = toolResultCache;
+		this.requestCoalescing = requestCoalescing;
+		if (this.toolInputValidator != null) {
+			this.tools.values()
+				.forEach(toolSpecification -> this.toolInputValidator.register(toolSpecification.tool()));
+		}
 
 		Map<String, McpStatelessRequestHandler<?>> requestHandlers = new HashMap<>();
 
@@ -128,7 +173,8 @@ public class McpStatelessAsyncServer {
 
 		this.protocolVersions = new ArrayList<>(mcpTransport.protocolVersions());
 
-		McpStatelessServerHandler handler = new DefaultMcpStatelessServerHandler(requestHandlers, Map.of());
+		McpStatelessServerHandler handler = new DefaultMcpStatelessServerHandler(requestHandlers, Map.of(),
+				this.jsonMapper, cancellationScope);
 		mcpTransport.setMcpHandler(handler);
 	}
 
@@ -202,17 +248,20 @@ public class McpStatelessAsyncServer {
 	// ---------------------------------------
 
 	private static List<McpStatelessServerFeatures.AsyncToolSpecification> withStructuredOutputHandling(
-			JsonSchemaValidator jsonSchemaValidator, List<McpStatelessServerFeatures.AsyncToolSpecification> tools) {
+			JsonSchemaValidator jsonSchemaValidator, boolean reuseValidatedJson,
+			List<McpStatelessServerFeatures.AsyncToolSpecification> tools) {
 
 		if (Utils.isEmpty(tools)) {
 			return tools;
 		}
 
-		return tools.stream().map(tool -> withStructuredOutputHandling(jsonSchemaValidator, tool)).toList();
+		return tools.stream()
+			.map(tool -> withStructuredOutputHandling(jsonSchemaValidator, reuseValidatedJson, tool))
+			.toList();
 	}
 
 	private static McpStatelessServerFeatures.AsyncToolSpecification withStructuredOutputHandling(
-			JsonSchemaValidator jsonSchemaValidator,
+			JsonSchemaValidator jsonSchemaValidator, boolean reuseValidatedJson,
 			McpStatelessServerFeatures.AsyncToolSpecification toolSpecification) {
 
 		if (toolSpecification.callHandler() instanceof StructuredOutputCallToolHandler) {
@@ -226,8 +275,8 @@ public class McpStatelessAsyncServer {
 		}
 
 		return new McpStatelessServerFeatures.AsyncToolSpecification(toolSpecification.tool(),
-				new StructuredOutputCallToolHandler(jsonSchemaValidator, toolSpecification.tool().outputSchema(),
-						toolSpecification.callHandler()));
+				new StructuredOutputCallToolHandler(jsonSchemaValidator, reuseValidatedJson,
+						toolSpecification.tool().outputSchema(), toolSpecification.callHandler()));
 	}
 
 	private static class StructuredOutputCallToolHandler
@@ -235,11 +284,13 @@ public class McpStatelessAsyncServer {
 
 		private final BiFunction<McpTransportContext, McpSchema.CallToolRequest, Mono<McpSchema.CallToolResult>> delegateHandler;
 
-		private final JsonSchemaValidator jsonSchemaValidator;
-
 		private final Map<String, Object> outputSchema;
 
-		public StructuredOutputCallToolHandler(JsonSchemaValidator jsonSchemaValidator,
+		private final JsonSchemaValidator.CompiledSchema compiledOutputSchema;
+
+		private final boolean reuseValidatedJson;
+
+		public StructuredOutputCallToolHandler(JsonSchemaValidator jsonSchemaValidator, boolean reuseValidatedJson,
 				Map<String, Object> outputSchema,
 				BiFunction<McpTransportContext, McpSchema.CallToolRequest, Mono<McpSchema.CallToolResult>> delegateHandler) {
 
@@ -248,7 +299,9 @@ public class McpStatelessAsyncServer {
 
 			this.delegateHandler = delegateHandler;
 			this.outputSchema = outputSchema;
-			this.jsonSchemaValidator = jsonSchemaValidator;
+			// Compile when the tool is registered rather than on its first call
+			this.compiledOutputSchema = (outputSchema != null) ? jsonSchemaValidator.compile(outputSchema) : null;
+			this.reuseValidatedJson = reuseValidatedJson;
 		}
 
 		@Override
@@ -285,7 +338,7 @@ public class McpStatelessAsyncServer {
 				}
 
 				// Validate the result against the output schema
-				var validation = this.jsonSchemaValidator.validate(outputSchema, result.structuredContent());
+				var validation = this.compiledOutputSchema.validate(result.structuredContent());
 
 				if (!validation.valid()) {
 					logger.warn("Tool call result validation failed: {}", validation.errorMessage());
@@ -295,6 +348,13 @@ public class McpStatelessAsyncServer {
 						.build();
 				}
 
+				Object structuredContent = result.structuredContent();
+				if (this.reuseValidatedJson && validation.jsonStructuredOutput() != null) {
+					// Send the JSON produced by the validation rather than serializing
+					// the structured content once more
+					structuredContent = RawJson.of(validation.jsonStructuredOutput());
+				}
+
 				if (Utils.isEmpty(result.content())) {
 					// For backwards compatibility, a tool that returns structured
 					// content SHOULD also return functionally equivalent unstructured
@@ -305,10 +365,13 @@ public class McpStatelessAsyncServer {
 					return CallToolResult.builder()
 						.content(List.of(new McpSchema.TextContent(validation.jsonStructuredOutput())))
 						.isError(result.isError())
-						.structuredContent(result.structuredContent())
+						.structuredContent(structuredContent)
 						.build();
 				}
 
+				if (structuredContent != result.structuredContent()) {
+					return new CallToolResult(result.content(), result.isError(), structuredContent, result.meta());
+				}
 				return result;
 			});
 		}
@@ -321,32 +384,121 @@ public class McpStatelessAsyncServer {
 	 * @return Mono that completes when clients have been notified of the change
 	 */
 	public Mono<Void> addTool(McpStatelessServerFeatures.AsyncToolSpecification toolSpecification) {
-		if (toolSpecification == null) {
-			return Mono.error(new IllegalArgumentException("Tool specification must not be null"));
+		return addTools(Collections.singletonList(toolSpecification));
+	}
+
+	/**
+	 * Add several tool specifications at runtime as a single update. All specifications
+	 * are checked before any tool is added, and the new tool list is published at once.
+	 * @param toolSpecifications The tool specifications to add
+	 * @return Mono that completes when the tools have been added
+	 */
+	public Mono<Void> addTools(List<McpStatelessServerFeatures.AsyncToolSpecification> toolSpecifications) {
+		Mono<Void> invalid = checkToolSpecifications(toolSpecifications);
+		if (invalid != null) {
+			return invalid;
+		}
+
+		var wrappedToolSpecifications = withStructuredOutputHandling(this.jsonSchemaValidator, this.rawJson,
+				toolSpecifications);
+
+		return Mono.fromRunnable(() -> {
+			synchronized (this.toolsLock) {
+				FeatureRegistry<McpStatelessServerFeatures.AsyncToolSpecification> previous = this.tools;
+				if (this.toolInputValidator != null) {
+					wrappedToolSpecifications
+						.forEach(toolSpecification -> this.toolInputValidator.register(toolSpecification.tool()));
+				}
+				this.tools = previous.with(wrappedToolSpecifications);
+				wrappedToolSpecifications.forEach(toolSpecification -> toolAdded(previous, toolSpecification));
+			}
+		});
+	}
+
+	/**
+	 * Replace all the tools of the server at runtime as a single update. Tools that are
+	 * not in the given specifications are removed and the others are added or replaced.
+	 * The new tool list is published at once, so concurrent list and call requests see
+	 * either the previous or the new list, never a mix of both.
+	 * @param toolSpecifications The tool specifications making up the new tool list
+	 * @return Mono that completes when the tools have been replaced
+	 */
+	public Mono<Void> replaceTools(List<McpStatelessServerFeatures.AsyncToolSpecification> toolSpecifications) {
+		Mono<Void> invalid = checkToolSpecifications(toolSpecifications);
+		if (invalid != null) {
+			return invalid;
 		}
-		if (toolSpecification.tool() == null) {
-			return Mono.error(new IllegalArgumentException("Tool must not be null"));
+
+		var wrappedToolSpecifications = withStructuredOutputHandling(this.jsonSchemaValidator, this.rawJson,
+				toolSpecifications);
+
+		return Mono.fromRunnable(() -> {
+			synchronized (this.toolsLock) {
+				FeatureRegistry<McpStatelessServerFeatures.AsyncToolSpecification> previous = this.tools;
+				Set<String> toolNames = new HashSet<>();
+				wrappedToolSpecifications.forEach(toolSpecification -> {
+					toolNames.add(toolSpecification.tool().name());
+					if (this.toolInputValidator != null) {
+						this.toolInputValidator.register(toolSpecification.tool());
+					}
+				});
+				this.tools = previous.replacedBy(wrappedToolSpecifications);
+				previous.stream().map(toolSpecification -> toolSpecification.tool().name()).forEach(toolName -> {
+					if (!toolNames.contains(toolName) && this.toolInputValidator != null) {
+						this.toolInputValidator.unregister(toolName);
+					}
+					if (this.toolResultCache != null) {
+						this.toolResultCache.invalidate(toolName);
+					}
+				});
+				logger.debug("Replaced tools, now {}", toolNames);
+			}
+		});
+	}
+
+	private Mono<Void> checkToolSpecifications(
+			List<McpStatelessServerFeatures.AsyncToolSpecification> toolSpecifications) {
+		if (toolSpecifications == null) {
+			return Mono.error(new IllegalArgumentException("Tool specifications must not be null"));
 		}
-		if (toolSpecification.callHandler() == null) {
-			return Mono.error(new IllegalArgumentException("Tool call handler must not be null"));
+		for (McpStatelessServerFeatures.AsyncToolSpecification toolSpecification : toolSpecifications) {
+			if (toolSpecification == null) {
+				return Mono.error(new IllegalArgumentException("Tool specification must not be null"));
+			}
+			if (toolSpecification.tool() == null) {
+				return Mono.error(new IllegalArgumentException("Tool must not be null"));
+			}
+			if (toolSpecification.callHandler() == null) {
+				return Mono.error(new IllegalArgumentException("Tool call handler must not be null"));
+			}
 		}
 		if (this.serverCapabilities.tools() == null) {
 			return Mono.error(new IllegalStateException("Server must be configured with tool capabilities"));
 		}
+		return null;
+	}
 
-		var wrappedToolSpecification = withStructuredOutputHandling(this.jsonSchemaValidator, toolSpecification);
+	private void toolAdded(FeatureRegistry<McpStatelessServerFeatures.AsyncToolSpecification> previous,
+			McpStatelessServerFeatures.AsyncToolSpecification toolSpecification) {
+		if (previous.get(toolSpecification.tool().name()) != null) {
+			logger.warn("Replace existing Tool with name '{}'", toolSpecification.tool().name());
+		}
+		if (this.toolResultCache != null) {
+			this.toolResultCache.invalidate(toolSpecification.tool().name());
+		}
 
-		return Mono.defer(() -> {
-			// Remove tools with duplicate tool names first
-			if (this.tools.removeIf(th -> th.tool().name().equals(wrappedToolSpecification.tool().name()))) {
-				logger.warn("Replace existing Tool with name '{}'", wrappedToolSpecification.tool().name());
-			}
+		logger.debug("Added tool handler: {}", toolSpecification.tool().name());
+	}
 
-			this.tools.add(wrappedToolSpecification);
-			logger.debug("Added tool handler: {}", wrappedToolSpecification.tool().name());
+	private void toolRemoved(String toolName) {
+		if (this.toolInputValidator != null) {
+			this.toolInputValidator.unregister(toolName);
+		}
+		if (this.toolResultCache != null) {
+			this.toolResultCache.invalidate(toolName);
+		}
 
-			return Mono.empty();
-		});
+		logger.debug("Removed tool handler: {}", toolName);
 	}
 
 	/**
@@ -354,7 +506,7 @@ public class McpStatelessAsyncServer {
 	 * @return A Flux stream of all registered tools
 	 */
 	public Flux<Tool> listTools() {
-		return Flux.fromIterable(this.tools).map(McpStatelessServerFeatures.AsyncToolSpecification::tool);
+		return Flux.fromIterable(this.tools.values()).map(McpStatelessServerFeatures.AsyncToolSpecification::tool);
 	}
 
 	/**
@@ -363,53 +515,131 @@ public class McpStatelessAsyncServer {
 	 * @return Mono that completes when clients have been notified of the change
 	 */
 	public Mono<Void> removeTool(String toolName) {
-		if (toolName == null) {
+		return removeTools(Collections.singletonList(toolName));
+	}
+
+	/**
+	 * Remove several tool handlers at runtime as a single update. The new tool list is
+	 * published at once.
+	 * @param toolNames The names of the tool handlers to remove
+	 * @return Mono that completes when the tools have been removed
+	 */
+	public Mono<Void> removeTools(Collection<String> toolNames) {
+		if (toolNames == null || toolNames.stream().anyMatch(toolName -> toolName == null)) {
 			return Mono.error(new IllegalArgumentException("Tool name must not be null"));
 		}
 		if (this.serverCapabilities.tools() == null) {
 			return Mono.error(new IllegalStateException("Server must be configured with tool capabilities"));
 		}
 
-		return Mono.defer(() -> {
-			if (this.tools.removeIf(toolSpecification -> toolSpecification.tool().name().equals(toolName))) {
-
-				logger.debug("Removed tool handler: {}", toolName);
-			}
-			else {
-				logger.warn("Ignore as a Tool with name '{}' not found", toolName);
+		return Mono.fromRunnable(() -> {
+			synchronized (this.toolsLock) {
+				FeatureRegistry<McpStatelessServerFeatures.AsyncToolSpecification> previous = this.tools;
+				Set<String> removedToolNames = new LinkedHashSet<>();
+				for (String toolName : toolNames) {
+					if (previous.get(toolName) != null) {
+						removedToolNames.add(toolName);
+					}
+					else {
+						logger.warn("Ignore as a Tool with name '{}' not found", toolName);
+					}
+				}
+				if (!removedToolNames.isEmpty()) {
+					this.tools = previous.without(removedToolNames);
+					removedToolNames.forEach(this::toolRemoved);
+				}
 			}
-
-			return Mono.empty();
 		});
 	}
 
-	private McpStatelessRequestHandler<McpSchema.ListToolsResult> toolsListRequestHandler() {
-		return (ctx, params) -> {
-			List<Tool> tools = this.tools.stream()
-				.map(McpStatelessServerFeatures.AsyncToolSpecification::tool)
-				.toList();
-			return Mono.just(new McpSchema.ListToolsResult(tools, null));
-		};
+	/**
+	 * Removes the cached results of the tool with the given name, e.g. because the data
+	 * it reads changed. Has no effect if the server has no tool result cache.
+	 * @param toolName The name of the tool
+	 */
+	public void invalidateToolResults(String toolName) {
+		Assert.notNull(toolName, "Tool name must not be null");
+		if (this.toolResultCache != null) {
+			this.toolResultCache.invalidate(toolName);
+		}
+	}
+
+	/**
+	 * Removes the cached results of all tools. Has no effect if the server has no tool
+	 * result cache.
+	 */
+	public void invalidateToolResults() {
+		if (this.toolResultCache != null) {
+			this.toolResultCache.invalidateAll();
+		}
+	}
+
+	/**
+	 * Reads the cursor of a paginated list request and returns the page that follows it.
+	 * @param params the raw list request parameters, possibly null
+	 * @param catalog the snapshot of the listed catalog
+	 * @return the list result, or an {@link ErrorCodes#INVALID_PARAMS} error if the
+	 * cursor is not valid
+	 */
+	private Mono<Object> listPage(Object params, CatalogSnapshot<?, ?> catalog) {
+		McpSchema.PaginatedRequest request = (params != null)
+				? this.jsonMapper.convertValue(params, McpSchema.PaginatedRequest.class) : null;
+		String cursor = (request != null) ? request.cursor() : null;
+		return Mono.fromCallable(() -> catalog.page(cursor, this.pageSize))
+			.onErrorMap(IllegalArgumentException.class,
+					ex -> McpError.builder(ErrorCodes.INVALID_PARAMS)
+						.message("Invalid cursor")
+						.data("Invalid cursor: " + cursor)
+						.build());
 	}
 
-	private McpStatelessRequestHandler<CallToolResult> toolsCallRequestHandler() {
+	private McpStatelessRequestHandler<Object> toolsListRequestHandler() {
+		var catalog = new CatalogSnapshot<McpStatelessServerFeatures.AsyncToolSpecification, McpSchema.Tool>(
+				this.jsonMapper, this.rawJson, () -> this.tools.version(),
+				(cursor, pageSize) -> this.tools.page(cursor, pageSize),
+				McpStatelessServerFeatures.AsyncToolSpecification::tool, McpSchema.ListToolsResult::new);
+		return (ctx, params) -> listPage(params, catalog);
+	}
+
+	private McpStatelessRequestHandler<Object> toolsCallRequestHandler() {
 		return (ctx, params) -> {
 			McpSchema.CallToolRequest callToolRequest = jsonMapper.convertValue(params,
 					new TypeRef<McpSchema.CallToolRequest>() {
 					});
 
-			Optional<McpStatelessServerFeatures.AsyncToolSpecification> toolSpecification = this.tools.stream()
-				.filter(tr -> callToolRequest.name().equals(tr.tool().name()))
-				.findAny();
+			McpStatelessServerFeatures.AsyncToolSpecification toolSpecification = this.tools
+				.get(callToolRequest.name());
 
-			if (toolSpecification.isEmpty()) {
+			if (toolSpecification == null) {
 				return Mono.error(McpError.builder(McpSchema.ErrorCodes.INVALID_PARAMS)
 					.message("Unknown tool: invalid_tool_name")
 					.data("Tool not found: " + callToolRequest.name())
 					.build());
 			}
 
-			return toolSpecification.get().callHandler().apply(ctx, callToolRequest);
+			if (this.toolInputValidator != null) {
+				McpError validationError = this.toolInputValidator.validate(callToolRequest);
+				if (validationError != null) {
+					return Mono.error(validationError);
+				}
+			}
+
+			ToolBulkhead bulkhead = this.toolBulkheads.get(callToolRequest.name());
+			Supplier<Mono<CallToolResult>> call = (bulkhead != null)
+					? () -> bulkhead.execute(callToolRequest.name(),
+							() -> toolSpecification.callHandler().apply(ctx, callToolRequest))
+					: () -> toolSpecification.callHandler().apply(ctx, callToolRequest);
+
+			if (this.requestCoalescing != null && this.requestCoalescing.coalescesTool(toolSpecification.tool())) {
+				Supplier<Mono<CallToolResult>> invocation = call;
+				call = () -> this.requestCoalescing.callTool(this.jsonMapper, null, ctx, callToolRequest, invocation);
+			}
+
+			if (this.toolResultCache != null && ToolResultCache.isCacheable(toolSpecification.tool())) {
+				return this.toolResultCache.call(this.jsonMapper, this.rawJson, ctx, callToolRequest, call);
+			}
+
+			return call.get().cast(Object.class);
 		};
 	}
 
@@ -432,8 +662,7 @@ public class McpStatelessAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			var previous = this.resources.put(resourceSpecification.resource().uri(), resourceSpecification);
-			if (previous != null) {
+			if (this.resources.put(resourceSpecification)) {
 				logger.warn("Replace existing Resource with URI '{}'", resourceSpecification.resource().uri());
 			}
 			else {
@@ -466,8 +695,7 @@ public class McpStatelessAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			McpStatelessServerFeatures.AsyncResourceSpecification removed = this.resources.remove(resourceUri);
-			if (removed != null) {
+			if (this.resources.remove(resourceUri)) {
 				logger.debug("Removed resource handler: {}", resourceUri);
 			}
 			else {
@@ -491,9 +719,7 @@ public class McpStatelessAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			var previous = this.resourceTemplates.put(resourceTemplateSpecification.resourceTemplate().uriTemplate(),
-					resourceTemplateSpecification);
-			if (previous != null) {
+			if (this.resourceTemplates.put(resourceTemplateSpecification)) {
 				logger.warn("Replace existing Resource Template with URI '{}'",
 						resourceTemplateSpecification.resourceTemplate().uriTemplate());
 			}
@@ -527,9 +753,7 @@ public class McpStatelessAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			McpStatelessServerFeatures.AsyncResourceTemplateSpecification removed = this.resourceTemplates
-				.remove(uriTemplate);
-			if (removed != null) {
+			if (this.resourceTemplates.remove(uriTemplate)) {
 				logger.debug("Removed resource template: {}", uriTemplate);
 			}
 			else {
@@ -539,24 +763,19 @@ public class McpStatelessAsyncServer {
 		});
 	}
 
-	private McpStatelessRequestHandler<McpSchema.ListResourcesResult> resourcesListRequestHandler() {
-		return (ctx, params) -> {
-			var resourceList = this.resources.values()
-				.stream()
-				.map(McpStatelessServerFeatures.AsyncResourceSpecification::resource)
-				.toList();
-			return Mono.just(new McpSchema.ListResourcesResult(resourceList, null));
-		};
+	private McpStatelessRequestHandler<Object> resourcesListRequestHandler() {
+		var catalog = new CatalogSnapshot<McpStatelessServerFeatures.AsyncResourceSpecification, McpSchema.Resource>(
+				this.jsonMapper, this.rawJson, this.resources::version, this.resources::page,
+				McpStatelessServerFeatures.AsyncResourceSpecification::resource, McpSchema.ListResourcesResult::new);
+		return (ctx, params) -> listPage(params, catalog);
 	}
 
-	private McpStatelessRequestHandler<McpSchema.ListResourceTemplatesResult> resourceTemplateListRequestHandler() {
-		return (exchange, params) -> {
-			var resourceList = this.resourceTemplates.values()
-				.stream()
-				.map(AsyncResourceTemplateSpecification::resourceTemplate)
-				.toList();
-			return Mono.just(new McpSchema.ListResourceTemplatesResult(resourceList, null));
-		};
+	private McpStatelessRequestHandler<Object> resourceTemplateListRequestHandler() {
+		var catalog = new CatalogSnapshot<McpStatelessServerFeatures.AsyncResourceTemplateSpecification, McpSchema.ResourceTemplate>(
+				this.jsonMapper, this.rawJson, this.resourceTemplates::version, this.resourceTemplates::page,
+				McpStatelessServerFeatures.AsyncResourceTemplateSpecification::resourceTemplate,
+				McpSchema.ListResourceTemplatesResult::new);
+		return (ctx, params) -> listPage(params, catalog);
 	}
 
 	private McpStatelessRequestHandler<McpSchema.ReadResourceResult> resourcesReadRequestHandler() {
@@ -568,12 +787,14 @@ public class McpStatelessAsyncServer {
 			// First try to find a static resource specification
 			// Static resources have exact URIs
 			return this.findResourceSpecification(resourceUri)
-				.map(spec -> spec.readHandler().apply(ctx, resourceRequest))
+				.map(spec -> readResource(ctx, spec.resource().uri(), resourceRequest,
+						() -> spec.readHandler().apply(ctx, resourceRequest)))
 				.orElseGet(() -> {
 					// If not found, try to find a dynamic resource specification
 					// Dynamic resources have URI templates
 					return this.findResourceTemplateSpecification(resourceUri)
-						.map(spec -> spec.readHandler().apply(ctx, resourceRequest))
+						.map(spec -> readResource(ctx, spec.resourceTemplate().uriTemplate(), resourceRequest,
+								() -> spec.readHandler().apply(ctx, resourceRequest)))
 						.orElseGet(() -> Mono.error(RESOURCE_NOT_FOUND.apply(resourceUri)));
 				});
 
@@ -581,19 +802,30 @@ public class McpStatelessAsyncServer {
 	}
 
 	private Optional<McpStatelessServerFeatures.AsyncResourceSpecification> findResourceSpecification(String uri) {
-		var result = this.resources.values()
-			.stream()
-			.filter(spec -> this.uriTemplateManagerFactory.create(spec.resource().uri()).matches(uri))
-			.findFirst();
-		return result;
+		return Optional.ofNullable(this.resources.route(uri)).map(ResourceRouter.Match::specification);
 	}
 
 	private Optional<McpStatelessServerFeatures.AsyncResourceTemplateSpecification> findResourceTemplateSpecification(
 			String uri) {
-		return this.resourceTemplates.values()
-			.stream()
-			.filter(spec -> this.uriTemplateManagerFactory.create(spec.resourceTemplate().uriTemplate()).matches(uri))
-			.findFirst();
+		return Optional.ofNullable(this.resourceTemplates.route(uri)).map(ResourceRouter.Match::specification);
+	}
+
+	/**
+	 * Reads a resource, sharing the read with identical reads in flight when coalescing
+	 * is enabled for the resource.
+	 * @param transportContext the transport context of the read
+	 * @param registeredUri the URI or URI template the resource is registered with
+	 * @param request the resource read
+	 * @param read invokes the read handler
+	 * @return a Mono emitting the contents of the resource
+	 */
+	private Mono<McpSchema.ReadResourceResult> readResource(McpTransportContext transportContext, String registeredUri,
+			McpSchema.ReadResourceRequest request, Supplier<Mono<McpSchema.ReadResourceResult>> read) {
+		if (this.requestCoalescing != null && this.requestCoalescing.coalescesResource(registeredUri)) {
+			// Stateless requests have no session, so they share a scope unless one is set
+			return this.requestCoalescing.readResource(null, transportContext, request, read);
+		}
+		return read.get();
 	}
 
 	// ---------------------------------------
@@ -614,8 +846,7 @@ public class McpStatelessAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			var previous = this.prompts.put(promptSpecification.prompt().name(), promptSpecification);
-			if (previous != null) {
+			if (this.prompts.put(promptSpecification)) {
 				logger.warn("Replace existing Prompt with name '{}'", promptSpecification.prompt().name());
 			}
 			else {
@@ -649,9 +880,7 @@ public class McpStatelessAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			McpStatelessServerFeatures.AsyncPromptSpecification removed = this.prompts.remove(promptName);
-
-			if (removed != null) {
+			if (this.prompts.remove(promptName)) {
 				logger.debug("Removed prompt handler: {}", promptName);
 				return Mono.empty();
 			}
@@ -663,20 +892,11 @@ public class McpStatelessAsyncServer {
 		});
 	}
 
-	private McpStatelessRequestHandler<McpSchema.ListPromptsResult> promptsListRequestHandler() {
-		return (ctx, params) -> {
-			// TODO: Implement pagination
-			// McpSchema.PaginatedRequest request = objectMapper.convertValue(params,
-			// new TypeReference<McpSchema.PaginatedRequest>() {
-			// });
-
-			var promptList = this.prompts.values()
-				.stream()
-				.map(McpStatelessServerFeatures.AsyncPromptSpecification::prompt)
-				.toList();
-
-			return Mono.just(new McpSchema.ListPromptsResult(promptList, null));
-		};
+	private McpStatelessRequestHandler<Object> promptsListRequestHandler() {
+		var catalog = new CatalogSnapshot<McpStatelessServerFeatures.AsyncPromptSpecification, McpSchema.Prompt>(
+				this.jsonMapper, this.rawJson, this.prompts::version, this.prompts::page,
+				McpStatelessServerFeatures.AsyncPromptSpecification::prompt, McpSchema.ListPromptsResult::new);
+		return (ctx, params) -> listPage(params, catalog);
 	}
 
 	private McpStatelessRequestHandler<McpSchema.GetPromptResult> promptsGetRequestHandler() {
@@ -757,14 +977,10 @@ public class McpStatelessAsyncServer {
 					return EMPTY_COMPLETION_RESULT;
 				}
 
-				McpStatelessServerFeatures.AsyncResourceSpecification resourceSpec = this
-					.findResourceSpecification(resourceReference.uri())
-					.orElse(null);
+				var resourceMatch = this.resources.route(resourceReference.uri());
 
-				if (resourceSpec != null) {
-					if (!uriTemplateManagerFactory.create(resourceSpec.resource().uri())
-						.getVariableNames()
-						.contains(argumentName)) {
+				if (resourceMatch != null) {
+					if (!resourceMatch.uriTemplate().getVariableNames().contains(argumentName)) {
 
 						return Mono.error(McpError.builder(ErrorCodes.INVALID_PARAMS)
 							.message("Argument not found: " + argumentName + " in resource: " + resourceReference.uri())
@@ -772,12 +988,10 @@ public class McpStatelessAsyncServer {
 					}
 				}
 				else {
-					var templateSpec = this.findResourceTemplateSpecification(resourceReference.uri()).orElse(null);
-					if (templateSpec != null) {
+					var templateMatch = this.resourceTemplates.route(resourceReference.uri());
+					if (templateMatch != null) {
 
-						if (!uriTemplateManagerFactory.create(templateSpec.resourceTemplate().uriTemplate())
-							.getVariableNames()
-							.contains(argumentName)) {
+						if (!templateMatch.uriTemplate().getVariableNames().contains(argumentName)) {
 
 							return Mono.error(McpError.builder(ErrorCodes.INVALID_PARAMS)
 								.message("Argument not found: " + argumentName + " in resource template: "
@@ -810,15 +1024,15 @@ public class McpStatelessAsyncServer {
 	 * This method manually extracts the `ref` and `argument` fields from the input map,
 	 * determines the correct reference type (either prompt or resource), and constructs a
 	 * fully-typed {@code CompleteRequest} instance.
-	 * @param object the raw request parameters, expected to be a Map containing "ref" and
-	 * "argument" entries.
+	 * @param object the raw request parameters, containing "ref" and "argument" entries.
 	 * @return a {@link McpSchema.CompleteRequest} representing the structured completion
 	 * request.
 	 * @throws IllegalArgumentException if the "ref" type is not recognized.
 	 */
 	@SuppressWarnings("unchecked")
 	private McpSchema.CompleteRequest parseCompletionParams(Object object) {
-		Map<String, Object> params = (Map<String, Object>) object;
+		Map<String, Object> params = this.jsonMapper.convertValue(object, new TypeRef<>() {
+		});
 		Map<String, Object> refMap = (Map<String, Object>) params.get("ref");
 		Map<String, Object> argMap = (Map<String, Object>) params.get("argument");
 
@@ -16,6 +16,7 @@ import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.Utils;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 /**
@@ -89,35 +90,36 @@ public class McpStatelessServerFeatures {
 		 * blocking code offloading to prevent accidental blocking of the non-blocking
 		 * transport.
 		 * @param syncSpec a potentially blocking, synchronous specification.
-		 * @param immediateExecution when true, do not offload. Do NOT set to true when
-		 * using a non-blocking transport.
+		 * @param scheduler the scheduler the blocking handlers are offloaded to, or null
+		 * to run them on the calling thread. Do NOT set to null when using a non-blocking
+		 * transport.
 		 * @return a specification which is protected from blocking calls specified by the
 		 * user.
 		 */
-		static Async fromSync(Sync syncSpec, boolean immediateExecution) {
+		static Async fromSync(Sync syncSpec, Scheduler scheduler) {
 			List<McpStatelessServerFeatures.AsyncToolSpecification> tools = new ArrayList<>();
 			for (var tool : syncSpec.tools()) {
-				tools.add(AsyncToolSpecification.fromSync(tool, immediateExecution));
+				tools.add(AsyncToolSpecification.fromSync(tool, scheduler));
 			}
 
 			Map<String, AsyncResourceSpecification> resources = new HashMap<>();
 			syncSpec.resources().forEach((key, resource) -> {
-				resources.put(key, AsyncResourceSpecification.fromSync(resource, immediateExecution));
+				resources.put(key, AsyncResourceSpecification.fromSync(resource, scheduler));
 			});
 
 			Map<String, AsyncResourceTemplateSpecification> resourceTemplates = new HashMap<>();
 			syncSpec.resourceTemplates().forEach((key, resource) -> {
-				resourceTemplates.put(key, AsyncResourceTemplateSpecification.fromSync(resource, immediateExecution));
+				resourceTemplates.put(key, AsyncResourceTemplateSpecification.fromSync(resource, scheduler));
 			});
 
 			Map<String, AsyncPromptSpecification> prompts = new HashMap<>();
 			syncSpec.prompts().forEach((key, prompt) -> {
-				prompts.put(key, AsyncPromptSpecification.fromSync(prompt, immediateExecution));
+				prompts.put(key, AsyncPromptSpecification.fromSync(prompt, scheduler));
 			});
 
 			Map<McpSchema.CompleteReference, McpStatelessServerFeatures.AsyncCompletionSpecification> completions = new HashMap<>();
 			syncSpec.completions().forEach((key, completion) -> {
-				completions.put(key, AsyncCompletionSpecification.fromSync(completion, immediateExecution));
+				completions.put(key, AsyncCompletionSpecification.fromSync(completion, scheduler));
 			});
 
 			return new Async(syncSpec.serverInfo(), syncSpec.serverCapabilities(), tools, resources, resourceTemplates,
@@ -200,10 +202,10 @@ public class McpStatelessServerFeatures {
 			BiFunction<McpTransportContext, CallToolRequest, Mono<McpSchema.CallToolResult>> callHandler) {
 
 		static AsyncToolSpecification fromSync(SyncToolSpecification syncToolSpec) {
-			return fromSync(syncToolSpec, false);
+			return fromSync(syncToolSpec, Schedulers.boundedElastic());
 		}
 
-		static AsyncToolSpecification fromSync(SyncToolSpecification syncToolSpec, boolean immediate) {
+		static AsyncToolSpecification fromSync(SyncToolSpecification syncToolSpec, Scheduler scheduler) {
 
 			// FIXME: This is temporary, proper validation should be implemented
 			if (syncToolSpec == null) {
@@ -213,7 +215,7 @@ public class McpStatelessServerFeatures {
 			BiFunction<McpTransportContext, CallToolRequest, Mono<McpSchema.CallToolResult>> callHandler = (ctx,
 					req) -> {
 				var toolResult = Mono.fromCallable(() -> syncToolSpec.callHandler().apply(ctx, req));
-				return immediate ? toolResult : toolResult.subscribeOn(Schedulers.boundedElastic());
+				return (scheduler != null) ? toolResult.subscribeOn(scheduler) : toolResult;
 			};
 
 			return new AsyncToolSpecification(syncToolSpec.tool(), callHandler);
@@ -291,14 +293,14 @@ public class McpStatelessServerFeatures {
 	public record AsyncResourceSpecification(McpSchema.Resource resource,
 			BiFunction<McpTransportContext, McpSchema.ReadResourceRequest, Mono<McpSchema.ReadResourceResult>> readHandler) {
 
-		static AsyncResourceSpecification fromSync(SyncResourceSpecification resource, boolean immediateExecution) {
+		static AsyncResourceSpecification fromSync(SyncResourceSpecification resource, Scheduler scheduler) {
 			// FIXME: This is temporary, proper validation should be implemented
 			if (resource == null) {
 				return null;
 			}
 			return new AsyncResourceSpecification(resource.resource(), (ctx, req) -> {
 				var resourceResult = Mono.fromCallable(() -> resource.readHandler().apply(ctx, req));
-				return immediateExecution ? resourceResult : resourceResult.subscribeOn(Schedulers.boundedElastic());
+				return (scheduler != null) ? resourceResult.subscribeOn(scheduler) : resourceResult;
 			});
 		}
 	}
@@ -331,14 +333,14 @@ public class McpStatelessServerFeatures {
 			BiFunction<McpTransportContext, McpSchema.ReadResourceRequest, Mono<McpSchema.ReadResourceResult>> readHandler) {
 
 		static AsyncResourceTemplateSpecification fromSync(SyncResourceTemplateSpecification resource,
-				boolean immediateExecution) {
+				Scheduler scheduler) {
 			// FIXME: This is temporary, proper validation should be implemented
 			if (resource == null) {
 				return null;
 			}
 			return new AsyncResourceTemplateSpecification(resource.resourceTemplate(), (ctx, req) -> {
 				var resourceResult = Mono.fromCallable(() -> resource.readHandler().apply(ctx, req));
-				return immediateExecution ? resourceResult : resourceResult.subscribeOn(Schedulers.boundedElastic());
+				return (scheduler != null) ? resourceResult.subscribeOn(scheduler) : resourceResult;
 			});
 		}
 	}
@@ -362,14 +364,14 @@ public class McpStatelessServerFeatures {
 	public record AsyncPromptSpecification(McpSchema.Prompt prompt,
 			BiFunction<McpTransportContext, McpSchema.GetPromptRequest, Mono<McpSchema.GetPromptResult>> promptHandler) {
 
-		static AsyncPromptSpecification fromSync(SyncPromptSpecification prompt, boolean immediateExecution) {
+		static AsyncPromptSpecification fromSync(SyncPromptSpecification prompt, Scheduler scheduler) {
 			// FIXME: This is temporary, proper validation should be implemented
 			if (prompt == null) {
 				return null;
 			}
 			return new AsyncPromptSpecification(prompt.prompt(), (ctx, req) -> {
 				var promptResult = Mono.fromCallable(() -> prompt.promptHandler().apply(ctx, req));
-				return immediateExecution ? promptResult : promptResult.subscribeOn(Schedulers.boundedElastic());
+				return (scheduler != null) ? promptResult.subscribeOn(scheduler) : promptResult;
 			});
 		}
 	}
@@ -394,21 +396,21 @@ public class McpStatelessServerFeatures {
 
 		/**
 		 * Converts a synchronous {@link SyncCompletionSpecification} into an
-		 * {@link AsyncCompletionSpecification} by wrapping the handler in a bounded
-		 * elastic scheduler for safe non-blocking execution.
+		 * {@link AsyncCompletionSpecification} by offloading the handler to the given
+		 * scheduler for safe non-blocking execution.
 		 * @param completion the synchronous completion specification
+		 * @param scheduler the scheduler the handler is offloaded to, or null to run it
+		 * on the calling thread
 		 * @return an asynchronous wrapper of the provided sync specification, or
 		 * {@code null} if input is null
 		 */
-		static AsyncCompletionSpecification fromSync(SyncCompletionSpecification completion,
-				boolean immediateExecution) {
+		static AsyncCompletionSpecification fromSync(SyncCompletionSpecification completion, Scheduler scheduler) {
 			if (completion == null) {
 				return null;
 			}
 			return new AsyncCompletionSpecification(completion.referenceKey(), (ctx, req) -> {
 				var completionResult = Mono.fromCallable(() -> completion.completionHandler().apply(ctx, req));
-				return immediateExecution ? completionResult
-						: completionResult.subscribeOn(Schedulers.boundedElastic());
+				return (scheduler != null) ? completionResult.subscribeOn(scheduler) : completionResult;
 			});
 		}
 	}
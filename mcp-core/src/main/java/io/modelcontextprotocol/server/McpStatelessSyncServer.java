@@ -5,10 +5,13 @@
 package io.modelcontextprotocol.server;
 
 import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -25,11 +28,11 @@ public class McpStatelessSyncServer {
 
 	private final McpStatelessAsyncServer asyncServer;
 
-	private final boolean immediateExecution;
+	private final Scheduler executionScheduler;
 
-	McpStatelessSyncServer(McpStatelessAsyncServer asyncServer, boolean immediateExecution) {
+	McpStatelessSyncServer(McpStatelessAsyncServer asyncServer, Scheduler executionScheduler) {
 		this.asyncServer = asyncServer;
-		this.immediateExecution = immediateExecution;
+		this.executionScheduler = executionScheduler;
 	}
 
 	/**
@@ -70,10 +73,37 @@ public class McpStatelessSyncServer {
 	public void addTool(McpStatelessServerFeatures.SyncToolSpecification toolSpecification) {
 		this.asyncServer
 			.addTool(McpStatelessServerFeatures.AsyncToolSpecification.fromSync(toolSpecification,
-					this.immediateExecution))
+					this.executionScheduler))
 			.block();
 	}
 
+	/**
+	 * Add several tool specifications at runtime as a single update. All specifications
+	 * are checked before any tool is added.
+	 * @param toolSpecifications The tool specifications to add
+	 */
+	public void addTools(List<McpStatelessServerFeatures.SyncToolSpecification> toolSpecifications) {
+		this.asyncServer.addTools(toAsync(toolSpecifications)).block();
+	}
+
+	/**
+	 * Replace all the tools at runtime as a single update. Tools that are not in the
+	 * given specifications are removed and the others are added or replaced.
+	 * @param toolSpecifications The tool specifications making up the new tool list
+	 */
+	public void replaceTools(List<McpStatelessServerFeatures.SyncToolSpecification> toolSpecifications) {
+		this.asyncServer.replaceTools(toAsync(toolSpecifications)).block();
+	}
+
+	private List<McpStatelessServerFeatures.AsyncToolSpecification> toAsync(
+			List<McpStatelessServerFeatures.SyncToolSpecification> toolSpecifications) {
+		Assert.notNull(toolSpecifications, "Tool specifications must not be null");
+		return toolSpecifications.stream()
+			.map(toolSpecification -> McpStatelessServerFeatures.AsyncToolSpecification.fromSync(toolSpecification,
+					this.executionScheduler))
+			.toList();
+	}
+
 	/**
 	 * List all registered tools.
 	 * @return A list of all registered tools
@@ -90,6 +120,31 @@ public class McpStatelessSyncServer {
 		this.asyncServer.removeTool(toolName).block();
 	}
 
+	/**
+	 * Remove several tool handlers at runtime as a single update.
+	 * @param toolNames The names of the tool handlers to remove
+	 */
+	public void removeTools(Collection<String> toolNames) {
+		this.asyncServer.removeTools(toolNames).block();
+	}
+
+	/**
+	 * Removes the cached results of the tool with the given name, e.g. because the data
+	 * it reads changed. Has no effect if the server has no tool result cache.
+	 * @param toolName The name of the tool
+	 */
+	public void invalidateToolResults(String toolName) {
+		this.asyncServer.invalidateToolResults(toolName);
+	}
+
+	/**
+	 * Removes the cached results of all tools. Has no effect if the server has no tool
+	 * result cache.
+	 */
+	public void invalidateToolResults() {
+		this.asyncServer.invalidateToolResults();
+	}
+
 	/**
 	 * Add a new resource handler at runtime.
 	 * @param resourceSpecification The resource handler to add
@@ -97,7 +152,7 @@ public class McpStatelessSyncServer {
 	public void addResource(McpStatelessServerFeatures.SyncResourceSpecification resourceSpecification) {
 		this.asyncServer
 			.addResource(McpStatelessServerFeatures.AsyncResourceSpecification.fromSync(resourceSpecification,
-					this.immediateExecution))
+					this.executionScheduler))
 			.block();
 	}
 
@@ -125,7 +180,7 @@ public class McpStatelessSyncServer {
 			McpStatelessServerFeatures.SyncResourceTemplateSpecification resourceTemplateSpecification) {
 		this.asyncServer
 			.addResourceTemplate(McpStatelessServerFeatures.AsyncResourceTemplateSpecification
-				.fromSync(resourceTemplateSpecification, this.immediateExecution))
+				.fromSync(resourceTemplateSpecification, this.executionScheduler))
 			.block();
 	}
 
@@ -152,7 +207,7 @@ public class McpStatelessSyncServer {
 	public void addPrompt(McpStatelessServerFeatures.SyncPromptSpecification promptSpecification) {
 		this.asyncServer
 			.addPrompt(McpStatelessServerFeatures.AsyncPromptSpecification.fromSync(promptSpecification,
-					this.immediateExecution))
+					this.executionScheduler))
 			.block();
 	}
 
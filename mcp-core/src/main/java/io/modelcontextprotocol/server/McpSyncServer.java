@@ -4,11 +4,14 @@
 
 package io.modelcontextprotocol.server;
 
+import java.util.Collection;
 import java.util.List;
 
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.LoggingMessageNotification;
 import io.modelcontextprotocol.util.Assert;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * A synchronous implementation of the Model Context Protocol (MCP) server that wraps
@@ -56,7 +59,11 @@ public class McpSyncServer {
 	 */
 	private final McpAsyncServer asyncServer;
 
-	private final boolean immediateExecution;
+	/**
+	 * The scheduler blocking handlers are offloaded to, or null to run them on the
+	 * calling thread.
+	 */
+	private final Scheduler executionScheduler;
 
 	/**
 	 * Creates a new synchronous server that wraps the provided async server.
@@ -74,9 +81,19 @@ public class McpSyncServer {
 	 * transport is non-blocking.
 	 */
 	public McpSyncServer(McpAsyncServer asyncServer, boolean immediateExecution) {
+		this(asyncServer, immediateExecution ? null : Schedulers.boundedElastic());
+	}
+
+	/**
+	 * Creates a new synchronous server that wraps the provided async server.
+	 * @param asyncServer The async server to wrap
+	 * @param executionScheduler The scheduler tools, prompts, and resources handlers are
+	 * offloaded to, or null to execute them without offloading
+	 */
+	McpSyncServer(McpAsyncServer asyncServer, Scheduler executionScheduler) {
 		Assert.notNull(asyncServer, "Async server must not be null");
 		this.asyncServer = asyncServer;
-		this.immediateExecution = immediateExecution;
+		this.executionScheduler = executionScheduler;
 	}
 
 	/**
@@ -85,10 +102,37 @@ public class McpSyncServer {
 	 */
 	public void addTool(McpServerFeatures.SyncToolSpecification toolHandler) {
 		this.asyncServer
-			.addTool(McpServerFeatures.AsyncToolSpecification.fromSync(toolHandler, this.immediateExecution))
+			.addTool(McpServerFeatures.AsyncToolSpecification.fromSync(toolHandler, this.executionScheduler))
 			.block();
 	}
 
+	/**
+	 * Add several tool handlers as a single update. All handlers are checked before any
+	 * tool is added, and clients are notified of the change once.
+	 * @param toolHandlers The tool handlers to add
+	 */
+	public void addTools(List<McpServerFeatures.SyncToolSpecification> toolHandlers) {
+		this.asyncServer.addTools(toAsync(toolHandlers)).block();
+	}
+
+	/**
+	 * Replace all the tool handlers as a single update. Tools that are not in the given
+	 * handlers are removed, the others are added or replaced, and clients are notified of
+	 * the change once.
+	 * @param toolHandlers The tool handlers making up the new tool list
+	 */
+	public void replaceTools(List<McpServerFeatures.SyncToolSpecification> toolHandlers) {
+		this.asyncServer.replaceTools(toAsync(toolHandlers)).block();
+	}
+
+	private List<McpServerFeatures.AsyncToolSpecification> toAsync(
+			List<McpServerFeatures.SyncToolSpecification> toolHandlers) {
+		Assert.notNull(toolHandlers, "Tool specifications must not be null");
+		return toolHandlers.stream()
+			.map(toolHandler -> McpServerFeatures.AsyncToolSpecification.fromSync(toolHandler, this.executionScheduler))
+			.toList();
+	}
+
 	/**
 	 * List all registered tools.
 	 * @return A list of all registered tools
@@ -105,6 +149,32 @@ public class McpSyncServer {
 		this.asyncServer.removeTool(toolName).block();
 	}
 
+	/**
+	 * Remove several tool handlers as a single update. Clients are notified of the change
+	 * once, if any of the tools was removed.
+	 * @param toolNames The names of the tool handlers to remove
+	 */
+	public void removeTools(Collection<String> toolNames) {
+		this.asyncServer.removeTools(toolNames).block();
+	}
+
+	/**
+	 * Removes the cached results of the tool with the given name, e.g. because the data
+	 * it reads changed. Has no effect if the server has no tool result cache.
+	 * @param toolName The name of the tool
+	 */
+	public void invalidateToolResults(String toolName) {
+		this.asyncServer.invalidateToolResults(toolName);
+	}
+
+	/**
+	 * Removes the cached results of all tools. Has no effect if the server has no tool
+	 * result cache.
+	 */
+	public void invalidateToolResults() {
+		this.asyncServer.invalidateToolResults();
+	}
+
 	/**
 	 * Add a new resource handler.
 	 * @param resourceSpecification The resource specification to add
@@ -112,7 +182,7 @@ public class McpSyncServer {
 	public void addResource(McpServerFeatures.SyncResourceSpecification resourceSpecification) {
 		this.asyncServer
 			.addResource(McpServerFeatures.AsyncResourceSpecification.fromSync(resourceSpecification,
-					this.immediateExecution))
+					this.executionScheduler))
 			.block();
 	}
 
@@ -139,7 +209,7 @@ public class McpSyncServer {
 	public void addResourceTemplate(McpServerFeatures.SyncResourceTemplateSpecification resourceTemplateSpecification) {
 		this.asyncServer
 			.addResourceTemplate(McpServerFeatures.AsyncResourceTemplateSpecification
-				.fromSync(resourceTemplateSpecification, this.immediateExecution))
+				.fromSync(resourceTemplateSpecification, this.executionScheduler))
 			.block();
 	}
 
@@ -166,7 +236,7 @@ public class McpSyncServer {
 	public void addPrompt(McpServerFeatures.SyncPromptSpecification promptSpecification) {
 		this.asyncServer
 			.addPrompt(
-					McpServerFeatures.AsyncPromptSpecification.fromSync(promptSpecification, this.immediateExecution))
+					McpServerFeatures.AsyncPromptSpecification.fromSync(promptSpecification, this.executionScheduler))
 			.block();
 	}
 
@@ -217,7 +287,10 @@ public class McpSyncServer {
 	}
 
 	/**
-	 * Notify clients that the resources have updated.
+	 * Notify clients that a resource has updated. When the server supports resource
+	 * subscriptions, only the clients subscribed to the resource are notified.
+	 * @param resourcesUpdatedNotification The notification with the URI of the updated
+	 * resource
 	 */
 	public void notifyResourcesUpdated(McpSchema.ResourcesUpdatedNotification resourcesUpdatedNotification) {
 		this.asyncServer.notifyResourcesUpdated(resourcesUpdatedNotification).block();
@@ -231,16 +304,13 @@ public class McpSyncServer {
 	}
 
 	/**
-	 * This implementation would, incorrectly, broadcast the logging message to all
-	 * connected clients, using a single minLoggingLevel for all of them. Similar to the
-	 * sampling and roots, the logging level should be set per client session and use the
-	 * ServerExchange to send the logging message to the right client.
+	 * Broadcast a logging message to the connected clients whose session accepts its
+	 * level, as set by each client with {@code logging/setLevel}. Messages related to a
+	 * request should rather be sent with
+	 * {@link McpSyncServerExchange#loggingNotification(LoggingMessageNotification)}, so
+	 * that they reach the client that made the request.
 	 * @param loggingMessageNotification The logging message to send
-	 * @deprecated Use
-	 * {@link McpSyncServerExchange#loggingNotification(LoggingMessageNotification)}
-	 * instead.
 	 */
-	@Deprecated
 	public void loggingNotification(LoggingMessageNotification loggingMessageNotification) {
 		this.asyncServer.loggingNotification(loggingMessageNotification).block();
 	}
@@ -62,6 +62,16 @@ public class McpSyncServerExchange {
 		return this.exchange.transportContext();
 	}
 
+	/**
+	 * Returns whether the client cancelled the request being handled. Synchronous
+	 * handlers doing long-running work should poll this method and stop early, as their
+	 * result is no longer awaited.
+	 * @return true once the client cancelled the request
+	 */
+	public boolean isCancelled() {
+		return this.exchange.isCancelled();
+	}
+
 	/**
 	 * Create a new message using the sampling capabilities of the client. The Model
 	 * Context Protocol (MCP) provides a standardized way for servers to request LLM
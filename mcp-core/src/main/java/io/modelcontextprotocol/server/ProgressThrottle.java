@@ -0,0 +1,285 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSession;
+import io.modelcontextprotocol.util.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Limits the rate of the progress notifications sent through
+ * {@link McpAsyncServerExchange#progressNotification(McpSchema.ProgressNotification)}, so
+ * that a handler reporting progress in a tight loop does not flood the connection of its
+ * client.
+ * <p>
+ * At most one notification is sent per progress token and interval. The first
+ * notification of a token is sent right away; the notifications that follow within the
+ * interval replace each other, and only the latest one is sent when the interval has
+ * elapsed. The notifications of a token are sent one after the other, in the order they
+ * were reported. Each request is throttled on its own, and the latest progress of its
+ * tokens is always sent before its response.
+ * <p>
+ * A throttle is registered with the {@link McpServer} builders, e.g.
+ * {@code progressThrottle(ProgressThrottle.builder().interval(Duration.ofMillis(250)).build())}.
+ */
+public final class ProgressThrottle {
+
+	private static final Logger logger = LoggerFactory.getLogger(ProgressThrottle.class);
+
+	/**
+	 * Default minimum time between two notifications of a progress token.
+	 */
+	public static final Duration DEFAULT_INTERVAL = Duration.ofMillis(100);
+
+	private final Duration interval;
+
+	private final Scheduler scheduler;
+
+	private final AtomicLong coalescedCount = new AtomicLong();
+
+	private ProgressThrottle(Duration interval, Scheduler scheduler) {
+		this.interval = interval;
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Returns the minimum time between two notifications of a progress token.
+	 * @return the interval
+	 */
+	public Duration interval() {
+		return this.interval;
+	}
+
+	/**
+	 * Returns the number of notifications that were not sent because a later progress of
+	 * their token replaced them.
+	 * @return the number of coalesced notifications
+	 */
+	public long coalescedCount() {
+		return this.coalescedCount.get();
+	}
+
+	/**
+	 * Creates the emitter of a request.
+	 * @param session the session, or the stream of the request, to send the notifications
+	 * to
+	 * @return a new emitter
+	 */
+	Emitter emitter(McpSession session) {
+		return new Emitter(session);
+	}
+
+	/**
+	 * Creates a new Builder instance for constructing ProgressThrottle.
+	 * @return A new Builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder class for creating ProgressThrottle instances with fluent API.
+	 */
+	public static class Builder {
+
+		private Duration interval = DEFAULT_INTERVAL;
+
+		private Scheduler scheduler = Schedulers.parallel();
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the minimum time between two notifications of a progress token. Defaults
+		 * to {@link #DEFAULT_INTERVAL}.
+		 * @param interval The interval, must be positive
+		 * @return This builder instance for method chaining
+		 */
+		public Builder interval(Duration interval) {
+			Assert.notNull(interval, "Interval must not be null");
+			Assert.isTrue(!interval.isNegative() && !interval.isZero(), "Interval must be positive");
+			this.interval = interval;
+			return this;
+		}
+
+		Builder scheduler(Scheduler scheduler) {
+			Assert.notNull(scheduler, "Scheduler must not be null");
+			this.scheduler = scheduler;
+			return this;
+		}
+
+		/**
+		 * Builds and returns a new ProgressThrottle instance.
+		 * @return A new ProgressThrottle configured with the builder's settings
+		 */
+		public ProgressThrottle build() {
+			return new ProgressThrottle(this.interval, this.scheduler);
+		}
+
+	}
+
+	/**
+	 * Throttles the progress notifications of a single request.
+	 */
+	final class Emitter {
+
+		private final McpSession session;
+
+		private final Map<Object, TokenState> tokens = new HashMap<>();
+
+		private Emitter(McpSession session) {
+			this.session = session;
+		}
+
+		/**
+		 * Sends a progress notification, or keeps it until the interval of its token has
+		 * elapsed.
+		 * @param progressNotification the progress notification
+		 * @return a Mono that completes once the notification is sent or kept
+		 */
+		Mono<Void> emit(McpSchema.ProgressNotification progressNotification) {
+			return Mono.defer(() -> {
+				long intervalNanos = ProgressThrottle.this.interval.toNanos();
+				Mono<Void> sending;
+				Mono<Void> sent;
+				synchronized (this) {
+					TokenState state = this.tokens.computeIfAbsent(progressNotification.progressToken(),
+							token -> new TokenState());
+					long now = ProgressThrottle.this.scheduler.now(TimeUnit.NANOSECONDS);
+					if (state.timer == null && (!state.sent || now - state.sentAt >= intervalNanos)) {
+						state.sent = true;
+						state.sentAt = now;
+						sending = sendAfterPrevious(state, progressNotification);
+						sent = state.sending;
+					}
+					else {
+						if (state.pending != null) {
+							ProgressThrottle.this.coalescedCount.incrementAndGet();
+						}
+						state.pending = progressNotification;
+						if (state.timer == null) {
+							state.timer = ProgressThrottle.this.scheduler.schedule(() -> sendPending(state),
+									intervalNanos - (now - state.sentAt), TimeUnit.NANOSECONDS);
+						}
+						return Mono.empty();
+					}
+				}
+				subscribe(sending);
+				return sent;
+			});
+		}
+
+		/**
+		 * Sends the latest progress kept for each token.
+		 * @return a Mono that completes once the progress has been sent
+		 */
+		Mono<Void> flush() {
+			return Mono.defer(() -> {
+				List<Mono<Void>> sendings = new ArrayList<>();
+				List<Mono<Void>> sent = new ArrayList<>();
+				synchronized (this) {
+					for (TokenState state : this.tokens.values()) {
+						McpSchema.ProgressNotification pending = takePending(state);
+						if (pending != null) {
+							sendings.add(sendAfterPrevious(state, pending));
+						}
+						if (state.sending != null) {
+							sent.add(state.sending.onErrorResume(e -> Mono.empty()));
+						}
+					}
+				}
+				sendings.forEach(this::subscribe);
+				return Flux.concat(sent).then();
+			});
+		}
+
+		/**
+		 * Discards the progress kept for each token.
+		 */
+		synchronized void dispose() {
+			this.tokens.values().forEach(this::takePending);
+		}
+
+		private void sendPending(TokenState state) {
+			Mono<Void> sending;
+			synchronized (this) {
+				McpSchema.ProgressNotification pending = takePending(state);
+				if (pending == null) {
+					return;
+				}
+				state.sentAt = ProgressThrottle.this.scheduler.now(TimeUnit.NANOSECONDS);
+				sending = sendAfterPrevious(state, pending);
+			}
+			subscribe(sending);
+		}
+
+		/**
+		 * Returns the send of a notification that starts once the previous notification
+		 * of its token has been sent, and records it as the latest send of the token. The
+		 * returned Mono must be subscribed.
+		 */
+		private Mono<Void> sendAfterPrevious(TokenState state, McpSchema.ProgressNotification progressNotification) {
+			Mono<Void> previous = (state.sending != null) ? state.sending.onErrorResume(e -> Mono.empty())
+					: Mono.empty();
+			// Only the outcome of the send is kept, so that the sends of a token do not
+			// hold on to each other
+			Sinks.Empty<Void> sent = Sinks.empty();
+			state.sending = sent.asMono();
+			return previous.then(send(progressNotification))
+				.doOnSuccess(v -> sent.tryEmitEmpty())
+				.doOnError(sent::tryEmitError);
+		}
+
+		private void subscribe(Mono<Void> sending) {
+			sending.subscribe(null, e -> logger.debug("Failed to send progress notification: {}", e.getMessage()));
+		}
+
+		private McpSchema.ProgressNotification takePending(TokenState state) {
+			if (state.timer != null) {
+				state.timer.dispose();
+				state.timer = null;
+			}
+			McpSchema.ProgressNotification pending = state.pending;
+			state.pending = null;
+			return pending;
+		}
+
+		private Mono<Void> send(McpSchema.ProgressNotification progressNotification) {
+			return this.session.sendNotification(McpSchema.METHOD_NOTIFICATION_PROGRESS, progressNotification);
+		}
+
+	}
+
+	private static final class TokenState {
+
+		private boolean sent;
+
+		private long sentAt;
+
+		private McpSchema.ProgressNotification pending;
+
+		private Disposable timer;
+
+		private Mono<Void> sending;
+
+	}
+
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.modelcontextprotocol.common.McpTransportContext;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.util.Assert;
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces identical requests that are in flight at the same time, so that a burst of
+ * calls, e.g. from clients reacting to the same list changed notification, invokes the
+ * handler once. A request arriving while an identical request is being handled subscribes
+ * to the running invocation and receives its result.
+ * <p>
+ * Coalescing is enabled per tool and per resource, and only for handlers that are safe to
+ * share: tool calls are coalesced only for tools annotated as read-only, and are
+ * identical when they have the same tool name and equal arguments. Resource reads are
+ * identical when they have the same URI. Each request keeps its own ID, and cancelling a
+ * request only detaches it from the shared invocation, which is cancelled once no request
+ * is waiting for it anymore. The handler is invoked with the exchange, or transport
+ * context, of the request that started the invocation.
+ * <p>
+ * <strong>Only requests of the same session are coalesced by default.</strong> Requests
+ * of different callers are coalesced only within the scope set with
+ * {@link Builder#scope(Function)}, e.g. the authenticated user, or across all callers if
+ * the scope is null, for handlers whose results do not depend on the caller. The
+ * stateless server has no sessions, so its requests are coalesced across all callers
+ * unless a scope is set.
+ * <p>
+ * Coalescing is configured with the {@link McpServer} builders, e.g.
+ * {@code requestCoalescing(RequestCoalescing.builder().tools("schema").resources("config://app").build())}.
+ */
+public final class RequestCoalescing {
+
+	private final Set<String> toolNames;
+
+	private final Set<String> resourceUris;
+
+	/** Null to scope requests to their session */
+	private final Function<McpTransportContext, ?> scope;
+
+	private final ConcurrentHashMap<Object, Flight<?>> inFlight = new ConcurrentHashMap<>();
+
+	private RequestCoalescing(Set<String> toolNames, Set<String> resourceUris, Function<McpTransportContext, ?> scope) {
+		this.toolNames = toolNames;
+		this.resourceUris = resourceUris;
+		this.scope = scope;
+	}
+
+	/**
+	 * Returns the names of the tools whose calls are coalesced.
+	 * @return the tool names
+	 */
+	public Set<String> toolNames() {
+		return this.toolNames;
+	}
+
+	/**
+	 * Returns the URIs and URI templates of the resources whose reads are coalesced.
+	 * @return the resource URIs
+	 */
+	public Set<String> resourceUris() {
+		return this.resourceUris;
+	}
+
+	/**
+	 * Returns the number of distinct requests currently being handled.
+	 * @return the number of shared invocations in flight
+	 */
+	public int inFlightCount() {
+		return this.inFlight.size();
+	}
+
+	/**
+	 * Returns whether calls of the given tool are coalesced.
+	 * @param tool the called tool
+	 * @return true if coalescing is enabled for the tool and it is annotated as read-only
+	 */
+	boolean coalescesTool(McpSchema.Tool tool) {
+		return this.toolNames.contains(tool.name()) && tool.annotations() != null
+				&& Boolean.TRUE.equals(tool.annotations().readOnlyHint());
+	}
+
+	/**
+	 * Returns whether reads of the given resource are coalesced.
+	 * @param uri the URI of a resource, or the URI template of a resource template, as
+	 * registered with the server
+	 * @return true if coalescing is enabled for the resource
+	 */
+	boolean coalescesResource(String uri) {
+		return this.resourceUris.contains(uri);
+	}
+
+	/**
+	 * Shares the result of a running identical tool call of the same scope, or invokes
+	 * the tool.
+	 * @param jsonMapper the mapper serializing the arguments
+	 * @param sessionId the ID of the session of the call, or null if it has none
+	 * @param transportContext the transport context of the call
+	 * @param request the tool call
+	 * @param call invokes the tool
+	 * @return a Mono emitting the result of the call
+	 */
+	<T> Mono<T> callTool(McpJsonMapper jsonMapper, String sessionId, McpTransportContext transportContext,
+			McpSchema.CallToolRequest request, Supplier<Mono<T>> call) {
+		ToolCallKey key;
+		try {
+			key = new ToolCallKey(request.name(), scope(sessionId, transportContext),
+					ToolArguments.hash(jsonMapper, request.arguments()));
+		}
+		catch (IOException ex) {
+			return Mono.defer(call);
+		}
+		return execute(key, call);
+	}
+
+	/**
+	 * Shares the result of a running identical resource read of the same scope, or reads
+	 * the resource.
+	 * @param sessionId the ID of the session of the read, or null if it has none
+	 * @param transportContext the transport context of the read
+	 * @param request the resource read
+	 * @param read reads the resource
+	 * @return a Mono emitting the contents of the resource
+	 */
+	<T> Mono<T> readResource(String sessionId, McpTransportContext transportContext,
+			McpSchema.ReadResourceRequest request, Supplier<Mono<T>> read) {
+		return execute(new ResourceReadKey(scope(sessionId, transportContext), request.uri()), read);
+	}
+
+	private Object scope(String sessionId, McpTransportContext transportContext) {
+		return (this.scope != null) ? this.scope.apply(transportContext) : sessionId;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Mono<T> execute(Object key, Supplier<Mono<T>> invocation) {
+		return Mono
+			.defer(() -> ((Flight<T>) this.inFlight.computeIfAbsent(key, k -> new Flight<>(k, invocation))).result());
+	}
+
+	/**
+	 * Creates a new Builder instance for constructing RequestCoalescing.
+	 * @return A new Builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder class for creating RequestCoalescing instances with fluent API.
+	 */
+	public static class Builder {
+
+		private final Set<String> toolNames = new HashSet<>();
+
+		private final Set<String> resourceUris = new HashSet<>();
+
+		private Function<McpTransportContext, ?> scope;
+
+		private Builder() {
+		}
+
+		/**
+		 * Coalesces the calls of the given tools. Tools that are not annotated as
+		 * read-only are never coalesced.
+		 * @param toolNames The names of the tools
+		 * @return This builder instance for method chaining
+		 */
+		public Builder tools(String... toolNames) {
+			Assert.notNull(toolNames, "Tool names must not be null");
+			Arrays.stream(toolNames).forEach(toolName -> {
+				Assert.hasText(toolName, "Tool name must not be empty");
+				this.toolNames.add(toolName);
+			});
+			return this;
+		}
+
+		/**
+		 * Coalesces the reads of the given resources.
+		 * @param resourceUris The URIs of resources, or URI templates of resource
+		 * templates, as they are registered with the server
+		 * @return This builder instance for method chaining
+		 */
+		public Builder resources(String... resourceUris) {
+			Assert.notNull(resourceUris, "Resource URIs must not be null");
+			Arrays.stream(resourceUris).forEach(resourceUri -> {
+				Assert.hasText(resourceUri, "Resource URI must not be empty");
+				this.resourceUris.add(resourceUri);
+			});
+			return this;
+		}
+
+		/**
+		 * Sets the function extracting the scope of the requests from their transport
+		 * context, e.g. the authenticated user. Only requests of the same scope, as
+		 * compared with {@code equals}, are coalesced, and requests for which the
+		 * function returns null are coalesced across all callers. By default, only
+		 * requests of the same session are coalesced.
+		 * @param scope The function extracting the scope, may return null
+		 * @return This builder instance for method chaining
+		 */
+		public Builder scope(Function<McpTransportContext, ?> scope) {
+			Assert.notNull(scope, "Scope must not be null");
+			this.scope = scope;
+			return this;
+		}
+
+		/**
+		 * Builds and returns a new RequestCoalescing instance.
+		 * @return A new RequestCoalescing configured with the builder's settings
+		 */
+		public RequestCoalescing build() {
+			return new RequestCoalescing(Set.copyOf(this.toolNames), Set.copyOf(this.resourceUris), this.scope);
+		}
+
+	}
+
+	/**
+	 * An invocation shared by identical requests. The invocation starts with the first
+	 * request, is cancelled when all requests are cancelled, and stops accepting new
+	 * requests once it terminates.
+	 */
+	private final class Flight<T> {
+
+		private final Mono<T> result;
+
+		private Flight(Object key, Supplier<Mono<T>> invocation) {
+			this.result = Mono.defer(invocation)
+				.doFinally(signal -> RequestCoalescing.this.inFlight.remove(key, this))
+				.flux()
+				.publish()
+				.refCount(1)
+				.singleOrEmpty();
+		}
+
+		private Mono<T> result() {
+			return this.result;
+		}
+
+	}
+
+	private record ToolCallKey(String toolName, Object scope, String argumentsHash) {
+	}
+
+	private record ResourceReadKey(Object scope, String uri) {
+	}
+
+}
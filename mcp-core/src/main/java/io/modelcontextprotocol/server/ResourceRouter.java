@@ -0,0 +1,225 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import io.modelcontextprotocol.util.Assert;
+import io.modelcontextprotocol.util.McpUriTemplateManager;
+import io.modelcontextprotocol.util.McpUriTemplateManagerFactory;
+
+/**
+ * Routes resource URIs to registered resource or resource template specifications.
+ * <p>
+ * URI templates are compiled once, at registration, through the configured
+ * {@link McpUriTemplateManagerFactory}. URIs without variables are resolved with a hash
+ * lookup. Templates are indexed in a character trie by the literal text that precedes
+ * their first variable, so a lookup only tests the templates whose literal prefix matches
+ * the URI, trying the longest, most specific prefixes first.
+ * <p>
+ * Specifications are kept in registration order for listing. Updates are serialized;
+ * lookups and iteration do not block.
+ *
+ * @param <T> the resource specification type
+ */
+final class ResourceRouter<T> {
+
+	private final Function<T, String> uriExtractor;
+
+	private final McpUriTemplateManagerFactory uriTemplateManagerFactory;
+
+	private final FeatureRegistry<T> registry;
+
+	private final ConcurrentHashMap<String, Route<T>> exactRoutes = new ConcurrentHashMap<>();
+
+	private final ConcurrentHashMap<String, Route<T>> templateRoutes = new ConcurrentHashMap<>();
+
+	private final Node<T> root = new Node<>();
+
+	/**
+	 * Creates an empty router.
+	 * @param uriExtractor extracts the URI or URI template of a specification
+	 * @param uriTemplateManagerFactory compiles URI templates at registration
+	 */
+	ResourceRouter(Function<T, String> uriExtractor, McpUriTemplateManagerFactory uriTemplateManagerFactory) {
+		Assert.notNull(uriExtractor, "URI extractor must not be null");
+		Assert.notNull(uriTemplateManagerFactory, "URI template manager factory must not be null");
+		this.uriExtractor = uriExtractor;
+		this.uriTemplateManagerFactory = uriTemplateManagerFactory;
+		this.registry = new FeatureRegistry<>(uriExtractor);
+	}
+
+	/**
+	 * Adds a specification, replacing any specification registered under the same URI.
+	 * @param specification the specification to add
+	 * @return true if an existing specification was replaced
+	 */
+	synchronized boolean put(T specification) {
+		String uri = this.uriExtractor.apply(specification);
+		McpUriTemplateManager uriTemplate = this.uriTemplateManagerFactory.create(uri);
+		Route<T> route = new Route<>(uriTemplate, specification);
+
+		boolean replaced = this.registry.put(specification);
+		if (uriTemplate.isUriTemplate(uri)) {
+			Route<T> previous = this.templateRoutes.put(uri, route);
+			List<Node<T>> path = descend(literalPrefix(uri), true);
+			List<Route<T>> routes = path.get(path.size() - 1).routes;
+			if (previous != null) {
+				routes.remove(previous);
+			}
+			routes.add(route);
+		}
+		else {
+			this.exactRoutes.put(uri, route);
+		}
+		return replaced;
+	}
+
+	/**
+	 * Removes the specification registered under the given URI.
+	 * @param uri the URI or URI template the specification was registered with
+	 * @return true if a specification was removed
+	 */
+	synchronized boolean remove(String uri) {
+		if (!this.registry.remove(uri)) {
+			return false;
+		}
+		this.exactRoutes.remove(uri);
+		Route<T> route = this.templateRoutes.remove(uri);
+		if (route != null) {
+			String prefix = literalPrefix(uri);
+			List<Node<T>> path = descend(prefix, false);
+			path.get(path.size() - 1).routes.remove(route);
+			// Prune the nodes that no longer lead to any template
+			for (int depth = path.size() - 1; depth > 0; depth--) {
+				Node<T> node = path.get(depth);
+				if (!node.routes.isEmpty() || !node.children.isEmpty()) {
+					break;
+				}
+				path.get(depth - 1).children.remove(prefix.charAt(depth - 1));
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Resolves a URI to the specification that serves it.
+	 * @param uri the URI to resolve
+	 * @return the match, or null if no specification serves the URI
+	 */
+	Match<T> route(String uri) {
+		Route<T> exact = this.exactRoutes.get(uri);
+		if (exact != null) {
+			return new Match<>(exact.specification(), exact.uriTemplate(), Map.of());
+		}
+
+		List<Node<T>> path = descend(uri, false);
+		for (int depth = path.size() - 1; depth >= 0; depth--) {
+			for (Route<T> route : path.get(depth).routes) {
+				Map<String, String> variables = route.uriTemplate().match(uri);
+				if (variables != null) {
+					return new Match<>(route.specification(), route.uriTemplate(), variables);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns a live view of the registered specifications in registration order.
+	 * @return the registered specifications
+	 */
+	Collection<T> values() {
+		return this.registry.values();
+	}
+
+	/**
+	 * Returns the registered specifications in registration order.
+	 * @return a stream of the registered specifications
+	 */
+	Stream<T> stream() {
+		return this.registry.stream();
+	}
+
+	/**
+	 * Returns the version of the router, which changes whenever a specification is added,
+	 * replaced or removed.
+	 * @return the current version
+	 * @see FeatureRegistry#version()
+	 */
+	long version() {
+		return this.registry.version();
+	}
+
+	/**
+	 * Returns the specifications registered after the position encoded in the cursor.
+	 * @param cursor the opaque cursor returned with the previous page, or null for the
+	 * first page
+	 * @param pageSize the maximum number of specifications in the page, or zero for all
+	 * @return the page
+	 * @throws IllegalArgumentException if the cursor is not valid
+	 * @see FeatureRegistry#page(String, int)
+	 */
+	FeatureRegistry.Page<T> page(String cursor, int pageSize) {
+		return this.registry.page(cursor, pageSize);
+	}
+
+	/**
+	 * Walks the trie along the given text and returns the visited nodes, starting with
+	 * the root. The walk stops early at the first missing node unless create is set.
+	 */
+	private List<Node<T>> descend(String text, boolean create) {
+		List<Node<T>> path = new ArrayList<>();
+		Node<T> node = this.root;
+		path.add(node);
+		for (int i = 0; i < text.length(); i++) {
+			node = create ? node.children.computeIfAbsent(text.charAt(i), c -> new Node<>())
+					: node.children.get(text.charAt(i));
+			if (node == null) {
+				break;
+			}
+			path.add(node);
+		}
+		return path;
+	}
+
+	/**
+	 * Returns the literal text that every URI matching the template starts with.
+	 */
+	private static String literalPrefix(String uriTemplate) {
+		int variableStart = uriTemplate.indexOf('{');
+		return variableStart < 0 ? uriTemplate : uriTemplate.substring(0, variableStart);
+	}
+
+	/**
+	 * The result of routing a URI.
+	 *
+	 * @param specification the specification that serves the URI
+	 * @param uriTemplate the compiled URI or URI template of the specification
+	 * @param variables the values captured for the template variables
+	 * @param <T> the resource specification type
+	 */
+	record Match<T>(T specification, McpUriTemplateManager uriTemplate, Map<String, String> variables) {
+	}
+
+	private record Route<T>(McpUriTemplateManager uriTemplate, T specification) {
+	}
+
+	private static final class Node<T> {
+
+		private final ConcurrentHashMap<Character, Node<T>> children = new ConcurrentHashMap<>();
+
+		private final List<Route<T>> routes = new CopyOnWriteArrayList<>();
+
+	}
+
+}
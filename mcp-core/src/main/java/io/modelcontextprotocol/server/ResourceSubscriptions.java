@@ -0,0 +1,154 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.modelcontextprotocol.util.Assert;
+import io.modelcontextprotocol.util.McpUriTemplateManager;
+import io.modelcontextprotocol.util.McpUriTemplateManagerFactory;
+
+/**
+ * Indexes the resource subscriptions of the sessions of a server, so that a resource
+ * update is only sent to the sessions that subscribed to the resource.
+ * <p>
+ * A session subscribes either to a URI, or to a URI template, which covers every URI
+ * matching it. Subscriptions to URIs are resolved with a hash lookup; URI templates are
+ * compiled once, when the first session subscribes to them, and every distinct template
+ * is tested against an updated URI. The subscriptions of a session are also indexed by
+ * session, so that they can all be removed when the session closes.
+ * <p>
+ * Updates are serialized; lookups do not block.
+ */
+final class ResourceSubscriptions {
+
+	private final McpUriTemplateManagerFactory uriTemplateManagerFactory;
+
+	private final ConcurrentHashMap<String, Set<String>> uriSubscribers = new ConcurrentHashMap<>();
+
+	private final ConcurrentHashMap<String, TemplateSubscribers> templateSubscribers = new ConcurrentHashMap<>();
+
+	private final ConcurrentHashMap<String, Set<String>> sessionSubscriptions = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates an empty index.
+	 * @param uriTemplateManagerFactory compiles the URI templates subscribed to
+	 */
+	ResourceSubscriptions(McpUriTemplateManagerFactory uriTemplateManagerFactory) {
+		Assert.notNull(uriTemplateManagerFactory, "URI template manager factory must not be null");
+		this.uriTemplateManagerFactory = uriTemplateManagerFactory;
+	}
+
+	/**
+	 * Subscribes a session to a resource.
+	 * @param sessionId the ID of the session
+	 * @param uri the URI of the resource, or a URI template covering several resources
+	 * @return true if the session was not subscribed to the URI yet
+	 */
+	synchronized boolean subscribe(String sessionId, String uri) {
+		Assert.notNull(sessionId, "Session ID must not be null");
+		Assert.hasText(uri, "URI must not be empty");
+		if (!this.sessionSubscriptions.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet()).add(uri)) {
+			return false;
+		}
+		McpUriTemplateManager uriTemplate = this.uriTemplateManagerFactory.create(uri);
+		if (uriTemplate.isUriTemplate(uri)) {
+			this.templateSubscribers
+				.computeIfAbsent(uri, template -> new TemplateSubscribers(uriTemplate, ConcurrentHashMap.newKeySet()))
+				.sessionIds()
+				.add(sessionId);
+		}
+		else {
+			this.uriSubscribers.computeIfAbsent(uri, u -> ConcurrentHashMap.newKeySet()).add(sessionId);
+		}
+		return true;
+	}
+
+	/**
+	 * Unsubscribes a session from a resource.
+	 * @param sessionId the ID of the session
+	 * @param uri the URI or URI template the session subscribed to
+	 * @return true if the session was subscribed to the URI
+	 */
+	synchronized boolean unsubscribe(String sessionId, String uri) {
+		Set<String> uris = (sessionId != null && uri != null) ? this.sessionSubscriptions.get(sessionId) : null;
+		if (uris == null || !uris.remove(uri)) {
+			return false;
+		}
+		if (uris.isEmpty()) {
+			this.sessionSubscriptions.remove(sessionId);
+		}
+		removeSubscriber(sessionId, uri);
+		return true;
+	}
+
+	/**
+	 * Removes all the subscriptions of a session, e.g. because it closed.
+	 * @param sessionId the ID of the session
+	 */
+	synchronized void removeSession(String sessionId) {
+		Set<String> uris = this.sessionSubscriptions.remove(sessionId);
+		if (uris != null) {
+			uris.forEach(uri -> removeSubscriber(sessionId, uri));
+		}
+	}
+
+	/**
+	 * Returns the sessions subscribed to a resource, either to its URI or to a URI
+	 * template matching it.
+	 * @param uri the URI of the updated resource
+	 * @return the IDs of the subscribed sessions
+	 */
+	Set<String> subscribers(String uri) {
+		Set<String> subscribers = new HashSet<>(this.uriSubscribers.getOrDefault(uri, Set.of()));
+		for (TemplateSubscribers template : this.templateSubscribers.values()) {
+			if (template.uriTemplate().matches(uri)) {
+				subscribers.addAll(template.sessionIds());
+			}
+		}
+		return subscribers;
+	}
+
+	/**
+	 * Returns the URIs and URI templates a session subscribed to.
+	 * @param sessionId the ID of the session
+	 * @return the subscriptions of the session
+	 */
+	Collection<String> subscriptions(String sessionId) {
+		return Set.copyOf(this.sessionSubscriptions.getOrDefault(sessionId, Set.of()));
+	}
+
+	/**
+	 * Returns the number of sessions with at least one subscription.
+	 * @return the number of subscribed sessions
+	 */
+	int sessionCount() {
+		return this.sessionSubscriptions.size();
+	}
+
+	private void removeSubscriber(String sessionId, String uri) {
+		Set<String> sessionIds = this.uriSubscribers.get(uri);
+		if (sessionIds != null) {
+			sessionIds.remove(sessionId);
+			if (sessionIds.isEmpty()) {
+				this.uriSubscribers.remove(uri);
+			}
+		}
+		TemplateSubscribers template = this.templateSubscribers.get(uri);
+		if (template != null) {
+			template.sessionIds().remove(sessionId);
+			if (template.sessionIds().isEmpty()) {
+				this.templateSubscribers.remove(uri);
+			}
+		}
+	}
+
+	private record TemplateSubscribers(McpUriTemplateManager uriTemplate, Set<String> sessionIds) {
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+
+/**
+ * Identifies the arguments of tool calls independently of the order of their properties,
+ * so that calls with equal arguments can share a result.
+ */
+final class ToolArguments {
+
+	private ToolArguments() {
+	}
+
+	/**
+	 * Returns the SHA-256 of the canonical JSON of the given arguments, in which the
+	 * properties of all objects are sorted by name. Missing arguments hash as an empty
+	 * object.
+	 * @param jsonMapper the mapper serializing the arguments
+	 * @param arguments the arguments of a tool call, or null
+	 * @return the hex encoded hash
+	 * @throws IOException if the arguments cannot be serialized
+	 */
+	static String hash(McpJsonMapper jsonMapper, Map<String, Object> arguments) throws IOException {
+		byte[] json = jsonMapper.writeValueAsBytes(canonicalize((arguments != null) ? arguments : Map.of()));
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not supported", ex);
+		}
+	}
+
+	private static Object canonicalize(Object value) {
+		if (value instanceof Map<?, ?> map) {
+			TreeMap<String, Object> sorted = new TreeMap<>();
+			map.forEach((name, property) -> sorted.put(String.valueOf(name), canonicalize(property)));
+			return sorted;
+		}
+		if (value instanceof List<?> list) {
+			List<Object> items = new ArrayList<>(list.size());
+			list.forEach(item -> items.add(canonicalize(item)));
+			return items;
+		}
+		return value;
+	}
+
+}
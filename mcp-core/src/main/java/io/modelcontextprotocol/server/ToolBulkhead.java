@@ -0,0 +1,314 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.util.Assert;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Limits the number of concurrent calls to a tool, or to a group of tools sharing the
+ * same bulkhead, so that a slow tool cannot take all the resources of a server and starve
+ * the other tools.
+ * <p>
+ * Once the maximum number of calls is running, further calls wait, in order, in a bounded
+ * queue until a running call completes. Calls arriving while the queue is full, and calls
+ * that waited longer than the queue timeout, are rejected with an
+ * {@link McpSchema.ErrorCodes#INTERNAL_ERROR} error without invoking the tool. The
+ * occupancy of the bulkhead can be observed while it is in use.
+ * <p>
+ * Bulkheads are registered with the {@link McpServer} builders, e.g.
+ * {@code toolBulkhead(bulkhead, "export", "report")}.
+ */
+public final class ToolBulkhead {
+
+	private final int maxConcurrentCalls;
+
+	private final int maxQueuedCalls;
+
+	private final Duration queueTimeout;
+
+	private final Set<Call<?>> active = new HashSet<>();
+
+	private final ArrayDeque<Call<?>> queued = new ArrayDeque<>();
+
+	private long rejectedCalls;
+
+	private long timedOutCalls;
+
+	private ToolBulkhead(int maxConcurrentCalls, int maxQueuedCalls, Duration queueTimeout) {
+		this.maxConcurrentCalls = maxConcurrentCalls;
+		this.maxQueuedCalls = maxQueuedCalls;
+		this.queueTimeout = queueTimeout;
+	}
+
+	/**
+	 * Returns the maximum number of calls running at the same time.
+	 * @return the maximum number of concurrent calls
+	 */
+	public int maxConcurrentCalls() {
+		return this.maxConcurrentCalls;
+	}
+
+	/**
+	 * Returns the maximum number of calls waiting for a running call to complete.
+	 * @return the maximum number of queued calls
+	 */
+	public int maxQueuedCalls() {
+		return this.maxQueuedCalls;
+	}
+
+	/**
+	 * Returns the time after which a waiting call is rejected.
+	 * @return the queue timeout, or null if calls wait until they run
+	 */
+	public Duration queueTimeout() {
+		return this.queueTimeout;
+	}
+
+	/**
+	 * Returns the number of calls currently running.
+	 * @return the number of active calls
+	 */
+	public synchronized int activeCalls() {
+		return this.active.size();
+	}
+
+	/**
+	 * Returns the number of calls currently waiting to run.
+	 * @return the number of queued calls
+	 */
+	public synchronized int queuedCalls() {
+		return this.queued.size();
+	}
+
+	/**
+	 * Returns the number of calls rejected because the queue was full.
+	 * @return the number of rejected calls since the bulkhead was created
+	 */
+	public synchronized long rejectedCalls() {
+		return this.rejectedCalls;
+	}
+
+	/**
+	 * Returns the number of calls rejected because they waited longer than the queue
+	 * timeout.
+	 * @return the number of timed out calls since the bulkhead was created
+	 */
+	public synchronized long timedOutCalls() {
+		return this.timedOutCalls;
+	}
+
+	/**
+	 * Runs a call of the given tool once the bulkhead has room for it. Cancelling the
+	 * returned Mono cancels the call, or removes it from the queue.
+	 * @param toolName the name of the called tool
+	 * @param call subscribed to when the call may run
+	 * @return a Mono emitting the result of the call
+	 */
+	<T> Mono<T> execute(String toolName, Supplier<Mono<T>> call) {
+		return Mono.create(sink -> {
+			Call<T> pending = new Call<>(toolName, sink, call);
+			sink.onDispose(() -> release(pending));
+			boolean start = false;
+			boolean reject = false;
+			synchronized (this) {
+				if (pending.released) {
+					// The caller cancelled while the dispose hook was being registered
+					return;
+				}
+				if (this.active.size() < this.maxConcurrentCalls) {
+					this.active.add(pending);
+					start = true;
+				}
+				else if (this.queued.size() < this.maxQueuedCalls) {
+					this.queued.addLast(pending);
+					if (this.queueTimeout != null) {
+						pending.timer = Schedulers.parallel()
+							.schedule(() -> timeout(pending), this.queueTimeout.toMillis(), TimeUnit.MILLISECONDS);
+					}
+				}
+				else {
+					this.rejectedCalls++;
+					reject = true;
+				}
+			}
+			if (start) {
+				pending.start();
+			}
+			else if (reject) {
+				sink.error(McpError.builder(McpSchema.ErrorCodes.INTERNAL_ERROR)
+					.message("Tool call rejected: too many concurrent calls")
+					.data("Tool " + toolName + " is running " + this.maxConcurrentCalls + " calls with "
+							+ this.maxQueuedCalls + " waiting")
+					.build());
+			}
+		});
+	}
+
+	private void timeout(Call<?> call) {
+		synchronized (this) {
+			if (!this.queued.remove(call)) {
+				return;
+			}
+			this.timedOutCalls++;
+		}
+		call.sink.error(McpError.builder(McpSchema.ErrorCodes.INTERNAL_ERROR)
+			.message("Tool call rejected: timed out waiting for a concurrent call to complete")
+			.data("Tool " + call.toolName + " waited longer than " + this.queueTimeout)
+			.build());
+	}
+
+	private void release(Call<?> call) {
+		Call<?> next = null;
+		synchronized (this) {
+			call.released = true;
+			if (this.active.remove(call)) {
+				next = this.queued.pollFirst();
+				if (next != null) {
+					this.active.add(next);
+				}
+			}
+			else {
+				this.queued.remove(call);
+			}
+		}
+		// Cancels the call if it is still running, e.g. when the caller cancelled it
+		call.dispose();
+		if (next != null) {
+			next.start();
+		}
+	}
+
+	/**
+	 * Creates a new Builder instance for constructing ToolBulkhead.
+	 * @return A new Builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder class for creating ToolBulkhead instances with fluent API.
+	 */
+	public static class Builder {
+
+		private int maxConcurrentCalls;
+
+		private int maxQueuedCalls;
+
+		private Duration queueTimeout;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the maximum number of calls running at the same time. Required.
+		 * @param maxConcurrentCalls The maximum number of concurrent calls
+		 * @return This builder instance for method chaining
+		 */
+		public Builder maxConcurrentCalls(int maxConcurrentCalls) {
+			Assert.isTrue(maxConcurrentCalls > 0, "Max concurrent calls must be greater than 0");
+			this.maxConcurrentCalls = maxConcurrentCalls;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of calls waiting for a running call to complete. By
+		 * default no call waits: calls beyond the concurrency limit are rejected
+		 * immediately.
+		 * @param maxQueuedCalls The maximum number of queued calls
+		 * @return This builder instance for method chaining
+		 */
+		public Builder maxQueuedCalls(int maxQueuedCalls) {
+			Assert.isTrue(maxQueuedCalls >= 0, "Max queued calls must not be negative");
+			this.maxQueuedCalls = maxQueuedCalls;
+			return this;
+		}
+
+		/**
+		 * Sets the time after which a waiting call is rejected. By default calls wait
+		 * until they run or are cancelled, e.g. by the request timeout.
+		 * @param queueTimeout The queue timeout
+		 * @return This builder instance for method chaining
+		 */
+		public Builder queueTimeout(Duration queueTimeout) {
+			Assert.notNull(queueTimeout, "Queue timeout must not be null");
+			Assert.isTrue(!queueTimeout.isNegative() && !queueTimeout.isZero(), "Queue timeout must be positive");
+			this.queueTimeout = queueTimeout;
+			return this;
+		}
+
+		/**
+		 * Builds and returns a new ToolBulkhead instance.
+		 * @return A new ToolBulkhead configured with the builder's settings
+		 */
+		public ToolBulkhead build() {
+			Assert.isTrue(this.maxConcurrentCalls > 0, "Max concurrent calls must be set");
+			return new ToolBulkhead(this.maxConcurrentCalls, this.maxQueuedCalls, this.queueTimeout);
+		}
+
+	}
+
+	private static final class Call<T> {
+
+		private final String toolName;
+
+		private final MonoSink<T> sink;
+
+		private final Supplier<Mono<T>> invocation;
+
+		private Disposable subscription;
+
+		private Disposable timer;
+
+		private boolean disposed;
+
+		// Guarded by the bulkhead
+		private boolean released;
+
+		private Call(String toolName, MonoSink<T> sink, Supplier<Mono<T>> invocation) {
+			this.toolName = toolName;
+			this.sink = sink;
+			this.invocation = invocation;
+		}
+
+		private synchronized void start() {
+			if (this.timer != null) {
+				this.timer.dispose();
+			}
+			// The caller may have cancelled after the call was taken off the queue
+			if (this.disposed) {
+				return;
+			}
+			this.subscription = Mono.defer(this.invocation)
+				.contextWrite(this.sink.contextView())
+				.subscribe(this.sink::success, this.sink::error, () -> this.sink.success());
+		}
+
+		private synchronized void dispose() {
+			this.disposed = true;
+			if (this.timer != null) {
+				this.timer.dispose();
+			}
+			if (this.subscription != null) {
+				this.subscription.dispose();
+			}
+		}
+
+	}
+
+}
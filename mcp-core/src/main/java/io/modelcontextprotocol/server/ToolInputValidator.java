@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.json.schema.JsonSchemaValidator;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * Validates the arguments of tool calls against the input schemas of the tools. Input
+ * schemas are compiled once, when a tool is registered, and the decoded arguments of each
+ * call are validated against the compiled schema.
+ * <p>
+ * The arguments are validated as the map they were decoded to. The compiled schemas of
+ * the default {@link JsonSchemaValidator} validate JSON trees only, so it converts the
+ * map to a tree for every call, which costs about as much as decoding the arguments
+ * again. Servers calling tools with large arguments at a high rate should weigh this cost
+ * against rejecting invalid arguments before the handler runs.
+ */
+final class ToolInputValidator {
+
+	private static final TypeRef<Map<String, Object>> SCHEMA_TYPE = new TypeRef<>() {
+	};
+
+	private final JsonSchemaValidator jsonSchemaValidator;
+
+	private final McpJsonMapper jsonMapper;
+
+	private final ConcurrentHashMap<String, JsonSchemaValidator.CompiledSchema> inputSchemas = new ConcurrentHashMap<>();
+
+	ToolInputValidator(JsonSchemaValidator jsonSchemaValidator, McpJsonMapper jsonMapper) {
+		Assert.notNull(jsonSchemaValidator, "JsonSchemaValidator must not be null");
+		Assert.notNull(jsonMapper, "JsonMapper must not be null");
+		this.jsonSchemaValidator = jsonSchemaValidator;
+		this.jsonMapper = jsonMapper;
+	}
+
+	/**
+	 * Compiles the input schema of the given tool, replacing the schema of a previously
+	 * registered tool with the same name.
+	 * @param tool the tool being registered
+	 */
+	void register(McpSchema.Tool tool) {
+		if (tool.inputSchema() == null) {
+			this.inputSchemas.remove(tool.name());
+			return;
+		}
+		Map<String, Object> schema = this.jsonMapper.convertValue(tool.inputSchema(), SCHEMA_TYPE);
+		this.inputSchemas.put(tool.name(), this.jsonSchemaValidator.compile(schema));
+	}
+
+	/**
+	 * Forgets the input schema of the tool with the given name.
+	 * @param toolName the name of the removed tool
+	 */
+	void unregister(String toolName) {
+		this.inputSchemas.remove(toolName);
+	}
+
+	/**
+	 * Validates the arguments of the given call. Missing arguments are validated as an
+	 * empty object.
+	 * @param request the tool call
+	 * @return an {@link McpSchema.ErrorCodes#INVALID_PARAMS} error if the arguments do
+	 * not match the input schema of the tool, otherwise null
+	 */
+	McpError validate(McpSchema.CallToolRequest request) {
+		JsonSchemaValidator.CompiledSchema inputSchema = this.inputSchemas.get(request.name());
+		if (inputSchema == null) {
+			return null;
+		}
+		Map<String, Object> arguments = (request.arguments() != null) ? request.arguments() : Map.of();
+		var validation = inputSchema.validate(arguments);
+		if (validation.valid()) {
+			return null;
+		}
+		return McpError.builder(McpSchema.ErrorCodes.INVALID_PARAMS)
+			.message("Invalid arguments for tool: " + request.name())
+			.data(validation.errorMessage())
+			.build();
+	}
+
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import io.modelcontextprotocol.common.McpTransportContext;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.RawJson;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.util.Assert;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches the results of tools that are annotated as both read-only and idempotent, so
+ * that repeated calls with the same arguments do not invoke the tool again. Results are
+ * keyed by the tool name and a hash of the canonical JSON of the arguments, in which the
+ * properties of objects are sorted.
+ * <p>
+ * Results are held as the JSON they are sent as, so a cached result is neither rebuilt
+ * nor serialized again when it is served. Entries expire after the time to live, and the
+ * least recently used entries are evicted once the cache holds more entries or bytes than
+ * allowed. Results flagged as errors are never cached. Entries can be invalidated
+ * explicitly through the server, e.g. when the data behind a tool changed; a call that
+ * was running when its tool was invalidated does not cache its result.
+ * <p>
+ * <strong>Results are shared by all sessions by default.</strong> Tools whose results
+ * depend on the caller, e.g. on the authenticated user, must not be cached unless the
+ * cache is scoped to the caller with {@link Builder#scope(Function)}.
+ * <p>
+ * A cache is registered with the {@link McpServer} builders, e.g.
+ * {@code toolResultCache(ToolResultCache.builder().timeToLive(Duration.ofSeconds(30)).build())}.
+ */
+public final class ToolResultCache {
+
+	/**
+	 * Default maximum number of cached results.
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	/**
+	 * Default maximum total size of the cached results, in bytes.
+	 */
+	public static final long DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
+
+	/**
+	 * Default time after which a cached result expires.
+	 */
+	public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(1);
+
+	private final int maxEntries;
+
+	private final long maxBytes;
+
+	private final Duration timeToLive;
+
+	private final LongSupplier nanoClock;
+
+	private final Function<McpTransportContext, ?> scope;
+
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** Incremented by each invalidation of all results */
+	private long generation;
+
+	/** Number of invalidations of each tool, for the tools invalidated at least once */
+	private final Map<String, Long> toolGenerations = new HashMap<>();
+
+	private long bytes;
+
+	private long hitCount;
+
+	private long missCount;
+
+	private long evictionCount;
+
+	private ToolResultCache(int maxEntries, long maxBytes, Duration timeToLive, LongSupplier nanoClock,
+			Function<McpTransportContext, ?> scope) {
+		this.maxEntries = maxEntries;
+		this.maxBytes = maxBytes;
+		this.timeToLive = timeToLive;
+		this.nanoClock = nanoClock;
+		this.scope = scope;
+	}
+
+	/**
+	 * Returns the time after which a cached result expires.
+	 * @return the time to live of the entries
+	 */
+	public Duration timeToLive() {
+		return this.timeToLive;
+	}
+
+	/**
+	 * Returns the number of cached results, including expired results that have not been
+	 * removed yet.
+	 * @return the number of entries
+	 */
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Returns the number of calls served from the cache.
+	 * @return the number of hits since the cache was created
+	 */
+	public synchronized long hitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Returns the number of cacheable calls that invoked the tool.
+	 * @return the number of misses since the cache was created
+	 */
+	public synchronized long missCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Returns the number of results evicted to respect the size bounds of the cache.
+	 * @return the number of evictions since the cache was created
+	 */
+	public synchronized long evictionCount() {
+		return this.evictionCount;
+	}
+
+	/**
+	 * Removes the cached results of the tool with the given name.
+	 * @param toolName the name of the tool
+	 */
+	public synchronized void invalidate(String toolName) {
+		Assert.notNull(toolName, "Tool name must not be null");
+		this.toolGenerations.merge(toolName, 1L, Long::sum);
+		Iterator<Map.Entry<Key, Entry>> iterator = this.entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Key, Entry> entry = iterator.next();
+			if (entry.getKey().toolName().equals(toolName)) {
+				this.bytes -= entry.getValue().json().length;
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes all cached results.
+	 */
+	public synchronized void invalidateAll() {
+		this.generation++;
+		this.entries.clear();
+		this.bytes = 0;
+	}
+
+	/**
+	 * Returns whether the results of the given tool may be cached.
+	 * @param tool the called tool
+	 * @return true if the tool is annotated as read-only and idempotent
+	 */
+	static boolean isCacheable(McpSchema.Tool tool) {
+		McpSchema.ToolAnnotations annotations = tool.annotations();
+		return annotations != null && Boolean.TRUE.equals(annotations.readOnlyHint())
+				&& Boolean.TRUE.equals(annotations.idempotentHint());
+	}
+
+	/**
+	 * Serves a call of a cacheable tool from the cache, or invokes the tool and caches
+	 * its result. The result is emitted as {@link RawJson} when the transport supports
+	 * it, so that it is not serialized a second time.
+	 * @param jsonMapper the mapper serializing the arguments and results
+	 * @param rawJson whether the transport writes {@link RawJson} values as is
+	 * @param transportContext the transport context of the call, from which the scope of
+	 * the result is extracted
+	 * @param request the tool call
+	 * @param call invokes the tool
+	 * @return a Mono emitting the result of the call
+	 */
+	Mono<Object> call(McpJsonMapper jsonMapper, boolean rawJson, McpTransportContext transportContext,
+			McpSchema.CallToolRequest request, Supplier<Mono<McpSchema.CallToolResult>> call) {
+		Key key;
+		try {
+			key = new Key(request.name(), this.scope.apply(transportContext),
+					ToolArguments.hash(jsonMapper, request.arguments()));
+		}
+		catch (IOException ex) {
+			return Mono.error(McpError.builder(McpSchema.ErrorCodes.INVALID_PARAMS)
+				.message("Invalid arguments for tool: " + request.name())
+				.data(ex.getMessage())
+				.build());
+		}
+
+		Generation generation;
+		synchronized (this) {
+			byte[] cached = get(key);
+			if (cached != null) {
+				return Mono.fromCallable(() -> toResult(jsonMapper, rawJson, cached));
+			}
+			generation = generation(key.toolName());
+		}
+		return Mono.defer(call).map(result -> {
+			if (Boolean.TRUE.equals(result.isError())) {
+				return result;
+			}
+			try {
+				byte[] json = jsonMapper.writeValueAsBytes(result);
+				put(key, generation, json);
+				return rawJson ? RawJson.of(json) : result;
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException("Failed to serialize the result of tool: " + request.name(), ex);
+			}
+		});
+	}
+
+	private synchronized byte[] get(Key key) {
+		Entry entry = this.entries.get(key);
+		if (entry != null && entry.expiresAt() - this.nanoClock.getAsLong() > 0) {
+			this.hitCount++;
+			return entry.json();
+		}
+		if (entry != null) {
+			this.entries.remove(key);
+			this.bytes -= entry.json().length;
+		}
+		this.missCount++;
+		return null;
+	}
+
+	private Generation generation(String toolName) {
+		return new Generation(this.generation, this.toolGenerations.getOrDefault(toolName, 0L));
+	}
+
+	private synchronized void put(Key key, Generation generation, byte[] json) {
+		// Skip the results of calls that started before an invalidation
+		if (json.length > this.maxBytes || !generation.equals(generation(key.toolName()))) {
+			return;
+		}
+		Entry previous = this.entries.put(key, new Entry(json, this.nanoClock.getAsLong() + this.timeToLive.toNanos()));
+		if (previous != null) {
+			this.bytes -= previous.json().length;
+		}
+		this.bytes += json.length;
+		Iterator<Entry> eldest = this.entries.values().iterator();
+		while (this.entries.size() > this.maxEntries || this.bytes > this.maxBytes) {
+			this.bytes -= eldest.next().json().length;
+			eldest.remove();
+			this.evictionCount++;
+		}
+	}
+
+	private static Object toResult(McpJsonMapper jsonMapper, boolean rawJson, byte[] json) throws IOException {
+		return rawJson ? RawJson.of(json) : jsonMapper.readValue(json, McpSchema.CallToolResult.class);
+	}
+
+	/**
+	 * Creates a new Builder instance for constructing ToolResultCache.
+	 * @return A new Builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder class for creating ToolResultCache instances with fluent API.
+	 */
+	public static class Builder {
+
+		private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+		private long maxBytes = DEFAULT_MAX_BYTES;
+
+		private Duration timeToLive = DEFAULT_TIME_TO_LIVE;
+
+		private LongSupplier nanoClock = System::nanoTime;
+
+		private Function<McpTransportContext, ?> scope = transportContext -> null;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the maximum number of cached results. Defaults to
+		 * {@link #DEFAULT_MAX_ENTRIES}.
+		 * @param maxEntries The maximum number of entries
+		 * @return This builder instance for method chaining
+		 */
+		public Builder maxEntries(int maxEntries) {
+			Assert.isTrue(maxEntries > 0, "Max entries must be greater than 0");
+			this.maxEntries = maxEntries;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum total size of the cached results, in bytes of JSON. A result
+		 * larger than this size is not cached. Defaults to {@link #DEFAULT_MAX_BYTES}.
+		 * @param maxBytes The maximum size of the cache
+		 * @return This builder instance for method chaining
+		 */
+		public Builder maxBytes(long maxBytes) {
+			Assert.isTrue(maxBytes > 0, "Max bytes must be greater than 0");
+			this.maxBytes = maxBytes;
+			return this;
+		}
+
+		/**
+		 * Sets the time after which a cached result expires. Defaults to
+		 * {@link #DEFAULT_TIME_TO_LIVE}.
+		 * @param timeToLive The time to live of the entries
+		 * @return This builder instance for method chaining
+		 */
+		public Builder timeToLive(Duration timeToLive) {
+			Assert.notNull(timeToLive, "Time to live must not be null");
+			Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "Time to live must be positive");
+			this.timeToLive = timeToLive;
+			return this;
+		}
+
+		/**
+		 * Sets the function extracting the scope of the results from the transport
+		 * context of a call, e.g. the authenticated user. Results are only served to the
+		 * calls of the same scope, as compared with {@code equals}. By default, all calls
+		 * share the same scope, so the result of a call is served to every session.
+		 * @param scope The function extracting the scope, may return null
+		 * @return This builder instance for method chaining
+		 */
+		public Builder scope(Function<McpTransportContext, ?> scope) {
+			Assert.notNull(scope, "Scope must not be null");
+			this.scope = scope;
+			return this;
+		}
+
+		Builder nanoClock(LongSupplier nanoClock) {
+			Assert.notNull(nanoClock, "Clock must not be null");
+			this.nanoClock = nanoClock;
+			return this;
+		}
+
+		/**
+		 * Builds and returns a new ToolResultCache instance.
+		 * @return A new ToolResultCache configured with the builder's settings
+		 */
+		public ToolResultCache build() {
+			return new ToolResultCache(this.maxEntries, this.maxBytes, this.timeToLive, this.nanoClock, this.scope);
+		}
+
+	}
+
+	private record Key(String toolName, Object scope, String argumentsHash) {
+	}
+
+	private record Generation(long all, long tool) {
+	}
+
+	private record Entry(byte[] json, long expiresAt) {
+	}
+
+}
@@ -4,20 +4,22 @@
 
 package io.modelcontextprotocol.server.transport;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import io.modelcontextprotocol.common.McpTransportContext;
 import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.json.TypeRef;
 import io.modelcontextprotocol.server.McpTransportContextExtractor;
+import io.modelcontextprotocol.spec.EncodedMessage;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpServerSession;
@@ -26,6 +28,9 @@ import io.modelcontextprotocol.spec.McpServerTransportProvider;
 import io.modelcontextprotocol.spec.ProtocolVersions;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.KeepAliveScheduler;
+import io.modelcontextprotocol.util.NotificationBroadcaster;
+import io.modelcontextprotocol.util.SessionLifecycleManager;
+import io.modelcontextprotocol.util.SessionLimits;
 import jakarta.servlet.AsyncContext;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -36,6 +41,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * A Servlet-based implementation of the MCP HTTP with Server-Sent Events (SSE) transport
@@ -120,9 +126,15 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 	private final String sseEndpoint;
 
 	/**
-	 * Map of active client sessions, keyed by session ID
+	 * Active client sessions, keyed by session ID
 	 */
-	private final Map<String, McpServerSession> sessions = new ConcurrentHashMap<>();
+	private final SessionLifecycleManager<McpServerSession> sessions;
+
+	/**
+	 * Serializes broadcast notifications once for all sessions, which are written to off
+	 * the thread of the caller as writes block
+	 */
+	private final NotificationBroadcaster broadcaster;
 
 	private McpTransportContextExtractor<HttpServletRequest> contextExtractor;
 
@@ -153,12 +165,13 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 	 * @param keepAliveInterval The interval for keep-alive pings, or null to disable
 	 * keep-alive functionality
 	 * @param contextExtractor The extractor for transport context from the request.
+	 * @param sessionLimits The limits applied to the sessions.
 	 * @deprecated Use the builder {@link #builder()} instead for better configuration
 	 * options.
 	 */
 	private HttpServletSseServerTransportProvider(McpJsonMapper jsonMapper, String baseUrl, String messageEndpoint,
 			String sseEndpoint, Duration keepAliveInterval,
-			McpTransportContextExtractor<HttpServletRequest> contextExtractor) {
+			McpTransportContextExtractor<HttpServletRequest> contextExtractor, SessionLimits sessionLimits) {
 
 		Assert.notNull(jsonMapper, "JsonMapper must not be null");
 		Assert.notNull(messageEndpoint, "messageEndpoint must not be null");
@@ -166,10 +179,12 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		Assert.notNull(contextExtractor, "Context extractor must not be null");
 
 		this.jsonMapper = jsonMapper;
+		this.broadcaster = new NotificationBroadcaster(jsonMapper, Schedulers.boundedElastic());
 		this.baseUrl = baseUrl;
 		this.messageEndpoint = messageEndpoint;
 		this.sseEndpoint = sseEndpoint;
 		this.contextExtractor = contextExtractor;
+		this.sessions = new SessionLifecycleManager<>(sessionLimits, McpServerSession::closeGracefully);
 
 		if (keepAliveInterval != null) {
 
@@ -188,6 +203,15 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		return List.of(ProtocolVersions.MCP_2024_11_05);
 	}
 
+	/**
+	 * Returns the session counters of this transport provider: live sessions, evicted
+	 * sessions and rejected session initializations.
+	 * @return the session counters
+	 */
+	public SessionLifecycleManager.Stats sessionStats() {
+		return this.sessions.stats();
+	}
+
 	/**
 	 * Sets the session factory for creating new sessions.
 	 * @param sessionFactory The session factory to use
@@ -198,26 +222,52 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 	}
 
 	/**
-	 * Broadcasts a notification to all connected clients.
+	 * Broadcasts a notification to all connected clients. The notification is serialized
+	 * once and the same JSON text is written to every session.
 	 * @param method The method name for the notification
 	 * @param params The parameters for the notification
 	 * @return A Mono that completes when the broadcast attempt is finished
 	 */
 	@Override
 	public Mono<Void> notifyClients(String method, Object params) {
-		if (sessions.isEmpty()) {
-			logger.debug("No active sessions to broadcast message to");
-			return Mono.empty();
-		}
+		return this.broadcaster.broadcast(this.sessions.asMap(), method, params).then();
+	}
+
+	/**
+	 * Sends a notification to the clients of the given sessions. The notification is
+	 * serialized once and the same JSON text is written to every session. Sessions are
+	 * registered under the ID of their SSE connection, so they are matched by their
+	 * {@link McpServerSession#getId() session ID}.
+	 * @param sessionIds The IDs of the sessions to notify
+	 * @param method The method name for the notification
+	 * @param params The parameters for the notification
+	 * @return A Mono that completes when the delivery attempt is finished
+	 */
+	@Override
+	public Mono<Void> notifyClients(Collection<String> sessionIds, String method, Object params) {
+		Map<String, McpServerSession> targets = new HashMap<>();
+		this.sessions.asMap().forEach((connectionId, session) -> {
+			if (sessionIds.contains(session.getId())) {
+				targets.put(connectionId, session);
+			}
+		});
+		return this.broadcaster.broadcast(targets, method, params).then();
+	}
 
-		logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
+	/**
+	 * Sends a logging message notification to the clients whose session accepts its
+	 * level. Sessions are filtered before the notification is serialized.
+	 * @param loggingMessageNotification The logging message to send
+	 * @return A Mono that completes when the delivery attempt is finished
+	 */
+	@Override
+	public Mono<Void> loggingNotification(McpSchema.LoggingMessageNotification loggingMessageNotification) {
+		return this.broadcaster.broadcastLoggingMessage(this.sessions.asMap(), loggingMessageNotification).then();
+	}
 
-		return Flux.fromIterable(sessions.values())
-			.flatMap(session -> session.sendNotification(method, params)
-				.doOnError(
-						e -> logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage()))
-				.onErrorComplete())
-			.then();
+	@Override
+	public void addSessionCloseListener(Consumer<String> listener) {
+		this.sessions.addRemovalListener(session -> listener.accept(session.getId()));
 	}
 
 	/**
@@ -256,7 +306,7 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		AsyncContext asyncContext = request.startAsync();
 		asyncContext.setTimeout(0);
 
-		PrintWriter writer = response.getWriter();
+		ServletSseWriter writer = new ServletSseWriter(response.getOutputStream());
 
 		// Create a new session transport
 		HttpServletMcpSessionTransport sessionTransport = new HttpServletMcpSessionTransport(sessionId, asyncContext,
@@ -264,10 +314,14 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 		// Create a new session using the session factory
 		McpServerSession session = sessionFactory.create(sessionTransport);
-		this.sessions.put(sessionId, session);
+		if (!this.sessions.register(sessionId, session)) {
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many active sessions");
+			asyncContext.complete();
+			return;
+		}
 
 		// Send initial endpoint event
-		this.sendEvent(writer, ENDPOINT_EVENT_TYPE, buildEndpointUrl(sessionId));
+		writer.writeEvent(null, ENDPOINT_EVENT_TYPE, buildEndpointUrl(sessionId));
 	}
 
 	/**
@@ -317,10 +371,9 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 			response.setContentType(APPLICATION_JSON);
 			response.setCharacterEncoding(UTF_8);
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-			String jsonError = jsonMapper.writeValueAsString(new McpError("Session ID missing in message endpoint"));
-			PrintWriter writer = response.getWriter();
-			writer.write(jsonError);
-			writer.flush();
+			OutputStream output = response.getOutputStream();
+			jsonMapper.writeValue(output, new McpError("Session ID missing in message endpoint"));
+			output.flush();
 			return;
 		}
 
@@ -330,23 +383,16 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 			response.setContentType(APPLICATION_JSON);
 			response.setCharacterEncoding(UTF_8);
 			response.setStatus(HttpServletResponse.SC_NOT_FOUND);
-			String jsonError = jsonMapper.writeValueAsString(new McpError("Session not found: " + sessionId));
-			PrintWriter writer = response.getWriter();
-			writer.write(jsonError);
-			writer.flush();
+			OutputStream output = response.getOutputStream();
+			jsonMapper.writeValue(output, new McpError("Session not found: " + sessionId));
+			output.flush();
 			return;
 		}
 
 		try {
-			BufferedReader reader = request.getReader();
-			StringBuilder body = new StringBuilder();
-			String line;
-			while ((line = reader.readLine()) != null) {
-				body.append(line);
-			}
-
 			final McpTransportContext transportContext = this.contextExtractor.extract(request);
-			McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, body.toString());
+			McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper,
+					request.getInputStream());
 
 			// Process the message through the session's handle method
 			// Block for Servlet compatibility
@@ -361,10 +407,9 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 				response.setContentType(APPLICATION_JSON);
 				response.setCharacterEncoding(UTF_8);
 				response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-				String jsonError = jsonMapper.writeValueAsString(mcpError);
-				PrintWriter writer = response.getWriter();
-				writer.write(jsonError);
-				writer.flush();
+				OutputStream output = response.getOutputStream();
+				jsonMapper.writeValue(output, mcpError);
+				output.flush();
 			}
 			catch (IOException ex) {
 				logger.error(FAILED_TO_SEND_ERROR_RESPONSE, ex.getMessage());
@@ -373,6 +418,11 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		}
 	}
 
+	@Override
+	public boolean supportsRawJson() {
+		return this.jsonMapper.supportsRawJson();
+	}
+
 	/**
 	 * Initiates a graceful shutdown of the transport.
 	 * <p>
@@ -387,6 +437,7 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 		return Flux.fromIterable(sessions.values()).flatMap(McpServerSession::closeGracefully).then().doOnSuccess(v -> {
 			sessions.clear();
+			sessions.close();
 			logger.debug("Graceful shutdown completed");
 			if (this.keepAliveScheduler != null) {
 				this.keepAliveScheduler.shutdown();
@@ -394,23 +445,6 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		});
 	}
 
-	/**
-	 * Sends an SSE event to a client.
-	 * @param writer The writer to send the event through
-	 * @param eventType The type of event (message or endpoint)
-	 * @param data The event data
-	 * @throws IOException If an error occurs while writing the event
-	 */
-	private void sendEvent(PrintWriter writer, String eventType, String data) throws IOException {
-		writer.write("event: " + eventType + "\n");
-		writer.write("data: " + data + "\n\n");
-		writer.flush();
-
-		if (writer.checkError()) {
-			throw new IOException("Client disconnected");
-		}
-	}
-
 	/**
 	 * Cleans up resources when the servlet is being destroyed.
 	 * <p>
@@ -433,15 +467,15 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 		private final AsyncContext asyncContext;
 
-		private final PrintWriter writer;
+		private final ServletSseWriter writer;
 
 		/**
 		 * Creates a new session transport with the specified ID and SSE writer.
 		 * @param sessionId The unique identifier for this session
 		 * @param asyncContext The async context for the session
-		 * @param writer The writer for sending server events to the client
+		 * @param writer The writer sending server events to the client
 		 */
-		HttpServletMcpSessionTransport(String sessionId, AsyncContext asyncContext, PrintWriter writer) {
+		HttpServletMcpSessionTransport(String sessionId, AsyncContext asyncContext, ServletSseWriter writer) {
 			this.sessionId = sessionId;
 			this.asyncContext = asyncContext;
 			this.writer = writer;
@@ -455,10 +489,29 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		 */
 		@Override
 		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+			return writeMessage(message, null);
+		}
+
+		/**
+		 * Sends an already serialized JSON-RPC message to the client through the SSE
+		 * connection.
+		 * @param message The encoded JSON-RPC message to send
+		 * @return A Mono that completes when the message has been sent
+		 */
+		@Override
+		public Mono<Void> sendEncodedMessage(EncodedMessage message) {
+			return writeMessage(message.message(), message.json());
+		}
+
+		private Mono<Void> writeMessage(McpSchema.JSONRPCMessage message, String json) {
 			return Mono.fromRunnable(() -> {
 				try {
-					String jsonText = jsonMapper.writeValueAsString(message);
-					sendEvent(writer, MESSAGE_EVENT_TYPE, jsonText);
+					if (json != null) {
+						writer.writeEvent(null, MESSAGE_EVENT_TYPE, json);
+					}
+					else {
+						writer.writeEvent(null, MESSAGE_EVENT_TYPE, jsonMapper, message);
+					}
 					logger.debug("Message sent to session {}", sessionId);
 				}
 				catch (Exception e) {
@@ -547,6 +600,8 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 		private Duration keepAliveInterval;
 
+		private SessionLimits sessionLimits = SessionLimits.NONE;
+
 		/**
 		 * Sets the JsonMapper implementation to use for serialization/deserialization. If
 		 * not specified, a JacksonJsonMapper will be created from the configured
@@ -621,6 +676,20 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 			return this;
 		}
 
+		/**
+		 * Sets the limits applied to the sessions: how long a session may stay idle
+		 * before it is evicted and how many sessions may be live. By default sessions are
+		 * kept until they are deleted.
+		 * @param sessionLimits The session limits. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if sessionLimits is null
+		 */
+		public Builder sessionLimits(SessionLimits sessionLimits) {
+			Assert.notNull(sessionLimits, "Session limits must not be null");
+			this.sessionLimits = sessionLimits;
+			return this;
+		}
+
 		/**
 		 * Builds a new instance of HttpServletSseServerTransportProvider with the
 		 * configured settings.
@@ -633,7 +702,7 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 			}
 			return new HttpServletSseServerTransportProvider(
 					jsonMapper == null ? McpJsonMapper.getDefault() : jsonMapper, baseUrl, messageEndpoint, sseEndpoint,
-					keepAliveInterval, contextExtractor);
+					keepAliveInterval, contextExtractor, sessionLimits);
 		}
 
 	}
@@ -4,9 +4,8 @@
 
 package io.modelcontextprotocol.server.transport;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -74,6 +73,11 @@ public class HttpServletStatelessServerTransport extends HttpServlet implements
 		this.mcpHandler = mcpHandler;
 	}
 
+	@Override
+	public boolean supportsRawJson() {
+		return this.jsonMapper.supportsRawJson();
+	}
+
 	@Override
 	public Mono<Void> closeGracefully() {
 		return Mono.fromRunnable(() -> this.isClosing = true);
@@ -132,14 +136,8 @@ public class HttpServletStatelessServerTransport extends HttpServlet implements
 		}
 
 		try {
-			BufferedReader reader = request.getReader();
-			StringBuilder body = new StringBuilder();
-			String line;
-			while ((line = reader.readLine()) != null) {
-				body.append(line);
-			}
-
-			McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, body.toString());
+			McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper,
+					request.getInputStream());
 
 			if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest) {
 				try {
@@ -152,10 +150,9 @@ public class HttpServletStatelessServerTransport extends HttpServlet implements
 					response.setCharacterEncoding(UTF_8);
 					response.setStatus(HttpServletResponse.SC_OK);
 
-					String jsonResponseText = jsonMapper.writeValueAsString(jsonrpcResponse);
-					PrintWriter writer = response.getWriter();
-					writer.write(jsonResponseText);
-					writer.flush();
+					OutputStream output = response.getOutputStream();
+					jsonMapper.writeValue(output, jsonrpcResponse);
+					output.flush();
 				}
 				catch (Exception e) {
 					logger.error("Failed to handle request: {}", e.getMessage());
@@ -200,13 +197,16 @@ public class HttpServletStatelessServerTransport extends HttpServlet implements
 	 * @throws IOException If an I/O error occurs
 	 */
 	private void responseError(HttpServletResponse response, int httpCode, McpError mcpError) throws IOException {
+		if (!response.isCommitted()) {
+			// Drop the buffered part of a response that failed while being serialized
+			response.resetBuffer();
+		}
 		response.setContentType(APPLICATION_JSON);
 		response.setCharacterEncoding(UTF_8);
 		response.setStatus(httpCode);
-		String jsonError = jsonMapper.writeValueAsString(mcpError);
-		PrintWriter writer = response.getWriter();
-		writer.write(jsonError);
-		writer.flush();
+		OutputStream output = response.getOutputStream();
+		jsonMapper.writeValue(output, mcpError);
+		output.flush();
 	}
 
 	/**
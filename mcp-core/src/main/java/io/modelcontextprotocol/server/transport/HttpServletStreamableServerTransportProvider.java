@@ -4,14 +4,14 @@
 
 package io.modelcontextprotocol.server.transport;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,7 +20,10 @@ import io.modelcontextprotocol.json.TypeRef;
 
 import io.modelcontextprotocol.common.McpTransportContext;
 import io.modelcontextprotocol.server.McpTransportContextExtractor;
+import io.modelcontextprotocol.spec.EncodedMessage;
+import io.modelcontextprotocol.spec.EventStore;
 import io.modelcontextprotocol.spec.HttpHeaders;
+import io.modelcontextprotocol.spec.InMemoryEventStore;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpStreamableServerSession;
@@ -30,6 +33,9 @@ import io.modelcontextprotocol.spec.ProtocolVersions;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.util.KeepAliveScheduler;
+import io.modelcontextprotocol.util.NotificationBroadcaster;
+import io.modelcontextprotocol.util.SessionLifecycleManager;
+import io.modelcontextprotocol.util.SessionLimits;
 import jakarta.servlet.AsyncContext;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -38,6 +44,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Server-side implementation of the Model Context Protocol (MCP) streamable transport
@@ -102,12 +109,24 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 	private McpStreamableServerSession.Factory sessionFactory;
 
 	/**
-	 * Map of active client sessions, keyed by mcp-session-id.
+	 * Active client sessions, keyed by mcp-session-id.
 	 */
-	private final ConcurrentHashMap<String, McpStreamableServerSession> sessions = new ConcurrentHashMap<>();
+	private final SessionLifecycleManager<McpStreamableServerSession> sessions;
+
+	/**
+	 * Serializes broadcast notifications once for all sessions, which are written to off
+	 * the thread of the caller as writes block.
+	 */
+	private final NotificationBroadcaster broadcaster;
 
 	private McpTransportContextExtractor<HttpServletRequest> contextExtractor;
 
+	/**
+	 * Store for the messages sent on session streams, or null if streams cannot be
+	 * resumed.
+	 */
+	private final EventStore eventStore;
+
 	/**
 	 * Flag indicating if the transport is shutting down.
 	 */
@@ -127,19 +146,24 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 	 * messages via HTTP. This endpoint will handle GET, POST, and DELETE requests.
 	 * @param disallowDelete Whether to disallow DELETE requests on the endpoint.
 	 * @param contextExtractor The extractor for transport context from the request.
+	 * @param eventStore The store for messages sent on session streams, or null.
+	 * @param sessionLimits The limits applied to the sessions.
 	 * @throws IllegalArgumentException if any parameter is null
 	 */
 	private HttpServletStreamableServerTransportProvider(McpJsonMapper jsonMapper, String mcpEndpoint,
 			boolean disallowDelete, McpTransportContextExtractor<HttpServletRequest> contextExtractor,
-			Duration keepAliveInterval) {
+			Duration keepAliveInterval, EventStore eventStore, SessionLimits sessionLimits) {
 		Assert.notNull(jsonMapper, "JsonMapper must not be null");
 		Assert.notNull(mcpEndpoint, "MCP endpoint must not be null");
 		Assert.notNull(contextExtractor, "Context extractor must not be null");
 
 		this.jsonMapper = jsonMapper;
+		this.broadcaster = new NotificationBroadcaster(jsonMapper, Schedulers.boundedElastic());
 		this.mcpEndpoint = mcpEndpoint;
 		this.disallowDelete = disallowDelete;
 		this.contextExtractor = contextExtractor;
+		this.eventStore = eventStore;
+		this.sessions = new SessionLifecycleManager<>(sessionLimits, McpStreamableServerSession::delete);
 
 		if (keepAliveInterval != null) {
 
@@ -165,33 +189,66 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 		this.sessionFactory = sessionFactory;
 	}
 
+	@Override
+	public EventStore eventStore() {
+		return this.eventStore;
+	}
+
+	/**
+	 * Returns the session counters of this transport provider: live sessions, evicted
+	 * sessions and rejected session initializations.
+	 * @return the session counters
+	 */
+	public SessionLifecycleManager.Stats sessionStats() {
+		return this.sessions.stats();
+	}
+
 	/**
 	 * Broadcasts a notification to all connected clients through their SSE connections.
-	 * If any errors occur during sending to a particular client, they are logged but
-	 * don't prevent sending to other clients.
+	 * The notification is serialized once and the same JSON text is written to every
+	 * session. If any errors occur during sending to a particular client, they are logged
+	 * but don't prevent sending to other clients.
 	 * @param method The method name for the notification
 	 * @param params The parameters for the notification
 	 * @return A Mono that completes when the broadcast attempt is finished
 	 */
 	@Override
 	public Mono<Void> notifyClients(String method, Object params) {
-		if (this.sessions.isEmpty()) {
-			logger.debug("No active sessions to broadcast message to");
-			return Mono.empty();
-		}
+		return this.broadcaster.broadcast(this.sessions.asMap(), method, params).then();
+	}
 
-		logger.debug("Attempting to broadcast message to {} active sessions", this.sessions.size());
+	/**
+	 * Sends a notification to the clients of the given sessions. The notification is
+	 * serialized once and the same JSON text is written to every session.
+	 * @param sessionIds The IDs of the sessions to notify
+	 * @param method The method name for the notification
+	 * @param params The parameters for the notification
+	 * @return A Mono that completes when the delivery attempt is finished
+	 */
+	@Override
+	public Mono<Void> notifyClients(Collection<String> sessionIds, String method, Object params) {
+		return this.broadcaster.broadcast(this.sessions.select(sessionIds), method, params).then();
+	}
 
-		return Mono.fromRunnable(() -> {
-			this.sessions.values().parallelStream().forEach(session -> {
-				try {
-					session.sendNotification(method, params).block();
-				}
-				catch (Exception e) {
-					logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage());
-				}
-			});
-		});
+	/**
+	 * Sends a logging message notification to the clients whose session accepts its
+	 * level. Sessions are filtered before the notification is serialized.
+	 * @param loggingMessageNotification The logging message to send
+	 * @return A Mono that completes when the delivery attempt is finished
+	 */
+	@Override
+	public Mono<Void> loggingNotification(McpSchema.LoggingMessageNotification loggingMessageNotification) {
+		return this.broadcaster.broadcastLoggingMessage(this.sessions.asMap(), loggingMessageNotification).then();
+	}
+
+	@Override
+	public void addSessionCloseListener(Consumer<String> listener) {
+		this.sessions.addRemovalListener(session -> listener.accept(session.getId()));
+	}
+
+	@Override
+	public boolean supportsRawJson() {
+		return this.jsonMapper.supportsRawJson();
 	}
 
 	/**
@@ -217,6 +274,7 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 			logger.debug("Graceful shutdown completed");
 		}).then().doOnSuccess(v -> {
 			sessions.clear();
+			sessions.close();
 			logger.debug("Graceful shutdown completed");
 			if (this.keepAliveScheduler != null) {
 				this.keepAliveScheduler.shutdown();
@@ -287,63 +345,53 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 			asyncContext.setTimeout(0);
 
 			HttpServletStreamableMcpSessionTransport sessionTransport = new HttpServletStreamableMcpSessionTransport(
-					sessionId, asyncContext, response.getWriter());
+					sessionId, asyncContext, response.getOutputStream());
 
 			// Check if this is a replay request
 			if (request.getHeader(HttpHeaders.LAST_EVENT_ID) != null) {
 				String lastId = request.getHeader(HttpHeaders.LAST_EVENT_ID);
 
 				try {
-					session.replay(lastId)
+					session.replayEvents(lastId)
+						.concatMap(event -> sessionTransport.sendMessage(event.message(), event.eventId()))
 						.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-						.toIterable()
-						.forEach(message -> {
-							try {
-								sessionTransport.sendMessage(message)
-									.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-									.block();
-							}
-							catch (Exception e) {
-								logger.error("Failed to replay message: {}", e.getMessage());
-								asyncContext.complete();
-							}
-						});
+						.blockLast();
 				}
 				catch (Exception e) {
 					logger.error("Failed to replay messages: {}", e.getMessage());
 					asyncContext.complete();
+					return;
 				}
 			}
-			else {
-				// Establish new listening stream
-				McpStreamableServerSession.McpStreamableServerSessionStream listeningStream = session
-					.listeningStream(sessionTransport);
-
-				asyncContext.addListener(new jakarta.servlet.AsyncListener() {
-					@Override
-					public void onComplete(jakarta.servlet.AsyncEvent event) throws IOException {
-						logger.debug("SSE connection completed for session: {}", sessionId);
-						listeningStream.close();
-					}
 
-					@Override
-					public void onTimeout(jakarta.servlet.AsyncEvent event) throws IOException {
-						logger.debug("SSE connection timed out for session: {}", sessionId);
-						listeningStream.close();
-					}
+			// Establish new listening stream, resuming the replayed one if any
+			McpStreamableServerSession.McpStreamableServerSessionStream listeningStream = session
+				.listeningStream(sessionTransport);
 
-					@Override
-					public void onError(jakarta.servlet.AsyncEvent event) throws IOException {
-						logger.debug("SSE connection error for session: {}", sessionId);
-						listeningStream.close();
-					}
+			asyncContext.addListener(new jakarta.servlet.AsyncListener() {
+				@Override
+				public void onComplete(jakarta.servlet.AsyncEvent event) throws IOException {
+					logger.debug("SSE connection completed for session: {}", sessionId);
+					listeningStream.close();
+				}
 
-					@Override
-					public void onStartAsync(jakarta.servlet.AsyncEvent event) throws IOException {
-						// No action needed
-					}
-				});
-			}
+				@Override
+				public void onTimeout(jakarta.servlet.AsyncEvent event) throws IOException {
+					logger.debug("SSE connection timed out for session: {}", sessionId);
+					listeningStream.close();
+				}
+
+				@Override
+				public void onError(jakarta.servlet.AsyncEvent event) throws IOException {
+					logger.debug("SSE connection error for session: {}", sessionId);
+					listeningStream.close();
+				}
+
+				@Override
+				public void onStartAsync(jakarta.servlet.AsyncEvent event) throws IOException {
+					// No action needed
+				}
+			});
 		}
 		catch (Exception e) {
 			logger.error("Failed to handle GET request for session {}: {}", sessionId, e.getMessage());
@@ -386,14 +434,8 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 		McpTransportContext transportContext = this.contextExtractor.extract(request);
 
 		try {
-			BufferedReader reader = request.getReader();
-			StringBuilder body = new StringBuilder();
-			String line;
-			while ((line = reader.readLine()) != null) {
-				body.append(line);
-			}
-
-			McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, body.toString());
+			McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper,
+					request.getInputStream());
 
 			// Handle initialization request
 			if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest
@@ -409,7 +451,11 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 						});
 				McpStreamableServerSession.McpStreamableServerSessionInit init = this.sessionFactory
 					.startSession(initializeRequest);
-				this.sessions.put(init.session().getId(), init.session());
+				if (!this.sessions.register(init.session().getId(), init.session())) {
+					this.responseError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+							new McpError("Too many active sessions"));
+					return;
+				}
 
 				try {
 					McpSchema.InitializeResult initResult = init.initResult().block();
@@ -419,12 +465,10 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 					response.setHeader(HttpHeaders.MCP_SESSION_ID, init.session().getId());
 					response.setStatus(HttpServletResponse.SC_OK);
 
-					String jsonResponse = jsonMapper.writeValueAsString(new McpSchema.JSONRPCResponse(
-							McpSchema.JSONRPC_VERSION, jsonrpcRequest.id(), initResult, null));
-
-					PrintWriter writer = response.getWriter();
-					writer.write(jsonResponse);
-					writer.flush();
+					OutputStream output = response.getOutputStream();
+					jsonMapper.writeValue(output, new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION,
+							jsonrpcRequest.id(), initResult, null));
+					output.flush();
 					return;
 				}
 				catch (Exception e) {
@@ -479,7 +523,7 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 				asyncContext.setTimeout(0);
 
 				HttpServletStreamableMcpSessionTransport sessionTransport = new HttpServletStreamableMcpSessionTransport(
-						sessionId, asyncContext, response.getWriter());
+						sessionId, asyncContext, response.getOutputStream());
 
 				try {
 					session.responseStream(jsonrpcRequest, sessionTransport)
@@ -576,37 +620,19 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 	}
 
 	public void responseError(HttpServletResponse response, int httpCode, McpError mcpError) throws IOException {
+		if (!response.isCommitted()) {
+			// Drop the buffered part of a response that failed while being serialized
+			response.resetBuffer();
+		}
 		response.setContentType(APPLICATION_JSON);
 		response.setCharacterEncoding(UTF_8);
 		response.setStatus(httpCode);
-		String jsonError = jsonMapper.writeValueAsString(mcpError);
-		PrintWriter writer = response.getWriter();
-		writer.write(jsonError);
-		writer.flush();
+		OutputStream output = response.getOutputStream();
+		jsonMapper.writeValue(output, mcpError);
+		output.flush();
 		return;
 	}
 
-	/**
-	 * Sends an SSE event to a client with a specific ID.
-	 * @param writer The writer to send the event through
-	 * @param eventType The type of event (message or endpoint)
-	 * @param data The event data
-	 * @param id The event ID
-	 * @throws IOException If an error occurs while writing the event
-	 */
-	private void sendEvent(PrintWriter writer, String eventType, String data, String id) throws IOException {
-		if (id != null) {
-			writer.write("id: " + id + "\n");
-		}
-		writer.write("event: " + eventType + "\n");
-		writer.write("data: " + data + "\n\n");
-		writer.flush();
-
-		if (writer.checkError()) {
-			throw new IOException("Client disconnected");
-		}
-	}
-
 	/**
 	 * Cleans up resources when the servlet is being destroyed.
 	 * <p>
@@ -625,8 +651,8 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 	 *
 	 * <p>
 	 * This class is thread-safe and uses a ReentrantLock to synchronize access to the
-	 * underlying PrintWriter to prevent race conditions when multiple threads attempt to
-	 * send messages concurrently.
+	 * underlying output stream to prevent race conditions when multiple threads attempt
+	 * to send messages concurrently.
 	 */
 
 	private class HttpServletStreamableMcpSessionTransport implements McpStreamableServerTransport {
@@ -635,23 +661,23 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 
 		private final AsyncContext asyncContext;
 
-		private final PrintWriter writer;
+		private final ServletSseWriter writer;
 
 		private volatile boolean closed = false;
 
 		private final ReentrantLock lock = new ReentrantLock();
 
 		/**
-		 * Creates a new session transport with the specified ID and SSE writer.
+		 * Creates a new session transport with the specified ID and SSE output stream.
 		 * @param sessionId The unique identifier for this session
 		 * @param asyncContext The async context for the session
-		 * @param writer The writer for sending server events to the client
+		 * @param output The stream for sending server events to the client
 		 */
-		HttpServletStreamableMcpSessionTransport(String sessionId, AsyncContext asyncContext, PrintWriter writer) {
+		HttpServletStreamableMcpSessionTransport(String sessionId, AsyncContext asyncContext, OutputStream output) {
 			this.sessionId = sessionId;
 			this.asyncContext = asyncContext;
-			this.writer = writer;
-			logger.debug("Streamable session transport {} initialized with SSE writer", sessionId);
+			this.writer = new ServletSseWriter(output);
+			logger.debug("Streamable session transport {} initialized with SSE output stream", sessionId);
 		}
 
 		/**
@@ -673,6 +699,22 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 		 */
 		@Override
 		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message, String messageId) {
+			return writeMessage(message, null, messageId);
+		}
+
+		/**
+		 * Sends an already serialized JSON-RPC message to the client through the SSE
+		 * connection with a specific message ID.
+		 * @param message The encoded JSON-RPC message to send
+		 * @param messageId The message ID for SSE event identification
+		 * @return A Mono that completes when the message has been sent
+		 */
+		@Override
+		public Mono<Void> sendEncodedMessage(EncodedMessage message, String messageId) {
+			return writeMessage(message.message(), message.json(), messageId);
+		}
+
+		private Mono<Void> writeMessage(McpSchema.JSONRPCMessage message, String json, String messageId) {
 			return Mono.fromRunnable(() -> {
 				if (this.closed) {
 					logger.debug("Attempted to send message to closed session: {}", this.sessionId);
@@ -686,9 +728,13 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 						return;
 					}
 
-					String jsonText = jsonMapper.writeValueAsString(message);
-					HttpServletStreamableServerTransportProvider.this.sendEvent(writer, MESSAGE_EVENT_TYPE, jsonText,
-							messageId != null ? messageId : this.sessionId);
+					String eventId = messageId != null ? messageId : this.sessionId;
+					if (json != null) {
+						this.writer.writeEvent(eventId, MESSAGE_EVENT_TYPE, json);
+					}
+					else {
+						this.writer.writeEvent(eventId, MESSAGE_EVENT_TYPE, jsonMapper, message);
+					}
 					logger.debug("Message sent to session {} with ID {}", this.sessionId, messageId);
 				}
 				catch (Exception e) {
@@ -774,6 +820,10 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 
 		private Duration keepAliveInterval;
 
+		private EventStore eventStore;
+
+		private SessionLimits sessionLimits = SessionLimits.NONE;
+
 		/**
 		 * Sets the JsonMapper to use for JSON serialization/deserialization of MCP
 		 * messages.
@@ -833,6 +883,32 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 			return this;
 		}
 
+		/**
+		 * Sets the store recording the messages sent on session streams. When set,
+		 * clients can resume a dropped SSE stream by sending the Last-Event-ID header and
+		 * receive the messages they missed. If null, streams cannot be resumed.
+		 * @param eventStore The event store, e.g. an {@link InMemoryEventStore}
+		 * @return this builder instance
+		 */
+		public Builder eventStore(EventStore eventStore) {
+			this.eventStore = eventStore;
+			return this;
+		}
+
+		/**
+		 * Sets the limits applied to the sessions: how long a session may stay idle
+		 * before it is evicted and how many sessions may be live. By default sessions are
+		 * kept until they are deleted.
+		 * @param sessionLimits The session limits. Must not be null.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if sessionLimits is null
+		 */
+		public Builder sessionLimits(SessionLimits sessionLimits) {
+			Assert.notNull(sessionLimits, "Session limits must not be null");
+			this.sessionLimits = sessionLimits;
+			return this;
+		}
+
 		/**
 		 * Builds a new instance of {@link HttpServletStreamableServerTransportProvider}
 		 * with the configured settings.
@@ -843,7 +919,7 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 			Assert.notNull(this.mcpEndpoint, "MCP endpoint must be set");
 			return new HttpServletStreamableServerTransportProvider(
 					jsonMapper == null ? McpJsonMapper.getDefault() : jsonMapper, mcpEndpoint, disallowDelete,
-					contextExtractor, keepAliveInterval);
+					contextExtractor, keepAliveInterval, eventStore, sessionLimits);
 		}
 
 	}
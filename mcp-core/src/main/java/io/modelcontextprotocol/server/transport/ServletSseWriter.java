@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server.transport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+
+/**
+ * Writes Server-Sent Events to the output stream of a servlet response. Values are
+ * serialized by the {@link McpJsonMapper} straight into the {@code data} line of their
+ * event, so the frame is never built as a String. Each event is written while holding a
+ * lock, which keeps events sent concurrently from interleaving. The lock is a
+ * {@link ReentrantLock} rather than a monitor so that a virtual thread blocked writing to
+ * a slow client does not pin its carrier thread.
+ */
+final class ServletSseWriter {
+
+	private static final byte[] DATA_PREFIX = "data: ".getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] EVENT_END = "\n\n".getBytes(StandardCharsets.UTF_8);
+
+	private final OutputStream output;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * Creates a writer of events to the given stream.
+	 * @param output the stream of the response
+	 */
+	ServletSseWriter(OutputStream output) {
+		this.output = output;
+	}
+
+	/**
+	 * Writes an event with the given text as data and flushes the stream.
+	 * @param id the ID of the event, or null
+	 * @param eventType the type of the event
+	 * @param data the data of the event
+	 * @throws IOException if the client disconnected
+	 */
+	void writeEvent(String id, String eventType, String data) throws IOException {
+		this.lock.lock();
+		try {
+			writeFields(id, eventType);
+			this.output.write(data.getBytes(StandardCharsets.UTF_8));
+			this.output.write(EVENT_END);
+			this.output.flush();
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Writes an event with the JSON of the given value as data and flushes the stream.
+	 * @param id the ID of the event, or null
+	 * @param eventType the type of the event
+	 * @param jsonMapper the mapper serializing the value
+	 * @param value the value to serialize
+	 * @throws IOException if the value cannot be serialized or the client disconnected
+	 */
+	void writeEvent(String id, String eventType, McpJsonMapper jsonMapper, Object value) throws IOException {
+		this.lock.lock();
+		try {
+			writeFields(id, eventType);
+			jsonMapper.writeValue(this.output, value);
+			this.output.write(EVENT_END);
+			this.output.flush();
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void writeFields(String id, String eventType) throws IOException {
+		StringBuilder fields = new StringBuilder();
+		if (id != null) {
+			fields.append("id: ").append(id).append('\n');
+		}
+		fields.append("event: ").append(eventType).append('\n');
+		this.output.write(fields.toString().getBytes(StandardCharsets.UTF_8));
+		this.output.write(DATA_PREFIX);
+	}
+
+}
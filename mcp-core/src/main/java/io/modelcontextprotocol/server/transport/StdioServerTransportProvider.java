@@ -9,10 +9,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import io.modelcontextprotocol.json.TypeRef;
@@ -24,6 +25,7 @@ import io.modelcontextprotocol.spec.McpServerTransport;
 import io.modelcontextprotocol.spec.McpServerTransportProvider;
 import io.modelcontextprotocol.spec.ProtocolVersions;
 import io.modelcontextprotocol.util.Assert;
+import io.modelcontextprotocol.util.NewlineEscapingOutputStream;
 import io.modelcontextprotocol.json.McpJsonMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -104,6 +106,32 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 			.doOnError(e -> logger.error("Failed to send notification: {}", e.getMessage()));
 	}
 
+	@Override
+	public Mono<Void> notifyClients(Collection<String> sessionIds, String method, Object params) {
+		if (this.session == null || !sessionIds.contains(this.session.getId())) {
+			return Mono.empty();
+		}
+		return notifyClients(method, params);
+	}
+
+	@Override
+	public void addSessionCloseListener(Consumer<String> listener) {
+		// The single session lasts as long as the server, whose state goes with it
+	}
+
+	@Override
+	public Mono<Void> loggingNotification(McpSchema.LoggingMessageNotification loggingMessageNotification) {
+		if (this.session != null && !this.session.isNotificationForLevelAllowed(loggingMessageNotification.level())) {
+			return Mono.empty();
+		}
+		return notifyClients(McpSchema.METHOD_NOTIFICATION_MESSAGE, loggingMessageNotification);
+	}
+
+	@Override
+	public boolean supportsRawJson() {
+		return this.jsonMapper.supportsRawJson();
+	}
+
 	@Override
 	public Mono<Void> closeGracefully() {
 		if (this.session == null) {
@@ -255,13 +283,10 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 				 .handle((message, sink) -> {
 					 if (message != null && !isClosing.get()) {
 						 try {
-							 String jsonMessage = jsonMapper.writeValueAsString(message);
-							 // Escape any embedded newlines in the JSON message as per spec
-							 jsonMessage = jsonMessage.replace("\r\n", "\\n").replace("\n", "\\n").replace("\r", "\\n");
-	
 							 synchronized (outputStream) {
-								 outputStream.write(jsonMessage.getBytes(StandardCharsets.UTF_8));
-								 outputStream.write("\n".getBytes(StandardCharsets.UTF_8));
+								 // Escape any embedded newlines in the JSON message as per spec
+								 jsonMapper.writeValue(new NewlineEscapingOutputStream(outputStream), message);
+								 outputStream.write('\n');
 								 outputStream.flush();
 							 }
 							 sink.next(message);
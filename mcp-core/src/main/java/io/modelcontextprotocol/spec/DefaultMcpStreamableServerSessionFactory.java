@@ -4,6 +4,7 @@
 
 package io.modelcontextprotocol.spec;
 
+import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.server.McpNotificationHandler;
 import io.modelcontextprotocol.server.McpRequestHandler;
 
@@ -26,6 +27,12 @@ public class DefaultMcpStreamableServerSessionFactory implements McpStreamableSe
 
 	Map<String, McpNotificationHandler> notificationHandlers;
 
+	EventStore eventStore;
+
+	int maxPendingRequests;
+
+	McpJsonMapper jsonMapper;
+
 	/**
 	 * Constructs an instance
 	 * @param requestTimeout timeout for requests
@@ -37,10 +44,69 @@ public class DefaultMcpStreamableServerSessionFactory implements McpStreamableSe
 			McpStreamableServerSession.InitRequestHandler initRequestHandler,
 			Map<String, McpRequestHandler<?>> requestHandlers,
 			Map<String, McpNotificationHandler> notificationHandlers) {
+		this(requestTimeout, initRequestHandler, requestHandlers, notificationHandlers, null);
+	}
+
+	/**
+	 * Constructs an instance creating sessions that record the messages sent on their
+	 * streams
+	 * @param requestTimeout timeout for requests
+	 * @param initRequestHandler initialization request handler
+	 * @param requestHandlers map of MCP request handlers keyed by method name
+	 * @param notificationHandlers map of MCP notification handlers keyed by method name
+	 * @param eventStore store for sent messages, or null to disable stream resumption
+	 */
+	public DefaultMcpStreamableServerSessionFactory(Duration requestTimeout,
+			McpStreamableServerSession.InitRequestHandler initRequestHandler,
+			Map<String, McpRequestHandler<?>> requestHandlers, Map<String, McpNotificationHandler> notificationHandlers,
+			EventStore eventStore) {
+		this(requestTimeout, initRequestHandler, requestHandlers, notificationHandlers, eventStore, 0);
+	}
+
+	/**
+	 * Constructs an instance creating sessions that record the messages sent on their
+	 * streams and bound the number of requests awaiting a response from the client
+	 * @param requestTimeout timeout for requests
+	 * @param initRequestHandler initialization request handler
+	 * @param requestHandlers map of MCP request handlers keyed by method name
+	 * @param notificationHandlers map of MCP notification handlers keyed by method name
+	 * @param eventStore store for sent messages, or null to disable stream resumption
+	 * @param maxPendingRequests maximum number of requests awaiting a response per
+	 * session, or 0 for no limit
+	 */
+	public DefaultMcpStreamableServerSessionFactory(Duration requestTimeout,
+			McpStreamableServerSession.InitRequestHandler initRequestHandler,
+			Map<String, McpRequestHandler<?>> requestHandlers, Map<String, McpNotificationHandler> notificationHandlers,
+			EventStore eventStore, int maxPendingRequests) {
+		this(requestTimeout, initRequestHandler, requestHandlers, notificationHandlers, eventStore, maxPendingRequests,
+				null);
+	}
+
+	/**
+	 * Constructs an instance creating sessions that record the messages sent on their
+	 * streams, bound the number of requests awaiting a response from the client and
+	 * decode the parameters of the notifications they handle themselves with the given
+	 * mapper
+	 * @param requestTimeout timeout for requests
+	 * @param initRequestHandler initialization request handler
+	 * @param requestHandlers map of MCP request handlers keyed by method name
+	 * @param notificationHandlers map of MCP notification handlers keyed by method name
+	 * @param eventStore store for sent messages, or null to disable stream resumption
+	 * @param maxPendingRequests maximum number of requests awaiting a response per
+	 * session, or 0 for no limit
+	 * @param jsonMapper JSON mapper, or null for the default one
+	 */
+	public DefaultMcpStreamableServerSessionFactory(Duration requestTimeout,
+			McpStreamableServerSession.InitRequestHandler initRequestHandler,
+			Map<String, McpRequestHandler<?>> requestHandlers, Map<String, McpNotificationHandler> notificationHandlers,
+			EventStore eventStore, int maxPendingRequests, McpJsonMapper jsonMapper) {
 		this.requestTimeout = requestTimeout;
 		this.initRequestHandler = initRequestHandler;
 		this.requestHandlers = requestHandlers;
 		this.notificationHandlers = notificationHandlers;
+		this.eventStore = eventStore;
+		this.maxPendingRequests = maxPendingRequests;
+		this.jsonMapper = jsonMapper;
 	}
 
 	@Override
@@ -48,7 +114,8 @@ public class DefaultMcpStreamableServerSessionFactory implements McpStreamableSe
 			McpSchema.InitializeRequest initializeRequest) {
 		return new McpStreamableServerSession.McpStreamableServerSessionInit(
 				new McpStreamableServerSession(UUID.randomUUID().toString(), initializeRequest.capabilities(),
-						initializeRequest.clientInfo(), requestTimeout, requestHandlers, notificationHandlers),
+						initializeRequest.clientInfo(), requestTimeout, requestHandlers, notificationHandlers,
+						eventStore, maxPendingRequests, jsonMapper),
 				this.initRequestHandler.handle(initializeRequest));
 	}
 
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * A JSON-RPC message together with its serialized JSON text. Encoding a message once and
+ * handing the same immutable text to many transports avoids serializing identical
+ * payloads for every connected session, e.g. when broadcasting notifications.
+ *
+ * @param message the JSON-RPC message
+ * @param json the JSON text of the message
+ * @see McpServerTransport#sendEncodedMessage(EncodedMessage)
+ */
+public record EncodedMessage(McpSchema.JSONRPCMessage message, String json) {
+
+	public EncodedMessage {
+		Assert.notNull(message, "Message must not be null");
+		Assert.notNull(json, "JSON must not be null");
+	}
+
+	/**
+	 * Serializes the given message.
+	 * @param jsonMapper the mapper used to serialize the message
+	 * @param message the message to serialize
+	 * @return the encoded message
+	 * @throws IOException if the message cannot be serialized
+	 */
+	public static EncodedMessage encode(McpJsonMapper jsonMapper, McpSchema.JSONRPCMessage message) throws IOException {
+		return new EncodedMessage(message, jsonMapper.writeValueAsString(message));
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stores the messages sent on Streamable HTTP SSE streams so that a client whose
+ * connection dropped can resume the stream by sending the {@code Last-Event-ID} header.
+ * <p>
+ * Every SSE stream of a session has a stream ID, which is also the prefix of the IDs of
+ * the events sent on it. Implementations index events by session and stream, so the
+ * events to replay can be found without scanning other streams.
+ * <p>
+ * Implementations decide how long events are retained. Replaying an event that is no
+ * longer retained yields no events.
+ *
+ * @see InMemoryEventStore
+ * @see McpStreamableServerSession#replay(Object)
+ */
+public interface EventStore {
+
+	/**
+	 * Stores an event sent on a stream.
+	 * @param sessionId the ID of the session the stream belongs to
+	 * @param streamId the ID of the stream the event was sent on
+	 * @param eventId the ID of the SSE event
+	 * @param message the message sent with the event
+	 * @return a Mono that completes once the event is stored
+	 */
+	Mono<Void> storeEvent(String sessionId, String streamId, String eventId, McpSchema.JSONRPCMessage message);
+
+	/**
+	 * Returns the events sent on a stream after the given event, in the order they were
+	 * sent.
+	 * @param sessionId the ID of the session the stream belongs to
+	 * @param streamId the ID of the stream
+	 * @param lastEventId the ID of the last event the client received
+	 * @return the events sent after the given event, or no events if it is unknown
+	 */
+	Flux<StoredEvent> replayEventsAfter(String sessionId, String streamId, String lastEventId);
+
+	/**
+	 * Removes all the events of a session.
+	 * @param sessionId the ID of the session
+	 * @return a Mono that completes once the events are removed
+	 */
+	Mono<Void> removeSession(String sessionId);
+
+	/**
+	 * An event sent on a stream.
+	 *
+	 * @param eventId the ID of the SSE event
+	 * @param message the message sent with the event
+	 */
+	record StoredEvent(String eventId, McpSchema.JSONRPCMessage message) {
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * The requests a session received from its peer and is handling, indexed by request ID.
+ * <p>
+ * A request is cancelled when the peer sends a
+ * {@value McpSchema#METHOD_NOTIFICATION_CANCELLED} notification with its ID: the
+ * subscription to its handler is disposed, so the work it started stops, and the handling
+ * completes without a response, as the peer no longer awaits one. Handlers that do not
+ * run on a subscription, e.g. blocking loops, can poll their {@link Cancellation}
+ * instead.
+ */
+public final class InFlightRequests {
+
+	private static final Logger logger = LoggerFactory.getLogger(InFlightRequests.class);
+
+	private final Map<Object, Cancellation> requests = new ConcurrentHashMap<>();
+
+	/**
+	 * Handles a request, until it completes or is cancelled. If a request with the same
+	 * ID is already in flight, the new request is handled but cannot be cancelled.
+	 * @param <T> the type of the response
+	 * @param requestId the ID of the request
+	 * @param handler handles the request, given its cancellation
+	 * @return a Mono emitting the response, or completing empty if the request is
+	 * cancelled
+	 */
+	public <T> Mono<T> track(Object requestId, Function<Cancellation, Mono<T>> handler) {
+		return Mono.defer(() -> {
+			Cancellation cancellation = new Cancellation();
+			boolean tracked = requestId != null && this.requests.putIfAbsent(requestId, cancellation) == null;
+			Mono<T> handling = handler.apply(cancellation).takeUntilOther(cancellation.asMono());
+			return tracked ? handling.doFinally(signal -> this.requests.remove(requestId, cancellation)) : handling;
+		});
+	}
+
+	/**
+	 * Cancels the request a {@value McpSchema#METHOD_NOTIFICATION_CANCELLED} notification
+	 * refers to.
+	 * @param notification the parameters of the notification, may be null
+	 * @return true if the request was in flight
+	 */
+	public boolean cancel(McpSchema.CancelledNotification notification) {
+		Object requestId = (notification != null) ? notification.requestId() : null;
+		Cancellation cancellation = (requestId != null) ? this.requests.remove(requestId) : null;
+		if (cancellation == null) {
+			logger.debug("Ignoring cancellation of request {} which is not in flight", requestId);
+			return false;
+		}
+		logger.debug("Cancelling request {}: {}", requestId, notification.reason());
+		cancellation.cancel();
+		return true;
+	}
+
+	/**
+	 * Cancels all requests, e.g. because the session closed.
+	 */
+	public void cancelAll() {
+		List<Cancellation> cancellations = List.copyOf(this.requests.values());
+		this.requests.clear();
+		cancellations.forEach(Cancellation::cancel);
+	}
+
+	/**
+	 * Returns the number of requests being handled.
+	 * @return the number of requests in flight
+	 */
+	public int size() {
+		return this.requests.size();
+	}
+
+	/**
+	 * The cancellation of a request, which handlers can observe.
+	 */
+	public static final class Cancellation {
+
+		/**
+		 * A cancellation that never happens, for requests that cannot be cancelled.
+		 */
+		public static final Cancellation NONE = new Cancellation();
+
+		private final Sinks.Empty<Void> sink = Sinks.empty();
+
+		private volatile boolean cancelled;
+
+		private Cancellation() {
+		}
+
+		/**
+		 * Returns whether the request was cancelled.
+		 * @return true once the request is cancelled
+		 */
+		public boolean isCancelled() {
+			return this.cancelled;
+		}
+
+		/**
+		 * Returns a Mono that completes when the request is cancelled.
+		 * @return a Mono completing on cancellation
+		 */
+		public Mono<Void> asMono() {
+			return this.sink.asMono();
+		}
+
+		private void cancel() {
+			this.cancelled = true;
+			this.sink.tryEmitEmpty();
+		}
+
+	}
+
+}
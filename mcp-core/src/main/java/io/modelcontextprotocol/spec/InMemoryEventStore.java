@@ -0,0 +1,190 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import io.modelcontextprotocol.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * An {@link EventStore} keeping events in memory.
+ * <p>
+ * Each session keeps at most a fixed number of events in a ring buffer: once the limit is
+ * reached, storing an event evicts the oldest event of that session. Events older than
+ * the time to live are evicted as well, so a client can only resume a stream within that
+ * window. Expired events of idle sessions are swept at most once per time to live, while
+ * storing events, so the store needs no background thread.
+ */
+public class InMemoryEventStore implements EventStore {
+
+	/** Default maximum number of events retained per session */
+	public static final int DEFAULT_MAX_EVENTS_PER_SESSION = 1000;
+
+	/** Default time events are retained */
+	public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+	private final int maxEventsPerSession;
+
+	private final long timeToLiveNanos;
+
+	private final LongSupplier nanoClock;
+
+	private final ConcurrentHashMap<String, SessionEvents> sessions = new ConcurrentHashMap<>();
+
+	private final AtomicLong lastSweep;
+
+	/**
+	 * Creates a store retaining at most {@link #DEFAULT_MAX_EVENTS_PER_SESSION} events
+	 * per session for {@link #DEFAULT_TIME_TO_LIVE}.
+	 */
+	public InMemoryEventStore() {
+		this(DEFAULT_MAX_EVENTS_PER_SESSION, DEFAULT_TIME_TO_LIVE);
+	}
+
+	/**
+	 * Creates a store.
+	 * @param maxEventsPerSession the maximum number of events retained per session
+	 * @param timeToLive how long events are retained
+	 */
+	public InMemoryEventStore(int maxEventsPerSession, Duration timeToLive) {
+		this(maxEventsPerSession, timeToLive, System::nanoTime);
+	}
+
+	InMemoryEventStore(int maxEventsPerSession, Duration timeToLive, LongSupplier nanoClock) {
+		Assert.isTrue(maxEventsPerSession > 0, "Max events per session must be greater than 0");
+		Assert.notNull(timeToLive, "Time to live must not be null");
+		Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "Time to live must be positive");
+		this.maxEventsPerSession = maxEventsPerSession;
+		this.timeToLiveNanos = timeToLive.toNanos();
+		this.nanoClock = nanoClock;
+		this.lastSweep = new AtomicLong(nanoClock.getAsLong());
+	}
+
+	@Override
+	public Mono<Void> storeEvent(String sessionId, String streamId, String eventId, McpSchema.JSONRPCMessage message) {
+		return Mono.fromRunnable(() -> {
+			long now = this.nanoClock.getAsLong();
+			this.sessions.compute(sessionId, (id, events) -> {
+				SessionEvents sessionEvents = (events != null) ? events : new SessionEvents();
+				sessionEvents.add(new Event(streamId, eventId, message, now), now);
+				return sessionEvents;
+			});
+			sweepIfDue(now);
+		});
+	}
+
+	@Override
+	public Flux<StoredEvent> replayEventsAfter(String sessionId, String streamId, String lastEventId) {
+		return Flux.defer(() -> {
+			SessionEvents events = this.sessions.get(sessionId);
+			if (events == null) {
+				return Flux.empty();
+			}
+			return Flux.fromIterable(events.after(streamId, lastEventId, this.nanoClock.getAsLong()));
+		});
+	}
+
+	@Override
+	public Mono<Void> removeSession(String sessionId) {
+		return Mono.fromRunnable(() -> this.sessions.remove(sessionId));
+	}
+
+	/**
+	 * Returns the number of events currently retained for a session.
+	 * @param sessionId the ID of the session
+	 * @return the number of retained events
+	 */
+	int size(String sessionId) {
+		SessionEvents events = this.sessions.get(sessionId);
+		return (events != null) ? events.size() : 0;
+	}
+
+	private void sweepIfDue(long now) {
+		long last = this.lastSweep.get();
+		if (now - last < this.timeToLiveNanos || !this.lastSweep.compareAndSet(last, now)) {
+			return;
+		}
+		for (String sessionId : this.sessions.keySet()) {
+			this.sessions.computeIfPresent(sessionId, (id, events) -> events.evictExpired(now) ? null : events);
+		}
+	}
+
+	private record Event(String streamId, String eventId, McpSchema.JSONRPCMessage message, long timestamp) {
+	}
+
+	/**
+	 * The events of a session, in the order they were stored, also grouped by stream.
+	 */
+	private final class SessionEvents {
+
+		private final ArrayDeque<Event> events = new ArrayDeque<>();
+
+		private final Map<String, ArrayDeque<Event>> streams = new HashMap<>();
+
+		synchronized void add(Event event, long now) {
+			evictExpired(now);
+			if (this.events.size() == maxEventsPerSession) {
+				evictOldest();
+			}
+			this.events.addLast(event);
+			this.streams.computeIfAbsent(event.streamId(), id -> new ArrayDeque<>()).addLast(event);
+		}
+
+		synchronized List<StoredEvent> after(String streamId, String lastEventId, long now) {
+			evictExpired(now);
+			ArrayDeque<Event> stream = this.streams.get(streamId);
+			if (stream == null) {
+				return List.of();
+			}
+			List<StoredEvent> replay = new ArrayList<>();
+			boolean found = false;
+			for (Event event : stream) {
+				if (found) {
+					replay.add(new StoredEvent(event.eventId(), event.message()));
+				}
+				else {
+					found = event.eventId().equals(lastEventId);
+				}
+			}
+			return replay;
+		}
+
+		/**
+		 * Evicts the expired events.
+		 * @return true if no events are left
+		 */
+		synchronized boolean evictExpired(long now) {
+			while (!this.events.isEmpty() && now - this.events.peekFirst().timestamp() > timeToLiveNanos) {
+				evictOldest();
+			}
+			return this.events.isEmpty();
+		}
+
+		synchronized int size() {
+			return this.events.size();
+		}
+
+		private void evictOldest() {
+			Event oldest = this.events.pollFirst();
+			ArrayDeque<Event> stream = this.streams.get(oldest.streamId());
+			stream.pollFirst();
+			if (stream.isEmpty()) {
+				this.streams.remove(oldest.streamId());
+			}
+		}
+
+	}
+
+}
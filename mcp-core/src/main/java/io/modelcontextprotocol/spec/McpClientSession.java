@@ -10,12 +10,14 @@ import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.SynchronousSink;
 
 import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
@@ -47,8 +49,11 @@ public class McpClientSession implements McpSession {
 	/** Transport layer implementation for message exchange */
 	private final McpClientTransport transport;
 
-	/** Map of pending responses keyed by request ID */
-	private final ConcurrentHashMap<Object, MonoSink<McpSchema.JSONRPCResponse>> pendingResponses = new ConcurrentHashMap<>();
+	/** Requests awaiting a response from the server */
+	private final PendingRequests pendingRequests;
+
+	/** Requests received from the server and being handled */
+	private final InFlightRequests inFlightRequests = new InFlightRequests();
 
 	/** Map of request handlers keyed by method name */
 	private final ConcurrentHashMap<String, RequestHandler<?>> requestHandlers = new ConcurrentHashMap<>();
@@ -123,14 +128,34 @@ public class McpClientSession implements McpSession {
 	public McpClientSession(Duration requestTimeout, McpClientTransport transport,
 			Map<String, RequestHandler<?>> requestHandlers, Map<String, NotificationHandler> notificationHandlers,
 			Function<? super Mono<Void>, ? extends Publisher<Void>> connectHook) {
+		this(requestTimeout, transport, requestHandlers, notificationHandlers, connectHook, 0);
+	}
+
+	/**
+	 * Creates a new McpClientSession with the specified configuration and handlers.
+	 * @param requestTimeout Duration to wait for responses, including the time spent
+	 * waiting for the request to be sent
+	 * @param transport Transport implementation for message exchange
+	 * @param requestHandlers Map of method names to request handlers
+	 * @param notificationHandlers Map of method names to notification handlers
+	 * @param connectHook Hook that allows transforming the connection Publisher prior to
+	 * subscribing
+	 * @param maxPendingRequests Maximum number of requests awaiting a response, further
+	 * requests wait until one completes; 0 for no limit
+	 */
+	public McpClientSession(Duration requestTimeout, McpClientTransport transport,
+			Map<String, RequestHandler<?>> requestHandlers, Map<String, NotificationHandler> notificationHandlers,
+			Function<? super Mono<Void>, ? extends Publisher<Void>> connectHook, int maxPendingRequests) {
 
 		Assert.notNull(requestTimeout, "The requestTimeout can not be null");
 		Assert.notNull(transport, "The transport can not be null");
 		Assert.notNull(requestHandlers, "The requestHandlers can not be null");
 		Assert.notNull(notificationHandlers, "The notificationHandlers can not be null");
+		Assert.isTrue(maxPendingRequests >= 0, "The maxPendingRequests can not be negative");
 
 		this.requestTimeout = requestTimeout;
 		this.transport = transport;
+		this.pendingRequests = new PendingRequests(maxPendingRequests);
 		this.requestHandlers.putAll(requestHandlers);
 		this.notificationHandlers.putAll(notificationHandlers);
 
@@ -138,24 +163,17 @@ public class McpClientSession implements McpSession {
 	}
 
 	private void dismissPendingResponses() {
-		this.pendingResponses.forEach((id, sink) -> {
-			logger.warn("Abruptly terminating exchange for request {}", id);
-			sink.error(new RuntimeException("MCP session with server terminated"));
-		});
-		this.pendingResponses.clear();
+		this.pendingRequests.close(new RuntimeException("MCP session with server terminated"));
+		this.inFlightRequests.cancelAll();
 	}
 
 	private void handle(McpSchema.JSONRPCMessage message) {
 		if (message instanceof McpSchema.JSONRPCResponse response) {
 			logger.debug("Received response: {}", response);
 			if (response.id() != null) {
-				var sink = pendingResponses.remove(response.id());
-				if (sink == null) {
+				if (!this.pendingRequests.complete(response)) {
 					logger.warn("Unexpected response for unknown id {}", response.id());
 				}
-				else {
-					sink.success(response);
-				}
 			}
 			else {
 				logger.error("Discarded MCP request response without session id. "
@@ -165,21 +183,25 @@ public class McpClientSession implements McpSession {
 		}
 		else if (message instanceof McpSchema.JSONRPCRequest request) {
 			logger.debug("Received request: {}", request);
-			handleIncomingRequest(request).onErrorResume(error -> {
-
-				McpSchema.JSONRPCResponse.JSONRPCError jsonRpcError = (error instanceof McpError mcpError
-						&& mcpError.getJsonRpcError() != null) ? mcpError.getJsonRpcError()
-								// TODO: add error message through the data field
-								: new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
-										error.getMessage(), McpError.aggregateExceptionMessages(error));
-
-				var errorResponse = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), null,
-						jsonRpcError);
-				return Mono.just(errorResponse);
-			}).flatMap(this.transport::sendMessage).onErrorComplete(t -> {
-				logger.warn("Issue sending response to the client, ", t);
-				return true;
-			}).subscribe();
+			this.inFlightRequests
+				.track(request.id(), cancellation -> handleIncomingRequest(request).onErrorResume(error -> {
+
+					McpSchema.JSONRPCResponse.JSONRPCError jsonRpcError = (error instanceof McpError mcpError
+							&& mcpError.getJsonRpcError() != null) ? mcpError.getJsonRpcError()
+									// TODO: add error message through the data field
+									: new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
+											error.getMessage(), McpError.aggregateExceptionMessages(error));
+
+					var errorResponse = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), null,
+							jsonRpcError);
+					return Mono.just(errorResponse);
+				}))
+				.flatMap(this.transport::sendMessage)
+				.onErrorComplete(t -> {
+					logger.warn("Issue sending response to the client, ", t);
+					return true;
+				})
+				.subscribe();
 		}
 		else if (message instanceof McpSchema.JSONRPCNotification notification) {
 			logger.debug("Received notification: {}", notification);
@@ -233,6 +255,12 @@ public class McpClientSession implements McpSession {
 	 */
 	private Mono<Void> handleIncomingNotification(McpSchema.JSONRPCNotification notification) {
 		return Mono.defer(() -> {
+			if (McpSchema.METHOD_NOTIFICATION_CANCELLED.equals(notification.method())) {
+				this.inFlightRequests.cancel(this.transport.unmarshalFrom(notification.params(),
+						new TypeRef<McpSchema.CancelledNotification>() {
+						}));
+				return Mono.empty();
+			}
 			var handler = notificationHandlers.get(notification.method());
 			if (handler == null) {
 				logger.warn("No handler registered for notification method: {}", notification);
@@ -252,7 +280,9 @@ public class McpClientSession implements McpSession {
 	}
 
 	/**
-	 * Sends a JSON-RPC request and returns the response.
+	 * Sends a JSON-RPC request and returns the response. If the request times out, or the
+	 * returned Mono is cancelled, after the request was sent, the server is notified that
+	 * it can stop handling the request.
 	 * @param <T> The expected response type
 	 * @param method The method name to call
 	 * @param requestParams The request parameters
@@ -262,31 +292,52 @@ public class McpClientSession implements McpSession {
 	@Override
 	public <T> Mono<T> sendRequest(String method, Object requestParams, TypeRef<T> typeRef) {
 		String requestId = this.generateRequestId();
+		// Whether the request was sent and no response received yet, i.e. whether the
+		// server may still be handling it
+		AtomicBoolean awaited = new AtomicBoolean();
 
-		return Mono.deferContextual(ctx -> Mono.<McpSchema.JSONRPCResponse>create(pendingResponseSink -> {
+		return this.pendingRequests.send(requestId, null, () -> {
 			logger.debug("Sending message for method {}", method);
-			this.pendingResponses.put(requestId, pendingResponseSink);
-			McpSchema.JSONRPCRequest jsonrpcRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, method,
-					requestId, requestParams);
-			this.transport.sendMessage(jsonrpcRequest).contextWrite(ctx).subscribe(v -> {
-			}, error -> {
-				this.pendingResponses.remove(requestId);
-				pendingResponseSink.error(error);
-			});
-		})).timeout(this.requestTimeout).handle((jsonRpcResponse, deliveredResponseSink) -> {
-			if (jsonRpcResponse.error() != null) {
-				logger.error("Error handling request: {}", jsonRpcResponse.error());
-				deliveredResponseSink.error(new McpError(jsonRpcResponse.error()));
-			}
-			else {
-				if (typeRef.getType().equals(Void.class)) {
-					deliveredResponseSink.complete();
+			awaited.set(true);
+			return this.transport
+				.sendMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, method, requestId, requestParams));
+		})
+			.timeout(this.requestTimeout)
+			.doOnError(TimeoutException.class, e -> sendCancelled(method, requestId, awaited, "Request timed out"))
+			.handle((McpSchema.JSONRPCResponse jsonRpcResponse, SynchronousSink<T> deliveredResponseSink) -> {
+				awaited.set(false);
+				if (jsonRpcResponse.error() != null) {
+					logger.error("Error handling request: {}", jsonRpcResponse.error());
+					deliveredResponseSink.error(new McpError(jsonRpcResponse.error()));
 				}
 				else {
-					deliveredResponseSink.next(this.transport.unmarshalFrom(jsonRpcResponse.result(), typeRef));
+					if (typeRef.getType().equals(Void.class)) {
+						deliveredResponseSink.complete();
+					}
+					else {
+						deliveredResponseSink.next(this.transport.unmarshalFrom(jsonRpcResponse.result(), typeRef));
+					}
 				}
-			}
-		});
+			})
+			.doOnCancel(() -> sendCancelled(method, requestId, awaited, "Request cancelled"));
+	}
+
+	/**
+	 * Notifies the server that a request is no longer awaited, unless it was not sent yet
+	 * or was already answered. The initialize request cannot be cancelled.
+	 * @param method The method of the request
+	 * @param requestId The ID of the request
+	 * @param awaited Whether the request was sent and not answered yet, cleared by the
+	 * first caller
+	 * @param reason The reason of the cancellation
+	 */
+	private void sendCancelled(String method, String requestId, AtomicBoolean awaited, String reason) {
+		if (!awaited.getAndSet(false) || McpSchema.METHOD_INITIALIZE.equals(method)) {
+			return;
+		}
+		sendNotification(McpSchema.METHOD_NOTIFICATION_CANCELLED,
+				new McpSchema.CancelledNotification(requestId, reason))
+			.subscribe(null, e -> logger.debug("Failed to cancel request {}: {}", requestId, e.getMessage()));
 	}
 
 	/**
@@ -5,19 +5,25 @@
 package io.modelcontextprotocol.spec;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.modelcontextprotocol.json.BinaryData;
 import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.RawJson;
 import io.modelcontextprotocol.json.TypeRef;
 import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
@@ -61,6 +67,8 @@ public final class McpSchema {
 
 	public static final String METHOD_NOTIFICATION_PROGRESS = "notifications/progress";
 
+	public static final String METHOD_NOTIFICATION_CANCELLED = "notifications/cancelled";
+
 	// Tool Methods
 	public static final String METHOD_TOOLS_LIST = "tools/list";
 
@@ -182,8 +190,8 @@ public final class McpSchema {
 
 	}
 
-	public sealed interface Notification extends Meta
-			permits ProgressNotification, LoggingMessageNotification, ResourcesUpdatedNotification {
+	public sealed interface Notification extends Meta permits ProgressNotification, LoggingMessageNotification,
+			ResourcesUpdatedNotification, CancelledNotification {
 
 	}
 
@@ -205,20 +213,65 @@ public final class McpSchema {
 
 		logger.debug("Received JSON message: {}", jsonText);
 
-		var map = jsonMapper.readValue(jsonText, MAP_TYPE_REF);
+		return jsonMapper.readValue(jsonText, McpSchema::resolveJsonRpcMessageType);
+	}
+
+	/**
+	 * Deserializes UTF-8 encoded JSON bytes into a JSONRPCMessage object. The message
+	 * kind is determined from the presence of the top-level fields while the input is
+	 * decoded, without building an intermediate map.
+	 * @param jsonMapper The JsonMapper instance to use for deserialization
+	 * @param jsonBytes The JSON bytes to deserialize
+	 * @return A JSONRPCMessage instance using either the {@link JSONRPCRequest},
+	 * {@link JSONRPCNotification}, or {@link JSONRPCResponse} classes.
+	 * @throws IOException If there's an error during deserialization
+	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
+	 * message type
+	 */
+	public static JSONRPCMessage deserializeJsonRpcMessage(McpJsonMapper jsonMapper, byte[] jsonBytes)
+			throws IOException {
+
+		if (logger.isDebugEnabled()) {
+			logger.debug("Received JSON message: {}", new String(jsonBytes, StandardCharsets.UTF_8));
+		}
+
+		return jsonMapper.readValue(jsonBytes, McpSchema::resolveJsonRpcMessageType);
+	}
 
+	/**
+	 * Deserializes a JSON document read from the given stream into a JSONRPCMessage
+	 * object. The stream is not closed.
+	 * @param jsonMapper The JsonMapper instance to use for deserialization
+	 * @param jsonStream The stream providing the JSON document
+	 * @return A JSONRPCMessage instance using either the {@link JSONRPCRequest},
+	 * {@link JSONRPCNotification}, or {@link JSONRPCResponse} classes.
+	 * @throws IOException If there's an error during deserialization
+	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
+	 * message type
+	 */
+	public static JSONRPCMessage deserializeJsonRpcMessage(McpJsonMapper jsonMapper, InputStream jsonStream)
+			throws IOException {
+
+		if (logger.isDebugEnabled()) {
+			return deserializeJsonRpcMessage(jsonMapper, jsonStream.readAllBytes());
+		}
+
+		return jsonMapper.readValue(jsonStream, McpSchema::resolveJsonRpcMessageType);
+	}
+
+	private static Class<? extends JSONRPCMessage> resolveJsonRpcMessageType(Set<String> fieldNames) {
 		// Determine message type based on specific JSON structure
-		if (map.containsKey("method") && map.containsKey("id")) {
-			return jsonMapper.convertValue(map, JSONRPCRequest.class);
+		if (fieldNames.contains("method") && fieldNames.contains("id")) {
+			return JSONRPCRequest.class;
 		}
-		else if (map.containsKey("method") && !map.containsKey("id")) {
-			return jsonMapper.convertValue(map, JSONRPCNotification.class);
+		else if (fieldNames.contains("method") && !fieldNames.contains("id")) {
+			return JSONRPCNotification.class;
 		}
-		else if (map.containsKey("result") || map.containsKey("error")) {
-			return jsonMapper.convertValue(map, JSONRPCResponse.class);
+		else if (fieldNames.contains("result") || fieldNames.contains("error")) {
+			return JSONRPCResponse.class;
 		}
 
-		throw new IllegalArgumentException("Cannot deserialize JSONRPCMessage: " + jsonText);
+		throw new IllegalArgumentException("Cannot deserialize JSONRPCMessage with fields: " + fieldNames);
 	}
 
 	// ---------------------------
@@ -236,7 +289,8 @@ public final class McpSchema {
 	 * @param jsonrpc The JSON-RPC version (must be "2.0")
 	 * @param method The name of the method to be invoked
 	 * @param id A unique identifier for the request
-	 * @param params Parameters for the method call
+	 * @param params Parameters for the method call; a {@link RawJson} when decoded by a
+	 * mapper that defers binding, to be converted with {@link McpJsonMapper#convertValue}
 	 */
 	@JsonInclude(JsonInclude.Include.NON_ABSENT)
 	@JsonIgnoreProperties(ignoreUnknown = true)
@@ -257,6 +311,16 @@ public final class McpSchema {
 			Assert.isTrue(id instanceof String || id instanceof Integer || id instanceof Long,
 					"MCP requests MUST have an ID that is either a string or integer");
 		}
+
+		/**
+		 * Keeps the params as raw JSON when decoding, so they are bound only once to the
+		 * type the handler asks for.
+		 */
+		@JsonCreator
+		private static JSONRPCRequest of(@JsonProperty("jsonrpc") String jsonrpc, @JsonProperty("method") String method,
+				@JsonProperty("id") Object id, @JsonProperty("params") RawJson params) {
+			return new JSONRPCRequest(jsonrpc, method, id, params);
+		}
 	}
 
 	/**
@@ -264,7 +328,8 @@ public final class McpSchema {
 	 *
 	 * @param jsonrpc The JSON-RPC version (must be "2.0")
 	 * @param method The name of the method being notified
-	 * @param params Parameters for the notification
+	 * @param params Parameters for the notification; a {@link RawJson} when decoded by a
+	 * mapper that defers binding, to be converted with {@link McpJsonMapper#convertValue}
 	 */
 	@JsonInclude(JsonInclude.Include.NON_ABSENT)
 	@JsonIgnoreProperties(ignoreUnknown = true)
@@ -274,6 +339,16 @@ public final class McpSchema {
 		@JsonProperty("jsonrpc") String jsonrpc,
 		@JsonProperty("method") String method,
 		@JsonProperty("params") Object params) implements JSONRPCMessage { // @formatter:on
+
+		/**
+		 * Keeps the params as raw JSON when decoding, so they are bound only once to the
+		 * type the handler asks for.
+		 */
+		@JsonCreator
+		private static JSONRPCNotification of(@JsonProperty("jsonrpc") String jsonrpc,
+				@JsonProperty("method") String method, @JsonProperty("params") RawJson params) {
+			return new JSONRPCNotification(jsonrpc, method, params);
+		}
 	}
 
 	/**
@@ -1168,6 +1243,8 @@ public final class McpSchema {
 	 * This must only be set if the resource can actually be represented as binary data
 	 * (not text).
 	 * @param meta See specification for notes on _meta usage
+	 * @param binary the binary data of the resource, used instead of {@code blob} to
+	 * stream large content when it is serialized. Never set on deserialized instances.
 	 */
 	@JsonInclude(JsonInclude.Include.NON_ABSENT)
 	@JsonIgnoreProperties(ignoreUnknown = true)
@@ -1175,10 +1252,39 @@ public final class McpSchema {
 		@JsonProperty("uri") String uri,
 		@JsonProperty("mimeType") String mimeType,
 		@JsonProperty("blob") String blob,
-		@JsonProperty("_meta") Map<String, Object> meta) implements ResourceContents { // @formatter:on
+		@JsonProperty("_meta") Map<String, Object> meta,
+		@JsonIgnore BinaryData binary) implements ResourceContents { // @formatter:on
+
+		public BlobResourceContents(String uri, String mimeType, String blob, Map<String, Object> meta) {
+			this(uri, mimeType, blob, meta, null);
+		}
 
 		public BlobResourceContents(String uri, String mimeType, String blob) {
-			this(uri, mimeType, blob, null);
+			this(uri, mimeType, blob, null, null);
+		}
+
+		public BlobResourceContents(String uri, String mimeType, BinaryData binary, Map<String, Object> meta) {
+			this(uri, mimeType, null, meta, binary);
+		}
+
+		public BlobResourceContents(String uri, String mimeType, BinaryData binary) {
+			this(uri, mimeType, binary, null);
+		}
+
+		/**
+		 * Returns the base64-encoded data of the resource. When the contents are backed
+		 * by {@link BinaryData}, the first call reads and encodes the whole data, which
+		 * is kept for later calls.
+		 * @return the base64-encoded data
+		 */
+		@Override
+		public String blob() {
+			return this.blob != null || this.binary == null ? this.blob : this.binary.toBase64();
+		}
+
+		@JsonProperty("blob")
+		Object blobValue() {
+			return this.binary != null ? this.binary : this.blob;
 		}
 	}
 
@@ -2284,6 +2390,28 @@ public final class McpSchema {
 		}
 	}
 
+	/**
+	 * The Model Context Protocol (MCP) supports optional cancellation of in-progress
+	 * requests through notification messages. Either side can send a cancellation
+	 * notification to indicate that a previously issued request should be terminated.
+	 *
+	 * @param requestId The ID of the request to cancel. It MUST correspond to the ID of a
+	 * request previously issued in the same direction.
+	 * @param reason An optional string describing the reason for the cancellation.
+	 * @param meta See specification for notes on _meta usage
+	 */
+	@JsonInclude(JsonInclude.Include.NON_ABSENT)
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record CancelledNotification(// @formatter:off
+		@JsonProperty("requestId") Object requestId,
+		@JsonProperty("reason") String reason,
+		@JsonProperty("_meta") Map<String, Object> meta) implements Notification { // @formatter:on
+
+		public CancelledNotification(Object requestId, String reason) {
+			this(requestId, reason, null);
+		}
+	}
+
 	/**
 	 * The Model Context Protocol (MCP) provides a standardized way for servers to send
 	 * resources update message to clients.
@@ -2656,6 +2784,8 @@ public final class McpSchema {
 	 * @param mimeType The MIME type of the image. Different providers may support
 	 * different image types
 	 * @param meta See specification for notes on _meta usage
+	 * @param binary The image data, used instead of {@code data} to stream large content
+	 * when it is serialized. Never set on deserialized instances.
 	 */
 	@JsonInclude(JsonInclude.Include.NON_ABSENT)
 	@JsonIgnoreProperties(ignoreUnknown = true)
@@ -2663,7 +2793,36 @@ public final class McpSchema {
 		@JsonProperty("annotations") Annotations annotations,
 		@JsonProperty("data") String data,
 		@JsonProperty("mimeType") String mimeType,
-		@JsonProperty("_meta") Map<String, Object> meta) implements Annotated, Content { // @formatter:on
+		@JsonProperty("_meta") Map<String, Object> meta,
+		@JsonIgnore BinaryData binary) implements Annotated, Content { // @formatter:on
+
+		public ImageContent(Annotations annotations, String data, String mimeType, Map<String, Object> meta) {
+			this(annotations, data, mimeType, meta, null);
+		}
+
+		public ImageContent(Annotations annotations, BinaryData binary, String mimeType, Map<String, Object> meta) {
+			this(annotations, null, mimeType, meta, binary);
+		}
+
+		public ImageContent(Annotations annotations, BinaryData binary, String mimeType) {
+			this(annotations, binary, mimeType, null);
+		}
+
+		/**
+		 * Returns the base64-encoded image data. When the content is backed by
+		 * {@link BinaryData}, the first call reads and encodes the whole data, which is
+		 * kept for later calls.
+		 * @return the base64-encoded data
+		 */
+		@Override
+		public String data() {
+			return this.data != null || this.binary == null ? this.data : this.binary.toBase64();
+		}
+
+		@JsonProperty("data")
+		Object dataValue() {
+			return this.binary != null ? this.binary : this.data;
+		}
 
 		public ImageContent(Annotations annotations, String data, String mimeType) {
 			this(annotations, data, mimeType, null);
@@ -2706,6 +2865,8 @@ public final class McpSchema {
 	 * @param mimeType The MIME type of the audio. Different providers may support
 	 * different audio types
 	 * @param meta See specification for notes on _meta usage
+	 * @param binary The audio data, used instead of {@code data} to stream large content
+	 * when it is serialized. Never set on deserialized instances.
 	 */
 	@JsonInclude(JsonInclude.Include.NON_ABSENT)
 	@JsonIgnoreProperties(ignoreUnknown = true)
@@ -2713,7 +2874,36 @@ public final class McpSchema {
 		@JsonProperty("annotations") Annotations annotations,
 		@JsonProperty("data") String data,
 		@JsonProperty("mimeType") String mimeType,
-		@JsonProperty("_meta") Map<String, Object> meta) implements Annotated, Content { // @formatter:on
+		@JsonProperty("_meta") Map<String, Object> meta,
+		@JsonIgnore BinaryData binary) implements Annotated, Content { // @formatter:on
+
+		public AudioContent(Annotations annotations, String data, String mimeType, Map<String, Object> meta) {
+			this(annotations, data, mimeType, meta, null);
+		}
+
+		public AudioContent(Annotations annotations, BinaryData binary, String mimeType, Map<String, Object> meta) {
+			this(annotations, null, mimeType, meta, binary);
+		}
+
+		public AudioContent(Annotations annotations, BinaryData binary, String mimeType) {
+			this(annotations, binary, mimeType, null);
+		}
+
+		/**
+		 * Returns the base64-encoded audio data. When the content is backed by
+		 * {@link BinaryData}, the first call reads and encodes the whole data, which is
+		 * kept for later calls.
+		 * @return the base64-encoded data
+		 */
+		@Override
+		public String data() {
+			return this.data != null || this.binary == null ? this.data : this.binary.toBase64();
+		}
+
+		@JsonProperty("data")
+		Object dataValue() {
+			return this.binary != null ? this.binary : this.data;
+		}
 
 		// backwards compatibility constructor
 		public AudioContent(Annotations annotations, String data, String mimeType) {
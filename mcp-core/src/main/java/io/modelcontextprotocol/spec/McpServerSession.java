@@ -6,7 +6,6 @@ package io.modelcontextprotocol.spec;
 
 import java.time.Duration;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -21,7 +20,6 @@ import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.MonoSink;
 import reactor.core.publisher.Sinks;
 
 /**
@@ -32,7 +30,11 @@ public class McpServerSession implements McpLoggableSession {
 
 	private static final Logger logger = LoggerFactory.getLogger(McpServerSession.class);
 
-	private final ConcurrentHashMap<Object, MonoSink<McpSchema.JSONRPCResponse>> pendingResponses = new ConcurrentHashMap<>();
+	/** Requests awaiting a response from the client */
+	private final PendingRequests pendingRequests;
+
+	/** Requests received from the client and being handled */
+	private final InFlightRequests inFlightRequests = new InFlightRequests();
 
 	private final String id;
 
@@ -78,12 +80,33 @@ public class McpServerSession implements McpLoggableSession {
 	public McpServerSession(String id, Duration requestTimeout, McpServerTransport transport,
 			McpInitRequestHandler initHandler, Map<String, McpRequestHandler<?>> requestHandlers,
 			Map<String, McpNotificationHandler> notificationHandlers) {
+		this(id, requestTimeout, transport, initHandler, requestHandlers, notificationHandlers, 0);
+	}
+
+	/**
+	 * Creates a new server session with the given parameters and the transport to use.
+	 * @param id session id
+	 * @param requestTimeout duration to wait for responses, including the time spent
+	 * waiting for the request to be sent
+	 * @param transport the transport to use
+	 * @param initHandler called when a
+	 * {@link io.modelcontextprotocol.spec.McpSchema.InitializeRequest} is received by the
+	 * server
+	 * @param requestHandlers map of request handlers to use
+	 * @param notificationHandlers map of notification handlers to use
+	 * @param maxPendingRequests maximum number of requests awaiting a response from the
+	 * client, further requests wait until one completes; 0 for no limit
+	 */
+	public McpServerSession(String id, Duration requestTimeout, McpServerTransport transport,
+			McpInitRequestHandler initHandler, Map<String, McpRequestHandler<?>> requestHandlers,
+			Map<String, McpNotificationHandler> notificationHandlers, int maxPendingRequests) {
 		this.id = id;
 		this.requestTimeout = requestTimeout;
 		this.transport = transport;
 		this.initRequestHandler = initHandler;
 		this.requestHandlers = requestHandlers;
 		this.notificationHandlers = notificationHandlers;
+		this.pendingRequests = new PendingRequests(maxPendingRequests);
 	}
 
 	/**
@@ -106,12 +129,7 @@ public class McpServerSession implements McpLoggableSession {
 			McpInitRequestHandler initHandler, InitNotificationHandler initNotificationHandler,
 			Map<String, McpRequestHandler<?>> requestHandlers,
 			Map<String, McpNotificationHandler> notificationHandlers) {
-		this.id = id;
-		this.requestTimeout = requestTimeout;
-		this.transport = transport;
-		this.initRequestHandler = initHandler;
-		this.requestHandlers = requestHandlers;
-		this.notificationHandlers = notificationHandlers;
+		this(id, requestTimeout, transport, initHandler, requestHandlers, notificationHandlers, 0);
 	}
 
 	/**
@@ -156,28 +174,24 @@ public class McpServerSession implements McpLoggableSession {
 	public <T> Mono<T> sendRequest(String method, Object requestParams, TypeRef<T> typeRef) {
 		String requestId = this.generateRequestId();
 
-		return Mono.<McpSchema.JSONRPCResponse>create(sink -> {
-			this.pendingResponses.put(requestId, sink);
-			McpSchema.JSONRPCRequest jsonrpcRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, method,
-					requestId, requestParams);
-			this.transport.sendMessage(jsonrpcRequest).subscribe(v -> {
-			}, error -> {
-				this.pendingResponses.remove(requestId);
-				sink.error(error);
-			});
-		}).timeout(requestTimeout).handle((jsonRpcResponse, sink) -> {
-			if (jsonRpcResponse.error() != null) {
-				sink.error(new McpError(jsonRpcResponse.error()));
-			}
-			else {
-				if (typeRef.getType().equals(Void.class)) {
-					sink.complete();
+		return this.pendingRequests
+			.send(requestId, null,
+					() -> this.transport.sendMessage(
+							new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, method, requestId, requestParams)))
+			.timeout(requestTimeout)
+			.handle((jsonRpcResponse, sink) -> {
+				if (jsonRpcResponse.error() != null) {
+					sink.error(new McpError(jsonRpcResponse.error()));
 				}
 				else {
-					sink.next(this.transport.unmarshalFrom(jsonRpcResponse.result(), typeRef));
+					if (typeRef.getType().equals(Void.class)) {
+						sink.complete();
+					}
+					else {
+						sink.next(this.transport.unmarshalFrom(jsonRpcResponse.result(), typeRef));
+					}
 				}
-			}
-		});
+			});
 	}
 
 	@Override
@@ -187,6 +201,11 @@ public class McpServerSession implements McpLoggableSession {
 		return this.transport.sendMessage(jsonrpcNotification);
 	}
 
+	@Override
+	public Mono<Void> sendEncodedNotification(EncodedMessage notification) {
+		return this.transport.sendEncodedMessage(notification);
+	}
+
 	/**
 	 * Called by the {@link McpServerTransportProvider} once the session is determined.
 	 * The purpose of this method is to dispatch the message to an appropriate handler as
@@ -206,13 +225,9 @@ public class McpServerSession implements McpLoggableSession {
 			if (message instanceof McpSchema.JSONRPCResponse response) {
 				logger.debug("Received response: {}", response);
 				if (response.id() != null) {
-					var sink = pendingResponses.remove(response.id());
-					if (sink == null) {
+					if (!this.pendingRequests.complete(response)) {
 						logger.warn("Unexpected response for unknown id {}", response.id());
 					}
-					else {
-						sink.success(response);
-					}
 				}
 				else {
 					logger.error("Discarded MCP request response without session id. "
@@ -223,16 +238,21 @@ public class McpServerSession implements McpLoggableSession {
 			}
 			else if (message instanceof McpSchema.JSONRPCRequest request) {
 				logger.debug("Received request: {}", request);
-				return handleIncomingRequest(request, transportContext).onErrorResume(error -> {
-					McpSchema.JSONRPCResponse.JSONRPCError jsonRpcError = (error instanceof McpError mcpError
-							&& mcpError.getJsonRpcError() != null) ? mcpError.getJsonRpcError()
-									: new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
-											error.getMessage(), McpError.aggregateExceptionMessages(error));
-					var errorResponse = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), null,
-							jsonRpcError);
-					// TODO: Should the error go to SSE or back as POST return?
-					return this.transport.sendMessage(errorResponse).then(Mono.empty());
-				}).flatMap(this.transport::sendMessage);
+				return this.inFlightRequests
+					.track(request.id(), cancellation -> handleIncomingRequest(request, transportContext, cancellation)
+						.onErrorResume(error -> {
+							McpSchema.JSONRPCResponse.JSONRPCError jsonRpcError = (error instanceof McpError mcpError
+									&& mcpError.getJsonRpcError() != null)
+											? mcpError.getJsonRpcError()
+											: new McpSchema.JSONRPCResponse.JSONRPCError(
+													McpSchema.ErrorCodes.INTERNAL_ERROR, error.getMessage(),
+													McpError.aggregateExceptionMessages(error));
+							var errorResponse = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(),
+									null, jsonRpcError);
+							// TODO: Should the error go to SSE or back as POST return?
+							return this.transport.sendMessage(errorResponse).then(Mono.empty());
+						}))
+					.flatMap(this.transport::sendMessage);
 			}
 			else if (message instanceof McpSchema.JSONRPCNotification notification) {
 				// TODO handle errors for communication to without initialization
@@ -253,10 +273,11 @@ public class McpServerSession implements McpLoggableSession {
 	 * Handles an incoming JSON-RPC request by routing it to the appropriate handler.
 	 * @param request The incoming JSON-RPC request
 	 * @param transportContext
+	 * @param cancellation the cancellation of the request
 	 * @return A Mono containing the JSON-RPC response
 	 */
 	private Mono<McpSchema.JSONRPCResponse> handleIncomingRequest(McpSchema.JSONRPCRequest request,
-			McpTransportContext transportContext) {
+			McpTransportContext transportContext, InFlightRequests.Cancellation cancellation) {
 		return Mono.defer(() -> {
 			Mono<?> resultMono;
 			if (McpSchema.METHOD_INITIALIZE.equals(request.method())) {
@@ -281,7 +302,8 @@ public class McpServerSession implements McpLoggableSession {
 				}
 
 				resultMono = this.exchangeSink.asMono()
-					.flatMap(exchange -> handler.handle(copyExchange(exchange, transportContext), request.params()));
+					.flatMap(exchange -> handler.handle(copyExchange(exchange, transportContext, cancellation),
+							request.params()));
 			}
 			return resultMono
 				.map(result -> new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), result, null))
@@ -306,6 +328,12 @@ public class McpServerSession implements McpLoggableSession {
 	private Mono<Void> handleIncomingNotification(McpSchema.JSONRPCNotification notification,
 			McpTransportContext transportContext) {
 		return Mono.defer(() -> {
+			if (McpSchema.METHOD_NOTIFICATION_CANCELLED.equals(notification.method())) {
+				this.inFlightRequests.cancel(this.transport.unmarshalFrom(notification.params(),
+						new TypeRef<McpSchema.CancelledNotification>() {
+						}));
+				return Mono.empty();
+			}
 			if (McpSchema.METHOD_NOTIFICATION_INITIALIZED.equals(notification.method())) {
 				this.state.lazySet(STATE_INITIALIZED);
 				// FIXME: The session ID passed here is not the same as the one in the
@@ -320,7 +348,9 @@ public class McpServerSession implements McpLoggableSession {
 				return Mono.empty();
 			}
 			return this.exchangeSink.asMono()
-				.flatMap(exchange -> handler.handle(copyExchange(exchange, transportContext), notification.params()));
+				.flatMap(exchange -> handler.handle(
+						copyExchange(exchange, transportContext, InFlightRequests.Cancellation.NONE),
+						notification.params()));
 		});
 	}
 
@@ -331,9 +361,14 @@ public class McpServerSession implements McpLoggableSession {
 	 * that cached exchange, and use it for a single HTTP request, with the transport
 	 * context passed in.
 	 */
-	private McpAsyncServerExchange copyExchange(McpAsyncServerExchange exchange, McpTransportContext transportContext) {
+	private McpAsyncServerExchange copyExchange(McpAsyncServerExchange exchange, McpTransportContext transportContext,
+			InFlightRequests.Cancellation cancellation) {
 		return new McpAsyncServerExchange(exchange.sessionId(), this, exchange.getClientCapabilities(),
-				exchange.getClientInfo(), transportContext);
+				exchange.getClientInfo(), transportContext, cancellation);
+	}
+
+	private void dismissPendingRequests() {
+		this.pendingRequests.close(new RuntimeException("MCP session with client terminated"));
 	}
 
 	record MethodNotFoundError(String method, String message, Object data) {
@@ -345,13 +380,13 @@ public class McpServerSession implements McpLoggableSession {
 
 	@Override
 	public Mono<Void> closeGracefully() {
-		// TODO: clear pendingResponses and emit errors?
-		return this.transport.closeGracefully();
+		return Mono.fromRunnable(this::dismissPendingRequests).then(this.transport.closeGracefully());
 	}
 
 	@Override
 	public void close() {
-		// TODO: clear pendingResponses and emit errors?
+		dismissPendingRequests();
+		this.inFlightRequests.cancelAll();
 		this.transport.close();
 	}
 
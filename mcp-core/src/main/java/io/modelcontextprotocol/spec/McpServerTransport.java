@@ -4,6 +4,8 @@
 
 package io.modelcontextprotocol.spec;
 
+import reactor.core.publisher.Mono;
+
 /**
  * Marker interface for the server-side MCP transport.
  *
@@ -12,4 +14,15 @@ package io.modelcontextprotocol.spec;
  */
 public interface McpServerTransport extends McpTransport {
 
+	/**
+	 * Sends a message that has already been serialized. Transports that write JSON text
+	 * should send {@link EncodedMessage#json()} as is instead of serializing the message
+	 * again. The default implementation falls back to {@link #sendMessage}.
+	 * @param message the encoded message to send
+	 * @return a {@link Mono<Void>} that completes when the message has been sent
+	 */
+	default Mono<Void> sendEncodedMessage(EncodedMessage message) {
+		return sendMessage(message.message());
+	}
+
 }
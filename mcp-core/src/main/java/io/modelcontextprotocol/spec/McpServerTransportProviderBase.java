@@ -4,9 +4,12 @@
 
 package io.modelcontextprotocol.spec;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
+import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
 
 /**
@@ -45,6 +48,52 @@ public interface McpServerTransportProviderBase {
 	 */
 	Mono<Void> notifyClients(String method, Object params);
 
+	/**
+	 * Sends a notification to the connected clients of the given sessions, identified by
+	 * the IDs their exchanges report. Sessions that are no longer connected are skipped.
+	 * The default implementation cannot address individual sessions and fails with an
+	 * {@link UnsupportedOperationException}, upon which the server sends the notification
+	 * through each of the sessions instead.
+	 * @param sessionIds the IDs of the sessions to notify
+	 * @param method the name of the notification method to be called on the clients
+	 * @param params parameters to be sent with the notification
+	 * @return a Mono that completes when the notification has been sent
+	 */
+	default Mono<Void> notifyClients(Collection<String> sessionIds, String method, Object params) {
+		return Mono.error(new UnsupportedOperationException(
+				getClass().getName() + " cannot send notifications to individual sessions"));
+	}
+
+	/**
+	 * Registers a listener called with the ID of every session that is closed or evicted,
+	 * the same ID its exchanges report, so that state kept per session can be released.
+	 * The default implementation does not track sessions and only logs a warning, as the
+	 * state kept for closed sessions, e.g. their resource subscriptions, is never
+	 * released.
+	 * @param listener the listener to call with the ID of a closed session
+	 */
+	default void addSessionCloseListener(Consumer<String> listener) {
+		LoggerFactory.getLogger(McpServerTransportProviderBase.class)
+			.warn("{} does not report closed sessions, the state kept for them will not be released",
+					getClass().getName());
+	}
+
+	/**
+	 * Sends a logging message notification to the connected clients whose session accepts
+	 * its level, as set by the client with {@code logging/setLevel}. Sessions are
+	 * expected to be filtered before the notification is serialized, so that a message no
+	 * client listens to costs nothing to send.
+	 * <p>
+	 * The default implementation cannot inspect sessions and sends the notification to
+	 * all connected clients.
+	 * @param loggingMessageNotification the logging message to send
+	 * @return a Mono that completes when the notification has been sent
+	 * @see McpLoggableSession#isNotificationForLevelAllowed(McpSchema.LoggingLevel)
+	 */
+	default Mono<Void> loggingNotification(McpSchema.LoggingMessageNotification loggingMessageNotification) {
+		return notifyClients(McpSchema.METHOD_NOTIFICATION_MESSAGE, loggingMessageNotification);
+	}
+
 	/**
 	 * Immediately closes all the transports with connected clients and releases any
 	 * associated resources.
@@ -60,6 +109,19 @@ public interface McpServerTransportProviderBase {
 	 */
 	Mono<Void> closeGracefully();
 
+	/**
+	 * Returns whether the messages sent through this transport are written by a mapper
+	 * that supports {@link io.modelcontextprotocol.json.RawJson} values, so that the
+	 * server can send JSON it encoded already instead of having it serialized again. The
+	 * default implementation returns false.
+	 * @return true if
+	 * {@link io.modelcontextprotocol.json.McpJsonMapper#supportsRawJson()} holds for the
+	 * mapper of this transport
+	 */
+	default boolean supportsRawJson() {
+		return false;
+	}
+
 	/**
 	 * Returns the protocol version supported by this transport provider.
 	 * @return the protocol version as a string
@@ -66,6 +66,21 @@ public interface McpSession {
 	 */
 	Mono<Void> sendNotification(String method, Object params);
 
+	/**
+	 * Sends a notification that has already been serialized, typically once for a
+	 * broadcast to many sessions. Sessions whose transport can write the encoded JSON
+	 * directly skip serializing the notification again. The default implementation sends
+	 * the notification through {@link #sendNotification(String, Object)}.
+	 * @param notification the encoded {@link McpSchema.JSONRPCNotification}
+	 * @return a Mono that completes when the notification has been sent
+	 */
+	default Mono<Void> sendEncodedNotification(EncodedMessage notification) {
+		if (!(notification.message() instanceof McpSchema.JSONRPCNotification jsonrpcNotification)) {
+			return Mono.error(new IllegalArgumentException("Encoded message is not a notification"));
+		}
+		return sendNotification(jsonrpcNotification.method(), jsonrpcNotification.params());
+	}
+
 	/**
 	 * Closes the session and releases any associated resources asynchronously.
 	 * @return a {@link Mono<Void>} that completes when the session has been closed.
@@ -28,6 +28,19 @@ public interface McpStatelessServerTransport {
 	 */
 	Mono<Void> closeGracefully();
 
+	/**
+	 * Returns whether the messages sent through this transport are written by a mapper
+	 * that supports {@link io.modelcontextprotocol.json.RawJson} values, so that the
+	 * server can send JSON it encoded already instead of having it serialized again. The
+	 * default implementation returns false.
+	 * @return true if
+	 * {@link io.modelcontextprotocol.json.McpJsonMapper#supportsRawJson()} holds for the
+	 * mapper of this transport
+	 */
+	default boolean supportsRawJson() {
+		return false;
+	}
+
 	default List<String> protocolVersions() {
 		return List.of(ProtocolVersions.MCP_2025_03_26, ProtocolVersions.MCP_2025_06_18);
 	}
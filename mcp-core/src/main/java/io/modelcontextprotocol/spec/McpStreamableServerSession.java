@@ -7,7 +7,6 @@ package io.modelcontextprotocol.spec;
 import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
@@ -15,6 +14,7 @@ import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.json.TypeRef;
 
 import io.modelcontextprotocol.common.McpTransportContext;
@@ -25,7 +25,6 @@ import io.modelcontextprotocol.spec.McpSchema.ErrorCodes;
 import io.modelcontextprotocol.util.Assert;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.MonoSink;
 
 /**
  * Representation of a Streamable HTTP server session that keeps track of mapping
@@ -40,7 +39,7 @@ public class McpStreamableServerSession implements McpLoggableSession {
 
 	private static final Logger logger = LoggerFactory.getLogger(McpStreamableServerSession.class);
 
-	private final ConcurrentHashMap<Object, McpStreamableServerSessionStream> requestIdToStream = new ConcurrentHashMap<>();
+	private static final char EVENT_ID_SEPARATOR = '_';
 
 	private final String id;
 
@@ -60,6 +59,17 @@ public class McpStreamableServerSession implements McpLoggableSession {
 
 	private final MissingMcpTransportSession missingMcpTransportSession;
 
+	private final EventStore eventStore;
+
+	/** Requests awaiting a response from the client, indexed by the stream they use */
+	private final PendingRequests pendingRequests;
+
+	/** Requests received from the client and being handled */
+	private final InFlightRequests inFlightRequests = new InFlightRequests();
+
+	/** Mapper decoding the cancellations of requests, or null for the default one */
+	private final McpJsonMapper jsonMapper;
+
 	private volatile McpSchema.LoggingLevel minLoggingLevel = McpSchema.LoggingLevel.INFO;
 
 	/**
@@ -76,6 +86,73 @@ public class McpStreamableServerSession implements McpLoggableSession {
 			McpSchema.Implementation clientInfo, Duration requestTimeout,
 			Map<String, McpRequestHandler<?>> requestHandlers,
 			Map<String, McpNotificationHandler> notificationHandlers) {
+		this(id, clientCapabilities, clientInfo, requestTimeout, requestHandlers, notificationHandlers, null);
+	}
+
+	/**
+	 * Create an instance of the streamable session that records the messages sent on its
+	 * streams, so that clients can resume a stream after a dropped connection.
+	 * @param id session ID
+	 * @param clientCapabilities client capabilities
+	 * @param clientInfo client info
+	 * @param requestTimeout timeout to use for requests
+	 * @param requestHandlers the map of MCP request handlers keyed by method name
+	 * @param notificationHandlers the map of MCP notification handlers keyed by method
+	 * name
+	 * @param eventStore the store for sent messages, or null to disable resumption
+	 */
+	public McpStreamableServerSession(String id, McpSchema.ClientCapabilities clientCapabilities,
+			McpSchema.Implementation clientInfo, Duration requestTimeout,
+			Map<String, McpRequestHandler<?>> requestHandlers, Map<String, McpNotificationHandler> notificationHandlers,
+			EventStore eventStore) {
+		this(id, clientCapabilities, clientInfo, requestTimeout, requestHandlers, notificationHandlers, eventStore, 0);
+	}
+
+	/**
+	 * Create an instance of the streamable session that records the messages sent on its
+	 * streams and bounds the number of requests awaiting a response from the client.
+	 * @param id session ID
+	 * @param clientCapabilities client capabilities
+	 * @param clientInfo client info
+	 * @param requestTimeout timeout to use for requests, including the time spent waiting
+	 * for the request to be sent
+	 * @param requestHandlers the map of MCP request handlers keyed by method name
+	 * @param notificationHandlers the map of MCP notification handlers keyed by method
+	 * name
+	 * @param eventStore the store for sent messages, or null to disable resumption
+	 * @param maxPendingRequests maximum number of requests awaiting a response, further
+	 * requests wait until one completes; 0 for no limit
+	 */
+	public McpStreamableServerSession(String id, McpSchema.ClientCapabilities clientCapabilities,
+			McpSchema.Implementation clientInfo, Duration requestTimeout,
+			Map<String, McpRequestHandler<?>> requestHandlers, Map<String, McpNotificationHandler> notificationHandlers,
+			EventStore eventStore, int maxPendingRequests) {
+		this(id, clientCapabilities, clientInfo, requestTimeout, requestHandlers, notificationHandlers, eventStore,
+				maxPendingRequests, null);
+	}
+
+	/**
+	 * Create an instance of the streamable session that records the messages sent on its
+	 * streams, bounds the number of requests awaiting a response from the client and
+	 * decodes the parameters of the notifications it handles itself with the given
+	 * mapper.
+	 * @param id session ID
+	 * @param clientCapabilities client capabilities
+	 * @param clientInfo client info
+	 * @param requestTimeout timeout to use for requests, including the time spent waiting
+	 * for the request to be sent
+	 * @param requestHandlers the map of MCP request handlers keyed by method name
+	 * @param notificationHandlers the map of MCP notification handlers keyed by method
+	 * name
+	 * @param eventStore the store for sent messages, or null to disable resumption
+	 * @param maxPendingRequests maximum number of requests awaiting a response, further
+	 * requests wait until one completes; 0 for no limit
+	 * @param jsonMapper the JSON mapper, or null for the default one
+	 */
+	public McpStreamableServerSession(String id, McpSchema.ClientCapabilities clientCapabilities,
+			McpSchema.Implementation clientInfo, Duration requestTimeout,
+			Map<String, McpRequestHandler<?>> requestHandlers, Map<String, McpNotificationHandler> notificationHandlers,
+			EventStore eventStore, int maxPendingRequests, McpJsonMapper jsonMapper) {
 		this.id = id;
 		this.missingMcpTransportSession = new MissingMcpTransportSession(id);
 		this.listeningStreamRef = new AtomicReference<>(this.missingMcpTransportSession);
@@ -84,6 +161,9 @@ public class McpStreamableServerSession implements McpLoggableSession {
 		this.requestTimeout = requestTimeout;
 		this.requestHandlers = requestHandlers;
 		this.notificationHandlers = notificationHandlers;
+		this.eventStore = eventStore;
+		this.pendingRequests = new PendingRequests(maxPendingRequests);
+		this.jsonMapper = jsonMapper;
 	}
 
 	@Override
@@ -125,11 +205,17 @@ public class McpStreamableServerSession implements McpLoggableSession {
 		});
 	}
 
+	@Override
+	public Mono<Void> sendEncodedNotification(EncodedMessage notification) {
+		return Mono.defer(() -> {
+			McpLoggableSession listeningStream = this.listeningStreamRef.get();
+			return listeningStream.sendEncodedNotification(notification);
+		});
+	}
+
 	public Mono<Void> delete() {
-		return this.closeGracefully().then(Mono.fromRunnable(() -> {
-			// TODO: review in the context of history storage
-			// delete history, etc.
-		}));
+		return this.closeGracefully()
+			.then(Mono.defer(() -> (this.eventStore != null) ? this.eventStore.removeSession(this.id) : Mono.empty()));
 	}
 
 	/**
@@ -144,10 +230,31 @@ public class McpStreamableServerSession implements McpLoggableSession {
 		return listeningStream;
 	}
 
-	// TODO: keep track of history by keeping a map from eventId to stream and then
-	// iterate over the events using the lastEventId
+	/**
+	 * Replay the messages sent on a stream after the given event. The stream is
+	 * identified by the prefix of the event ID.
+	 * @param lastEventId the ID of the last event received by the client
+	 * @return the messages sent after the event, or no messages if the session does not
+	 * record events or the event is no longer retained
+	 * @see #replayEvents(String)
+	 */
 	public Flux<McpSchema.JSONRPCMessage> replay(Object lastEventId) {
-		return Flux.empty();
+		return replayEvents(String.valueOf(lastEventId)).map(EventStore.StoredEvent::message);
+	}
+
+	/**
+	 * Replay the events sent on a stream after the given event, with their original event
+	 * IDs. The stream is identified by the prefix of the event ID.
+	 * @param lastEventId the ID of the last event received by the client
+	 * @return the events sent after the event, or no events if the session does not
+	 * record events or the event is no longer retained
+	 */
+	public Flux<EventStore.StoredEvent> replayEvents(String lastEventId) {
+		int separator = lastEventId.indexOf(EVENT_ID_SEPARATOR);
+		if (this.eventStore == null || separator < 0) {
+			return Flux.empty();
+		}
+		return this.eventStore.replayEventsAfter(this.id, lastEventId.substring(0, separator), lastEventId);
 	}
 
 	/**
@@ -168,27 +275,29 @@ public class McpStreamableServerSession implements McpLoggableSession {
 			// (sink)
 			if (requestHandler == null) {
 				MethodNotFoundError error = getMethodNotFoundError(jsonrpcRequest.method());
-				return transport
-					.sendMessage(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, jsonrpcRequest.id(), null,
-							new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.METHOD_NOT_FOUND,
-									error.message(), error.data())));
+				return stream.send(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, jsonrpcRequest.id(), null,
+						new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.METHOD_NOT_FOUND,
+								error.message(), error.data())));
 			}
-			return requestHandler
-				.handle(new McpAsyncServerExchange(this.id, stream, clientCapabilities.get(), clientInfo.get(),
-						transportContext), jsonrpcRequest.params())
-				.map(result -> new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, jsonrpcRequest.id(), result,
-						null))
-				.onErrorResume(e -> {
-					McpSchema.JSONRPCResponse.JSONRPCError jsonRpcError = (e instanceof McpError mcpError
-							&& mcpError.getJsonRpcError() != null) ? mcpError.getJsonRpcError()
-									: new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
-											e.getMessage(), McpError.aggregateExceptionMessages(e));
-
-					var errorResponse = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, jsonrpcRequest.id(),
-							null, jsonRpcError);
-					return Mono.just(errorResponse);
-				})
-				.flatMap(transport::sendMessage)
+			return this.inFlightRequests.track(jsonrpcRequest.id(),
+					cancellation -> requestHandler
+						.handle(new McpAsyncServerExchange(this.id, stream, clientCapabilities.get(), clientInfo.get(),
+								transportContext, cancellation), jsonrpcRequest.params())
+						.map(result -> new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, jsonrpcRequest.id(),
+								result, null))
+						.onErrorResume(e -> {
+							McpSchema.JSONRPCResponse.JSONRPCError jsonRpcError = (e instanceof McpError mcpError
+									&& mcpError.getJsonRpcError() != null)
+											? mcpError.getJsonRpcError()
+											: new McpSchema.JSONRPCResponse.JSONRPCError(
+													McpSchema.ErrorCodes.INTERNAL_ERROR, e.getMessage(),
+													McpError.aggregateExceptionMessages(e));
+
+							var errorResponse = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION,
+									jsonrpcRequest.id(), null, jsonRpcError);
+							return Mono.just(errorResponse);
+						}))
+				.flatMap(stream::send)
 				.then(transport.closeGracefully());
 		});
 	}
@@ -201,6 +310,12 @@ public class McpStreamableServerSession implements McpLoggableSession {
 	public Mono<Void> accept(McpSchema.JSONRPCNotification notification) {
 		return Mono.deferContextual(ctx -> {
 			McpTransportContext transportContext = ctx.getOrDefault(McpTransportContext.KEY, McpTransportContext.EMPTY);
+			if (McpSchema.METHOD_NOTIFICATION_CANCELLED.equals(notification.method())) {
+				McpJsonMapper mapper = (this.jsonMapper != null) ? this.jsonMapper : McpJsonMapper.getDefault();
+				this.inFlightRequests
+					.cancel(mapper.convertValue(notification.params(), McpSchema.CancelledNotification.class));
+				return Mono.empty();
+			}
 			McpNotificationHandler notificationHandler = this.notificationHandlers.get(notification.method());
 			if (notificationHandler == null) {
 				logger.warn("No handler registered for notification method: {}", notification);
@@ -223,22 +338,11 @@ public class McpStreamableServerSession implements McpLoggableSession {
 			logger.debug("Received response: {}", response);
 
 			if (response.id() != null) {
-				var stream = this.requestIdToStream.get(response.id());
-				if (stream == null) {
-					return Mono.error(McpError.builder(ErrorCodes.INTERNAL_ERROR)
-						.message("Unexpected response for unknown id " + response.id())
-						.build());
-				}
-				// TODO: encapsulate this inside the stream itself
-				var sink = stream.pendingResponses.remove(response.id());
-				if (sink == null) {
+				if (!this.pendingRequests.complete(response)) {
 					return Mono.error(McpError.builder(ErrorCodes.INTERNAL_ERROR)
 						.message("Unexpected response for unknown id " + response.id())
 						.build());
 				}
-				else {
-					sink.success(response);
-				}
 			}
 			else {
 				logger.error("Discarded MCP request response without session id. "
@@ -249,6 +353,10 @@ public class McpStreamableServerSession implements McpLoggableSession {
 		});
 	}
 
+	private void dismissPendingRequests() {
+		this.pendingRequests.close(new RuntimeException("MCP session with client terminated"));
+	}
+
 	record MethodNotFoundError(String method, String message, Object data) {
 	}
 
@@ -259,6 +367,7 @@ public class McpStreamableServerSession implements McpLoggableSession {
 	@Override
 	public Mono<Void> closeGracefully() {
 		return Mono.defer(() -> {
+			dismissPendingRequests();
 			McpLoggableSession listeningStream = this.listeningStreamRef.getAndSet(missingMcpTransportSession);
 			return listeningStream.closeGracefully();
 			// TODO: Also close all the open streams
@@ -267,6 +376,8 @@ public class McpStreamableServerSession implements McpLoggableSession {
 
 	@Override
 	public void close() {
+		dismissPendingRequests();
+		this.inFlightRequests.cancelAll();
 		McpLoggableSession listeningStream = this.listeningStreamRef.getAndSet(missingMcpTransportSession);
 		if (listeningStream != null) {
 			listeningStream.close();
@@ -319,8 +430,6 @@ public class McpStreamableServerSession implements McpLoggableSession {
 	 */
 	public final class McpStreamableServerSessionStream implements McpLoggableSession {
 
-		private final ConcurrentHashMap<Object, MonoSink<McpSchema.JSONRPCResponse>> pendingResponses = new ConcurrentHashMap<>();
-
 		private final McpStreamableServerTransport transport;
 
 		private final String transportId;
@@ -336,7 +445,7 @@ public class McpStreamableServerSession implements McpLoggableSession {
 			this.transportId = UUID.randomUUID().toString();
 			// This ID design allows for a constant-time extraction of the history by
 			// precisely identifying the SSE stream using the first component
-			this.uuidGenerator = () -> this.transportId + "_" + UUID.randomUUID();
+			this.uuidGenerator = () -> this.transportId + EVENT_ID_SEPARATOR + UUID.randomUUID();
 		}
 
 		@Override
@@ -354,64 +463,83 @@ public class McpStreamableServerSession implements McpLoggableSession {
 		public <T> Mono<T> sendRequest(String method, Object requestParams, TypeRef<T> typeRef) {
 			String requestId = McpStreamableServerSession.this.generateRequestId();
 
-			McpStreamableServerSession.this.requestIdToStream.put(requestId, this);
-
-			return Mono.<McpSchema.JSONRPCResponse>create(sink -> {
-				this.pendingResponses.put(requestId, sink);
-				McpSchema.JSONRPCRequest jsonrpcRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
-						method, requestId, requestParams);
-				String messageId = this.uuidGenerator.get();
-				// TODO: store message in history
-				this.transport.sendMessage(jsonrpcRequest, messageId).subscribe(v -> {
-				}, sink::error);
-			}).timeout(requestTimeout).doOnError(e -> {
-				this.pendingResponses.remove(requestId);
-				McpStreamableServerSession.this.requestIdToStream.remove(requestId);
-			}).handle((jsonRpcResponse, sink) -> {
-				if (jsonRpcResponse.error() != null) {
-					sink.error(new McpError(jsonRpcResponse.error()));
-				}
-				else {
-					if (typeRef.getType().equals(Void.class)) {
-						sink.complete();
+			return McpStreamableServerSession.this.pendingRequests
+				.send(requestId, this,
+						() -> send(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, method, requestId,
+								requestParams)))
+				.timeout(requestTimeout)
+				.handle((jsonRpcResponse, sink) -> {
+					if (jsonRpcResponse.error() != null) {
+						sink.error(new McpError(jsonRpcResponse.error()));
 					}
 					else {
-						sink.next(this.transport.unmarshalFrom(jsonRpcResponse.result(), typeRef));
+						if (typeRef.getType().equals(Void.class)) {
+							sink.complete();
+						}
+						else {
+							sink.next(this.transport.unmarshalFrom(jsonRpcResponse.result(), typeRef));
+						}
 					}
-				}
-			});
+				});
 		}
 
 		@Override
 		public Mono<Void> sendNotification(String method, Object params) {
 			McpSchema.JSONRPCNotification jsonrpcNotification = new McpSchema.JSONRPCNotification(
 					McpSchema.JSONRPC_VERSION, method, params);
-			String messageId = this.uuidGenerator.get();
-			// TODO: store message in history
-			return this.transport.sendMessage(jsonrpcNotification, messageId);
+			return send(jsonrpcNotification);
+		}
+
+		@Override
+		public Mono<Void> sendEncodedNotification(EncodedMessage notification) {
+			return Mono.defer(() -> {
+				String messageId = this.uuidGenerator.get();
+				return store(messageId, notification.message())
+					.then(this.transport.sendEncodedMessage(notification, messageId));
+			});
+		}
+
+		/**
+		 * Records the message so that it can be replayed, then sends it with a new event
+		 * ID.
+		 */
+		private Mono<Void> send(McpSchema.JSONRPCMessage message) {
+			return Mono.defer(() -> {
+				String messageId = this.uuidGenerator.get();
+				return store(messageId, message).then(this.transport.sendMessage(message, messageId));
+			});
+		}
+
+		private Mono<Void> store(String messageId, McpSchema.JSONRPCMessage message) {
+			if (McpStreamableServerSession.this.eventStore == null) {
+				return Mono.empty();
+			}
+			return McpStreamableServerSession.this.eventStore
+				.storeEvent(McpStreamableServerSession.this.id, this.transportId, messageId, message)
+				.onErrorResume(e -> {
+					logger.warn("Failed to store event {} of session {}: {}", messageId,
+							McpStreamableServerSession.this.id, e.getMessage());
+					return Mono.empty();
+				});
 		}
 
 		@Override
 		public Mono<Void> closeGracefully() {
 			return Mono.defer(() -> {
-				this.pendingResponses.values().forEach(s -> s.error(new RuntimeException("Stream closed")));
-				this.pendingResponses.clear();
+				McpStreamableServerSession.this.pendingRequests.failStream(this, new RuntimeException("Stream closed"));
 				// If this was the generic stream, reset it
 				McpStreamableServerSession.this.listeningStreamRef.compareAndExchange(this,
 						McpStreamableServerSession.this.missingMcpTransportSession);
-				McpStreamableServerSession.this.requestIdToStream.values().removeIf(this::equals);
 				return this.transport.closeGracefully();
 			});
 		}
 
 		@Override
 		public void close() {
-			this.pendingResponses.values().forEach(s -> s.error(new RuntimeException("Stream closed")));
-			this.pendingResponses.clear();
+			McpStreamableServerSession.this.pendingRequests.failStream(this, new RuntimeException("Stream closed"));
 			// If this was the generic stream, reset it
 			McpStreamableServerSession.this.listeningStreamRef.compareAndExchange(this,
 					McpStreamableServerSession.this.missingMcpTransportSession);
-			McpStreamableServerSession.this.requestIdToStream.values().removeIf(this::equals);
 			this.transport.close();
 		}
 
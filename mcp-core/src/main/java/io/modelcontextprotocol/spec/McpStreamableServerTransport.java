@@ -21,4 +21,21 @@ public interface McpStreamableServerTransport extends McpServerTransport {
 	 */
 	Mono<Void> sendMessage(McpSchema.JSONRPCMessage message, String messageId);
 
+	/**
+	 * Send an already serialized message to the client with a message ID for use in the
+	 * SSE event payload. The default implementation falls back to
+	 * {@link #sendMessage(McpSchema.JSONRPCMessage, String)}.
+	 * @param message the encoded JSON-RPC payload
+	 * @param messageId message id for SSE events
+	 * @return Mono which completes when done
+	 */
+	default Mono<Void> sendEncodedMessage(EncodedMessage message, String messageId) {
+		return sendMessage(message.message(), messageId);
+	}
+
+	@Override
+	default Mono<Void> sendEncodedMessage(EncodedMessage message) {
+		return sendEncodedMessage(message, null);
+	}
+
 }
@@ -43,6 +43,16 @@ public interface McpStreamableServerTransportProvider extends McpServerTransport
 	 */
 	void setSessionFactory(McpStreamableServerSession.Factory sessionFactory);
 
+	/**
+	 * Returns the store recording the messages sent on session streams, which allows
+	 * clients to resume a stream with the {@code Last-Event-ID} header after a dropped
+	 * connection.
+	 * @return the event store, or null if streams cannot be resumed
+	 */
+	default EventStore eventStore() {
+		return null;
+	}
+
 	/**
 	 * Sends a notification to all connected clients.
 	 * @param method the name of the notification method to be called on the clients
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * The requests a session sent to its peer and for which it awaits a response.
+ * <p>
+ * At most a fixed number of requests are in flight: once the window is full, further
+ * requests wait, in order, until a response arrives, a request fails or a waiting request
+ * is cancelled. Requests are indexed by the stream they were sent on, so the requests of
+ * a closing stream are failed without scanning the others. Once the table is closed, all
+ * pending and waiting requests are failed and new requests fail immediately, so no
+ * request waits for a peer that is gone.
+ */
+final class PendingRequests {
+
+	private final int maxInFlight;
+
+	private final Map<Object, Request> inFlight = new HashMap<>();
+
+	private final ArrayDeque<Request> waiting = new ArrayDeque<>();
+
+	private final Map<Object, Set<Request>> streams = new HashMap<>();
+
+	private Throwable closedError;
+
+	/**
+	 * Creates a table.
+	 * @param maxInFlight the maximum number of requests in flight, or 0 for no limit
+	 */
+	PendingRequests(int maxInFlight) {
+		this.maxInFlight = (maxInFlight > 0) ? maxInFlight : Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Sends a request once the window has room and awaits its response. Cancelling the
+	 * returned Mono, e.g. on timeout, releases the request.
+	 * @param requestId the ID of the request
+	 * @param stream the stream the request is sent on, or null
+	 * @param sender sends the request
+	 * @return a Mono emitting the response
+	 */
+	Mono<McpSchema.JSONRPCResponse> send(Object requestId, Object stream, Supplier<Mono<Void>> sender) {
+		return Mono.create(sink -> {
+			Request request = new Request(requestId, stream, sink, sender);
+			sink.onDispose(() -> release(request));
+			boolean start;
+			Throwable error;
+			synchronized (this) {
+				error = this.closedError;
+				start = error == null && this.inFlight.size() < this.maxInFlight;
+				if (error == null) {
+					if (start) {
+						this.inFlight.put(requestId, request);
+					}
+					else {
+						this.waiting.addLast(request);
+					}
+					if (stream != null) {
+						this.streams.computeIfAbsent(stream, key -> new LinkedHashSet<>()).add(request);
+					}
+				}
+			}
+			if (error != null) {
+				sink.error(error);
+			}
+			else if (start) {
+				request.start();
+			}
+		});
+	}
+
+	/**
+	 * Completes the request the response belongs to.
+	 * @param response the response
+	 * @return false if no request with the response ID is in flight
+	 */
+	boolean complete(McpSchema.JSONRPCResponse response) {
+		Request request;
+		synchronized (this) {
+			request = this.inFlight.get(response.id());
+		}
+		if (request == null) {
+			return false;
+		}
+		request.sink.success(response);
+		return true;
+	}
+
+	/**
+	 * Fails the requests sent on, or waiting to be sent on, a stream.
+	 * @param stream the stream
+	 * @param error the error the requests fail with
+	 */
+	void failStream(Object stream, Throwable error) {
+		List<Request> requests;
+		synchronized (this) {
+			Set<Request> streamRequests = this.streams.get(stream);
+			if (streamRequests == null) {
+				return;
+			}
+			// Fail the waiting requests first, so that the slots released by the others
+			// are not granted to them
+			requests = new ArrayList<>(streamRequests.size());
+			streamRequests.stream().filter(request -> !isInFlight(request)).forEach(requests::add);
+			streamRequests.stream().filter(this::isInFlight).forEach(requests::add);
+		}
+		requests.forEach(request -> request.sink.error(error));
+	}
+
+	/**
+	 * Fails all requests and rejects new requests with the given error.
+	 * @param error the error the requests fail with
+	 */
+	void close(Throwable error) {
+		List<Request> requests;
+		synchronized (this) {
+			if (this.closedError == null) {
+				this.closedError = error;
+			}
+			requests = new ArrayList<>(this.inFlight.values());
+			requests.addAll(this.waiting);
+		}
+		requests.forEach(request -> request.sink.error(error));
+	}
+
+	synchronized int inFlight() {
+		return this.inFlight.size();
+	}
+
+	synchronized int waiting() {
+		return this.waiting.size();
+	}
+
+	private boolean isInFlight(Request request) {
+		return this.inFlight.get(request.id) == request;
+	}
+
+	private void release(Request request) {
+		Request next = null;
+		synchronized (this) {
+			if (this.inFlight.remove(request.id, request)) {
+				if (this.closedError == null) {
+					next = this.waiting.pollFirst();
+					if (next != null) {
+						this.inFlight.put(next.id, next);
+					}
+				}
+			}
+			else {
+				this.waiting.remove(request);
+			}
+			if (request.stream != null) {
+				Set<Request> streamRequests = this.streams.get(request.stream);
+				if (streamRequests != null && streamRequests.remove(request) && streamRequests.isEmpty()) {
+					this.streams.remove(request.stream);
+				}
+			}
+		}
+		if (next != null) {
+			next.start();
+		}
+	}
+
+	private static final class Request {
+
+		private final Object id;
+
+		private final Object stream;
+
+		private final MonoSink<McpSchema.JSONRPCResponse> sink;
+
+		private final Supplier<Mono<Void>> sender;
+
+		private Request(Object id, Object stream, MonoSink<McpSchema.JSONRPCResponse> sink,
+				Supplier<Mono<Void>> sender) {
+			this.id = id;
+			this.stream = stream;
+			this.sink = sink;
+			this.sender = sender;
+		}
+
+		private void start() {
+			this.sender.get().contextWrite(this.sink.contextView()).subscribe(null, this.sink::error);
+		}
+
+	}
+
+}
@@ -5,6 +5,7 @@
 package io.modelcontextprotocol.util;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,7 +16,8 @@ import java.util.regex.Pattern;
  * Default implementation of the UriTemplateUtils interface.
  * <p>
  * This class provides methods for extracting variables from URI templates and matching
- * them against actual URIs.
+ * them against actual URIs. The template is compiled once, when the manager is created,
+ * so matching a URI does not build or compile a regular expression.
  *
  * @author Christian Tzolov
  */
@@ -28,6 +30,15 @@ public class DefaultMcpUriTemplateManager implements McpUriTemplateManager {
 
 	private final String uriTemplate;
 
+	private final List<String> variableNames;
+
+	private final String duplicateVariableName;
+
+	/**
+	 * Compiled template, or null if the template has no variables.
+	 */
+	private final Pattern pattern;
+
 	/**
 	 * Constructor for DefaultMcpUriTemplateManager.
 	 * @param uriTemplate The URI template to be used for variable extraction
@@ -35,36 +46,55 @@ public class DefaultMcpUriTemplateManager implements McpUriTemplateManager {
 	public DefaultMcpUriTemplateManager(String uriTemplate) {
 		Assert.hasText(uriTemplate, "URI template must not be null or empty");
 		this.uriTemplate = uriTemplate;
+
+		List<String> variables = new ArrayList<>();
+		String duplicate = null;
+		// Create a regex pattern by replacing each {variableName} with a capturing group
+		// and quoting the literal text around it, so characters like '?' are safe
+		StringBuilder patternBuilder = new StringBuilder("^");
+		Matcher variableMatcher = URI_VARIABLE_PATTERN.matcher(uriTemplate);
+		int lastEnd = 0;
+
+		while (variableMatcher.find()) {
+			String variableName = variableMatcher.group(1);
+			if (duplicate == null && variables.contains(variableName)) {
+				duplicate = variableName;
+			}
+			variables.add(variableName);
+
+			patternBuilder.append(Pattern.quote(uriTemplate.substring(lastEnd, variableMatcher.start())));
+			patternBuilder.append("([^/]+)");
+			lastEnd = variableMatcher.end();
+		}
+
+		if (lastEnd < uriTemplate.length()) {
+			patternBuilder.append(Pattern.quote(uriTemplate.substring(lastEnd)));
+		}
+
+		this.variableNames = Collections.unmodifiableList(variables);
+		this.duplicateVariableName = duplicate;
+		this.pattern = variables.isEmpty() ? null : Pattern.compile(patternBuilder.append("$").toString());
 	}
 
 	/**
 	 * Extract URI variable names from a URI template.
-	 * @param uriTemplate The URI template containing variables in the format
-	 * {variableName}
 	 * @return A list of variable names extracted from the template
 	 * @throws IllegalArgumentException if duplicate variable names are found
 	 */
 	@Override
 	public List<String> getVariableNames() {
-		List<String> variables = new ArrayList<>();
-		Matcher matcher = URI_VARIABLE_PATTERN.matcher(this.uriTemplate);
-
-		while (matcher.find()) {
-			String variableName = matcher.group(1);
-			if (variables.contains(variableName)) {
-				throw new IllegalArgumentException("Duplicate URI variable name in template: " + variableName);
-			}
-			variables.add(variableName);
+		if (this.duplicateVariableName != null) {
+			throw new IllegalArgumentException(
+					"Duplicate URI variable name in template: " + this.duplicateVariableName);
 		}
-
-		return variables;
+		return this.variableNames;
 	}
 
 	/**
 	 * Extract URI variable values from the actual request URI.
 	 * <p>
-	 * This method converts the URI template into a regex pattern, then uses that pattern
-	 * to extract variable values from the request URI.
+	 * This method matches the request URI against the compiled template pattern to
+	 * extract the variable values.
 	 * @param requestUri The actual URI from the request
 	 * @return A map of variable names to their values
 	 * @throws IllegalArgumentException if the URI template is invalid or the request URI
@@ -72,61 +102,17 @@ public class DefaultMcpUriTemplateManager implements McpUriTemplateManager {
 	 */
 	@Override
 	public Map<String, String> extractVariableValues(String requestUri) {
-		Map<String, String> variableValues = new HashMap<>();
 		List<String> uriVariables = this.getVariableNames();
 
 		if (!Utils.hasText(requestUri) || uriVariables.isEmpty()) {
-			return variableValues;
+			return new HashMap<>();
 		}
 
-		try {
-			// Create a regex pattern by replacing each {variableName} with a capturing
-			// group
-			StringBuilder patternBuilder = new StringBuilder("^");
-
-			// Find all variable placeholders and their positions
-			Matcher variableMatcher = URI_VARIABLE_PATTERN.matcher(uriTemplate);
-			int lastEnd = 0;
-
-			while (variableMatcher.find()) {
-				// Add the text between the last variable and this one, escaped for regex
-				String textBefore = uriTemplate.substring(lastEnd, variableMatcher.start());
-				patternBuilder.append(Pattern.quote(textBefore));
-
-				// Add a capturing group for the variable
-				patternBuilder.append("([^/]+)");
-
-				lastEnd = variableMatcher.end();
-			}
-
-			// Add any remaining text after the last variable
-			if (lastEnd < uriTemplate.length()) {
-				patternBuilder.append(Pattern.quote(uriTemplate.substring(lastEnd)));
-			}
-
-			patternBuilder.append("$");
-
-			// Compile the pattern and match against the request URI
-			Pattern pattern = Pattern.compile(patternBuilder.toString());
-			Matcher matcher = pattern.matcher(requestUri);
-
-			if (matcher.find() && matcher.groupCount() == uriVariables.size()) {
-				for (int i = 0; i < uriVariables.size(); i++) {
-					String value = matcher.group(i + 1);
-					if (value == null || value.isEmpty()) {
-						throw new IllegalArgumentException(
-								"Empty value for URI variable '" + uriVariables.get(i) + "' in URI: " + requestUri);
-					}
-					variableValues.put(uriVariables.get(i), value);
-				}
-			}
-		}
-		catch (Exception e) {
-			throw new IllegalArgumentException("Error parsing URI template: " + uriTemplate + " for URI: " + requestUri,
-					e);
+		Matcher matcher = this.pattern.matcher(requestUri);
+		if (!matcher.matches()) {
+			return new HashMap<>();
 		}
-
-		return variableValues;
+		return toVariableValues(matcher, requestUri);
 	}
 
 	/**
@@ -137,34 +123,26 @@ public class DefaultMcpUriTemplateManager implements McpUriTemplateManager {
 	@Override
 	public boolean matches(String uri) {
 		// If the uriTemplate doesn't contain variables, do a direct comparison
-		if (!this.isUriTemplate(this.uriTemplate)) {
+		if (this.pattern == null) {
 			return uri.equals(this.uriTemplate);
 		}
+		return this.pattern.matcher(uri).matches();
+	}
 
-		// Convert the URI template into a robust regex pattern that escapes special
-		// characters like '?'.
-		StringBuilder patternBuilder = new StringBuilder("^");
-		Matcher variableMatcher = URI_VARIABLE_PATTERN.matcher(this.uriTemplate);
-		int lastEnd = 0;
-
-		while (variableMatcher.find()) {
-			// Append the literal part of the template, safely quoted
-			String textBefore = this.uriTemplate.substring(lastEnd, variableMatcher.start());
-			patternBuilder.append(Pattern.quote(textBefore));
-			// Append a capturing group for the variable itself
-			patternBuilder.append("([^/]+?)");
-			lastEnd = variableMatcher.end();
-		}
-
-		// Append any remaining literal text after the last variable
-		if (lastEnd < this.uriTemplate.length()) {
-			patternBuilder.append(Pattern.quote(this.uriTemplate.substring(lastEnd)));
+	/**
+	 * Matches the URI against the compiled template and captures the variable values in
+	 * the same pass. Like {@link #matches(String)}, this accepts templates that repeat a
+	 * variable name; the first value captured for such a variable is kept.
+	 * @param uri The URI to match
+	 * @return A map of variable names to their values, or null if the URI doesn't match
+	 */
+	@Override
+	public Map<String, String> match(String uri) {
+		if (this.pattern == null) {
+			return uri.equals(this.uriTemplate) ? new HashMap<>() : null;
 		}
-
-		patternBuilder.append("$");
-
-		// Check if the URI matches the regex
-		return Pattern.compile(patternBuilder.toString()).matcher(uri).matches();
+		Matcher matcher = this.pattern.matcher(uri);
+		return matcher.matches() ? toVariableValues(matcher, uri) : null;
 	}
 
 	@Override
@@ -172,4 +150,17 @@ public class DefaultMcpUriTemplateManager implements McpUriTemplateManager {
 		return URI_VARIABLE_PATTERN.matcher(uri).find();
 	}
 
+	private Map<String, String> toVariableValues(Matcher matcher, String requestUri) {
+		Map<String, String> variableValues = new HashMap<>();
+		for (int i = 0; i < this.variableNames.size(); i++) {
+			String value = matcher.group(i + 1);
+			if (value == null || value.isEmpty()) {
+				throw new IllegalArgumentException(
+						"Empty value for URI variable '" + this.variableNames.get(i) + "' in URI: " + requestUri);
+			}
+			variableValues.putIfAbsent(this.variableNames.get(i), value);
+		}
+		return variableValues;
+	}
+
 }
@@ -43,6 +43,17 @@ public interface McpUriTemplateManager {
 	 */
 	boolean matches(String uri);
 
+	/**
+	 * Match the given URI against this template and capture the variable values in the
+	 * same pass.
+	 * @param uri the URI to match
+	 * @return a map of variable names to their values, or {@code null} if the URI does
+	 * not match
+	 */
+	default Map<String, String> match(String uri) {
+		return matches(uri) ? extractVariableValues(uri) : null;
+	}
+
 	/**
 	 * Check if the given URI is a URI template.
 	 * @return Returns true if the URI contains variables in the format {variableName}
@@ -13,7 +13,9 @@ public interface McpUriTemplateManagerFactory {
 
 	/**
 	 * Creates a new instance of {@link McpUriTemplateManager} with the specified URI
-	 * template.
+	 * template. Servers call this once when a resource or resource template is registered
+	 * and reuse the returned manager for every request, so implementations should do any
+	 * template compilation up front.
 	 * @param uriTemplate The URI template to be used for variable extraction
 	 * @return A new instance of {@link McpUriTemplateManager}
 	 * @throws IllegalArgumentException if the URI template is null or empty
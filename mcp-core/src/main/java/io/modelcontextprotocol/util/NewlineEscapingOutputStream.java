@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream that replaces line breaks ({@code \r\n}, {@code \n} and {@code \r}) with
+ * an escaped {@code \n} while passing all other bytes through, so that a message
+ * serialized into it fits on a single line as required by newline delimited transports
+ * such as stdio. Line breaks never occur inside multi-byte UTF-8 sequences, so the
+ * content can be escaped byte by byte.
+ * <p>
+ * Closing this stream does not close the underlying stream. Instances are meant to be
+ * used for a single message and are not thread-safe.
+ */
+public final class NewlineEscapingOutputStream extends FilterOutputStream {
+
+	private static final byte[] ESCAPED_NEWLINE = { '\\', 'n' };
+
+	private boolean pendingCarriageReturn;
+
+	/**
+	 * Creates a stream writing to the given stream.
+	 * @param out the underlying stream
+	 */
+	public NewlineEscapingOutputStream(OutputStream out) {
+		super(out);
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		if (this.pendingCarriageReturn) {
+			this.pendingCarriageReturn = false;
+			if (b == '\n') {
+				return;
+			}
+		}
+		if (b == '\r') {
+			this.out.write(ESCAPED_NEWLINE);
+			this.pendingCarriageReturn = true;
+		}
+		else if (b == '\n') {
+			this.out.write(ESCAPED_NEWLINE);
+		}
+		else {
+			this.out.write(b);
+		}
+	}
+
+	@Override
+	public void write(byte[] bytes, int offset, int length) throws IOException {
+		int start = offset;
+		int end = offset + length;
+		for (int i = offset; i < end; i++) {
+			byte b = bytes[i];
+			if (b == '\r' || b == '\n' || this.pendingCarriageReturn) {
+				this.out.write(bytes, start, i - start);
+				write(b);
+				start = i + 1;
+			}
+		}
+		this.out.write(bytes, start, end - start);
+	}
+
+	/**
+	 * Flushes the underlying stream without closing it.
+	 */
+	@Override
+	public void close() throws IOException {
+		flush();
+	}
+
+}
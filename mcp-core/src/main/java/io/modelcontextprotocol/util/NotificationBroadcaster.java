@@ -0,0 +1,180 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.util;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.spec.EncodedMessage;
+import io.modelcontextprotocol.spec.McpLoggableSession;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Broadcasts notifications to many sessions. The notification is serialized once and the
+ * same immutable JSON text is handed to every session transport. Deliveries run
+ * concurrently, with at most a bounded number of sends in flight, and a failure to reach
+ * one session does not prevent delivery to the others.
+ * <p>
+ * Transports that write to their clients with blocking I/O, e.g. on a servlet output
+ * stream, create the broadcaster with a {@link Scheduler}, so that each session is
+ * written to on that scheduler rather than on the thread of the caller, which would
+ * otherwise be held until every client has been written to.
+ * <p>
+ * Each broadcast produces a {@link Report} with the sessions that could not be reached
+ * and the time it took to deliver to all sessions.
+ *
+ * @see EncodedMessage
+ */
+public class NotificationBroadcaster {
+
+	private static final Logger logger = LoggerFactory.getLogger(NotificationBroadcaster.class);
+
+	/** Default maximum number of sessions notified concurrently */
+	public static final int DEFAULT_CONCURRENCY = 256;
+
+	private final McpJsonMapper jsonMapper;
+
+	private final int concurrency;
+
+	private final Scheduler scheduler;
+
+	/**
+	 * Creates a broadcaster notifying at most {@link #DEFAULT_CONCURRENCY} sessions
+	 * concurrently, on the thread of the caller.
+	 * @param jsonMapper the mapper used to serialize notifications
+	 */
+	public NotificationBroadcaster(McpJsonMapper jsonMapper) {
+		this(jsonMapper, DEFAULT_CONCURRENCY);
+	}
+
+	/**
+	 * Creates a broadcaster notifying at most {@link #DEFAULT_CONCURRENCY} sessions
+	 * concurrently, on the given scheduler.
+	 * @param jsonMapper the mapper used to serialize notifications
+	 * @param scheduler the scheduler the sessions are written to on
+	 */
+	public NotificationBroadcaster(McpJsonMapper jsonMapper, Scheduler scheduler) {
+		this(jsonMapper, DEFAULT_CONCURRENCY, scheduler);
+		Assert.notNull(scheduler, "Scheduler must not be null");
+	}
+
+	/**
+	 * Creates a broadcaster notifying sessions on the thread of the caller.
+	 * @param jsonMapper the mapper used to serialize notifications
+	 * @param concurrency the maximum number of sessions notified concurrently
+	 */
+	public NotificationBroadcaster(McpJsonMapper jsonMapper, int concurrency) {
+		this(jsonMapper, concurrency, null);
+	}
+
+	private NotificationBroadcaster(McpJsonMapper jsonMapper, int concurrency, Scheduler scheduler) {
+		Assert.notNull(jsonMapper, "JsonMapper must not be null");
+		Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0");
+		this.jsonMapper = jsonMapper;
+		this.concurrency = concurrency;
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Sends a notification to all the given sessions.
+	 * @param sessions the sessions to notify, keyed by session ID
+	 * @param method the notification method
+	 * @param params the notification parameters
+	 * @return a Mono emitting the delivery report once every session has been attempted,
+	 * or an error if the notification cannot be serialized
+	 */
+	public Mono<Report> broadcast(Map<String, ? extends McpSession> sessions, String method, Object params) {
+		return Mono.defer(() -> {
+			if (sessions.isEmpty()) {
+				logger.debug("No active sessions to broadcast message to");
+				return Mono.just(new Report(0, Map.of(), Duration.ZERO));
+			}
+
+			EncodedMessage notification;
+			try {
+				notification = EncodedMessage.encode(this.jsonMapper,
+						new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, method, params));
+			}
+			catch (IOException e) {
+				return Mono.error(e);
+			}
+
+			long start = System.nanoTime();
+			AtomicInteger attempted = new AtomicInteger();
+			Map<String, Throwable> failures = new ConcurrentHashMap<>();
+			return Flux.fromIterable(sessions.entrySet()).flatMap(entry -> {
+				attempted.incrementAndGet();
+				Mono<Void> delivery = entry.getValue().sendEncodedNotification(notification);
+				if (this.scheduler != null) {
+					delivery = delivery.subscribeOn(this.scheduler);
+				}
+				return delivery.doOnError(e -> {
+					logger.error("Failed to send message to session {}: {}", entry.getKey(), e.getMessage());
+					failures.put(entry.getKey(), e);
+				}).onErrorComplete();
+			}, this.concurrency).then(Mono.fromSupplier(() -> {
+				Report report = new Report(attempted.get(), Map.copyOf(failures),
+						Duration.ofNanos(System.nanoTime() - start));
+				logger.debug("Broadcast {} to {} sessions in {} ms, {} failed", method, report.sessions(),
+						report.latency().toMillis(), report.failures().size());
+				return report;
+			}));
+		});
+	}
+
+	/**
+	 * Sends a logging message notification to the given sessions that accept its level.
+	 * Sessions are filtered before the notification is serialized, so a message that no
+	 * session accepts is never serialized.
+	 * @param sessions the sessions to notify, keyed by session ID
+	 * @param loggingMessageNotification the logging message
+	 * @return a Mono emitting the delivery report of the sessions that accept the message
+	 */
+	public Mono<Report> broadcastLoggingMessage(Map<String, ? extends McpLoggableSession> sessions,
+			McpSchema.LoggingMessageNotification loggingMessageNotification) {
+		return Mono.defer(() -> {
+			Map<String, McpLoggableSession> accepting = new HashMap<>();
+			sessions.forEach((sessionId, session) -> {
+				if (session.isNotificationForLevelAllowed(loggingMessageNotification.level())) {
+					accepting.put(sessionId, session);
+				}
+			});
+			return broadcast(accepting, McpSchema.METHOD_NOTIFICATION_MESSAGE, loggingMessageNotification);
+		});
+	}
+
+	/**
+	 * The outcome of a broadcast.
+	 *
+	 * @param sessions the number of sessions a delivery was attempted to
+	 * @param failures the delivery errors, keyed by session ID
+	 * @param latency the time between serializing the notification and the completion of
+	 * the last delivery
+	 */
+	public record Report(int sessions, Map<String, Throwable> failures, Duration latency) {
+
+		/**
+		 * Returns the number of sessions the notification was delivered to.
+		 * @return the number of successful deliveries
+		 */
+		public int delivered() {
+			return this.sessions - this.failures.size();
+		}
+
+	}
+
+}
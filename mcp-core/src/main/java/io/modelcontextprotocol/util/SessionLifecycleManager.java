@@ -0,0 +1,408 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.util;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.modelcontextprotocol.spec.McpSession;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Keeps the live sessions of a server transport provider and enforces its
+ * {@link SessionLimits}.
+ * <p>
+ * Looking a session up marks it as used, which only records the current time. Idle
+ * sessions are found by a hashed timing wheel: every session sits in the slot of its
+ * expiry, and a single periodic task visits one slot per tick, evicting the sessions that
+ * expired and moving the others to the slot of their new expiry. Sessions are thus
+ * evicted at most one tick, a {@value #WHEEL_SIZE}th of the idle timeout, after they
+ * expired, without a timer per session.
+ * <p>
+ * When a session is registered while the maximum number of sessions is live, either the
+ * least recently used session is evicted, found by scanning the sessions, or the new
+ * session is rejected. Evicted sessions are closed with the eviction handler.
+ *
+ * @param <S> the type of the sessions
+ */
+public class SessionLifecycleManager<S extends McpSession> {
+
+	private static final Logger logger = LoggerFactory.getLogger(SessionLifecycleManager.class);
+
+	/** Number of slots of the timing wheel, a power of two */
+	static final int WHEEL_SIZE = 64;
+
+	private static final long MIN_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final SessionLimits limits;
+
+	private final Function<S, Mono<Void>> evictionHandler;
+
+	private final LongSupplier nanoClock;
+
+	private final ConcurrentHashMap<String, Entry<S>> entries = new ConcurrentHashMap<>();
+
+	private final Map<String, S> sessions = new ConcurrentHashMap<>();
+
+	private final Map<String, S> sessionsView = Collections.unmodifiableMap(this.sessions);
+
+	private final List<Consumer<S>> removalListeners = new CopyOnWriteArrayList<>();
+
+	private final Object registrationLock = new Object();
+
+	private final LongAdder idleEvictions = new LongAdder();
+
+	private final LongAdder capacityEvictions = new LongAdder();
+
+	private final LongAdder rejectedSessions = new LongAdder();
+
+	private final long idleTimeoutNanos;
+
+	private final long tickNanos;
+
+	/** The timing wheel, or null if idle sessions are kept */
+	private final Queue<Entry<S>>[] wheel;
+
+	private final Disposable sweeper;
+
+	/** The last tick visited by the sweeper */
+	private long lastTick;
+
+	/**
+	 * Creates a manager sweeping idle sessions on the parallel scheduler.
+	 * @param limits the limits to enforce
+	 * @param evictionHandler closes an evicted session
+	 */
+	public SessionLifecycleManager(SessionLimits limits, Function<S, Mono<Void>> evictionHandler) {
+		this(limits, evictionHandler, Schedulers.parallel(), System::nanoTime);
+	}
+
+	@SuppressWarnings("unchecked")
+	SessionLifecycleManager(SessionLimits limits, Function<S, Mono<Void>> evictionHandler, Scheduler scheduler,
+			LongSupplier nanoClock) {
+		Assert.notNull(limits, "Session limits must not be null");
+		Assert.notNull(evictionHandler, "Eviction handler must not be null");
+		Assert.notNull(nanoClock, "Clock must not be null");
+		this.limits = limits;
+		this.evictionHandler = evictionHandler;
+		this.nanoClock = nanoClock;
+
+		Duration idleTimeout = limits.idleTimeout();
+		if (idleTimeout == null) {
+			this.idleTimeoutNanos = 0;
+			this.tickNanos = 0;
+			this.wheel = null;
+			this.sweeper = null;
+			return;
+		}
+		this.idleTimeoutNanos = idleTimeout.toNanos();
+		this.tickNanos = Math.max(MIN_TICK_NANOS, (this.idleTimeoutNanos + WHEEL_SIZE - 1) / WHEEL_SIZE);
+		this.wheel = new Queue[WHEEL_SIZE];
+		for (int i = 0; i < WHEEL_SIZE; i++) {
+			this.wheel[i] = new ConcurrentLinkedQueue<>();
+		}
+		this.lastTick = Math.floorDiv(nanoClock.getAsLong(), this.tickNanos);
+		this.sweeper = (scheduler != null) ? scheduler.schedulePeriodically(this::sweepQuietly, this.tickNanos,
+				this.tickNanos, TimeUnit.NANOSECONDS) : null;
+	}
+
+	/**
+	 * Registers a new session, evicting the least recently used session if the maximum
+	 * number of sessions is live and the overflow policy allows it.
+	 * @param sessionId the ID of the session
+	 * @param session the session
+	 * @return true if the session was registered, false if it was rejected
+	 */
+	public boolean register(String sessionId, S session) {
+		Assert.notNull(sessionId, "Session ID must not be null");
+		Assert.notNull(session, "Session must not be null");
+		Entry<S> entry = new Entry<>(sessionId, session, this.nanoClock.getAsLong());
+		Entry<S> evicted = null;
+		synchronized (this.registrationLock) {
+			int maxSessions = this.limits.maxSessions();
+			if (maxSessions > 0 && this.entries.size() >= maxSessions && !this.entries.containsKey(sessionId)) {
+				if (this.limits.overflowPolicy() == SessionLimits.OverflowPolicy.REJECT) {
+					this.rejectedSessions.increment();
+					logger.warn("Rejected session {}: {} sessions are live", sessionId, this.entries.size());
+					return false;
+				}
+				evicted = leastRecentlyUsed();
+				if (evicted != null && !unlink(evicted)) {
+					evicted = null;
+				}
+			}
+			Entry<S> previous = this.entries.put(sessionId, entry);
+			if (previous != null) {
+				previous.removed = true;
+			}
+			this.sessions.put(sessionId, session);
+		}
+		if (evicted != null) {
+			this.capacityEvictions.increment();
+			logger.debug("Evicted least recently used session {} for session {}", evicted.id, sessionId);
+			close(evicted);
+		}
+		if (this.wheel != null) {
+			slot(Math.floorDiv(entry.lastAccess + this.idleTimeoutNanos, this.tickNanos)).offer(entry);
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether a new session would be registered, for transports that must answer
+	 * before the session can be created. A negative answer counts as a rejected session.
+	 * @return false if the maximum number of sessions is live and new sessions are
+	 * rejected
+	 */
+	public boolean admitsNewSession() {
+		int maxSessions = this.limits.maxSessions();
+		if (maxSessions > 0 && this.entries.size() >= maxSessions
+				&& this.limits.overflowPolicy() == SessionLimits.OverflowPolicy.REJECT) {
+			this.rejectedSessions.increment();
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a session and marks it as used.
+	 * @param sessionId the ID of the session
+	 * @return the session, or null if there is no such live session
+	 */
+	public S get(String sessionId) {
+		Entry<S> entry = this.entries.get(sessionId);
+		if (entry == null) {
+			return null;
+		}
+		entry.lastAccess = this.nanoClock.getAsLong();
+		return entry.session;
+	}
+
+	/**
+	 * Removes a session without closing it.
+	 * @param sessionId the ID of the session
+	 * @return the removed session, or null if there was no such live session
+	 */
+	public S remove(String sessionId) {
+		Entry<S> entry = this.entries.get(sessionId);
+		return (entry != null && unlink(entry)) ? entry.session : null;
+	}
+
+	/**
+	 * Returns the live sessions, without marking them as used.
+	 * @return a read-only view of the live sessions, keyed by session ID
+	 */
+	public Map<String, S> asMap() {
+		return this.sessionsView;
+	}
+
+	/**
+	 * Returns the live sessions among the given ones, without marking them as used.
+	 * @param sessionIds the IDs of the sessions
+	 * @return the live sessions, keyed by session ID
+	 */
+	public Map<String, S> select(Collection<String> sessionIds) {
+		Map<String, S> selected = new LinkedHashMap<>();
+		for (String sessionId : sessionIds) {
+			S session = this.sessions.get(sessionId);
+			if (session != null) {
+				selected.put(sessionId, session);
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * Returns the live sessions, without marking them as used.
+	 * @return a read-only view of the live sessions
+	 */
+	public Collection<S> values() {
+		return this.sessionsView.values();
+	}
+
+	/**
+	 * Returns the number of live sessions.
+	 * @return the number of live sessions
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Registers a listener called with every session that is removed, whether it was
+	 * removed explicitly, evicted or cleared.
+	 * @param listener the listener to call with a removed session
+	 */
+	public void addRemovalListener(Consumer<S> listener) {
+		Assert.notNull(listener, "Removal listener must not be null");
+		this.removalListeners.add(listener);
+	}
+
+	/**
+	 * Removes all sessions without closing them.
+	 */
+	public void clear() {
+		this.entries.values().forEach(this::unlink);
+	}
+
+	/**
+	 * Stops sweeping idle sessions. Registered sessions are kept.
+	 */
+	public void close() {
+		if (this.sweeper != null) {
+			this.sweeper.dispose();
+		}
+	}
+
+	/**
+	 * Returns the current session counters.
+	 * @return the session counters
+	 */
+	public Stats stats() {
+		return new Stats(this.entries.size(), this.idleEvictions.sum(), this.capacityEvictions.sum(),
+				this.rejectedSessions.sum());
+	}
+
+	/**
+	 * Visits the slots of the timing wheel for the ticks elapsed since the last sweep,
+	 * evicting the sessions that expired.
+	 */
+	synchronized void sweep() {
+		if (this.wheel == null) {
+			return;
+		}
+		long now = this.nanoClock.getAsLong();
+		long currentTick = Math.floorDiv(now, this.tickNanos);
+		for (long tick = Math.max(this.lastTick + 1, currentTick - WHEEL_SIZE + 1); tick <= currentTick; tick++) {
+			Queue<Entry<S>> slot = slot(tick);
+			for (int remaining = slot.size(); remaining > 0; remaining--) {
+				Entry<S> entry = slot.poll();
+				if (entry == null) {
+					break;
+				}
+				if (entry.removed) {
+					continue;
+				}
+				long expiry = entry.lastAccess + this.idleTimeoutNanos;
+				if (now - expiry >= 0) {
+					if (unlink(entry)) {
+						this.idleEvictions.increment();
+						logger.debug("Evicted session {} idle for more than {}", entry.id, this.limits.idleTimeout());
+						close(entry);
+					}
+				}
+				else {
+					slot(Math.max(Math.floorDiv(expiry, this.tickNanos), tick + 1)).offer(entry);
+				}
+			}
+		}
+		this.lastTick = currentTick;
+	}
+
+	private void sweepQuietly() {
+		try {
+			sweep();
+		}
+		catch (Exception e) {
+			logger.error("Failed to sweep idle sessions", e);
+		}
+	}
+
+	private Queue<Entry<S>> slot(long tick) {
+		return this.wheel[(int) (tick & (WHEEL_SIZE - 1))];
+	}
+
+	private Entry<S> leastRecentlyUsed() {
+		Entry<S> oldest = null;
+		for (Entry<S> entry : this.entries.values()) {
+			if (oldest == null || entry.lastAccess - oldest.lastAccess < 0) {
+				oldest = entry;
+			}
+		}
+		return oldest;
+	}
+
+	private boolean unlink(Entry<S> entry) {
+		if (!this.entries.remove(entry.id, entry)) {
+			return false;
+		}
+		entry.removed = true;
+		this.sessions.remove(entry.id, entry.session);
+		for (Consumer<S> listener : this.removalListeners) {
+			try {
+				listener.accept(entry.session);
+			}
+			catch (Exception e) {
+				logger.error("Removal listener failed for session {}", entry.id, e);
+			}
+		}
+		return true;
+	}
+
+	private void close(Entry<S> entry) {
+		Mono.defer(() -> this.evictionHandler.apply(entry.session))
+			.subscribe(null, e -> logger.warn("Failed to close evicted session {}: {}", entry.id, e.getMessage()));
+	}
+
+	/**
+	 * Session counters of a transport provider.
+	 *
+	 * @param liveSessions the number of live sessions
+	 * @param idleEvictions the number of sessions evicted because they were idle
+	 * @param capacityEvictions the number of sessions evicted to make room for new
+	 * sessions
+	 * @param rejectedSessions the number of new sessions rejected because the maximum
+	 * number of sessions was live
+	 */
+	public record Stats(int liveSessions, long idleEvictions, long capacityEvictions, long rejectedSessions) {
+
+		/**
+		 * Returns the total number of evicted sessions.
+		 * @return the number of evicted sessions
+		 */
+		public long evictions() {
+			return this.idleEvictions + this.capacityEvictions;
+		}
+
+	}
+
+	private static final class Entry<S> {
+
+		private final String id;
+
+		private final S session;
+
+		private volatile long lastAccess;
+
+		private volatile boolean removed;
+
+		private Entry(String id, S session, long lastAccess) {
+			this.id = id;
+			this.session = session;
+			this.lastAccess = lastAccess;
+		}
+
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.util;
+
+import java.time.Duration;
+
+/**
+ * Limits applied to the sessions of a server transport provider: how long a session may
+ * stay idle before it is evicted, and how many sessions may be live at the same time.
+ * <p>
+ * A session is idle while the client sends no messages on it. Clients answer the
+ * keep-alive pings of the server, so a keep-alive interval shorter than the idle timeout
+ * keeps sessions of connected clients alive.
+ *
+ * @see SessionLifecycleManager
+ */
+public final class SessionLimits {
+
+	/** No idle timeout and no limit on the number of sessions */
+	public static final SessionLimits NONE = builder().build();
+
+	/**
+	 * What to do when a session is created while the maximum number of sessions is live.
+	 */
+	public enum OverflowPolicy {
+
+		/** Evict the session that has been idle for the longest time */
+		EVICT_LEAST_RECENTLY_USED,
+
+		/** Reject the new session */
+		REJECT
+
+	}
+
+	private final Duration idleTimeout;
+
+	private final int maxSessions;
+
+	private final OverflowPolicy overflowPolicy;
+
+	private SessionLimits(Duration idleTimeout, int maxSessions, OverflowPolicy overflowPolicy) {
+		this.idleTimeout = idleTimeout;
+		this.maxSessions = maxSessions;
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Returns the time after which idle sessions are evicted.
+	 * @return the idle timeout, or null if idle sessions are kept
+	 */
+	public Duration idleTimeout() {
+		return this.idleTimeout;
+	}
+
+	/**
+	 * Returns the maximum number of live sessions.
+	 * @return the maximum number of sessions, or 0 if unlimited
+	 */
+	public int maxSessions() {
+		return this.maxSessions;
+	}
+
+	/**
+	 * Returns what happens to new sessions once the maximum number of sessions is live.
+	 * @return the overflow policy
+	 */
+	public OverflowPolicy overflowPolicy() {
+		return this.overflowPolicy;
+	}
+
+	/**
+	 * Creates a new Builder instance for constructing SessionLimits.
+	 * @return A new Builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder class for creating SessionLimits instances with fluent API.
+	 */
+	public static class Builder {
+
+		private Duration idleTimeout;
+
+		private int maxSessions;
+
+		private OverflowPolicy overflowPolicy = OverflowPolicy.EVICT_LEAST_RECENTLY_USED;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the time after which sessions on which the client sent no messages are
+		 * evicted. By default idle sessions are kept until they are deleted.
+		 * @param idleTimeout The idle timeout
+		 * @return This builder instance for method chaining
+		 */
+		public Builder idleTimeout(Duration idleTimeout) {
+			Assert.notNull(idleTimeout, "Idle timeout must not be null");
+			Assert.isTrue(!idleTimeout.isNegative() && !idleTimeout.isZero(), "Idle timeout must be positive");
+			this.idleTimeout = idleTimeout;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of live sessions. By default the number of sessions is
+		 * unlimited.
+		 * @param maxSessions The maximum number of sessions
+		 * @return This builder instance for method chaining
+		 */
+		public Builder maxSessions(int maxSessions) {
+			Assert.isTrue(maxSessions > 0, "Max sessions must be greater than 0");
+			this.maxSessions = maxSessions;
+			return this;
+		}
+
+		/**
+		 * Sets what happens to new sessions once the maximum number of sessions is live.
+		 * Defaults to {@link OverflowPolicy#EVICT_LEAST_RECENTLY_USED}.
+		 * @param overflowPolicy The overflow policy
+		 * @return This builder instance for method chaining
+		 */
+		public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+			Assert.notNull(overflowPolicy, "Overflow policy must not be null");
+			this.overflowPolicy = overflowPolicy;
+			return this;
+		}
+
+		/**
+		 * Builds and returns a new SessionLimits instance.
+		 * @return A new SessionLimits configured with the builder's settings
+		 */
+		public SessionLimits build() {
+			return new SessionLimits(this.idleTimeout, this.maxSessions, this.overflowPolicy);
+		}
+
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Gives access to virtual threads when the runtime supports them. The SDK is compiled for
+ * Java 17, so virtual threads are looked up reflectively: on Java 21 or later
+ * {@link #scheduler()} starts a new virtual thread for each task, so blocking handlers
+ * are not limited by the size of a thread pool. On older runtimes it falls back to
+ * {@link Schedulers#boundedElastic()}.
+ */
+public final class VirtualThreads {
+
+	private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+
+	private static final String THREAD_NAME_PREFIX = "mcp-virtual-";
+
+	private static final AtomicBoolean fallbackLogged = new AtomicBoolean();
+
+	private VirtualThreads() {
+	}
+
+	/**
+	 * Returns whether the runtime supports virtual threads.
+	 * @return true on Java 21 or later
+	 */
+	public static boolean isAvailable() {
+		return Holder.SCHEDULER != null;
+	}
+
+	/**
+	 * Returns a scheduler running each task on its own virtual thread. The scheduler is
+	 * shared and must not be disposed.
+	 * @return the virtual thread scheduler, or {@link Schedulers#boundedElastic()} if the
+	 * runtime does not support virtual threads
+	 */
+	public static Scheduler scheduler() {
+		if (Holder.SCHEDULER != null) {
+			return Holder.SCHEDULER;
+		}
+		if (fallbackLogged.compareAndSet(false, true)) {
+			logger.warn("Virtual threads require Java 21 or later, falling back to the bounded elastic scheduler");
+		}
+		return Schedulers.boundedElastic();
+	}
+
+	private static Scheduler createScheduler() {
+		try {
+			Method ofVirtual = Thread.class.getMethod("ofVirtual");
+			Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+			Object builder = builderType.getMethod("name", String.class, long.class)
+				.invoke(ofVirtual.invoke(null), THREAD_NAME_PREFIX, 0L);
+			ThreadFactory threadFactory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+			ExecutorService executor = (ExecutorService) Executors.class
+				.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+				.invoke(null, threadFactory);
+			return Schedulers.fromExecutorService(executor, "mcp-virtual");
+		}
+		catch (ReflectiveOperationException | RuntimeException ex) {
+			// Older runtime, or virtual threads still in preview
+			logger.debug("Virtual threads are not available: {}", ex.toString());
+			return null;
+		}
+	}
+
+	private static final class Holder {
+
+		private static final Scheduler SCHEDULER = createScheduler();
+
+	}
+
+}
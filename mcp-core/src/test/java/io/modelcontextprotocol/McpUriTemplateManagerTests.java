@@ -6,6 +6,7 @@ package io.modelcontextprotocol;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -94,6 +95,22 @@ public class McpUriTemplateManagerTests {
 		assertFalse(uriTemplateManager.matches("/api/users/123/comments/456"));
 	}
 
+	@Test
+	void shouldMatchAndCaptureVariablesInOnePass() {
+		var uriTemplateManager = this.uriTemplateFactory.create("/api/users/{userId}/posts/{postId}");
+
+		assertEquals(Map.of("userId", "123", "postId", "456"), uriTemplateManager.match("/api/users/123/posts/456"));
+		assertNull(uriTemplateManager.match("/api/users/123/comments/456"));
+	}
+
+	@Test
+	void shouldMatchTemplateWithoutVariablesByEquality() {
+		var uriTemplateManager = this.uriTemplateFactory.create("/api/users/all");
+
+		assertEquals(Map.of(), uriTemplateManager.match("/api/users/all"));
+		assertNull(uriTemplateManager.match("/api/users/none"));
+	}
+
 	@Test
 	void shouldMatchUriWithQueryParameters() {
 		String templateWithQuery = "file://name/search?={search}";
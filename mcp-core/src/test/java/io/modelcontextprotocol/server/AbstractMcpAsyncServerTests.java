@@ -272,6 +272,40 @@ public abstract class AbstractMcpAsyncServerTests {
 		assertThatCode(() -> mcpAsyncServer.closeGracefully().block(Duration.ofSeconds(10))).doesNotThrowAnyException();
 	}
 
+	@Test
+	void testReplaceTools() {
+		var mcpAsyncServer = prepareAsyncServerBuilder().serverInfo("test-server", "1.0.0")
+			.capabilities(ServerCapabilities.builder().tools(true).build())
+			.toolCall(McpSchema.Tool.builder().name("removed").inputSchema(EMPTY_JSON_SCHEMA).build(),
+					(exchange, request) -> Mono
+						.just(CallToolResult.builder().content(List.of()).isError(false).build()))
+			.toolCall(McpSchema.Tool.builder().name("kept").inputSchema(EMPTY_JSON_SCHEMA).build(),
+					(exchange, request) -> Mono
+						.just(CallToolResult.builder().content(List.of()).isError(false).build()))
+			.build();
+
+		List<McpServerFeatures.AsyncToolSpecification> catalog = List.of("kept", "added")
+			.stream()
+			.map(name -> McpServerFeatures.AsyncToolSpecification.builder()
+				.tool(McpSchema.Tool.builder().name(name).inputSchema(EMPTY_JSON_SCHEMA).build())
+				.callHandler((exchange, request) -> Mono
+					.just(CallToolResult.builder().content(List.of()).isError(false).build()))
+				.build())
+			.toList();
+
+		StepVerifier.create(mcpAsyncServer.replaceTools(catalog)).verifyComplete();
+
+		StepVerifier.create(mcpAsyncServer.listTools().map(Tool::name).collectList())
+			.assertNext(names -> assertThat(names).containsExactlyInAnyOrder("kept", "added"))
+			.verifyComplete();
+
+		StepVerifier.create(mcpAsyncServer.removeTools(List.of("kept", "added", "nonexistent-tool"))).verifyComplete();
+
+		StepVerifier.create(mcpAsyncServer.listTools()).verifyComplete();
+
+		assertThatCode(() -> mcpAsyncServer.closeGracefully().block(Duration.ofSeconds(10))).doesNotThrowAnyException();
+	}
+
 	@Test
 	void testRemoveNonexistentTool() {
 		var mcpAsyncServer = prepareAsyncServerBuilder().serverInfo("test-server", "1.0.0")
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import io.modelcontextprotocol.json.RawJson;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.ListToolsResult;
+import io.modelcontextprotocol.spec.McpSchema.Tool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.modelcontextprotocol.util.McpJsonMapperUtils.JSON_MAPPER;
+import static io.modelcontextprotocol.util.ToolsUtils.EMPTY_JSON_SCHEMA;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link CatalogSnapshot}.
+ */
+class CatalogSnapshotTests {
+
+	private final FeatureRegistry<Tool> tools = new FeatureRegistry<>(Tool::name);
+
+	private final AtomicInteger builtPages = new AtomicInteger();
+
+	private final CatalogSnapshot<Tool, Tool> catalog = new CatalogSnapshot<>(JSON_MAPPER, true, this.tools::version,
+			(cursor, pageSize) -> {
+				this.builtPages.incrementAndGet();
+				return this.tools.page(cursor, pageSize);
+			}, Function.identity(), ListToolsResult::new);
+
+	@BeforeEach
+	void setUp() {
+		this.tools.put(tool("first"));
+		this.tools.put(tool("second"));
+		this.tools.put(tool("third"));
+	}
+
+	@Test
+	void pagesAreEncodedOncePerVersion() throws Exception {
+		Object first = this.catalog.page(null, 0);
+		int built = this.builtPages.get();
+		Object second = this.catalog.page(null, 0);
+
+		assertThat(first).isInstanceOf(RawJson.class).isSameAs(second);
+		assertThat(this.builtPages).hasValue(built);
+
+		ListToolsResult result = decode(first);
+		assertThat(result.tools()).extracting(Tool::name).containsExactly("first", "second", "third");
+		assertThat(result.meta()).containsKey(CatalogSnapshot.VERSION_META_KEY);
+	}
+
+	@Test
+	void aChangeOfTheCatalogRebuildsTheSnapshot() throws Exception {
+		ListToolsResult before = decode(this.catalog.page(null, 0));
+
+		this.tools.remove("second");
+		ListToolsResult after = decode(this.catalog.page(null, 0));
+
+		assertThat(after.tools()).extracting(Tool::name).containsExactly("first", "third");
+		assertThat(after.meta().get(CatalogSnapshot.VERSION_META_KEY))
+			.isNotEqualTo(before.meta().get(CatalogSnapshot.VERSION_META_KEY));
+
+		this.tools.put(tool("second"));
+		this.tools.remove("third");
+		this.tools.put(tool("third"));
+		ListToolsResult restored = decode(this.catalog.page(null, 0));
+
+		assertThat(restored.meta()).isEqualTo(before.meta());
+	}
+
+	@Test
+	void theCatalogHashDoesNotDependOnTheRegistrationOrder() throws Exception {
+		FeatureRegistry<Tool> reordered = new FeatureRegistry<>(Tool::name);
+		reordered.put(tool("third"));
+		reordered.put(tool("first"));
+		reordered.put(tool("second"));
+		CatalogSnapshot<Tool, Tool> other = new CatalogSnapshot<>(JSON_MAPPER, true, reordered::version,
+				reordered::page, Function.identity(), ListToolsResult::new);
+
+		assertThat(decode(other.page(null, 0)).meta()).isEqualTo(decode(this.catalog.page(null, 0)).meta());
+	}
+
+	@Test
+	void allPagesCarryTheCatalogHash() throws Exception {
+		ListToolsResult firstPage = decode(this.catalog.page(null, 2));
+		ListToolsResult secondPage = decode(this.catalog.page(firstPage.nextCursor(), 2));
+
+		assertThat(firstPage.tools()).extracting(Tool::name).containsExactly("first", "second");
+		assertThat(secondPage.tools()).extracting(Tool::name).containsExactly("third");
+		assertThat(secondPage.nextCursor()).isNull();
+		assertThat(secondPage.meta()).isEqualTo(firstPage.meta());
+
+		int built = this.builtPages.get();
+		assertThat(this.catalog.page(firstPage.nextCursor(), 2)).isSameAs(this.catalog.page(firstPage.nextCursor(), 2));
+		assertThat(this.builtPages).hasValue(built);
+	}
+
+	@Test
+	void pagesAreNotEncodedWhenTheTransportDoesNotSupportRawJson() {
+		CatalogSnapshot<Tool, Tool> catalog = new CatalogSnapshot<>(JSON_MAPPER, false, this.tools::version,
+				this.tools::page, Function.identity(), ListToolsResult::new);
+
+		assertThat(catalog.page(null, 0)).isInstanceOfSatisfying(ListToolsResult.class,
+				result -> assertThat(result.tools()).extracting(Tool::name)
+					.containsExactly("first", "second", "third"));
+	}
+
+	@Test
+	void invalidCursorsAreRejected() {
+		assertThatThrownBy(() -> this.catalog.page("not a cursor", 2)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static ListToolsResult decode(Object page) throws Exception {
+		return JSON_MAPPER.readValue(((RawJson) page).bytes(), McpSchema.ListToolsResult.class);
+	}
+
+	private static Tool tool(String name) {
+		return Tool.builder().name(name).inputSchema(EMPTY_JSON_SCHEMA).build();
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.modelcontextprotocol.common.McpTransportContext;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DefaultMcpStatelessServerHandler}.
+ */
+class DefaultMcpStatelessServerHandlerTests {
+
+	private static final McpTransportContext ALICE = McpTransportContext.create(Map.of("caller", "alice"));
+
+	private static final McpTransportContext BOB = McpTransportContext.create(Map.of("caller", "bob"));
+
+	private final AtomicBoolean disposed = new AtomicBoolean();
+
+	private final DefaultMcpStatelessServerHandler handler = new DefaultMcpStatelessServerHandler(
+			Map.of("slow", (transportContext, params) -> Mono.never().doOnCancel(() -> this.disposed.set(true))),
+			Map.of(), McpJsonMapper.getDefault(), transportContext -> transportContext.get("caller"));
+
+	@Test
+	void requestsAreCancelledByTheirCaller() {
+		StepVerifier.create(this.handler.handleRequest(ALICE, request("1")))
+			.then(() -> this.handler.handleNotification(ALICE, cancelled("1")).block())
+			.assertNext(response -> assertThat(response.error().message()).isEqualTo("Request cancelled"))
+			.verifyComplete();
+
+		assertThat(this.disposed).isTrue();
+		assertThat(this.handler.inFlightRequests.size()).isZero();
+	}
+
+	@Test
+	void requestsAreNotCancelledByAnotherCaller() {
+		StepVerifier.create(this.handler.handleRequest(ALICE, request("1")))
+			.then(() -> this.handler.handleNotification(BOB, cancelled("1")).block())
+			.expectNoEvent(Duration.ofMillis(100))
+			.then(() -> assertThat(this.handler.inFlightRequests.size()).isEqualTo(1))
+			.thenCancel()
+			.verify();
+
+		assertThat(this.disposed).isTrue();
+	}
+
+	@Test
+	void requestsOfUnknownCallersAreNotTracked() {
+		StepVerifier.create(this.handler.handleRequest(McpTransportContext.EMPTY, request("1")))
+			.then(() -> assertThat(this.handler.inFlightRequests.size()).isZero())
+			.then(() -> this.handler.handleNotification(McpTransportContext.EMPTY, cancelled("1")).block())
+			.expectNoEvent(Duration.ofMillis(100))
+			.thenCancel()
+			.verify();
+	}
+
+	private static McpSchema.JSONRPCRequest request(String id) {
+		return new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, "slow", id, null);
+	}
+
+	private static McpSchema.JSONRPCNotification cancelled(String requestId) {
+		return new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_NOTIFICATION_CANCELLED,
+				Map.of("requestId", requestId));
+	}
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import io.modelcontextprotocol.spec.McpSchema.JsonSchema;
+import io.modelcontextprotocol.spec.McpSchema.Tool;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link FeatureRegistry}.
+ */
+class FeatureRegistryTests {
+
+	private final FeatureRegistry<Tool> registry = new FeatureRegistry<>(Tool::name);
+
+	@Test
+	void lookupByName() {
+		Tool tool = tool("echo", "Echoes");
+		assertThat(this.registry.put(tool)).isFalse();
+
+		assertThat(this.registry.get("echo")).isSameAs(tool);
+		assertThat(this.registry.get("missing")).isNull();
+	}
+
+	@Test
+	void iterationFollowsRegistrationOrder() {
+		this.registry.put(tool("c", null));
+		this.registry.put(tool("a", null));
+		this.registry.put(tool("b", null));
+
+		assertThat(this.registry.stream().map(Tool::name)).containsExactly("c", "a", "b");
+	}
+
+	@Test
+	void replaceKeepsPosition() {
+		this.registry.put(tool("a", "first"));
+		this.registry.put(tool("b", null));
+
+		assertThat(this.registry.put(tool("a", "second"))).isTrue();
+
+		assertThat(this.registry.values()).extracting(Tool::name).containsExactly("a", "b");
+		assertThat(this.registry.get("a").description()).isEqualTo("second");
+	}
+
+	@Test
+	void replacedByKeepsPositionsAndLeavesTheRegistryUnchanged() {
+		this.registry.put(tool("a", "first"));
+		this.registry.put(tool("b", null));
+		this.registry.put(tool("c", null));
+		String cursor = this.registry.page(null, 1).nextCursor();
+
+		FeatureRegistry<Tool> replacement = this.registry
+			.replacedBy(List.of(tool("d", null), tool("c", null), tool("a", "second")));
+
+		assertThat(replacement.values()).extracting(Tool::name).containsExactly("a", "c", "d");
+		assertThat(replacement.get("a").description()).isEqualTo("second");
+		assertThat(replacement.get("b")).isNull();
+		assertThat(replacement.version()).isGreaterThan(this.registry.version());
+		assertThat(replacement.page(cursor, 0).items()).extracting(Tool::name).containsExactly("c", "d");
+
+		assertThat(this.registry.values()).extracting(Tool::name).containsExactly("a", "b", "c");
+		assertThat(this.registry.get("a").description()).isEqualTo("first");
+	}
+
+	@Test
+	void withAddsAndReplacesInOneVersion() {
+		this.registry.put(tool("a", "first"));
+		this.registry.put(tool("b", null));
+
+		FeatureRegistry<Tool> updated = this.registry.with(List.of(tool("c", null), tool("a", "second")));
+
+		assertThat(updated.values()).extracting(Tool::name).containsExactly("a", "b", "c");
+		assertThat(updated.get("a").description()).isEqualTo("second");
+		assertThat(updated.version()).isEqualTo(this.registry.version() + 1);
+
+		assertThat(this.registry.values()).extracting(Tool::name).containsExactly("a", "b");
+		assertThat(this.registry.get("a").description()).isEqualTo("first");
+	}
+
+	@Test
+	void withoutRemovesInOneVersion() {
+		this.registry.put(tool("a", null));
+		this.registry.put(tool("b", null));
+		this.registry.put(tool("c", null));
+		String cursor = this.registry.page(null, 1).nextCursor();
+
+		FeatureRegistry<Tool> updated = this.registry.without(List.of("a", "b", "unknown"));
+
+		assertThat(updated.values()).extracting(Tool::name).containsExactly("c");
+		assertThat(updated.version()).isEqualTo(this.registry.version() + 1);
+		assertThat(updated.page(cursor, 0).items()).extracting(Tool::name).containsExactly("c");
+
+		assertThat(this.registry.values()).extracting(Tool::name).containsExactly("a", "b", "c");
+	}
+
+	@Test
+	void remove() {
+		this.registry.put(tool("a", null));
+		this.registry.put(tool("b", null));
+
+		assertThat(this.registry.remove("a")).isTrue();
+		assertThat(this.registry.remove("a")).isFalse();
+
+		assertThat(this.registry.get("a")).isNull();
+		assertThat(this.registry.values()).extracting(Tool::name).containsExactly("b");
+
+		this.registry.put(tool("a", null));
+		assertThat(this.registry.values()).extracting(Tool::name).containsExactly("b", "a");
+	}
+
+	@Test
+	void concurrentUpdatesKeepIndexAndOrderConsistent() {
+		List<CompletableFuture<Void>> futures = IntStream.range(0, 8)
+			.mapToObj(worker -> CompletableFuture.runAsync(() -> {
+				for (int i = 0; i < 500; i++) {
+					String name = "tool-" + (i % 50);
+					this.registry.put(tool(name, "worker-" + worker));
+					if (i % 3 == 0) {
+						this.registry.remove(name);
+					}
+				}
+			}))
+			.toList();
+		futures.forEach(CompletableFuture::join);
+
+		assertThat(this.registry.values())
+			.allSatisfy(tool -> assertThat(this.registry.get(tool.name())).isSameAs(tool));
+		assertThat(this.registry.values()).extracting(Tool::name).doesNotHaveDuplicates();
+	}
+
+	@Test
+	void pagesFollowRegistrationOrder() {
+		IntStream.range(0, 5).forEach(i -> this.registry.put(tool("tool-" + i, null)));
+
+		FeatureRegistry.Page<Tool> first = this.registry.page(null, 2);
+		assertThat(first.items()).extracting(Tool::name).containsExactly("tool-0", "tool-1");
+		assertThat(first.nextCursor()).isNotNull();
+
+		FeatureRegistry.Page<Tool> second = this.registry.page(first.nextCursor(), 2);
+		assertThat(second.items()).extracting(Tool::name).containsExactly("tool-2", "tool-3");
+
+		FeatureRegistry.Page<Tool> last = this.registry.page(second.nextCursor(), 2);
+		assertThat(last.items()).extracting(Tool::name).containsExactly("tool-4");
+		assertThat(last.nextCursor()).isNull();
+	}
+
+	@Test
+	void exactlyFullLastPageHasNoNextCursor() {
+		this.registry.put(tool("a", null));
+		this.registry.put(tool("b", null));
+
+		FeatureRegistry.Page<Tool> page = this.registry.page(null, 2);
+		assertThat(page.items()).hasSize(2);
+		assertThat(page.nextCursor()).isNull();
+	}
+
+	@Test
+	void unboundedPageReturnsEverything() {
+		IntStream.range(0, 5).forEach(i -> this.registry.put(tool("tool-" + i, null)));
+
+		FeatureRegistry.Page<Tool> page = this.registry.page(null, 0);
+		assertThat(page.items()).hasSize(5);
+		assertThat(page.nextCursor()).isNull();
+	}
+
+	@Test
+	void cursorSurvivesConcurrentChanges() {
+		IntStream.range(0, 4).forEach(i -> this.registry.put(tool("tool-" + i, null)));
+		FeatureRegistry.Page<Tool> first = this.registry.page(null, 2);
+
+		// Remove a listed and an unlisted feature, then add a new one
+		this.registry.remove("tool-0");
+		this.registry.remove("tool-2");
+		this.registry.put(tool("tool-4", null));
+
+		FeatureRegistry.Page<Tool> second = this.registry.page(first.nextCursor(), 2);
+		assertThat(second.items()).extracting(Tool::name).containsExactly("tool-3", "tool-4");
+		assertThat(second.nextCursor()).isNull();
+	}
+
+	@Test
+	void invalidCursorIsRejected() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.registry.page("not a cursor", 2))
+			.withMessageContaining("Invalid cursor");
+		assertThatIllegalArgumentException().isThrownBy(() -> this.registry.page("Zm9v", 2))
+			.withMessageContaining("Invalid cursor");
+	}
+
+	private static Tool tool(String name, String description) {
+		return Tool.builder()
+			.name(name)
+			.description(description)
+			.inputSchema(new JsonSchema("object", null, null, null, null, null))
+			.build();
+	}
+
+}
@@ -8,6 +8,10 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 
@@ -44,6 +48,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.web.client.RestClient;
+import reactor.core.publisher.Mono;
 
 import static io.modelcontextprotocol.server.transport.HttpServletStatelessServerTransport.APPLICATION_JSON;
 import static io.modelcontextprotocol.server.transport.HttpServletStatelessServerTransport.TEXT_EVENT_STREAM;
@@ -52,6 +57,7 @@ import static io.modelcontextprotocol.util.ToolsUtils.EMPTY_JSON_SCHEMA;
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.json;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 
 @Timeout(15)
@@ -153,6 +159,40 @@ class HttpServletStatelessIntegrationTests {
 		}
 	}
 
+	@ParameterizedTest(name = "{0} : {displayName} ")
+	@ValueSource(strings = { "httpclient" })
+	void testToolCallCancelledOnClientTimeout(String clientType) throws InterruptedException {
+		CountDownLatch disposed = new CountDownLatch(1);
+
+		var clientBuilder = clientBuilders.get(clientType);
+
+		McpStatelessServerFeatures.AsyncToolSpecification tool = McpStatelessServerFeatures.AsyncToolSpecification
+			.builder()
+			.tool(Tool.builder().name("never-ending").inputSchema(EMPTY_JSON_SCHEMA).build())
+			.callHandler((transportContext, request) -> Mono.<CallToolResult>never().doOnCancel(disposed::countDown))
+			.build();
+
+		// All requests of this test come from the same client
+		var mcpServer = McpServer.async(mcpStatelessServerTransport)
+			.capabilities(ServerCapabilities.builder().tools(true).build())
+			.cancellationScope(transportContext -> "client")
+			.tools(tool)
+			.build();
+
+		try (var mcpClient = clientBuilder.requestTimeout(Duration.ofSeconds(2)).build()) {
+
+			mcpClient.initialize();
+
+			assertThatThrownBy(() -> mcpClient.callTool(new McpSchema.CallToolRequest("never-ending", Map.of())))
+				.isInstanceOf(RuntimeException.class);
+
+			assertThat(disposed.await(5, TimeUnit.SECONDS)).as("Tool call should be disposed on cancellation").isTrue();
+		}
+		finally {
+			mcpServer.close();
+		}
+	}
+
 	@ParameterizedTest(name = "{0} : {displayName} ")
 	@ValueSource(strings = { "httpclient" })
 	void testInitialize(String clientType) {
@@ -593,6 +633,114 @@ class HttpServletStatelessIntegrationTests {
 		}
 	}
 
+	@Test
+	void testToolInputValidationRejectsInvalidArguments() throws Exception {
+		AtomicBoolean handlerCalled = new AtomicBoolean();
+
+		Tool calculatorTool = Tool.builder()
+			.name("calculator")
+			.description("Performs mathematical calculations")
+			.inputSchema(new McpSchema.JsonSchema("object", Map.of("expression", Map.of("type", "string")),
+					List.of("expression"), null, null, null))
+			.build();
+
+		McpStatelessServerFeatures.SyncToolSpecification toolSpec = new McpStatelessServerFeatures.SyncToolSpecification(
+				calculatorTool, (transportContext, request) -> {
+					handlerCalled.set(true);
+					return CallToolResult.builder().addTextContent("5").build();
+				});
+
+		var mcpServer = McpServer.sync(mcpStatelessServerTransport)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(ServerCapabilities.builder().tools(true).build())
+			.validateToolInputs(true)
+			.tools(toolSpec)
+			.build();
+
+		McpSchema.CallToolRequest callToolRequest = new McpSchema.CallToolRequest("calculator",
+				Map.of("expression", 42));
+		McpSchema.JSONRPCRequest jsonrpcRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_TOOLS_CALL, "test", callToolRequest);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", CUSTOM_MESSAGE_ENDPOINT);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		byte[] content = JSON_MAPPER.writeValueAsBytes(jsonrpcRequest);
+		request.setContent(content);
+		request.addHeader("Content-Length", Integer.toString(content.length));
+		request.addHeader("Accept", APPLICATION_JSON + ", " + TEXT_EVENT_STREAM);
+		request.addHeader("Content-Type", APPLICATION_JSON);
+		request.addHeader("Cache-Control", "no-cache");
+		request.addHeader(HttpHeaders.PROTOCOL_VERSION, ProtocolVersions.MCP_2025_03_26);
+
+		mcpStatelessServerTransport.service(request, response);
+
+		McpSchema.JSONRPCResponse jsonrpcResponse = JSON_MAPPER.readValue(response.getContentAsByteArray(),
+				McpSchema.JSONRPCResponse.class);
+
+		assertThat(jsonrpcResponse.error()).isNotNull();
+		assertThat(jsonrpcResponse.error().code()).isEqualTo(ErrorCodes.INVALID_PARAMS);
+		assertThat(jsonrpcResponse.error().message()).isEqualTo("Invalid arguments for tool: calculator");
+		assertThat(handlerCalled).isFalse();
+
+		mcpServer.close();
+	}
+
+	@Test
+	void testToolResultCacheServesRepeatedCalls() throws Exception {
+		AtomicInteger handlerCalls = new AtomicInteger();
+
+		Tool schemaTool = Tool.builder()
+			.name("schema")
+			.description("Describes a table")
+			.inputSchema(EMPTY_JSON_SCHEMA)
+			.annotations(new McpSchema.ToolAnnotations(null, true, false, true, false, null))
+			.build();
+
+		McpStatelessServerFeatures.SyncToolSpecification toolSpec = new McpStatelessServerFeatures.SyncToolSpecification(
+				schemaTool,
+				(transportContext, request) -> CallToolResult.builder()
+					.addTextContent("columns " + handlerCalls.incrementAndGet())
+					.build());
+
+		var mcpServer = McpServer.sync(mcpStatelessServerTransport)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(ServerCapabilities.builder().tools(true).build())
+			.toolResultCache(ToolResultCache.builder().build())
+			.tools(toolSpec)
+			.build();
+
+		McpSchema.CallToolRequest callToolRequest = new McpSchema.CallToolRequest("schema", Map.of("table", "users"));
+		McpSchema.JSONRPCRequest jsonrpcRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_TOOLS_CALL, "test", callToolRequest);
+		byte[] content = JSON_MAPPER.writeValueAsBytes(jsonrpcRequest);
+
+		for (int i = 0; i < 3; i++) {
+			if (i == 2) {
+				mcpServer.invalidateToolResults("schema");
+			}
+			MockHttpServletRequest request = new MockHttpServletRequest("POST", CUSTOM_MESSAGE_ENDPOINT);
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			request.setContent(content);
+			request.addHeader("Content-Length", Integer.toString(content.length));
+			request.addHeader("Accept", APPLICATION_JSON + ", " + TEXT_EVENT_STREAM);
+			request.addHeader("Content-Type", APPLICATION_JSON);
+			request.addHeader("Cache-Control", "no-cache");
+			request.addHeader(HttpHeaders.PROTOCOL_VERSION, ProtocolVersions.MCP_2025_03_26);
+
+			mcpStatelessServerTransport.service(request, response);
+
+			McpSchema.JSONRPCResponse jsonrpcResponse = JSON_MAPPER.readValue(response.getContentAsByteArray(),
+					McpSchema.JSONRPCResponse.class);
+			CallToolResult result = JSON_MAPPER.convertValue(jsonrpcResponse.result(), CallToolResult.class);
+			assertThat(result.content()).containsExactly(new TextContent((i < 2) ? "columns 1" : "columns 2"));
+		}
+
+		assertThat(handlerCalls).hasValue(2);
+
+		mcpServer.close();
+	}
+
 	@Test
 	void testThrownMcpErrorAndJsonRpcError() throws Exception {
 		var mcpServer = McpServer.sync(mcpStatelessServerTransport)
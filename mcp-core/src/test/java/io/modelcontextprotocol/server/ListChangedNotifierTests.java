@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ListChangedNotifier}.
+ */
+class ListChangedNotifierTests {
+
+	private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+
+	private final List<String> sent = new ArrayList<>();
+
+	private final ListChangedNotifier notifier = new ListChangedNotifier(Duration.ofMillis(100),
+			method -> Mono.fromRunnable(() -> this.sent.add(method)), this.scheduler);
+
+	@AfterEach
+	void tearDown() {
+		this.scheduler.dispose();
+	}
+
+	@Test
+	void aBurstOfChangesIsNotifiedOnce() {
+		AtomicInteger completed = new AtomicInteger();
+		for (int i = 0; i < 2000; i++) {
+			this.notifier.listChanged(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED)
+				.subscribe(null, null, completed::incrementAndGet);
+		}
+
+		assertThat(this.sent).isEmpty();
+		assertThat(completed).hasValue(2000);
+		assertThat(this.notifier.pendingCount()).isEqualTo(1);
+
+		this.scheduler.advanceTimeBy(Duration.ofMillis(100));
+
+		assertThat(this.sent).containsExactly(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED);
+		assertThat(this.notifier.pendingCount()).isZero();
+	}
+
+	@Test
+	void sequentialBlockingChangesAreMerged() {
+		for (int i = 0; i < 100; i++) {
+			this.notifier.listChanged(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED).block(Duration.ofSeconds(1));
+		}
+
+		this.scheduler.advanceTimeBy(Duration.ofMillis(100));
+
+		assertThat(this.sent).containsExactly(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED);
+	}
+
+	@Test
+	void eachListIsNotifiedSeparately() {
+		this.notifier.listChanged(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED).subscribe();
+		this.notifier.listChanged(McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED).subscribe();
+		this.notifier.listChanged(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED).subscribe();
+
+		this.scheduler.advanceTimeBy(Duration.ofMillis(100));
+
+		assertThat(this.sent).containsExactlyInAnyOrder(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED,
+				McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED);
+	}
+
+	@Test
+	void aChangeAfterTheWindowClosedIsNotifiedAgain() {
+		this.notifier.listChanged(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED).subscribe();
+		this.scheduler.advanceTimeBy(Duration.ofMillis(100));
+
+		this.notifier.listChanged(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED).subscribe();
+		this.scheduler.advanceTimeBy(Duration.ofMillis(50));
+
+		assertThat(this.sent).hasSize(1);
+
+		this.scheduler.advanceTimeBy(Duration.ofMillis(50));
+
+		assertThat(this.sent).containsExactly(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED,
+				McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED);
+	}
+
+	@Test
+	void changesAreNotifiedImmediatelyWithAZeroWindow() {
+		ListChangedNotifier immediate = new ListChangedNotifier(Duration.ZERO,
+				method -> Mono.fromRunnable(() -> this.sent.add(method)), this.scheduler);
+
+		immediate.listChanged(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED).block();
+		immediate.listChanged(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED).block();
+
+		assertThat(this.sent).hasSize(2);
+		assertThat(immediate.pendingCount()).isZero();
+	}
+
+}
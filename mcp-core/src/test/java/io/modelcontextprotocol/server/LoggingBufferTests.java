@@ -0,0 +1,213 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpLoggableSession;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.LoggingLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link LoggingBuffer}.
+ */
+class LoggingBufferTests {
+
+	private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+
+	private final RecordingSession session = new RecordingSession();
+
+	@AfterEach
+	void tearDown() {
+		this.scheduler.dispose();
+	}
+
+	@Test
+	void messagesAreSentInOrderOnceTheBatchIntervalElapsed() {
+		LoggingBuffer buffer = LoggingBuffer.builder()
+			.batchInterval(Duration.ofMillis(20))
+			.scheduler(this.scheduler)
+			.build();
+
+		for (int i = 0; i < 5; i++) {
+			StepVerifier.create(buffer.forSession("session").offer(this.session, message("line " + i)))
+				.verifyComplete();
+		}
+
+		assertThat(this.session.received).isEmpty();
+		assertThat(buffer.bufferedCount()).isEqualTo(5);
+
+		this.scheduler.advanceTimeBy(Duration.ofMillis(20));
+
+		assertThat(this.session.received).containsExactly("line 0", "line 1", "line 2", "line 3", "line 4");
+		assertThat(buffer.bufferedCount()).isZero();
+	}
+
+	@Test
+	void theOldestMessagesAreDroppedWhenTheBufferIsFull() {
+		LoggingBuffer buffer = LoggingBuffer.builder()
+			.capacity(2)
+			.batchInterval(Duration.ofMillis(20))
+			.scheduler(this.scheduler)
+			.build();
+
+		for (int i = 0; i < 5; i++) {
+			buffer.forSession("session").offer(this.session, message("line " + i)).block();
+		}
+		this.scheduler.advanceTimeBy(Duration.ofMillis(20));
+
+		assertThat(this.session.received).containsExactly("line 3", "line 4");
+		assertThat(buffer.droppedCount()).isEqualTo(3);
+	}
+
+	@Test
+	void messagesBufferedWhileABatchIsSentMakeUpTheNextBatch() {
+		LoggingBuffer buffer = LoggingBuffer.builder().build();
+		Sinks.Empty<Void> delivery = Sinks.empty();
+		this.session.delivery = delivery.asMono();
+
+		buffer.forSession("session").offer(this.session, message("first")).block();
+		buffer.forSession("session").offer(this.session, message("second")).block();
+		buffer.forSession("session").offer(this.session, message("third")).block();
+
+		assertThat(this.session.received).containsExactly("first");
+		assertThat(buffer.bufferedCount()).isEqualTo(2);
+
+		this.session.delivery = Mono.empty();
+		delivery.tryEmitEmpty();
+
+		assertThat(this.session.received).containsExactly("first", "second", "third");
+	}
+
+	@Test
+	void flushCompletesOnceTheBufferedMessagesHaveBeenSent() {
+		LoggingBuffer buffer = LoggingBuffer.builder()
+			.batchInterval(Duration.ofMillis(20))
+			.scheduler(this.scheduler)
+			.build();
+		buffer.forSession("session").offer(this.session, message("line")).block();
+
+		AtomicBoolean flushed = new AtomicBoolean();
+		buffer.forSession("session").flush().subscribe(null, null, () -> flushed.set(true));
+
+		assertThat(flushed).isFalse();
+
+		this.scheduler.advanceTimeBy(Duration.ofMillis(20));
+
+		assertThat(flushed).isTrue();
+		assertThat(this.session.received).containsExactly("line");
+		StepVerifier.create(buffer.forSession("session").flush()).verifyComplete();
+		StepVerifier.create(buffer.forSession("other").flush()).verifyComplete();
+	}
+
+	@Test
+	void flushDoesNotWaitForTheMessagesOfferedAfterIt() {
+		LoggingBuffer.SessionBuffer buffer = LoggingBuffer.builder().build().forSession("session");
+		Sinks.Empty<Void> delivery = Sinks.empty();
+		this.session.delivery = delivery.asMono();
+		buffer.offer(this.session, message("first")).block();
+
+		AtomicBoolean flushed = new AtomicBoolean();
+		buffer.flush().subscribe(null, null, () -> flushed.set(true));
+		this.session.delivery = Mono.never();
+		buffer.offer(this.session, message("second")).block();
+		delivery.tryEmitEmpty();
+
+		assertThat(this.session.received).containsExactly("first", "second");
+		assertThat(flushed).isTrue();
+	}
+
+	@Test
+	void removingASessionDiscardsItsMessages() {
+		LoggingBuffer buffer = LoggingBuffer.builder()
+			.batchInterval(Duration.ofMillis(20))
+			.scheduler(this.scheduler)
+			.build();
+		buffer.forSession("session").offer(this.session, message("line")).block();
+
+		buffer.removeSession("session");
+		this.scheduler.advanceTimeBy(Duration.ofMillis(20));
+
+		assertThat(this.session.received).isEmpty();
+		assertThat(buffer.bufferedCount()).isZero();
+	}
+
+	@Test
+	void messagesOfferedAfterTheSessionWasRemovedAreIgnored() {
+		LoggingBuffer buffer = LoggingBuffer.builder().build();
+		LoggingBuffer.SessionBuffer sessionBuffer = buffer.forSession("session");
+
+		buffer.removeSession("session");
+		sessionBuffer.offer(this.session, message("line")).block();
+
+		assertThat(this.session.received).isEmpty();
+		assertThat(buffer.bufferedCount()).isZero();
+		StepVerifier.create(sessionBuffer.flush()).verifyComplete();
+	}
+
+	@Test
+	void invalidConfiguration() {
+		assertThatThrownBy(() -> LoggingBuffer.builder().capacity(0)).isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Capacity must be greater than 0");
+		assertThatThrownBy(() -> LoggingBuffer.builder().batchInterval(Duration.ofMillis(-1)))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Batch interval must not be negative");
+	}
+
+	private static McpSchema.LoggingMessageNotification message(String data) {
+		return McpSchema.LoggingMessageNotification.builder().level(LoggingLevel.INFO).data(data).build();
+	}
+
+	private static class RecordingSession implements McpLoggableSession {
+
+		private final List<String> received = new CopyOnWriteArrayList<>();
+
+		private Mono<Void> delivery = Mono.empty();
+
+		@Override
+		public <T> Mono<T> sendRequest(String method, Object requestParams, TypeRef<T> typeRef) {
+			return Mono.empty();
+		}
+
+		@Override
+		public Mono<Void> sendNotification(String method, Object params) {
+			this.received.add(((McpSchema.LoggingMessageNotification) params).data());
+			return this.delivery;
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.empty();
+		}
+
+		@Override
+		public void close() {
+		}
+
+		@Override
+		public void setMinLoggingLevel(LoggingLevel minLoggingLevel) {
+		}
+
+		@Override
+		public boolean isNotificationForLevelAllowed(LoggingLevel loggingLevel) {
+			return true;
+		}
+
+	}
+
+}
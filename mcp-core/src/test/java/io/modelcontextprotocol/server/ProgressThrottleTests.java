@@ -0,0 +1,171 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link ProgressThrottle}.
+ */
+class ProgressThrottleTests {
+
+	private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+
+	private final RecordingSession session = new RecordingSession();
+
+	private final ProgressThrottle throttle = ProgressThrottle.builder()
+		.interval(Duration.ofMillis(100))
+		.scheduler(this.scheduler)
+		.build();
+
+	@AfterEach
+	void tearDown() {
+		this.scheduler.dispose();
+	}
+
+	@Test
+	void onlyTheLatestProgressIsSentWithinAnInterval() {
+		ProgressThrottle.Emitter emitter = this.throttle.emitter(this.session);
+
+		for (int i = 1; i <= 1000; i++) {
+			emitter.emit(progress("export", i)).block();
+		}
+
+		assertThat(this.session.received).containsExactly("export:1.0");
+
+		this.scheduler.advanceTimeBy(Duration.ofMillis(100));
+
+		assertThat(this.session.received).containsExactly("export:1.0", "export:1000.0");
+		assertThat(this.throttle.coalescedCount()).isEqualTo(998);
+	}
+
+	@Test
+	void progressIsSentRightAwayOnceTheIntervalElapsed() {
+		ProgressThrottle.Emitter emitter = this.throttle.emitter(this.session);
+
+		emitter.emit(progress("export", 1)).block();
+		this.scheduler.advanceTimeBy(Duration.ofMillis(150));
+		emitter.emit(progress("export", 2)).block();
+
+		assertThat(this.session.received).containsExactly("export:1.0", "export:2.0");
+	}
+
+	@Test
+	void progressSentRightAwayWaitsForTheKeptProgressBeingSent() {
+		ProgressThrottle.Emitter emitter = this.throttle.emitter(this.session);
+		emitter.emit(progress("export", 1)).block();
+		emitter.emit(progress("export", 2)).block();
+
+		Sinks.Empty<Void> slowSend = Sinks.empty();
+		this.session.delay = slowSend.asMono();
+		this.scheduler.advanceTimeBy(Duration.ofMillis(100));
+		this.session.delay = Mono.empty();
+		this.scheduler.advanceTimeBy(Duration.ofMillis(100));
+		emitter.emit(progress("export", 3)).subscribe();
+
+		assertThat(this.session.received).containsExactly("export:1.0");
+
+		slowSend.tryEmitEmpty();
+
+		assertThat(this.session.received).containsExactly("export:1.0", "export:2.0", "export:3.0");
+	}
+
+	@Test
+	void eachTokenIsThrottledSeparately() {
+		ProgressThrottle.Emitter emitter = this.throttle.emitter(this.session);
+
+		emitter.emit(progress("first", 1)).block();
+		emitter.emit(progress("second", 1)).block();
+		emitter.emit(progress("first", 2)).block();
+
+		assertThat(this.session.received).containsExactly("first:1.0", "second:1.0");
+	}
+
+	@Test
+	void flushSendsTheLatestProgressOfEachToken() {
+		ProgressThrottle.Emitter emitter = this.throttle.emitter(this.session);
+
+		emitter.emit(progress("first", 1)).block();
+		emitter.emit(progress("first", 2)).block();
+		emitter.emit(progress("first", 3)).block();
+		emitter.emit(progress("second", 1)).block();
+
+		emitter.flush().block();
+
+		assertThat(this.session.received).containsExactlyInAnyOrder("first:1.0", "first:3.0", "second:1.0");
+
+		this.scheduler.advanceTimeBy(Duration.ofMillis(100));
+
+		assertThat(this.session.received).hasSize(3);
+	}
+
+	@Test
+	void disposeDiscardsTheKeptProgress() {
+		ProgressThrottle.Emitter emitter = this.throttle.emitter(this.session);
+
+		emitter.emit(progress("export", 1)).block();
+		emitter.emit(progress("export", 2)).block();
+		emitter.dispose();
+		this.scheduler.advanceTimeBy(Duration.ofMillis(100));
+
+		assertThat(this.session.received).containsExactly("export:1.0");
+	}
+
+	@Test
+	void invalidConfiguration() {
+		assertThatThrownBy(() -> ProgressThrottle.builder().interval(Duration.ZERO))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Interval must be positive");
+	}
+
+	private static McpSchema.ProgressNotification progress(String token, double progress) {
+		return new McpSchema.ProgressNotification(token, progress, 1000.0, null);
+	}
+
+	private static class RecordingSession implements McpSession {
+
+		private final List<String> received = new CopyOnWriteArrayList<>();
+
+		private volatile Mono<Void> delay = Mono.empty();
+
+		@Override
+		public <T> Mono<T> sendRequest(String method, Object requestParams, TypeRef<T> typeRef) {
+			return Mono.empty();
+		}
+
+		@Override
+		public Mono<Void> sendNotification(String method, Object params) {
+			return this.delay.then(Mono.fromRunnable(() -> {
+				McpSchema.ProgressNotification notification = (McpSchema.ProgressNotification) params;
+				this.received.add(notification.progressToken() + ":" + notification.progress());
+			}));
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.empty();
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import io.modelcontextprotocol.common.McpTransportContext;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import static io.modelcontextprotocol.util.McpJsonMapperUtils.JSON_MAPPER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link RequestCoalescing}.
+ */
+class RequestCoalescingTests {
+
+	private final RequestCoalescing coalescing = RequestCoalescing.builder()
+		.tools("schema")
+		.resources("config://app")
+		.build();
+
+	private final List<Sinks.One<String>> started = new ArrayList<>();
+
+	@Test
+	void identicalToolCallsShareOneInvocation() {
+		Map<String, Object> arguments = new LinkedHashMap<>();
+		arguments.put("table", "users");
+		arguments.put("schema", "public");
+		Map<String, Object> reordered = new LinkedHashMap<>();
+		reordered.put("schema", "public");
+		reordered.put("table", "users");
+		List<String> results = new ArrayList<>();
+
+		this.coalescing
+			.callTool(JSON_MAPPER, "session-1", McpTransportContext.EMPTY, new CallToolRequest("schema", arguments),
+					call())
+			.subscribe(results::add);
+		this.coalescing
+			.callTool(JSON_MAPPER, "session-1", McpTransportContext.EMPTY, new CallToolRequest("schema", reordered),
+					call())
+			.subscribe(results::add);
+
+		assertThat(this.started).hasSize(1);
+		assertThat(this.coalescing.inFlightCount()).isEqualTo(1);
+
+		this.started.get(0).tryEmitValue("columns");
+
+		assertThat(results).containsExactly("columns", "columns");
+		assertThat(this.coalescing.inFlightCount()).isZero();
+	}
+
+	@Test
+	void differentRequestsAreNotCoalesced() {
+		this.coalescing
+			.callTool(JSON_MAPPER, "session-1", McpTransportContext.EMPTY,
+					new CallToolRequest("schema", Map.of("table", "users")), call())
+			.subscribe();
+		this.coalescing
+			.callTool(JSON_MAPPER, "session-1", McpTransportContext.EMPTY,
+					new CallToolRequest("schema", Map.of("table", "orders")), call())
+			.subscribe();
+		this.coalescing
+			.readResource("session-1", McpTransportContext.EMPTY, new McpSchema.ReadResourceRequest("config://app"),
+					call())
+			.subscribe();
+		this.coalescing
+			.readResource("session-1", McpTransportContext.EMPTY, new McpSchema.ReadResourceRequest("config://app"),
+					call())
+			.subscribe();
+
+		assertThat(this.started).hasSize(3);
+	}
+
+	@Test
+	void requestsOfDifferentSessionsAreNotCoalesced() {
+		CallToolRequest request = new CallToolRequest("schema", Map.of("table", "users"));
+		McpSchema.ReadResourceRequest read = new McpSchema.ReadResourceRequest("config://app");
+
+		this.coalescing.callTool(JSON_MAPPER, "session-1", McpTransportContext.EMPTY, request, call()).subscribe();
+		this.coalescing.callTool(JSON_MAPPER, "session-2", McpTransportContext.EMPTY, request, call()).subscribe();
+		this.coalescing.readResource("session-1", McpTransportContext.EMPTY, read, call()).subscribe();
+		this.coalescing.readResource("session-2", McpTransportContext.EMPTY, read, call()).subscribe();
+
+		assertThat(this.started).hasSize(4);
+		assertThat(this.coalescing.inFlightCount()).isEqualTo(4);
+	}
+
+	@Test
+	void requestsAreCoalescedWithinTheirScope() {
+		RequestCoalescing scoped = RequestCoalescing.builder()
+			.resources("config://app")
+			.scope(transportContext -> transportContext.get("user"))
+			.build();
+		McpTransportContext alice = McpTransportContext.create(Map.of("user", "alice"));
+		McpTransportContext bob = McpTransportContext.create(Map.of("user", "bob"));
+		McpSchema.ReadResourceRequest read = new McpSchema.ReadResourceRequest("config://app");
+
+		scoped.readResource("session-1", alice, read, call()).subscribe();
+		scoped.readResource("session-2", alice, read, call()).subscribe();
+		scoped.readResource("session-3", bob, read, call()).subscribe();
+
+		assertThat(this.started).hasSize(2);
+	}
+
+	@Test
+	void requestsAfterCompletionStartANewInvocation() {
+		McpSchema.ReadResourceRequest request = new McpSchema.ReadResourceRequest("config://app");
+		this.coalescing.readResource("session-1", McpTransportContext.EMPTY, request, call()).subscribe();
+		this.started.get(0).tryEmitValue("first");
+
+		this.coalescing.readResource("session-1", McpTransportContext.EMPTY, request, call()).subscribe();
+
+		assertThat(this.started).hasSize(2);
+	}
+
+	@Test
+	void theInvocationIsCancelledWhenAllRequestsAreCancelled() {
+		AtomicBoolean cancelled = new AtomicBoolean();
+		Supplier<Mono<String>> invocation = () -> Mono.<String>never().doOnCancel(() -> cancelled.set(true));
+		McpSchema.ReadResourceRequest request = new McpSchema.ReadResourceRequest("config://app");
+
+		Disposable first = this.coalescing.readResource("session-1", McpTransportContext.EMPTY, request, invocation)
+			.subscribe();
+		Disposable second = this.coalescing.readResource("session-1", McpTransportContext.EMPTY, request, invocation)
+			.subscribe();
+
+		first.dispose();
+		assertThat(cancelled).isFalse();
+
+		second.dispose();
+		assertThat(cancelled).isTrue();
+		assertThat(this.coalescing.inFlightCount()).isZero();
+	}
+
+	@Test
+	void onlyConfiguredReadOnlyToolsAreCoalesced() {
+		assertThat(this.coalescing.coalescesTool(tool("schema", true))).isTrue();
+		assertThat(this.coalescing.coalescesTool(tool("schema", false))).isFalse();
+		assertThat(this.coalescing.coalescesTool(tool("export", true))).isFalse();
+		assertThat(this.coalescing.coalescesResource("config://app")).isTrue();
+		assertThat(this.coalescing.coalescesResource("config://other")).isFalse();
+	}
+
+	private Supplier<Mono<String>> call() {
+		return () -> {
+			Sinks.One<String> result = Sinks.one();
+			this.started.add(result);
+			return result.asMono();
+		};
+	}
+
+	private static McpSchema.Tool tool(String name, boolean readOnly) {
+		return McpSchema.Tool.builder()
+			.name(name)
+			.annotations(new McpSchema.ToolAnnotations(null, readOnly, false, true, false, null))
+			.build();
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.Map;
+
+import io.modelcontextprotocol.util.DefaultMcpUriTemplateManagerFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ResourceRouter}.
+ */
+class ResourceRouterTests {
+
+	private final ResourceRouter<String> router = new ResourceRouter<>(uri -> uri,
+			new DefaultMcpUriTemplateManagerFactory());
+
+	@Test
+	void routesExactUri() {
+		this.router.put("file:///docs/readme.md");
+
+		ResourceRouter.Match<String> match = this.router.route("file:///docs/readme.md");
+
+		assertThat(match.specification()).isEqualTo("file:///docs/readme.md");
+		assertThat(match.variables()).isEmpty();
+		assertThat(this.router.route("file:///docs/other.md")).isNull();
+	}
+
+	@Test
+	void routesTemplateAndCapturesVariables() {
+		this.router.put("db://{schema}/tables/{table}");
+
+		ResourceRouter.Match<String> match = this.router.route("db://public/tables/users");
+
+		assertThat(match.specification()).isEqualTo("db://{schema}/tables/{table}");
+		assertThat(match.variables()).isEqualTo(Map.of("schema", "public", "table", "users"));
+		assertThat(match.uriTemplate().getVariableNames()).containsExactly("schema", "table");
+		assertThat(this.router.route("db://public/views/users")).isNull();
+	}
+
+	@Test
+	void prefersExactUriAndLongerLiteralPrefix() {
+		this.router.put("file:///{path}");
+		this.router.put("file:///logs/{name}");
+		this.router.put("file:///logs/latest");
+
+		assertThat(this.router.route("file:///logs/latest").specification()).isEqualTo("file:///logs/latest");
+		assertThat(this.router.route("file:///logs/app").specification()).isEqualTo("file:///logs/{name}");
+		assertThat(this.router.route("file:///readme").specification()).isEqualTo("file:///{path}");
+	}
+
+	@Test
+	void templateWithoutLiteralPrefix() {
+		this.router.put("{scheme}://host");
+
+		assertThat(this.router.route("https://host").variables()).isEqualTo(Map.of("scheme", "https"));
+	}
+
+	@Test
+	void routesTemplateWithRepeatedVariable() {
+		this.router.put("test://{id}/x/{id}");
+
+		ResourceRouter.Match<String> match = this.router.route("test://1/x/2");
+
+		assertThat(match.specification()).isEqualTo("test://{id}/x/{id}");
+		assertThat(match.variables()).isEqualTo(Map.of("id", "1"));
+	}
+
+	@Test
+	void removeStopsRoutingAndKeepsOtherTemplates() {
+		this.router.put("test://items/{id}");
+		this.router.put("test://items/{id}/details");
+		this.router.put("test://static");
+
+		assertThat(this.router.remove("test://items/{id}")).isTrue();
+		assertThat(this.router.remove("test://items/{id}")).isFalse();
+		assertThat(this.router.remove("test://static")).isTrue();
+
+		assertThat(this.router.route("test://items/1")).isNull();
+		assertThat(this.router.route("test://static")).isNull();
+		assertThat(this.router.route("test://items/1/details").specification()).isEqualTo("test://items/{id}/details");
+		assertThat(this.router.values()).containsExactly("test://items/{id}/details");
+	}
+
+	@Test
+	void replaceKeepsSingleRoute() {
+		this.router.put("test://items/{id}");
+
+		assertThat(this.router.put("test://items/{id}")).isTrue();
+
+		assertThat(this.router.values()).containsExactly("test://items/{id}");
+		assertThat(this.router.route("test://items/7").variables()).isEqualTo(Map.of("id", "7"));
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import io.modelcontextprotocol.util.DefaultMcpUriTemplateManagerFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ResourceSubscriptions}.
+ */
+class ResourceSubscriptionsTests {
+
+	private final ResourceSubscriptions subscriptions = new ResourceSubscriptions(
+			new DefaultMcpUriTemplateManagerFactory());
+
+	@Test
+	void updatesAreOnlyRoutedToSubscribedSessions() {
+		this.subscriptions.subscribe("a", "file:///config.json");
+		this.subscriptions.subscribe("b", "file:///config.json");
+		this.subscriptions.subscribe("c", "file:///other.json");
+
+		assertThat(this.subscriptions.subscribers("file:///config.json")).containsExactlyInAnyOrder("a", "b");
+		assertThat(this.subscriptions.subscribers("file:///other.json")).containsExactly("c");
+		assertThat(this.subscriptions.subscribers("file:///unknown.json")).isEmpty();
+	}
+
+	@Test
+	void templateSubscriptionsCoverMatchingUris() {
+		this.subscriptions.subscribe("a", "db://tables/{table}");
+		this.subscriptions.subscribe("b", "db://tables/users");
+
+		assertThat(this.subscriptions.subscribers("db://tables/users")).containsExactlyInAnyOrder("a", "b");
+		assertThat(this.subscriptions.subscribers("db://tables/orders")).containsExactly("a");
+		assertThat(this.subscriptions.subscribers("db://views/orders")).isEmpty();
+	}
+
+	@Test
+	void unsubscribingRemovesOnlyThatSubscription() {
+		assertThat(this.subscriptions.subscribe("a", "file:///config.json")).isTrue();
+		assertThat(this.subscriptions.subscribe("a", "file:///config.json")).isFalse();
+		this.subscriptions.subscribe("a", "db://tables/{table}");
+
+		assertThat(this.subscriptions.unsubscribe("a", "file:///config.json")).isTrue();
+		assertThat(this.subscriptions.unsubscribe("a", "file:///config.json")).isFalse();
+		assertThat(this.subscriptions.unsubscribe("b", "db://tables/{table}")).isFalse();
+
+		assertThat(this.subscriptions.subscribers("file:///config.json")).isEmpty();
+		assertThat(this.subscriptions.subscriptions("a")).containsExactly("db://tables/{table}");
+	}
+
+	@Test
+	void closedSessionsAreRemovedFromAllSubscriptions() {
+		this.subscriptions.subscribe("a", "file:///config.json");
+		this.subscriptions.subscribe("a", "db://tables/{table}");
+		this.subscriptions.subscribe("b", "db://tables/{table}");
+
+		this.subscriptions.removeSession("a");
+
+		assertThat(this.subscriptions.subscribers("file:///config.json")).isEmpty();
+		assertThat(this.subscriptions.subscribers("db://tables/users")).containsExactly("b");
+		assertThat(this.subscriptions.subscriptions("a")).isEmpty();
+		assertThat(this.subscriptions.sessionCount()).isEqualTo(1);
+	}
+
+}
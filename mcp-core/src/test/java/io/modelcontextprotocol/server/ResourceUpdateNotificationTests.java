@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.Map;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the resource updated notifications of {@link McpAsyncServer} through a
+ * transport that cannot notify individual sessions.
+ */
+class ResourceUpdateNotificationTests {
+
+	private final MockMcpServerTransport transport = new MockMcpServerTransport();
+
+	private final MockMcpServerTransportProvider transportProvider = new MockMcpServerTransportProvider(this.transport);
+
+	private McpAsyncServer server;
+
+	@BeforeEach
+	void setUp() {
+		this.server = McpServer.async(this.transportProvider)
+			.capabilities(McpSchema.ServerCapabilities.builder().resources(true, false).build())
+			.build();
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, "init", new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+						null, new McpSchema.Implementation("test-client", "1.0.0"))));
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.server.closeGracefully().block();
+	}
+
+	@Test
+	void subscribedSessionsAreNotifiedOneByOne() {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_RESOURCES_SUBSCRIBE, "subscribe", Map.of("uri", "file:///subscribed.txt")));
+		this.transport.clearSentMessages();
+
+		this.server.notifyResourcesUpdated(new McpSchema.ResourcesUpdatedNotification("file:///other.txt")).block();
+		assertThat(this.transport.getAllSentMessages()).isEmpty();
+
+		this.server.notifyResourcesUpdated(new McpSchema.ResourcesUpdatedNotification("file:///subscribed.txt"))
+			.block();
+		assertThat(this.transport.getAllSentMessages()).singleElement()
+			.isInstanceOfSatisfying(McpSchema.JSONRPCNotification.class,
+					notification -> assertThat(notification.method())
+						.isEqualTo(McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED));
+	}
+
+	@Test
+	void unsubscribedSessionsAreNotNotified() {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_RESOURCES_SUBSCRIBE, "subscribe", Map.of("uri", "file:///subscribed.txt")));
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_RESOURCES_UNSUBSCRIBE, "unsubscribe", Map.of("uri", "file:///subscribed.txt")));
+		this.transport.clearSentMessages();
+
+		this.server.notifyResourcesUpdated(new McpSchema.ResourcesUpdatedNotification("file:///subscribed.txt"))
+			.block();
+
+		assertThat(this.transport.getAllSentMessages()).isEmpty();
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link ToolBulkhead}.
+ */
+class ToolBulkheadTests {
+
+	private final List<Sinks.One<String>> started = new ArrayList<>();
+
+	@Test
+	void callsBeyondTheLimitWaitInOrder() {
+		ToolBulkhead bulkhead = ToolBulkhead.builder().maxConcurrentCalls(1).maxQueuedCalls(2).build();
+		List<String> results = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			bulkhead.execute("export", call()).subscribe(results::add);
+		}
+
+		assertThat(this.started).hasSize(1);
+		assertThat(bulkhead.activeCalls()).isEqualTo(1);
+		assertThat(bulkhead.queuedCalls()).isEqualTo(2);
+
+		this.started.get(0).tryEmitValue("0");
+		assertThat(this.started).hasSize(2);
+		this.started.get(1).tryEmitValue("1");
+		this.started.get(2).tryEmitValue("2");
+
+		assertThat(results).containsExactly("0", "1", "2");
+		assertThat(bulkhead.activeCalls()).isZero();
+		assertThat(bulkhead.queuedCalls()).isZero();
+	}
+
+	@Test
+	void callsAreRejectedWhenTheQueueIsFull() {
+		ToolBulkhead bulkhead = ToolBulkhead.builder().maxConcurrentCalls(1).build();
+		bulkhead.execute("export", call()).subscribe();
+
+		StepVerifier.create(bulkhead.execute("export", call()))
+			.expectErrorSatisfies(error -> assertThat(error).isInstanceOf(McpError.class)
+				.satisfies(mcpError -> assertThat(((McpError) mcpError).getJsonRpcError().code())
+					.isEqualTo(McpSchema.ErrorCodes.INTERNAL_ERROR)))
+			.verify();
+
+		assertThat(this.started).hasSize(1);
+		assertThat(bulkhead.rejectedCalls()).isEqualTo(1);
+	}
+
+	@Test
+	void waitingCallsTimeOut() {
+		ToolBulkhead bulkhead = ToolBulkhead.builder()
+			.maxConcurrentCalls(1)
+			.maxQueuedCalls(1)
+			.queueTimeout(Duration.ofMillis(50))
+			.build();
+		bulkhead.execute("export", call()).subscribe();
+
+		StepVerifier.create(bulkhead.execute("export", call()))
+			.expectErrorMatches(error -> error.getMessage().contains("timed out"))
+			.verify(Duration.ofSeconds(5));
+
+		assertThat(this.started).hasSize(1);
+		assertThat(bulkhead.queuedCalls()).isZero();
+		assertThat(bulkhead.timedOutCalls()).isEqualTo(1);
+	}
+
+	@Test
+	void cancellingARunningCallCancelsItAndStartsTheNext() {
+		ToolBulkhead bulkhead = ToolBulkhead.builder().maxConcurrentCalls(1).maxQueuedCalls(1).build();
+		AtomicBoolean cancelled = new AtomicBoolean();
+		Disposable running = bulkhead.execute("export", () -> Mono.never().doOnCancel(() -> cancelled.set(true)))
+			.subscribe();
+		bulkhead.execute("export", call()).subscribe();
+
+		running.dispose();
+
+		assertThat(cancelled).isTrue();
+		assertThat(this.started).hasSize(1);
+		assertThat(bulkhead.activeCalls()).isEqualTo(1);
+		assertThat(bulkhead.queuedCalls()).isZero();
+	}
+
+	@Test
+	void waitingCallsCancelledWhileBeingStartedAreNotStarted() {
+		ToolBulkhead bulkhead = ToolBulkhead.builder().maxConcurrentCalls(1).maxQueuedCalls(1).build();
+		Disposable[] waiting = new Disposable[1];
+		// Cancelling the running call takes the waiting call off the queue, then cancels
+		// the running invocation, which cancels the waiting caller before it is started
+		Disposable running = bulkhead.execute("export", () -> Mono.never().doOnCancel(() -> waiting[0].dispose()))
+			.subscribe();
+		waiting[0] = bulkhead.execute("export", call()).subscribe();
+
+		running.dispose();
+
+		assertThat(this.started).isEmpty();
+		assertThat(bulkhead.activeCalls()).isZero();
+		assertThat(bulkhead.queuedCalls()).isZero();
+	}
+
+	@Test
+	void callsCancelledWhileSubscribingDoNotKeepTheirSlot() {
+		ToolBulkhead bulkhead = ToolBulkhead.builder().maxConcurrentCalls(1).maxQueuedCalls(1).build();
+
+		bulkhead.execute("export", call()).subscribe(new BaseSubscriber<>() {
+			@Override
+			protected void hookOnSubscribe(Subscription subscription) {
+				cancel();
+			}
+		});
+
+		assertThat(this.started).isEmpty();
+		assertThat(bulkhead.activeCalls()).isZero();
+		assertThat(bulkhead.queuedCalls()).isZero();
+
+		bulkhead.execute("export", call()).subscribe();
+
+		assertThat(this.started).hasSize(1);
+	}
+
+	@Test
+	void maxConcurrentCallsIsRequired() {
+		assertThatIllegalArgumentException().isThrownBy(() -> ToolBulkhead.builder().build());
+		assertThatIllegalArgumentException().isThrownBy(() -> ToolBulkhead.builder().maxConcurrentCalls(0));
+	}
+
+	private Supplier<Mono<String>> call() {
+		return () -> {
+			Sinks.One<String> result = Sinks.one();
+			this.started.add(result);
+			return result.asMono();
+		};
+	}
+
+}
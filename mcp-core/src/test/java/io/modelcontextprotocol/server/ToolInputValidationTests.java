@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.ErrorCodes;
+import io.modelcontextprotocol.spec.McpSchema.Tool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the validation of tool arguments by {@link McpAsyncServer}.
+ */
+class ToolInputValidationTests {
+
+	private final MockMcpServerTransport transport = new MockMcpServerTransport();
+
+	private final MockMcpServerTransportProvider transportProvider = new MockMcpServerTransportProvider(this.transport);
+
+	private final AtomicInteger handlerCalls = new AtomicInteger();
+
+	private McpAsyncServer server;
+
+	@BeforeEach
+	void setUp() {
+		Tool calculator = Tool.builder()
+			.name("calculator")
+			.inputSchema(new McpSchema.JsonSchema("object", Map.of("expression", Map.of("type", "string")),
+					List.of("expression"), null, null, null))
+			.build();
+		this.server = McpServer.async(this.transportProvider)
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(true).build())
+			.validateToolInputs(true)
+			.tools(McpServerFeatures.AsyncToolSpecification.builder()
+				.tool(calculator)
+				.callHandler((exchange, request) -> {
+					this.handlerCalls.incrementAndGet();
+					return Mono.just(CallToolResult.builder().addTextContent("5").build());
+				})
+				.build())
+			.build();
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, "init", new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+						null, new McpSchema.Implementation("test-client", "1.0.0"))));
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.server.closeGracefully().block();
+	}
+
+	@Test
+	void validArgumentsReachTheHandler() {
+		McpSchema.JSONRPCResponse response = callTool(Map.of("expression", "2 + 3"));
+
+		assertThat(response.error()).isNull();
+		assertThat(response.result()).isNotNull();
+		assertThat(this.handlerCalls).hasValue(1);
+	}
+
+	@Test
+	void invalidArgumentsAreRejectedBeforeTheHandler() {
+		McpSchema.JSONRPCResponse response = callTool(Map.of("expression", 42));
+
+		assertThat(response.error()).isNotNull();
+		assertThat(response.error().code()).isEqualTo(ErrorCodes.INVALID_PARAMS);
+		assertThat(response.error().message()).isEqualTo("Invalid arguments for tool: calculator");
+		assertThat(this.handlerCalls).hasValue(0);
+	}
+
+	private McpSchema.JSONRPCResponse callTool(Map<String, Object> arguments) {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_TOOLS_CALL, "call", new McpSchema.CallToolRequest("calculator", arguments)));
+		McpSchema.JSONRPCMessage response = this.transport.getLastSentMessage();
+		assertThat(response).isInstanceOf(McpSchema.JSONRPCResponse.class);
+		return (McpSchema.JSONRPCResponse) response;
+	}
+
+}
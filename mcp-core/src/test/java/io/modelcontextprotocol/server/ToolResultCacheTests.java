@@ -0,0 +1,217 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.modelcontextprotocol.common.McpTransportContext;
+import io.modelcontextprotocol.json.RawJson;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import static io.modelcontextprotocol.util.McpJsonMapperUtils.JSON_MAPPER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ToolResultCache}.
+ */
+class ToolResultCacheTests {
+
+	private final AtomicInteger invocations = new AtomicInteger();
+
+	private final AtomicLong nanoTime = new AtomicLong();
+
+	@Test
+	void callsWithEqualArgumentsAreServedFromTheCache() throws Exception {
+		ToolResultCache cache = ToolResultCache.builder().build();
+		Map<String, Object> arguments = new LinkedHashMap<>();
+		arguments.put("table", "users");
+		arguments.put("options", Map.of("columns", true, "indexes", false));
+		Map<String, Object> reordered = new LinkedHashMap<>();
+		reordered.put("options", Map.of("indexes", false, "columns", true));
+		reordered.put("table", "users");
+
+		Object first = cache
+			.call(JSON_MAPPER, true, McpTransportContext.EMPTY, new CallToolRequest("schema", arguments), call())
+			.block();
+		Object second = cache
+			.call(JSON_MAPPER, true, McpTransportContext.EMPTY, new CallToolRequest("schema", reordered), call())
+			.block();
+
+		assertThat(this.invocations).hasValue(1);
+		assertThat(second).isInstanceOf(RawJson.class).isEqualTo(first);
+		assertThat(JSON_MAPPER.convertValue(second, CallToolResult.class).content())
+			.containsExactly(new McpSchema.TextContent("result 1"));
+		assertThat(cache.hitCount()).isEqualTo(1);
+		assertThat(cache.missCount()).isEqualTo(1);
+	}
+
+	@Test
+	void callsWithDifferentArgumentsOrToolsInvokeTheTool() {
+		ToolResultCache cache = ToolResultCache.builder().build();
+
+		cache
+			.call(JSON_MAPPER, true, McpTransportContext.EMPTY, new CallToolRequest("schema", Map.of("table", "users")),
+					call())
+			.block();
+		cache
+			.call(JSON_MAPPER, true, McpTransportContext.EMPTY,
+					new CallToolRequest("schema", Map.of("table", "orders")), call())
+			.block();
+		cache
+			.call(JSON_MAPPER, true, McpTransportContext.EMPTY, new CallToolRequest("config", Map.of("table", "users")),
+					call())
+			.block();
+
+		assertThat(this.invocations).hasValue(3);
+		assertThat(cache.size()).isEqualTo(3);
+	}
+
+	@Test
+	void errorResultsAreNotCached() {
+		ToolResultCache cache = ToolResultCache.builder().build();
+		Supplier<Mono<CallToolResult>> failingCall = () -> Mono.fromSupplier(() -> CallToolResult.builder()
+			.addTextContent("failure " + this.invocations.incrementAndGet())
+			.isError(true)
+			.build());
+
+		Object result = cache
+			.call(JSON_MAPPER, true, McpTransportContext.EMPTY, new CallToolRequest("schema", Map.of()), failingCall)
+			.block();
+		cache.call(JSON_MAPPER, true, McpTransportContext.EMPTY, new CallToolRequest("schema", Map.of()), failingCall)
+			.block();
+
+		assertThat(result).isInstanceOf(CallToolResult.class);
+		assertThat(this.invocations).hasValue(2);
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void entriesExpireAfterTheTimeToLive() {
+		ToolResultCache cache = ToolResultCache.builder()
+			.timeToLive(Duration.ofSeconds(10))
+			.nanoClock(this.nanoTime::get)
+			.build();
+		CallToolRequest request = new CallToolRequest("schema", Map.of());
+
+		cache.call(JSON_MAPPER, true, McpTransportContext.EMPTY, request, call()).block();
+		this.nanoTime.addAndGet(Duration.ofSeconds(9).toNanos());
+		cache.call(JSON_MAPPER, true, McpTransportContext.EMPTY, request, call()).block();
+		assertThat(this.invocations).hasValue(1);
+
+		this.nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+		cache.call(JSON_MAPPER, true, McpTransportContext.EMPTY, request, call()).block();
+		assertThat(this.invocations).hasValue(2);
+	}
+
+	@Test
+	void leastRecentlyUsedEntriesAreEvicted() {
+		ToolResultCache cache = ToolResultCache.builder().maxEntries(2).build();
+
+		cache.call(JSON_MAPPER, true, McpTransportContext.EMPTY, new CallToolRequest("a", Map.of()), call()).block();
+		cache.call(JSON_MAPPER, true, McpTransportContext.EMPTY, new CallToolRequest("b", Map.of()), call()).block();
+		cache.call(JSON_MAPPER, true, McpTransportContext.EMPTY, new CallToolRequest("a", Map.of()), call()).block();
+		cache.call(JSON_MAPPER, true, McpTransportContext.EMPTY, new CallToolRequest("c", Map.of()), call()).block();
+		cache.call(JSON_MAPPER, true, McpTransportContext.EMPTY, new CallToolRequest("a", Map.of()), call()).block();
+		cache.call(JSON_MAPPER, true, McpTransportContext.EMPTY, new CallToolRequest("b", Map.of()), call()).block();
+
+		assertThat(this.invocations).hasValue(4);
+		assertThat(cache.evictionCount()).isEqualTo(2);
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void invalidationRemovesTheResultsOfATool() {
+		ToolResultCache cache = ToolResultCache.builder().build();
+		cache
+			.call(JSON_MAPPER, true, McpTransportContext.EMPTY, new CallToolRequest("schema", Map.of("table", "users")),
+					call())
+			.block();
+		cache
+			.call(JSON_MAPPER, true, McpTransportContext.EMPTY,
+					new CallToolRequest("schema", Map.of("table", "orders")), call())
+			.block();
+		cache.call(JSON_MAPPER, true, McpTransportContext.EMPTY, new CallToolRequest("config", Map.of()), call())
+			.block();
+
+		cache.invalidate("schema");
+		assertThat(cache.size()).isEqualTo(1);
+
+		cache.invalidateAll();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void callsRunningDuringAnInvalidationAreNotCached() {
+		ToolResultCache cache = ToolResultCache.builder().build();
+		Sinks.One<CallToolResult> schemaResult = Sinks.one();
+		Sinks.One<CallToolResult> configResult = Sinks.one();
+		Mono<Object> schemaCall = cache.call(JSON_MAPPER, true, McpTransportContext.EMPTY,
+				new CallToolRequest("schema", Map.of()), schemaResult::asMono);
+		Mono<Object> configCall = cache.call(JSON_MAPPER, true, McpTransportContext.EMPTY,
+				new CallToolRequest("config", Map.of()), configResult::asMono);
+		schemaCall.subscribe();
+		configCall.subscribe();
+
+		cache.invalidate("schema");
+		schemaResult.tryEmitValue(CallToolResult.builder().addTextContent("stale").build());
+		configResult.tryEmitValue(CallToolResult.builder().addTextContent("fresh").build());
+		assertThat(cache.size()).isEqualTo(1);
+
+		Sinks.One<CallToolResult> otherResult = Sinks.one();
+		cache
+			.call(JSON_MAPPER, true, McpTransportContext.EMPTY, new CallToolRequest("other", Map.of()),
+					otherResult::asMono)
+			.subscribe();
+		cache.invalidateAll();
+		otherResult.tryEmitValue(CallToolResult.builder().addTextContent("stale").build());
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void resultsAreOnlySharedWithinAScope() {
+		ToolResultCache cache = ToolResultCache.builder().scope(context -> context.get("user")).build();
+		CallToolRequest request = new CallToolRequest("schema", Map.of());
+		McpTransportContext alice = McpTransportContext.create(Map.of("user", "alice"));
+		McpTransportContext bob = McpTransportContext.create(Map.of("user", "bob"));
+
+		cache.call(JSON_MAPPER, true, alice, request, call()).block();
+		cache.call(JSON_MAPPER, true, bob, request, call()).block();
+		cache.call(JSON_MAPPER, true, alice, request, call()).block();
+
+		assertThat(this.invocations).hasValue(2);
+		assertThat(cache.hitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void onlyReadOnlyIdempotentToolsAreCacheable() {
+		assertThat(ToolResultCache.isCacheable(tool(true, true))).isTrue();
+		assertThat(ToolResultCache.isCacheable(tool(true, false))).isFalse();
+		assertThat(ToolResultCache.isCacheable(tool(false, true))).isFalse();
+		assertThat(ToolResultCache.isCacheable(McpSchema.Tool.builder().name("schema").build())).isFalse();
+	}
+
+	private Supplier<Mono<CallToolResult>> call() {
+		return () -> Mono.fromSupplier(
+				() -> CallToolResult.builder().addTextContent("result " + this.invocations.incrementAndGet()).build());
+	}
+
+	private static McpSchema.Tool tool(boolean readOnly, boolean idempotent) {
+		return McpSchema.Tool.builder()
+			.name("schema")
+			.annotations(new McpSchema.ToolAnnotations(null, readOnly, false, idempotent, false, null))
+			.build();
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link InFlightRequests}.
+ */
+class InFlightRequestsTests {
+
+	private final InFlightRequests requests = new InFlightRequests();
+
+	@Test
+	void cancelDisposesTheHandler() {
+		AtomicBoolean disposed = new AtomicBoolean();
+		AtomicReference<InFlightRequests.Cancellation> cancellation = new AtomicReference<>();
+
+		StepVerifier.create(this.requests.track("1", c -> {
+			cancellation.set(c);
+			return Mono.never().doOnCancel(() -> disposed.set(true));
+		}))
+			.then(() -> assertThat(this.requests.cancel(new McpSchema.CancelledNotification("1", "Stop"))).isTrue())
+			.verifyComplete();
+
+		assertThat(disposed).isTrue();
+		assertThat(cancellation.get().isCancelled()).isTrue();
+		assertThat(this.requests.size()).isZero();
+	}
+
+	@Test
+	void numericRequestIdsCanBeCancelled() {
+		StepVerifier.create(this.requests.track(1, c -> Mono.never()))
+			.then(() -> assertThat(this.requests.cancel(new McpSchema.CancelledNotification(1, null))).isTrue())
+			.verifyComplete();
+	}
+
+	@Test
+	void completedRequestsAreNoLongerTracked() {
+		StepVerifier.create(this.requests.track("1", c -> Mono.just("result"))).expectNext("result").verifyComplete();
+
+		assertThat(this.requests.size()).isZero();
+		assertThat(this.requests.cancel(new McpSchema.CancelledNotification("1", null))).isFalse();
+	}
+
+	@Test
+	void unknownRequestsAreIgnored() {
+		assertThat(this.requests.cancel(new McpSchema.CancelledNotification("unknown", null))).isFalse();
+		assertThat(this.requests.cancel(new McpSchema.CancelledNotification(null, null))).isFalse();
+		assertThat(this.requests.cancel(null)).isFalse();
+	}
+
+	@Test
+	void cancelAllDisposesEveryHandler() {
+		AtomicBoolean firstDisposed = new AtomicBoolean();
+		AtomicBoolean secondDisposed = new AtomicBoolean();
+		this.requests.track("1", c -> Mono.never().doOnCancel(() -> firstDisposed.set(true))).subscribe();
+		this.requests.track("2", c -> Mono.never().doOnCancel(() -> secondDisposed.set(true))).subscribe();
+
+		assertThat(this.requests.size()).isEqualTo(2);
+
+		this.requests.cancelAll();
+
+		assertThat(firstDisposed).isTrue();
+		assertThat(secondDisposed).isTrue();
+		assertThat(this.requests.size()).isZero();
+	}
+
+	@Test
+	void duplicateRequestsAreHandledButNotCancellable() {
+		AtomicReference<InFlightRequests.Cancellation> duplicate = new AtomicReference<>();
+		this.requests.track("1", c -> Mono.never()).subscribe();
+
+		StepVerifier.create(this.requests.track("1", c -> {
+			duplicate.set(c);
+			return Mono.just("result");
+		})).expectNext("result").verifyComplete();
+
+		assertThat(this.requests.cancel(new McpSchema.CancelledNotification("1", null))).isTrue();
+		assertThat(duplicate.get().isCancelled()).isFalse();
+	}
+
+}
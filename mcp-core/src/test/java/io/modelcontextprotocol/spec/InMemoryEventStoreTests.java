@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link InMemoryEventStore}.
+ */
+class InMemoryEventStoreTests {
+
+	private final AtomicLong clock = new AtomicLong();
+
+	@Test
+	void replaysEventsAfterLastEventId() {
+		InMemoryEventStore store = new InMemoryEventStore();
+		store(store, "session", "stream", 3);
+
+		StepVerifier.create(store.replayEventsAfter("session", "stream", "stream_0"))
+			.assertNext(event -> assertEvent(event, "stream_1"))
+			.assertNext(event -> assertEvent(event, "stream_2"))
+			.verifyComplete();
+	}
+
+	@Test
+	void unknownLastEventIdReplaysNothing() {
+		InMemoryEventStore store = new InMemoryEventStore();
+		store(store, "session", "stream", 3);
+
+		StepVerifier.create(store.replayEventsAfter("session", "stream", "stream_unknown")).verifyComplete();
+		StepVerifier.create(store.replayEventsAfter("session", "other", "other_0")).verifyComplete();
+		StepVerifier.create(store.replayEventsAfter("other", "stream", "stream_0")).verifyComplete();
+	}
+
+	@Test
+	void replayIsLimitedToTheStream() {
+		InMemoryEventStore store = new InMemoryEventStore();
+		store(store, "session", "a", 2);
+		store(store, "session", "b", 2);
+
+		StepVerifier.create(store.replayEventsAfter("session", "a", "a_0"))
+			.assertNext(event -> assertEvent(event, "a_1"))
+			.verifyComplete();
+	}
+
+	@Test
+	void oldestEventsAreEvictedOnceTheSessionIsFull() {
+		InMemoryEventStore store = new InMemoryEventStore(3, Duration.ofMinutes(1));
+		store(store, "session", "a", 2);
+		store(store, "session", "b", 2);
+
+		assertThat(store.size("session")).isEqualTo(3);
+		StepVerifier.create(store.replayEventsAfter("session", "a", "a_0")).verifyComplete();
+		StepVerifier.create(store.replayEventsAfter("session", "a", "a_1")).verifyComplete();
+		StepVerifier.create(store.replayEventsAfter("session", "b", "b_0"))
+			.assertNext(event -> assertEvent(event, "b_1"))
+			.verifyComplete();
+	}
+
+	@Test
+	void expiredEventsAreEvicted() {
+		InMemoryEventStore store = new InMemoryEventStore(100, Duration.ofSeconds(10), this.clock::get);
+		store(store, "session", "a", 2);
+		this.clock.addAndGet(Duration.ofSeconds(6).toNanos());
+		store(store, "session", "b", 2);
+		this.clock.addAndGet(Duration.ofSeconds(6).toNanos());
+
+		StepVerifier.create(store.replayEventsAfter("session", "a", "a_0")).verifyComplete();
+		StepVerifier.create(store.replayEventsAfter("session", "b", "b_0"))
+			.assertNext(event -> assertEvent(event, "b_1"))
+			.verifyComplete();
+		assertThat(store.size("session")).isEqualTo(2);
+	}
+
+	@Test
+	void expiredSessionsAreSwept() {
+		InMemoryEventStore store = new InMemoryEventStore(100, Duration.ofSeconds(10), this.clock::get);
+		store(store, "idle", "stream", 2);
+		this.clock.addAndGet(Duration.ofSeconds(11).toNanos());
+		store(store, "active", "stream", 1);
+
+		assertThat(store.size("idle")).isZero();
+		assertThat(store.size("active")).isEqualTo(1);
+	}
+
+	@Test
+	void removeSession() {
+		InMemoryEventStore store = new InMemoryEventStore();
+		store(store, "session", "stream", 2);
+
+		StepVerifier.create(store.removeSession("session")).verifyComplete();
+
+		assertThat(store.size("session")).isZero();
+		StepVerifier.create(store.replayEventsAfter("session", "stream", "stream_0")).verifyComplete();
+	}
+
+	@Test
+	void invalidLimits() {
+		assertThatThrownBy(() -> new InMemoryEventStore(0, Duration.ofMinutes(1)))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Max events per session must be greater than 0");
+		assertThatThrownBy(() -> new InMemoryEventStore(1, Duration.ZERO)).isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Time to live must be positive");
+	}
+
+	private static void store(InMemoryEventStore store, String sessionId, String streamId, int count) {
+		for (int i = 0; i < count; i++) {
+			String eventId = streamId + "_" + i;
+			store.storeEvent(sessionId, streamId, eventId, notification(eventId)).block();
+		}
+	}
+
+	private static McpSchema.JSONRPCMessage notification(String eventId) {
+		return new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_NOTIFICATION_PROGRESS,
+				eventId);
+	}
+
+	private static void assertEvent(EventStore.StoredEvent event, String eventId) {
+		assertThat(event.eventId()).isEqualTo(eventId);
+		assertThat(event.message()).isEqualTo(notification(eventId));
+	}
+
+}
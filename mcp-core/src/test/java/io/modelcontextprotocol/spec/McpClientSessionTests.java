@@ -6,6 +6,7 @@ package io.modelcontextprotocol.spec;
 
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 import io.modelcontextprotocol.MockMcpClientTransport;
@@ -13,6 +14,7 @@ import io.modelcontextprotocol.json.TypeRef;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
@@ -109,6 +111,93 @@ class McpClientSessionTests {
 		session.close();
 	}
 
+	@Test
+	void testRequestTimeoutNotifiesCancellation() {
+		var transport = new MockMcpClientTransport();
+		var session = new McpClientSession(Duration.ofMillis(100), transport, Map.of(), Map.of(), Function.identity());
+
+		Mono<String> responseMono = session.sendRequest(TEST_METHOD, "test", responseType);
+
+		StepVerifier.create(responseMono).expectError(java.util.concurrent.TimeoutException.class).verify(TIMEOUT);
+
+		McpSchema.JSONRPCNotification notification = transport.getLastSentMessageAsNotification();
+		assertThat(notification.method()).isEqualTo(McpSchema.METHOD_NOTIFICATION_CANCELLED);
+		assertThat(notification.params()).isInstanceOfSatisfying(McpSchema.CancelledNotification.class,
+				cancelled -> assertThat(cancelled.reason()).isEqualTo("Request timed out"));
+
+		session.close();
+	}
+
+	@Test
+	void testDisposedRequestNotifiesCancellation() {
+		var transport = new MockMcpClientTransport();
+		var session = new McpClientSession(TIMEOUT, transport, Map.of(), Map.of(), Function.identity());
+
+		Disposable subscription = session.sendRequest(TEST_METHOD, "test", responseType).subscribe();
+		String requestId = (String) transport.getLastSentMessageAsRequest().id();
+		subscription.dispose();
+
+		McpSchema.JSONRPCNotification notification = transport.getLastSentMessageAsNotification();
+		assertThat(notification.method()).isEqualTo(McpSchema.METHOD_NOTIFICATION_CANCELLED);
+		assertThat(notification.params())
+			.isEqualTo(new McpSchema.CancelledNotification(requestId, "Request cancelled"));
+
+		session.close();
+	}
+
+	@Test
+	void testErrorResponseDoesNotNotifyCancellation() {
+		var transport = new MockMcpClientTransport();
+		var session = new McpClientSession(TIMEOUT, transport, Map.of(), Map.of(), Function.identity());
+
+		StepVerifier.create(session.sendRequest(TEST_METHOD, "test", responseType)).then(() -> {
+			McpSchema.JSONRPCRequest request = transport.getLastSentMessageAsRequest();
+			transport
+				.simulateIncomingMessage(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), null,
+						new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR, "boom", null)));
+		}).expectError(McpError.class).verify(TIMEOUT);
+
+		assertThat(transport.getLastSentMessage()).isInstanceOf(McpSchema.JSONRPCRequest.class);
+
+		session.close();
+	}
+
+	@Test
+	void testVoidResponseDoesNotNotifyCancellation() {
+		var transport = new MockMcpClientTransport();
+		var session = new McpClientSession(TIMEOUT, transport, Map.of(), Map.of(), Function.identity());
+
+		StepVerifier.create(session.sendRequest(TEST_METHOD, "test", new TypeRef<Void>() {
+		})).then(() -> {
+			McpSchema.JSONRPCRequest request = transport.getLastSentMessageAsRequest();
+			transport.simulateIncomingMessage(
+					new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), Map.of(), null));
+		}).verifyComplete();
+
+		assertThat(transport.getLastSentMessage()).isInstanceOf(McpSchema.JSONRPCRequest.class);
+
+		session.close();
+	}
+
+	@Test
+	void testIncomingRequestCancellation() {
+		AtomicBoolean disposed = new AtomicBoolean();
+		Map<String, McpClientSession.RequestHandler<?>> requestHandlers = Map.of(ECHO_METHOD,
+				params -> Mono.never().doOnCancel(() -> disposed.set(true)));
+		var transport = new MockMcpClientTransport();
+		var session = new McpClientSession(TIMEOUT, transport, requestHandlers, Map.of(), Function.identity());
+
+		transport.simulateIncomingMessage(
+				new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, ECHO_METHOD, "test-id", "Hello MCP!"));
+		transport.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_CANCELLED, Map.of("requestId", "test-id", "reason", "No longer needed")));
+
+		assertThat(disposed).isTrue();
+		assertThat(transport.getLastSentMessage()).isNull();
+
+		session.close();
+	}
+
 	@Test
 	void testSendNotification() {
 		var transport = new MockMcpClientTransport();
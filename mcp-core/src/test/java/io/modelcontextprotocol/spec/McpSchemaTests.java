@@ -10,16 +10,27 @@ import static net.javacrumbs.jsonunit.assertj.JsonAssertions.json;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
 
+import io.modelcontextprotocol.json.BinaryData;
+import io.modelcontextprotocol.json.RawJson;
+import io.modelcontextprotocol.json.TypeRef;
 import io.modelcontextprotocol.spec.McpSchema.TextResourceContents;
 import net.javacrumbs.jsonunit.core.Option;
 
@@ -112,6 +123,89 @@ public class McpSchemaTests {
 		assertThat(audioContent.meta()).containsKey("metaKey");
 	}
 
+	@Test
+	void testImageContentWithBinaryData() throws Exception {
+		byte[] bytes = new byte[1000];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) i;
+		}
+		String base64 = Base64.getEncoder().encodeToString(bytes);
+		McpSchema.ImageContent imageContent = new McpSchema.ImageContent(null, BinaryData.of(bytes), "image/png");
+
+		assertThat(imageContent.data()).isEqualTo(base64);
+		assertThat(JSON_MAPPER.writeValueAsString(imageContent))
+			.isEqualTo(JSON_MAPPER.writeValueAsString(new McpSchema.ImageContent(null, base64, "image/png")));
+
+		McpSchema.ImageContent deserialized = JSON_MAPPER.readValue(JSON_MAPPER.writeValueAsString(imageContent),
+				McpSchema.ImageContent.class);
+		assertThat(deserialized.data()).isEqualTo(base64);
+		assertThat(deserialized.binary()).isNull();
+	}
+
+	@Test
+	void testBlobResourceContentsWithFileBinaryData(@TempDir Path directory) throws Exception {
+		byte[] bytes = "binary file content".getBytes(StandardCharsets.UTF_8);
+		Path file = Files.write(directory.resolve("data.bin"), bytes);
+		McpSchema.BlobResourceContents contents = new McpSchema.BlobResourceContents("file:///data.bin",
+				"application/octet-stream", BinaryData.of(file));
+
+		String value = JSON_MAPPER.writeValueAsString(new McpSchema.ReadResourceResult(List.of(contents)));
+		assertThatJson(value).isEqualTo(json("""
+				{"contents":[{"uri":"file:///data.bin","mimeType":"application/octet-stream","blob":"%s"}]}"""
+			.formatted(Base64.getEncoder().encodeToString(bytes))));
+
+		McpSchema.ReadResourceResult deserialized = JSON_MAPPER.readValue(value, McpSchema.ReadResourceResult.class);
+		assertThat(deserialized.contents()).singleElement()
+			.isInstanceOfSatisfying(McpSchema.BlobResourceContents.class,
+					blob -> assertThat(Base64.getDecoder().decode(blob.blob())).isEqualTo(bytes));
+	}
+
+	@Test
+	void testAudioContentWithStreamBinaryDataConvertValue() {
+		byte[] bytes = "audio".getBytes(StandardCharsets.UTF_8);
+		McpSchema.AudioContent audioContent = new McpSchema.AudioContent(null,
+				BinaryData.of(() -> new ByteArrayInputStream(bytes)), "audio/wav");
+
+		Map<String, Object> map = JSON_MAPPER.convertValue(audioContent, new TypeRef<Map<String, Object>>() {
+		});
+		assertThat(map).containsEntry("type", "audio")
+			.containsEntry("data", Base64.getEncoder().encodeToString(bytes))
+			.containsEntry("mimeType", "audio/wav");
+	}
+
+	@Test
+	void testBinaryDataContentWithMeta() throws Exception {
+		byte[] bytes = "content".getBytes(StandardCharsets.UTF_8);
+		BinaryData binary = BinaryData.of(bytes);
+		Map<String, Object> meta = Map.of("source", "test");
+
+		McpSchema.ImageContent imageContent = new McpSchema.ImageContent(null, binary, "image/png", meta);
+		McpSchema.AudioContent audioContent = new McpSchema.AudioContent(null, binary, "audio/wav", meta);
+		McpSchema.BlobResourceContents blobContents = new McpSchema.BlobResourceContents("file:///data.bin",
+				"application/octet-stream", binary, meta);
+
+		assertThat(imageContent.meta()).isEqualTo(meta);
+		assertThat(audioContent.meta()).isEqualTo(meta);
+		assertThatJson(JSON_MAPPER.writeValueAsString(blobContents)).isEqualTo(
+				json("""
+						{"uri":"file:///data.bin","mimeType":"application/octet-stream","blob":"%s","_meta":{"source":"test"}}"""
+					.formatted(Base64.getEncoder().encodeToString(bytes))));
+	}
+
+	@Test
+	void testBinaryDataIsEncodedOnce() {
+		AtomicInteger reads = new AtomicInteger();
+		byte[] bytes = "audio".getBytes(StandardCharsets.UTF_8);
+		McpSchema.AudioContent audioContent = new McpSchema.AudioContent(null, BinaryData.of(() -> {
+			reads.incrementAndGet();
+			return new ByteArrayInputStream(bytes);
+		}), "audio/wav");
+
+		assertThat(audioContent.data()).isEqualTo(Base64.getEncoder().encodeToString(bytes));
+		assertThat(audioContent.data()).isSameAs(audioContent.data());
+		assertThat(reads).hasValue(1);
+	}
+
 	@Test
 	void testCreateMessageRequestWithMeta() throws Exception {
 		McpSchema.TextContent content = new McpSchema.TextContent("User message");
@@ -306,6 +400,90 @@ public class McpSchemaTests {
 					{"jsonrpc":"2.0","id":1,"error":{"code":-32600,"message":"Invalid request"}}"""));
 	}
 
+	@Test
+	void testDeserializeJsonRpcMessageFromBytes() throws Exception {
+		byte[] request = """
+				{"params":{"name":"echo","arguments":{"text":"hi"}},"id":7,"method":"tools/call","jsonrpc":"2.0"}"""
+			.getBytes(StandardCharsets.UTF_8);
+
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(JSON_MAPPER, request);
+
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCRequest.class);
+		McpSchema.JSONRPCRequest jsonrpcRequest = (McpSchema.JSONRPCRequest) message;
+		assertThat(jsonrpcRequest.method()).isEqualTo("tools/call");
+		assertThat(jsonrpcRequest.id()).isEqualTo(7);
+		assertThat(JSON_MAPPER.convertValue(jsonrpcRequest.params(), Map.class))
+			.isEqualTo(Map.of("name", "echo", "arguments", Map.of("text", "hi")));
+	}
+
+	@Test
+	void testDeserializeJsonRpcRequestKeepsRawParams() throws Exception {
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(JSON_MAPPER, """
+				{"jsonrpc":"2.0","id":"r1","method":"tools/call","params":{"name":"echo","arguments":{"n":1.50}}}""");
+
+		McpSchema.JSONRPCRequest jsonrpcRequest = (McpSchema.JSONRPCRequest) message;
+		assertThat(jsonrpcRequest.params()).isInstanceOf(RawJson.class);
+		assertThat(jsonrpcRequest.params()).hasToString("""
+				{"name":"echo","arguments":{"n":1.50}}""");
+
+		McpSchema.CallToolRequest callToolRequest = JSON_MAPPER.convertValue(jsonrpcRequest.params(),
+				new TypeRef<McpSchema.CallToolRequest>() {
+				});
+		assertThat(callToolRequest.name()).isEqualTo("echo");
+		assertThat(callToolRequest.arguments()).containsEntry("n", 1.5);
+
+		// Forwarded params are written back verbatim
+		assertThat(JSON_MAPPER.writeValueAsString(jsonrpcRequest)).contains("""
+				"params":{"name":"echo","arguments":{"n":1.50}}""");
+	}
+
+	@Test
+	void testDeserializeJsonRpcNotificationKeepsRawParams() throws Exception {
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(JSON_MAPPER, """
+				{"jsonrpc":"2.0","method":"notifications/progress","params":{"progressToken":"t","progress":0.5}}""");
+
+		McpSchema.JSONRPCNotification notification = (McpSchema.JSONRPCNotification) message;
+		assertThat(notification.params()).isEqualTo(RawJson.of("""
+				{"progressToken":"t","progress":0.5}"""));
+
+		McpSchema.ProgressNotification progress = JSON_MAPPER.convertValue(notification.params(),
+				McpSchema.ProgressNotification.class);
+		assertThat(progress.progressToken()).isEqualTo("t");
+		assertThat(progress.progress()).isEqualTo(0.5);
+
+		// Converting the whole message still produces a plain tree
+		Map<String, Object> tree = JSON_MAPPER.convertValue(notification, new TypeRef<Map<String, Object>>() {
+		});
+		assertThat(tree.get("params")).isEqualTo(Map.of("progressToken", "t", "progress", 0.5));
+	}
+
+	@Test
+	void testDeserializeJsonRpcMessageFromInputStream() throws Exception {
+		var notification = new ByteArrayInputStream("""
+				{"jsonrpc":"2.0","method":"notifications/initialized"}""".getBytes(StandardCharsets.UTF_8));
+		var response = new ByteArrayInputStream("""
+				{"jsonrpc":"2.0","id":"abc","error":{"code":-32601,"message":"Method not found"}}"""
+			.getBytes(StandardCharsets.UTF_8));
+
+		assertThat(McpSchema.deserializeJsonRpcMessage(JSON_MAPPER, notification))
+			.isInstanceOf(McpSchema.JSONRPCNotification.class);
+
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(JSON_MAPPER, response);
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCResponse.class);
+		assertThat(((McpSchema.JSONRPCResponse) message).error().code())
+			.isEqualTo(McpSchema.ErrorCodes.METHOD_NOT_FOUND);
+	}
+
+	@Test
+	void testDeserializeJsonRpcMessageUnknownStructure() {
+		assertThatThrownBy(() -> McpSchema.deserializeJsonRpcMessage(JSON_MAPPER, """
+				{"jsonrpc":"2.0","id":1}""")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Cannot deserialize JSONRPCMessage");
+
+		assertThatThrownBy(() -> McpSchema.deserializeJsonRpcMessage(JSON_MAPPER, "[1, 2]"))
+			.isInstanceOf(IOException.class);
+	}
+
 	// Initialization Tests
 
 	@Test
@@ -1249,6 +1427,22 @@ public class McpSchemaTests {
 					{"content":[{"type":"text","text":"Tool execution result"}],"isError":false}"""));
 	}
 
+	@Test
+	void testCallToolResultWithRawStructuredContent() throws Exception {
+		McpSchema.CallToolResult result = McpSchema.CallToolResult.builder()
+			.structuredContent(RawJson.of("{\"result\":5,\"operation\":\"2 + 3\"}"))
+			.build();
+
+		String value = JSON_MAPPER.writeValueAsString(result);
+
+		assertThat(JSON_MAPPER.supportsRawJson()).isTrue();
+		assertThatJson(value).when(Option.IGNORING_ARRAY_ORDER)
+			.when(Option.IGNORING_EXTRA_ARRAY_ITEMS)
+			.isObject()
+			.isEqualTo(json("""
+					{"content":[],"isError":false,"structuredContent":{"result":5,"operation":"2 + 3"}}"""));
+	}
+
 	@Test
 	void testCallToolResultBuilder() throws Exception {
 		McpSchema.CallToolResult result = McpSchema.CallToolResult.builder()
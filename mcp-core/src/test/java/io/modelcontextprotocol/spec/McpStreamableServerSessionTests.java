@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import io.modelcontextprotocol.json.TypeRef;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the stream resumption of {@link McpStreamableServerSession}.
+ */
+class McpStreamableServerSessionTests {
+
+	@Test
+	void replaysMessagesSentAfterLastEventId() {
+		McpStreamableServerSession session = session(new InMemoryEventStore());
+		RecordingTransport transport = new RecordingTransport();
+		session.listeningStream(transport);
+
+		for (int i = 0; i < 3; i++) {
+			session.sendNotification(McpSchema.METHOD_NOTIFICATION_PROGRESS, i).block();
+		}
+
+		assertThat(transport.messageIds).hasSize(3).doesNotContainNull();
+		StepVerifier.create(session.replayEvents(transport.messageIds.get(0))).assertNext(event -> {
+			assertThat(event.eventId()).isEqualTo(transport.messageIds.get(1));
+			assertThat(event.message()).isEqualTo(transport.messages.get(1));
+		}).assertNext(event -> assertThat(event.eventId()).isEqualTo(transport.messageIds.get(2))).verifyComplete();
+	}
+
+	@Test
+	void replaysNothingWithoutEventStore() {
+		McpStreamableServerSession session = session(null);
+		RecordingTransport transport = new RecordingTransport();
+		session.listeningStream(transport);
+
+		session.sendNotification(McpSchema.METHOD_NOTIFICATION_PROGRESS, 0).block();
+		session.sendNotification(McpSchema.METHOD_NOTIFICATION_PROGRESS, 1).block();
+
+		StepVerifier.create(session.replayEvents(transport.messageIds.get(0))).verifyComplete();
+		StepVerifier.create(session.replayEvents("malformed")).verifyComplete();
+	}
+
+	@Test
+	void deleteRemovesRecordedEvents() {
+		InMemoryEventStore eventStore = new InMemoryEventStore();
+		McpStreamableServerSession session = session(eventStore);
+		session.listeningStream(new RecordingTransport());
+		session.sendNotification(McpSchema.METHOD_NOTIFICATION_PROGRESS, 0).block();
+		assertThat(eventStore.size("session")).isEqualTo(1);
+
+		StepVerifier.create(session.delete()).verifyComplete();
+
+		assertThat(eventStore.size("session")).isZero();
+	}
+
+	private static McpStreamableServerSession session(EventStore eventStore) {
+		return new McpStreamableServerSession("session", null, null, Duration.ofSeconds(10), Map.of(), Map.of(),
+				eventStore);
+	}
+
+	private static class RecordingTransport implements McpStreamableServerTransport {
+
+		private final List<String> messageIds = new ArrayList<>();
+
+		private final List<McpSchema.JSONRPCMessage> messages = new ArrayList<>();
+
+		@Override
+		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+			return sendMessage(message, null);
+		}
+
+		@Override
+		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message, String messageId) {
+			return Mono.fromRunnable(() -> {
+				this.messageIds.add(messageId);
+				this.messages.add(message);
+			});
+		}
+
+		@Override
+		public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
+			return null;
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.empty();
+		}
+
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PendingRequests}.
+ */
+class PendingRequestsTests {
+
+	private final List<Object> sent = new ArrayList<>();
+
+	@Test
+	void completesRequestWithItsResponse() {
+		PendingRequests requests = new PendingRequests(0);
+
+		StepVerifier.create(requests.send("1", null, sender("1")))
+			.then(() -> assertThat(requests.complete(response("1"))).isTrue())
+			.assertNext(response -> assertThat(response.id()).isEqualTo("1"))
+			.verifyComplete();
+
+		assertThat(requests.inFlight()).isZero();
+		assertThat(requests.complete(response("1"))).isFalse();
+	}
+
+	@Test
+	void requestsWaitForRoomInTheWindow() {
+		PendingRequests requests = new PendingRequests(2);
+		List<McpSchema.JSONRPCResponse> responses = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			requests.send(String.valueOf(i), null, sender(String.valueOf(i))).subscribe(responses::add);
+		}
+
+		assertThat(this.sent).containsExactly("0", "1");
+		assertThat(requests.inFlight()).isEqualTo(2);
+		assertThat(requests.waiting()).isEqualTo(2);
+
+		requests.complete(response("1"));
+		assertThat(this.sent).containsExactly("0", "1", "2");
+
+		requests.complete(response("0"));
+		requests.complete(response("2"));
+		requests.complete(response("3"));
+
+		assertThat(this.sent).containsExactly("0", "1", "2", "3");
+		assertThat(responses).extracting(McpSchema.JSONRPCResponse::id).containsExactly("1", "0", "2", "3");
+		assertThat(requests.inFlight()).isZero();
+		assertThat(requests.waiting()).isZero();
+	}
+
+	@Test
+	void timedOutRequestsReleaseTheirSlot() {
+		PendingRequests requests = new PendingRequests(1);
+
+		StepVerifier.create(requests.send("1", null, sender("1")).timeout(Duration.ofMillis(10)))
+			.verifyError(TimeoutException.class);
+		StepVerifier.create(requests.send("2", null, sender("2")).timeout(Duration.ofMillis(10)))
+			.verifyError(TimeoutException.class);
+
+		assertThat(this.sent).containsExactly("1", "2");
+		assertThat(requests.inFlight()).isZero();
+	}
+
+	@Test
+	void failedSendReleasesItsSlot() {
+		PendingRequests requests = new PendingRequests(1);
+
+		StepVerifier.create(requests.send("1", null, () -> Mono.error(new IllegalStateException("boom"))))
+			.verifyErrorMessage("boom");
+
+		assertThat(requests.inFlight()).isZero();
+		assertThat(requests.complete(response("1"))).isFalse();
+	}
+
+	@Test
+	void closingAStreamFailsOnlyItsRequests() {
+		PendingRequests requests = new PendingRequests(2);
+		Object stream = new Object();
+		Object otherStream = new Object();
+		List<Throwable> errors = new ArrayList<>();
+		List<McpSchema.JSONRPCResponse> responses = new ArrayList<>();
+		requests.send("1", stream, sender("1")).subscribe(responses::add, errors::add);
+		requests.send("2", otherStream, sender("2")).subscribe(responses::add, errors::add);
+		requests.send("3", stream, sender("3")).subscribe(responses::add, errors::add);
+
+		requests.failStream(stream, new RuntimeException("Stream closed"));
+
+		assertThat(errors).hasSize(2).allSatisfy(e -> assertThat(e).hasMessage("Stream closed"));
+		assertThat(this.sent).containsExactly("1", "2");
+		assertThat(requests.waiting()).isZero();
+		assertThat(requests.complete(response("2"))).isTrue();
+		assertThat(responses).extracting(McpSchema.JSONRPCResponse::id).containsExactly("2");
+	}
+
+	@Test
+	void closeFailsAllRequestsAndRejectsNewOnes() {
+		PendingRequests requests = new PendingRequests(1);
+		List<Throwable> errors = new ArrayList<>();
+		requests.send("1", null, sender("1")).subscribe(null, errors::add);
+		requests.send("2", new Object(), sender("2")).subscribe(null, errors::add);
+
+		requests.close(new RuntimeException("terminated"));
+
+		assertThat(errors).hasSize(2).allSatisfy(e -> assertThat(e).hasMessage("terminated"));
+		assertThat(this.sent).containsExactly("1");
+		assertThat(requests.inFlight()).isZero();
+		assertThat(requests.waiting()).isZero();
+		StepVerifier.create(requests.send("3", null, sender("3"))).verifyErrorMessage("terminated");
+		assertThat(this.sent).containsExactly("1");
+	}
+
+	private Supplier<Mono<Void>> sender(String requestId) {
+		return () -> Mono.fromRunnable(() -> this.sent.add(requestId));
+	}
+
+	private static McpSchema.JSONRPCResponse response(String requestId) {
+		return new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, requestId, null, null);
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+
+import static io.modelcontextprotocol.util.McpJsonMapperUtils.JSON_MAPPER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link NewlineEscapingOutputStream}.
+ */
+class NewlineEscapingOutputStreamTests {
+
+	@Test
+	void lineBreaksAreEscaped() throws IOException {
+		assertThat(escape("a\r\nb\nc\rd\r\re")).isEqualTo("a\\nb\\nc\\nd\\n\\ne");
+	}
+
+	@Test
+	void lineBreaksSplitAcrossWritesAreEscapedOnce() throws IOException {
+		ByteArrayOutputStream target = new ByteArrayOutputStream();
+		NewlineEscapingOutputStream output = new NewlineEscapingOutputStream(target);
+		output.write("a\r".getBytes(StandardCharsets.UTF_8));
+		output.write('\n');
+		output.write("b".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(target.toString(StandardCharsets.UTF_8)).isEqualTo("a\\nb");
+	}
+
+	@Test
+	void messageIsSerializedOnOneLineWithoutClosingTheStream() throws IOException {
+		McpSchema.JSONRPCNotification notification = new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_MESSAGE, Map.of("data", "first line\nsecond line ü"));
+		ByteArrayOutputStream target = new ByteArrayOutputStream() {
+			@Override
+			public void close() {
+				throw new AssertionError("The stream must not be closed");
+			}
+		};
+
+		JSON_MAPPER.writeValue(new NewlineEscapingOutputStream(target), notification);
+
+		String line = target.toString(StandardCharsets.UTF_8);
+		assertThat(line).doesNotContain("\n").isEqualTo(JSON_MAPPER.writeValueAsString(notification));
+	}
+
+	private static String escape(String text) throws IOException {
+		ByteArrayOutputStream target = new ByteArrayOutputStream();
+		try (NewlineEscapingOutputStream output = new NewlineEscapingOutputStream(target)) {
+			output.write(text.getBytes(StandardCharsets.UTF_8));
+		}
+		return target.toString(StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.EncodedMessage;
+import io.modelcontextprotocol.spec.McpLoggableSession;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSession;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import static io.modelcontextprotocol.util.McpJsonMapperUtils.JSON_MAPPER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link NotificationBroadcaster}.
+ */
+class NotificationBroadcasterTests {
+
+	@Test
+	void notificationIsEncodedOnceForAllSessions() {
+		Map<String, RecordingSession> sessions = sessions(3);
+
+		StepVerifier
+			.create(new NotificationBroadcaster(JSON_MAPPER).broadcast(sessions, McpSchema.METHOD_NOTIFICATION_MESSAGE,
+					Map.of("level", "info")))
+			.assertNext(report -> {
+				assertThat(report.sessions()).isEqualTo(3);
+				assertThat(report.delivered()).isEqualTo(3);
+				assertThat(report.failures()).isEmpty();
+				assertThat(report.latency()).isGreaterThanOrEqualTo(Duration.ZERO);
+			})
+			.verifyComplete();
+
+		EncodedMessage first = sessions.get("session-0").received.get(0);
+		assertThat(first.json()).contains("\"method\":\"notifications/message\"").contains("\"level\":\"info\"");
+		assertThat(sessions.values()).allSatisfy(session -> {
+			assertThat(session.received).hasSize(1);
+			assertThat(session.received.get(0).json()).isSameAs(first.json());
+		});
+	}
+
+	@Test
+	void loggingMessagesAreOnlySentToSessionsAcceptingTheirLevel() {
+		Map<String, RecordingSession> sessions = sessions(3);
+		sessions.get("session-0").minLoggingLevel = McpSchema.LoggingLevel.DEBUG;
+		sessions.get("session-2").minLoggingLevel = McpSchema.LoggingLevel.ERROR;
+		NotificationBroadcaster broadcaster = new NotificationBroadcaster(JSON_MAPPER);
+
+		StepVerifier.create(broadcaster.broadcastLoggingMessage(sessions,
+				McpSchema.LoggingMessageNotification.builder()
+					.level(McpSchema.LoggingLevel.INFO)
+					.data("Started")
+					.build()))
+			.assertNext(report -> assertThat(report.delivered()).isEqualTo(2))
+			.verifyComplete();
+
+		assertThat(sessions.get("session-0").received).hasSize(1);
+		assertThat(sessions.get("session-1").received).hasSize(1);
+		assertThat(sessions.get("session-2").received).isEmpty();
+
+		StepVerifier.create(broadcaster.broadcastLoggingMessage(sessions,
+				McpSchema.LoggingMessageNotification.builder()
+					.level(McpSchema.LoggingLevel.DEBUG)
+					.data("Details")
+					.build()))
+			.assertNext(report -> assertThat(report.delivered()).isEqualTo(1))
+			.verifyComplete();
+
+		assertThat(sessions.get("session-0").received).hasSize(2);
+		assertThat(sessions.get("session-1").received).hasSize(1);
+	}
+
+	@Test
+	void failedSessionsAreReportedWithoutStoppingDelivery() {
+		Map<String, RecordingSession> sessions = sessions(3);
+		sessions.get("session-1").failure = new RuntimeException("Connection lost");
+
+		StepVerifier
+			.create(new NotificationBroadcaster(JSON_MAPPER).broadcast(sessions,
+					McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null))
+			.assertNext(report -> {
+				assertThat(report.sessions()).isEqualTo(3);
+				assertThat(report.delivered()).isEqualTo(2);
+				assertThat(report.failures()).containsOnlyKeys("session-1");
+				assertThat(report.failures().get("session-1")).hasMessage("Connection lost");
+			})
+			.verifyComplete();
+
+		assertThat(sessions.get("session-0").received).hasSize(1);
+		assertThat(sessions.get("session-2").received).hasSize(1);
+	}
+
+	@Test
+	void concurrencyIsBounded() {
+		Map<String, RecordingSession> sessions = sessions(10);
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		sessions.values().forEach(session -> session.delivery = Mono.defer(() -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			return Mono.delay(Duration.ofMillis(5));
+		}).doOnTerminate(inFlight::decrementAndGet).then());
+
+		StepVerifier
+			.create(new NotificationBroadcaster(JSON_MAPPER, 2).broadcast(sessions,
+					McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED, null))
+			.assertNext(report -> assertThat(report.delivered()).isEqualTo(10))
+			.verifyComplete();
+
+		assertThat(maxInFlight.get()).isBetween(1, 2);
+	}
+
+	@Test
+	void sessionsAreWrittenToOnTheScheduler() {
+		Map<String, RecordingSession> sessions = sessions(2);
+		Map<String, String> threads = new ConcurrentHashMap<>();
+		sessions.forEach((sessionId, session) -> session.delivery = Mono
+			.fromRunnable(() -> threads.put(sessionId, Thread.currentThread().getName())));
+		Scheduler scheduler = Schedulers.newSingle("broadcast");
+		try {
+			StepVerifier
+				.create(new NotificationBroadcaster(JSON_MAPPER, scheduler).broadcast(sessions,
+						McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null))
+				.assertNext(report -> assertThat(report.delivered()).isEqualTo(2))
+				.verifyComplete();
+		}
+		finally {
+			scheduler.dispose();
+		}
+
+		assertThat(threads).hasSize(2).allSatisfy((sessionId, thread) -> assertThat(thread).startsWith("broadcast"));
+	}
+
+	@Test
+	void noSessions() {
+		StepVerifier
+			.create(new NotificationBroadcaster(JSON_MAPPER).broadcast(Map.of(),
+					McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null))
+			.assertNext(report -> {
+				assertThat(report.sessions()).isZero();
+				assertThat(report.failures()).isEmpty();
+			})
+			.verifyComplete();
+	}
+
+	@Test
+	void sessionsWithoutEncodedSupportReceiveTheNotification() {
+		List<Object> received = new ArrayList<>();
+		McpSession session = new McpSession() {
+			@Override
+			public <T> Mono<T> sendRequest(String method, Object requestParams, TypeRef<T> typeRef) {
+				return Mono.empty();
+			}
+
+			@Override
+			public Mono<Void> sendNotification(String method, Object params) {
+				received.add(method);
+				received.add(params);
+				return Mono.empty();
+			}
+
+			@Override
+			public Mono<Void> closeGracefully() {
+				return Mono.empty();
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+
+		StepVerifier
+			.create(new NotificationBroadcaster(JSON_MAPPER).broadcast(Map.of("session", session),
+					McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED, Map.of("uri", "test://resource")))
+			.assertNext(report -> assertThat(report.delivered()).isEqualTo(1))
+			.verifyComplete();
+
+		assertThat(received).containsExactly(McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED,
+				Map.of("uri", "test://resource"));
+	}
+
+	@Test
+	void invalidConcurrency() {
+		assertThatThrownBy(() -> new NotificationBroadcaster(JSON_MAPPER, 0))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Concurrency must be greater than 0");
+	}
+
+	private static Map<String, RecordingSession> sessions(int count) {
+		Map<String, RecordingSession> sessions = new LinkedHashMap<>();
+		for (int i = 0; i < count; i++) {
+			sessions.put("session-" + i, new RecordingSession());
+		}
+		return sessions;
+	}
+
+	private static class RecordingSession implements McpLoggableSession {
+
+		private final List<EncodedMessage> received = new ArrayList<>();
+
+		private McpSchema.LoggingLevel minLoggingLevel = McpSchema.LoggingLevel.INFO;
+
+		private RuntimeException failure;
+
+		private Mono<Void> delivery = Mono.empty();
+
+		@Override
+		public <T> Mono<T> sendRequest(String method, Object requestParams, TypeRef<T> typeRef) {
+			return Mono.empty();
+		}
+
+		@Override
+		public Mono<Void> sendNotification(String method, Object params) {
+			return Mono.error(new UnsupportedOperationException());
+		}
+
+		@Override
+		public Mono<Void> sendEncodedNotification(EncodedMessage notification) {
+			if (this.failure != null) {
+				return Mono.error(this.failure);
+			}
+			synchronized (this.received) {
+				this.received.add(notification);
+			}
+			return this.delivery;
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.empty();
+		}
+
+		@Override
+		public void close() {
+		}
+
+		@Override
+		public void setMinLoggingLevel(McpSchema.LoggingLevel minLoggingLevel) {
+			this.minLoggingLevel = minLoggingLevel;
+		}
+
+		@Override
+		public boolean isNotificationForLevelAllowed(McpSchema.LoggingLevel loggingLevel) {
+			return loggingLevel.level() >= this.minLoggingLevel.level();
+		}
+
+	}
+
+}
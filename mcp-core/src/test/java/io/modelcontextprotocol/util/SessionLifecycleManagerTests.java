@@ -0,0 +1,181 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.modelcontextprotocol.spec.McpSession;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link SessionLifecycleManager}.
+ */
+class SessionLifecycleManagerTests {
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private final List<McpSession> closed = new ArrayList<>();
+
+	@Test
+	void idleSessionsAreEvicted() {
+		SessionLifecycleManager<McpSession> manager = manager(
+				SessionLimits.builder().idleTimeout(Duration.ofSeconds(64)).build());
+		McpSession idle = register(manager, "idle");
+		McpSession active = register(manager, "active");
+
+		advance(Duration.ofSeconds(40));
+		assertThat(manager.get("active")).isSameAs(active);
+		advance(Duration.ofSeconds(30));
+		manager.sweep();
+
+		assertThat(manager.get("idle")).isNull();
+		assertThat(manager.get("active")).isSameAs(active);
+		assertThat(this.closed).containsExactly(idle);
+
+		advance(Duration.ofSeconds(70));
+		manager.sweep();
+
+		assertThat(manager.size()).isZero();
+		assertThat(this.closed).containsExactly(idle, active);
+		assertThat(manager.stats()).isEqualTo(new SessionLifecycleManager.Stats(0, 2, 0, 0));
+	}
+
+	@Test
+	void sessionsAreNotEvictedBeforeTheirIdleTimeout() {
+		SessionLifecycleManager<McpSession> manager = manager(
+				SessionLimits.builder().idleTimeout(Duration.ofSeconds(64)).build());
+		register(manager, "session");
+
+		for (int i = 0; i < 63; i++) {
+			advance(Duration.ofSeconds(1));
+			manager.sweep();
+		}
+
+		assertThat(manager.size()).isEqualTo(1);
+		assertThat(this.closed).isEmpty();
+	}
+
+	@Test
+	void leastRecentlyUsedSessionIsEvictedWhenFull() {
+		SessionLifecycleManager<McpSession> manager = manager(SessionLimits.builder().maxSessions(2).build());
+		McpSession first = register(manager, "first");
+		advance(Duration.ofSeconds(1));
+		register(manager, "second");
+		advance(Duration.ofSeconds(1));
+		manager.get("first");
+
+		McpSession third = mock(McpSession.class);
+		assertThat(manager.register("third", third)).isTrue();
+
+		assertThat(manager.asMap()).containsOnlyKeys("first", "third");
+		assertThat(manager.get("first")).isSameAs(first);
+		assertThat(this.closed).hasSize(1);
+		assertThat(manager.stats()).isEqualTo(new SessionLifecycleManager.Stats(2, 0, 1, 0));
+	}
+
+	@Test
+	void newSessionsAreRejectedWhenFull() {
+		SessionLifecycleManager<McpSession> manager = manager(
+				SessionLimits.builder().maxSessions(1).overflowPolicy(SessionLimits.OverflowPolicy.REJECT).build());
+		McpSession first = register(manager, "first");
+
+		assertThat(manager.register("second", mock(McpSession.class))).isFalse();
+		assertThat(manager.admitsNewSession()).isFalse();
+
+		assertThat(manager.values()).containsExactly(first);
+		assertThat(this.closed).isEmpty();
+		assertThat(manager.stats()).isEqualTo(new SessionLifecycleManager.Stats(1, 0, 0, 2));
+
+		manager.remove("first");
+		assertThat(manager.admitsNewSession()).isTrue();
+		assertThat(manager.register("second", mock(McpSession.class))).isTrue();
+	}
+
+	@Test
+	void removedSessionsAreNotClosed() {
+		SessionLifecycleManager<McpSession> manager = manager(
+				SessionLimits.builder().idleTimeout(Duration.ofSeconds(10)).build());
+		McpSession session = register(manager, "session");
+
+		assertThat(manager.remove("session")).isSameAs(session);
+		assertThat(manager.remove("session")).isNull();
+		advance(Duration.ofSeconds(20));
+		manager.sweep();
+
+		assertThat(this.closed).isEmpty();
+		assertThat(manager.stats().evictions()).isZero();
+	}
+
+	@Test
+	void removalListenersAreCalledForRemovedAndEvictedSessions() {
+		SessionLifecycleManager<McpSession> manager = manager(
+				SessionLimits.builder().idleTimeout(Duration.ofSeconds(10)).build());
+		List<McpSession> removed = new ArrayList<>();
+		manager.addRemovalListener(removed::add);
+		McpSession first = register(manager, "removed");
+		McpSession idle = register(manager, "idle");
+		McpSession live = register(manager, "live");
+
+		manager.remove("removed");
+		advance(Duration.ofSeconds(6));
+		manager.get("live");
+		advance(Duration.ofSeconds(6));
+		manager.sweep();
+
+		assertThat(removed).containsExactly(first, idle);
+		assertThat(manager.select(List.of("removed", "idle", "live"))).containsOnlyKeys("live").containsValue(live);
+	}
+
+	@Test
+	void sessionsAreKeptWithoutLimits() {
+		SessionLifecycleManager<McpSession> manager = manager(SessionLimits.NONE);
+		for (int i = 0; i < 100; i++) {
+			register(manager, "session-" + i);
+		}
+		advance(Duration.ofDays(1));
+		manager.sweep();
+
+		assertThat(manager.size()).isEqualTo(100);
+		assertThat(this.closed).isEmpty();
+
+		manager.clear();
+		assertThat(manager.asMap()).isEmpty();
+	}
+
+	@Test
+	void invalidLimits() {
+		assertThatThrownBy(() -> SessionLimits.builder().maxSessions(0)).isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Max sessions must be greater than 0");
+		assertThatThrownBy(() -> SessionLimits.builder().idleTimeout(Duration.ZERO))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Idle timeout must be positive");
+	}
+
+	private SessionLifecycleManager<McpSession> manager(SessionLimits limits) {
+		return new SessionLifecycleManager<>(limits, session -> {
+			this.closed.add(session);
+			return Mono.empty();
+		}, null, this.clock::get);
+	}
+
+	private static McpSession register(SessionLifecycleManager<McpSession> manager, String sessionId) {
+		McpSession session = mock(McpSession.class);
+		assertThat(manager.register(sessionId, session)).isTrue();
+		return session;
+	}
+
+	private void advance(Duration duration) {
+		this.clock.addAndGet(duration.toNanos());
+	}
+
+}
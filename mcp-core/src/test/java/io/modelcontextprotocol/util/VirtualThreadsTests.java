@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.util;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link VirtualThreads}.
+ */
+class VirtualThreadsTests {
+
+	@Test
+	void virtualThreadsAreAvailableFromJava21() {
+		assertThat(VirtualThreads.isAvailable()).isEqualTo(Runtime.version().feature() >= 21);
+	}
+
+	@Test
+	void blockingTasksRunOnVirtualThreadsWhenAvailable() throws Exception {
+		Thread thread = Mono.fromCallable(Thread::currentThread)
+			.subscribeOn(VirtualThreads.scheduler())
+			.block(Duration.ofSeconds(5));
+
+		if (VirtualThreads.isAvailable()) {
+			assertThat(Thread.class.getMethod("isVirtual").invoke(thread)).isEqualTo(true);
+			assertThat(thread.getName()).startsWith("mcp-virtual-");
+		}
+		else {
+			assertThat(VirtualThreads.scheduler()).isSameAs(Schedulers.boundedElastic());
+			assertThat(thread.getName()).startsWith("boundedElastic-");
+		}
+	}
+
+}
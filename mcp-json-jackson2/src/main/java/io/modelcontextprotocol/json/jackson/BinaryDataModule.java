@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.json.jackson;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.modelcontextprotocol.json.BinaryData;
+
+/**
+ * Jackson module that writes {@link BinaryData} values as base64 strings, encoding the
+ * bytes in chunks straight from their source into the generator.
+ */
+final class BinaryDataModule extends SimpleModule {
+
+	BinaryDataModule() {
+		super(BinaryDataModule.class.getName());
+		addSerializer(BinaryData.class, new BinaryDataSerializer());
+	}
+
+	private static final class BinaryDataSerializer extends StdSerializer<BinaryData> {
+
+		BinaryDataSerializer() {
+			super(BinaryData.class);
+		}
+
+		@Override
+		public void serialize(BinaryData value, JsonGenerator generator, SerializerProvider provider)
+				throws IOException {
+			try (InputStream stream = value.openStream()) {
+				if (generator instanceof TokenBuffer) {
+					// Token buffers back convertValue and cannot take a stream. Binary
+					// tokens would be bound as byte arrays, so write the text instead
+					generator.writeString(provider.getConfig().getBase64Variant().encode(stream.readAllBytes()));
+				}
+				else {
+					generator.writeBinary(provider.getConfig().getBase64Variant(), stream, -1);
+				}
+			}
+		}
+
+	}
+
+}
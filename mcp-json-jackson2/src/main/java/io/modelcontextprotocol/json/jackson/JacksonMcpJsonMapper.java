@@ -4,12 +4,25 @@
 
 package io.modelcontextprotocol.json.jackson;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.modelcontextprotocol.json.BinaryData;
 import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.RawJson;
 import io.modelcontextprotocol.json.TypeRef;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Jackson-based implementation of JsonMapper. Wraps a Jackson ObjectMapper but keeps the
@@ -20,7 +33,9 @@ public final class JacksonMcpJsonMapper implements McpJsonMapper {
 	private final ObjectMapper objectMapper;
 
 	/**
-	 * Constructs a new JacksonMcpJsonMapper instance with the given ObjectMapper.
+	 * Constructs a new JacksonMcpJsonMapper instance with a copy of the given
+	 * ObjectMapper. Modules handling {@link RawJson} and {@link BinaryData} values are
+	 * registered on the copy, so the given ObjectMapper is left unchanged.
 	 * @param objectMapper the ObjectMapper to be used for JSON serialization and
 	 * deserialization. Must not be null.
 	 * @throws IllegalArgumentException if the provided ObjectMapper is null.
@@ -29,7 +44,9 @@ public final class JacksonMcpJsonMapper implements McpJsonMapper {
 		if (objectMapper == null) {
 			throw new IllegalArgumentException("ObjectMapper must not be null");
 		}
-		this.objectMapper = objectMapper;
+		this.objectMapper = objectMapper.copy()
+			.registerModule(new RawJsonModule())
+			.registerModule(new BinaryDataModule());
 	}
 
 	/**
@@ -63,17 +80,94 @@ public final class JacksonMcpJsonMapper implements McpJsonMapper {
 		return objectMapper.readValue(content, javaType);
 	}
 
+	@Override
+	public <T> T readValue(InputStream content, Class<T> type) throws IOException {
+		return objectMapper.readValue(content, type);
+	}
+
+	@Override
+	public <T> T readValue(String content, Function<Set<String>, Class<? extends T>> typeResolver) throws IOException {
+		try (JsonParser parser = objectMapper.createParser(content)) {
+			return readValue(parser, typeResolver);
+		}
+	}
+
+	@Override
+	public <T> T readValue(byte[] content, Function<Set<String>, Class<? extends T>> typeResolver) throws IOException {
+		try (JsonParser parser = objectMapper.createParser(content)) {
+			return readValue(parser, typeResolver);
+		}
+	}
+
+	@Override
+	public <T> T readValue(InputStream content, Function<Set<String>, Class<? extends T>> typeResolver)
+			throws IOException {
+		try (JsonParser parser = objectMapper.createParser(content)) {
+			parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+			return readValue(parser, typeResolver);
+		}
+	}
+
+	/**
+	 * Reads the top-level object in a single token pass, recording its field names while
+	 * the tokens are buffered. The target type is then bound straight from the buffered
+	 * tokens, so no intermediate tree or map is created and the input is parsed only
+	 * once.
+	 */
+	private <T> T readValue(JsonParser parser, Function<Set<String>, Class<? extends T>> typeResolver)
+			throws IOException {
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			throw new JsonParseException(parser, "Expected a JSON object but found: " + parser.currentToken());
+		}
+
+		Set<String> fieldNames = new HashSet<>();
+		TokenBuffer buffer = new TokenBuffer(parser);
+		buffer.writeStartObject();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.currentName();
+			fieldNames.add(fieldName);
+			buffer.writeFieldName(fieldName);
+			parser.nextToken();
+			buffer.copyCurrentStructure(parser);
+		}
+		buffer.writeEndObject();
+
+		Class<? extends T> type = typeResolver.apply(fieldNames);
+		try (JsonParser bufferedParser = buffer.asParser(objectMapper)) {
+			return objectMapper.readValue(bufferedParser, type);
+		}
+	}
+
 	@Override
 	public <T> T convertValue(Object fromValue, Class<T> type) {
+		if (fromValue instanceof RawJson rawJson) {
+			return convertRawJson(rawJson, objectMapper.constructType(type));
+		}
 		return objectMapper.convertValue(fromValue, type);
 	}
 
 	@Override
 	public <T> T convertValue(Object fromValue, TypeRef<T> type) {
 		JavaType javaType = objectMapper.getTypeFactory().constructType(type.getType());
+		if (fromValue instanceof RawJson rawJson) {
+			return convertRawJson(rawJson, javaType);
+		}
 		return objectMapper.convertValue(fromValue, javaType);
 	}
 
+	/**
+	 * Binds the target type straight from the raw JSON text, skipping the token buffer
+	 * round trip that {@link ObjectMapper#convertValue} would otherwise go through.
+	 */
+	private <T> T convertRawJson(RawJson rawJson, JavaType type) {
+		try {
+			return objectMapper.readValue(rawJson.bytes(), type);
+		}
+		catch (IOException ex) {
+			throw new IllegalArgumentException(ex.getMessage(), ex);
+		}
+	}
+
 	@Override
 	public String writeValueAsString(Object value) throws IOException {
 		return objectMapper.writeValueAsString(value);
@@ -84,4 +178,23 @@ public final class JacksonMcpJsonMapper implements McpJsonMapper {
 		return objectMapper.writeValueAsBytes(value);
 	}
 
+	/**
+	 * Writes the value through a generator bound to the stream. The generator encodes
+	 * into buffers taken from the recycler pool of the ObjectMapper and hands them to the
+	 * stream as they fill up, so the JSON is never held as a whole in memory.
+	 */
+	@Override
+	public void writeValue(OutputStream output, Object value) throws IOException {
+		try (JsonGenerator generator = objectMapper.createGenerator(output, JsonEncoding.UTF8)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+			objectMapper.writeValue(generator, value);
+		}
+	}
+
+	@Override
+	public boolean supportsRawJson() {
+		return true;
+	}
+
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.json.jackson;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.modelcontextprotocol.json.RawJson;
+
+/**
+ * Jackson module that reads {@link RawJson} properties by copying the tokens of the
+ * current value into UTF-8 bytes without building a tree, and writes them back verbatim.
+ */
+final class RawJsonModule extends SimpleModule {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	RawJsonModule() {
+		super(RawJsonModule.class.getName());
+		addDeserializer(RawJson.class, new RawJsonDeserializer());
+		addSerializer(RawJson.class, new RawJsonSerializer());
+	}
+
+	private static final class RawJsonDeserializer extends StdDeserializer<RawJson> {
+
+		RawJsonDeserializer() {
+			super(RawJson.class);
+		}
+
+		@Override
+		public RawJson deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+			try (ByteArrayBuilder bytes = new ByteArrayBuilder();
+					JsonGenerator generator = JSON_FACTORY.createGenerator(bytes, JsonEncoding.UTF8)) {
+				generator.copyCurrentStructure(parser);
+				generator.flush();
+				return RawJson.of(bytes.toByteArray());
+			}
+		}
+
+	}
+
+	private static final class RawJsonSerializer extends StdSerializer<RawJson> {
+
+		RawJsonSerializer() {
+			super(RawJson.class);
+		}
+
+		@Override
+		public void serialize(RawJson value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+			if (generator instanceof TokenBuffer) {
+				// Token buffers back convertValue and cannot bind raw text, so replay the
+				// tokens instead
+				try (JsonParser parser = JSON_FACTORY.createParser(value.bytes())) {
+					parser.nextToken();
+					generator.copyCurrentStructure(parser);
+				}
+			}
+			else {
+				generator.writeRawValue(value.toString());
+			}
+		}
+
+	}
+
+}
@@ -3,9 +3,17 @@
  */
 package io.modelcontextprotocol.json.schema.jackson;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -14,6 +22,7 @@ import com.networknt.schema.Schema;
 import com.networknt.schema.SchemaRegistry;
 import com.networknt.schema.Error;
 import com.networknt.schema.dialect.Dialects;
+import io.modelcontextprotocol.json.RawJson;
 import io.modelcontextprotocol.json.schema.JsonSchemaValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +31,15 @@ import org.slf4j.LoggerFactory;
  * Default implementation of the {@link JsonSchemaValidator} interface. This class
  * provides methods to validate structured content against a JSON schema. It uses the
  * NetworkNT JSON Schema Validator library for validation.
+ * <p>
+ * Compiled schemas are kept in a least recently used cache keyed by a SHA-256 fingerprint
+ * of the schema content. The cache is bounded both by the number of schemas and by their
+ * total weight, which is the size of the fingerprinted content in bytes.
+ * <p>
+ * The fingerprint of a schema map is remembered for that map instance, so validating
+ * against the same map again does not fingerprint it again. Schema maps must therefore
+ * not be modified once they were validated against; a changed schema is passed as a new
+ * map.
  *
  * @author Christian Tzolov
  */
@@ -29,21 +47,68 @@ public class DefaultJsonSchemaValidator implements JsonSchemaValidator {
 
 	private static final Logger logger = LoggerFactory.getLogger(DefaultJsonSchemaValidator.class);
 
+	/**
+	 * Default maximum number of cached schemas.
+	 */
+	public static final int DEFAULT_MAX_CACHE_SIZE = 1000;
+
+	/**
+	 * Default maximum total weight of the cached schemas, in bytes.
+	 */
+	public static final long DEFAULT_MAX_CACHE_WEIGHT = 16 * 1024 * 1024;
+
 	private final ObjectMapper objectMapper;
 
 	private final SchemaRegistry schemaFactory;
 
-	// TODO: Implement a strategy to purge the cache (TTL, size limit, etc.)
-	private final ConcurrentHashMap<String, Schema> schemaCache;
+	private final int maxCacheSize;
+
+	private final long maxCacheWeight;
+
+	// Access ordered, guarded by its own monitor
+	private final LinkedHashMap<String, CachedSchema> schemaCache;
+
+	private long cacheWeight;
+
+	// Access ordered, guarded by the monitor of the schema cache
+	private final LinkedHashMap<SchemaInstance, CacheKey> cacheKeys;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final AtomicLong evictionCount = new AtomicLong();
 
 	public DefaultJsonSchemaValidator() {
 		this(new ObjectMapper());
 	}
 
 	public DefaultJsonSchemaValidator(ObjectMapper objectMapper) {
+		this(objectMapper, DEFAULT_MAX_CACHE_SIZE, DEFAULT_MAX_CACHE_WEIGHT);
+	}
+
+	/**
+	 * Creates a validator with a bounded schema cache.
+	 * @param objectMapper the mapper converting schemas and content to JSON trees
+	 * @param maxCacheSize the maximum number of cached schemas
+	 * @param maxCacheWeight the maximum total weight of the cached schemas, in bytes
+	 */
+	public DefaultJsonSchemaValidator(ObjectMapper objectMapper, int maxCacheSize, long maxCacheWeight) {
+		if (objectMapper == null) {
+			throw new IllegalArgumentException("ObjectMapper must not be null");
+		}
+		if (maxCacheSize <= 0) {
+			throw new IllegalArgumentException("Max cache size must be greater than 0");
+		}
+		if (maxCacheWeight <= 0) {
+			throw new IllegalArgumentException("Max cache weight must be greater than 0");
+		}
 		this.objectMapper = objectMapper;
 		this.schemaFactory = SchemaRegistry.withDialect(Dialects.getDraft202012());
-		this.schemaCache = new ConcurrentHashMap<>();
+		this.maxCacheSize = maxCacheSize;
+		this.maxCacheWeight = maxCacheWeight;
+		this.schemaCache = new LinkedHashMap<>(16, 0.75f, true);
+		this.cacheKeys = new LinkedHashMap<>(16, 0.75f, true);
 	}
 
 	@Override
@@ -56,13 +121,67 @@ public class DefaultJsonSchemaValidator implements JsonSchemaValidator {
 			throw new IllegalArgumentException("Structured content must not be null");
 		}
 
+		return this.compile(schema).validate(structuredContent);
+	}
+
+	/**
+	 * Compiles the schema eagerly, or takes it from the cache. If the schema cannot be
+	 * compiled, the returned schema reports the error for every validation.
+	 */
+	@Override
+	public CompiledSchema compile(Map<String, Object> schema) {
+
+		if (schema == null) {
+			throw new IllegalArgumentException("Schema must not be null");
+		}
+
+		String errorMessage;
+		try {
+			Schema jsonSchema = this.getOrCreateJsonSchema(schema);
+			return structuredContent -> this.validate(jsonSchema, structuredContent);
+		}
+		catch (JsonProcessingException e) {
+			logger.error("Failed to compile tool JSON Schema: Error parsing schema: {}", e);
+			errorMessage = "Error parsing tool JSON Schema: " + e.getMessage();
+		}
+		catch (Exception e) {
+			logger.error("Failed to compile tool JSON Schema: Unexpected error: {}", e);
+			errorMessage = "Unexpected validation error: " + e.getMessage();
+		}
+
+		ValidationResponse invalid = ValidationResponse.asInvalid(errorMessage);
+		return structuredContent -> {
+			if (structuredContent == null) {
+				throw new IllegalArgumentException("Structured content must not be null");
+			}
+			return invalid;
+		};
+	}
+
+	private ValidationResponse validate(Schema jsonSchema, Object structuredContent) {
+
+		if (structuredContent == null) {
+			throw new IllegalArgumentException("Structured content must not be null");
+		}
+
 		try {
 
-			JsonNode jsonStructuredOutput = (structuredContent instanceof String)
-					? this.objectMapper.readTree((String) structuredContent)
-					: this.objectMapper.valueToTree(structuredContent);
+			JsonNode jsonStructuredOutput;
+			if (structuredContent instanceof JsonNode node) {
+				jsonStructuredOutput = node;
+			}
+			else if (structuredContent instanceof String text) {
+				jsonStructuredOutput = this.objectMapper.readTree(text);
+			}
+			else if (structuredContent instanceof RawJson rawJson) {
+				jsonStructuredOutput = this.objectMapper.readTree(rawJson.bytes());
+			}
+			else {
+				// Typed objects are converted directly, without going through JSON text
+				jsonStructuredOutput = this.objectMapper.valueToTree(structuredContent);
+			}
 
-			List<Error> validationResult = this.getOrCreateJsonSchema(schema).validate(jsonStructuredOutput);
+			List<Error> validationResult = jsonSchema.validate(jsonStructuredOutput);
 
 			// Check if validation passed
 			if (!validationResult.isEmpty()) {
@@ -85,27 +204,67 @@ public class DefaultJsonSchemaValidator implements JsonSchemaValidator {
 	}
 
 	/**
-	 * Gets a cached Schema or creates and caches a new one.
+	 * Gets a cached Schema or creates and caches a new one. Schemas are compiled outside
+	 * of the cache lock, so concurrent misses for the same schema may compile it twice,
+	 * in which case the first cached one wins.
 	 * @param schema the schema map to convert
 	 * @return the compiled Schema
 	 * @throws JsonProcessingException if schema processing fails
 	 */
 	private Schema getOrCreateJsonSchema(Map<String, Object> schema) throws JsonProcessingException {
-		// Generate cache key based on schema content
-		String cacheKey = this.generateCacheKey(schema);
+		SchemaInstance instance = new SchemaInstance(schema);
+		CacheKey cacheKey;
+		synchronized (this.schemaCache) {
+			cacheKey = this.cacheKeys.get(instance);
+			CachedSchema cachedSchema = (cacheKey != null) ? this.schemaCache.get(cacheKey.key()) : null;
+			if (cachedSchema != null) {
+				this.hitCount.incrementAndGet();
+				return cachedSchema.schema();
+			}
+		}
 
-		// Try to get from cache first
-		Schema cachedSchema = this.schemaCache.get(cacheKey);
-		if (cachedSchema != null) {
-			return cachedSchema;
+		if (cacheKey == null) {
+			Fingerprint fingerprint = new Fingerprint();
+			fingerprint.update(schema);
+			cacheKey = new CacheKey(fingerprint.toString(), fingerprint.length());
+			synchronized (this.schemaCache) {
+				this.cacheKeys.put(instance, cacheKey);
+				Iterator<CacheKey> eldest = this.cacheKeys.values().iterator();
+				while (this.cacheKeys.size() > this.maxCacheSize) {
+					eldest.next();
+					eldest.remove();
+				}
+				CachedSchema cachedSchema = this.schemaCache.get(cacheKey.key());
+				if (cachedSchema != null) {
+					this.hitCount.incrementAndGet();
+					return cachedSchema.schema();
+				}
+			}
 		}
+		this.missCount.incrementAndGet();
 
-		// Create new schema if not in cache
 		Schema newSchema = this.createJsonSchema(schema);
+		long weight = cacheKey.weight();
+		if (weight > this.maxCacheWeight) {
+			// Would evict everything else and itself, so do not cache it
+			return newSchema;
+		}
 
-		// Cache the schema
-		Schema existingSchema = this.schemaCache.putIfAbsent(cacheKey, newSchema);
-		return existingSchema != null ? existingSchema : newSchema;
+		synchronized (this.schemaCache) {
+			CachedSchema existingSchema = this.schemaCache.putIfAbsent(cacheKey.key(),
+					new CachedSchema(newSchema, weight));
+			if (existingSchema != null) {
+				return existingSchema.schema();
+			}
+			this.cacheWeight += weight;
+			Iterator<CachedSchema> eldest = this.schemaCache.values().iterator();
+			while (this.schemaCache.size() > this.maxCacheSize || this.cacheWeight > this.maxCacheWeight) {
+				this.cacheWeight -= eldest.next().weight();
+				eldest.remove();
+				this.evictionCount.incrementAndGet();
+			}
+		}
+		return newSchema;
 	}
 
 	/**
@@ -129,25 +288,27 @@ public class DefaultJsonSchemaValidator implements JsonSchemaValidator {
 	}
 
 	/**
-	 * Generates a cache key for the given schema map.
+	 * Generates a cache key for the given schema map. The key is the hex encoded SHA-256
+	 * digest of the schema content, with object properties in sorted order, so that equal
+	 * schemas share a key and different schemas do not collide.
 	 * @param schema the schema map
 	 * @return a cache key string
 	 */
 	protected String generateCacheKey(Map<String, Object> schema) {
-		if (schema.containsKey("$id")) {
-			// Use the (optional) "$id" field as the cache key if present
-			return "" + schema.get("$id");
-		}
-		// Fall back to schema's hash code as a simple cache key
-		// For more sophisticated caching, could use content-based hashing
-		return String.valueOf(schema.hashCode());
+		Fingerprint fingerprint = new Fingerprint();
+		fingerprint.update(schema);
+		return fingerprint.toString();
 	}
 
 	/**
 	 * Clears the schema cache. Useful for testing or memory management.
 	 */
 	public void clearCache() {
-		this.schemaCache.clear();
+		synchronized (this.schemaCache) {
+			this.schemaCache.clear();
+			this.cacheKeys.clear();
+			this.cacheWeight = 0;
+		}
 	}
 
 	/**
@@ -155,7 +316,159 @@ public class DefaultJsonSchemaValidator implements JsonSchemaValidator {
 	 * @return the number of cached schemas
 	 */
 	public int getCacheSize() {
-		return this.schemaCache.size();
+		synchronized (this.schemaCache) {
+			return this.schemaCache.size();
+		}
+	}
+
+	/**
+	 * Returns the statistics of the schema cache.
+	 * @return the cumulative counters and the current occupancy of the cache
+	 */
+	public CacheStatistics getCacheStatistics() {
+		synchronized (this.schemaCache) {
+			return new CacheStatistics(this.hitCount.get(), this.missCount.get(), this.evictionCount.get(),
+					this.schemaCache.size(), this.cacheWeight);
+		}
+	}
+
+	/**
+	 * Statistics of the schema cache.
+	 *
+	 * @param hitCount the number of lookups that found a compiled schema
+	 * @param missCount the number of lookups that compiled the schema
+	 * @param evictionCount the number of schemas evicted to stay within the bounds
+	 * @param size the number of cached schemas
+	 * @param weight the total weight of the cached schemas, in bytes
+	 */
+	public record CacheStatistics(long hitCount, long missCount, long evictionCount, int size, long weight) {
+	}
+
+	private record CachedSchema(Schema schema, long weight) {
+	}
+
+	/**
+	 * The key of a schema in the cache, and its weight, which is the size of the
+	 * fingerprinted content in bytes.
+	 */
+	private record CacheKey(String key, long weight) {
+	}
+
+	/**
+	 * A schema map compared by identity, so that finding its cache key does not traverse
+	 * it.
+	 */
+	private static final class SchemaInstance {
+
+		private final Map<String, Object> schema;
+
+		SchemaInstance(Map<String, Object> schema) {
+			this.schema = schema;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof SchemaInstance instance && instance.schema == this.schema;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this.schema);
+		}
+
+	}
+
+	/**
+	 * Digests JSON-like values in an unambiguous encoding: every value is prefixed with
+	 * its type and every string with its length, so distinct values never produce the
+	 * same input to the digest.
+	 */
+	private final class Fingerprint {
+
+		private final MessageDigest digest;
+
+		private long length;
+
+		Fingerprint() {
+			try {
+				this.digest = MessageDigest.getInstance("SHA-256");
+			}
+			catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException("SHA-256 is not available", e);
+			}
+		}
+
+		void update(Object value) {
+			if (value == null) {
+				updateType('z');
+			}
+			else if (value instanceof Map<?, ?> map) {
+				updateType('m');
+				TreeMap<String, Object> sorted = new TreeMap<>();
+				map.forEach((key, entryValue) -> sorted.put(String.valueOf(key), entryValue));
+				updateLength(sorted.size());
+				sorted.forEach((key, entryValue) -> {
+					updateString(key);
+					update(entryValue);
+				});
+			}
+			else if (value instanceof Collection<?> collection) {
+				updateType('l');
+				updateLength(collection.size());
+				collection.forEach(this::update);
+			}
+			else if (value instanceof CharSequence text) {
+				updateType('s');
+				updateString(text.toString());
+			}
+			else if (value instanceof Boolean bool) {
+				updateType(bool ? 't' : 'f');
+			}
+			else if (value instanceof Number number) {
+				updateType('n');
+				updateString(number.getClass().getName());
+				updateString(number.toString());
+			}
+			else {
+				updateType('j');
+				try {
+					updateString(objectMapper.writeValueAsString(value));
+				}
+				catch (JsonProcessingException e) {
+					throw new IllegalArgumentException("Failed to serialize schema value: " + value, e);
+				}
+			}
+		}
+
+		private void updateType(char type) {
+			this.digest.update((byte) type);
+			this.length++;
+		}
+
+		private void updateLength(int length) {
+			this.digest.update((byte) (length >>> 24));
+			this.digest.update((byte) (length >>> 16));
+			this.digest.update((byte) (length >>> 8));
+			this.digest.update((byte) length);
+			this.length += 4;
+		}
+
+		private void updateString(String text) {
+			byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+			updateLength(bytes.length);
+			this.digest.update(bytes);
+			this.length += bytes.length;
+		}
+
+		long length() {
+			return this.length;
+		}
+
+		@Override
+		public String toString() {
+			return HexFormat.of().formatHex(this.digest.digest());
+		}
+
 	}
 
 }
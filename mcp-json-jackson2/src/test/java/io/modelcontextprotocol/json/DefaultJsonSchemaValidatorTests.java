@@ -13,8 +13,11 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
 import io.modelcontextprotocol.json.schema.jackson.DefaultJsonSchemaValidator;
@@ -29,7 +32,10 @@ import org.mockito.MockitoAnnotations;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.modelcontextprotocol.json.RawJson;
+import io.modelcontextprotocol.json.schema.JsonSchemaValidator.CompiledSchema;
 import io.modelcontextprotocol.json.schema.JsonSchemaValidator.ValidationResponse;
+import io.modelcontextprotocol.json.schema.jackson.DefaultJsonSchemaValidator.CacheStatistics;
 
 /**
  * Tests for {@link DefaultJsonSchemaValidator}.
@@ -805,4 +811,134 @@ class DefaultJsonSchemaValidatorTests {
 		assertNotEquals(response1, response2);
 	}
 
+	@Test
+	void testCacheCountsHitsAndMisses() {
+		Map<String, Object> schema = toMap("""
+				{"type": "object", "properties": {"name": {"type": "string"}}}
+				""");
+		Map<String, Object> reordered = toMap("""
+				{"properties": {"name": {"type": "string"}}, "type": "object"}
+				""");
+
+		assertTrue(validator.validate(schema, Map.of("name", "a")).valid());
+		assertTrue(validator.validate(reordered, Map.of("name", "b")).valid());
+
+		CacheStatistics statistics = validator.getCacheStatistics();
+		assertEquals(1, statistics.missCount());
+		assertEquals(1, statistics.hitCount());
+		assertEquals(0, statistics.evictionCount());
+		assertEquals(1, statistics.size());
+		assertTrue(statistics.weight() > 0);
+	}
+
+	@Test
+	void testSchemasWithSameIdDoNotCollide() {
+		Map<String, Object> stringSchema = toMap("""
+				{"$id": "urn:result", "type": "object", "properties": {"value": {"type": "string"}}}
+				""");
+		Map<String, Object> numberSchema = toMap("""
+				{"$id": "urn:result", "type": "object", "properties": {"value": {"type": "number"}}}
+				""");
+
+		assertTrue(validator.validate(stringSchema, Map.of("value", "text")).valid());
+		assertFalse(validator.validate(numberSchema, Map.of("value", "text")).valid());
+		assertEquals(2, validator.getCacheSize());
+	}
+
+	@Test
+	void testCacheEvictsLeastRecentlyUsedSchema() {
+		DefaultJsonSchemaValidator boundedValidator = new DefaultJsonSchemaValidator(new ObjectMapper(), 2,
+				DefaultJsonSchemaValidator.DEFAULT_MAX_CACHE_WEIGHT);
+		Map<String, Object> first = Map.of("type", "string");
+		Map<String, Object> second = Map.of("type", "number");
+		Map<String, Object> third = Map.of("type", "boolean");
+
+		boundedValidator.validate(first, "\"a\"");
+		boundedValidator.validate(second, "1");
+		boundedValidator.validate(first, "\"b\"");
+		boundedValidator.validate(third, "true");
+		boundedValidator.validate(first, "\"c\"");
+
+		CacheStatistics statistics = boundedValidator.getCacheStatistics();
+		assertEquals(2, statistics.size());
+		assertEquals(1, statistics.evictionCount());
+		assertEquals(3, statistics.missCount());
+		assertEquals(2, statistics.hitCount());
+	}
+
+	@Test
+	void testCacheIsBoundedByWeight() {
+		Map<String, Object> schema = Map.of("type", "string");
+		DefaultJsonSchemaValidator boundedValidator = new DefaultJsonSchemaValidator(new ObjectMapper(), 100, 1);
+
+		assertTrue(boundedValidator.validate(schema, "\"a\"").valid());
+		assertTrue(boundedValidator.validate(schema, "\"b\"").valid());
+
+		assertEquals(0, boundedValidator.getCacheSize());
+		assertEquals(2, boundedValidator.getCacheStatistics().missCount());
+	}
+
+	@Test
+	void testValidateRawJsonAndTreeContent() throws Exception {
+		Map<String, Object> schema = toMap("""
+				{"type": "object", "properties": {"result": {"type": "number"}}, "required": ["result"]}
+				""");
+
+		ValidationResponse rawResponse = validator.validate(schema, RawJson.of("{\"result\": 5}"));
+		ValidationResponse treeResponse = validator.validate(schema, objectMapper.readTree("{\"result\": 5}"));
+
+		assertTrue(rawResponse.valid());
+		assertEquals("{\"result\":5}", rawResponse.jsonStructuredOutput());
+		assertTrue(treeResponse.valid());
+		assertEquals("{\"result\":5}", treeResponse.jsonStructuredOutput());
+		assertFalse(validator.validate(schema, RawJson.of("{\"result\": \"five\"}")).valid());
+	}
+
+	@Test
+	void testSchemaSeenBeforeIsNotFingerprintedAgain() {
+		AtomicInteger traversals = new AtomicInteger();
+		Map<String, Object> schema = new HashMap<>(Map.of("type", "string")) {
+
+			@Override
+			public void forEach(BiConsumer<? super String, ? super Object> action) {
+				traversals.incrementAndGet();
+				super.forEach(action);
+			}
+
+		};
+
+		assertTrue(validator.validate(schema, "\"a\"").valid());
+		assertEquals(1, traversals.get());
+		assertTrue(validator.validate(schema, "\"b\"").valid());
+		assertEquals(1, traversals.get());
+
+		CacheStatistics statistics = validator.getCacheStatistics();
+		assertEquals(1, statistics.missCount());
+		assertEquals(1, statistics.hitCount());
+	}
+
+	@Test
+	void testCompiledSchemaIsReused() {
+		CompiledSchema compiledSchema = validator.compile(Map.of("type", "integer"));
+
+		assertTrue(compiledSchema.validate(42).valid());
+		assertFalse(compiledSchema.validate("\"text\"").valid());
+
+		CacheStatistics statistics = validator.getCacheStatistics();
+		assertEquals(1, statistics.missCount());
+		assertEquals(0, statistics.hitCount());
+	}
+
+	@Test
+	void testCompileReportsInvalidSchemaOnValidation() {
+		DefaultJsonSchemaValidator validatorWithMockMapper = new DefaultJsonSchemaValidator(mockObjectMapper);
+		when(mockObjectMapper.valueToTree(any())).thenReturn(null);
+
+		CompiledSchema compiledSchema = validatorWithMockMapper.compile(Map.of("type", "object"));
+		ValidationResponse response = compiledSchema.validate(Map.of("key", "value"));
+
+		assertFalse(response.valid());
+		assertTrue(response.errorMessage().contains("Failed to convert schema to JsonNode"));
+	}
+
 }
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.json.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.json.RawJson;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JacksonMcpJsonMapper}.
+ */
+class JacksonMcpJsonMapperTests {
+
+	@Test
+	void modulesAreNotRegisteredOnTheGivenObjectMapper() throws Exception {
+		ObjectMapper objectMapper = new ObjectMapper();
+
+		JacksonMcpJsonMapper jsonMapper = new JacksonMcpJsonMapper(objectMapper);
+
+		assertThat(objectMapper.getRegisteredModuleIds()).isEmpty();
+		assertThat(jsonMapper.getObjectMapper()).isNotSameAs(objectMapper);
+		assertThat(jsonMapper.readValue("{\"a\":1}", RawJson.class)).isEqualTo(RawJson.of("{\"a\":1}"));
+	}
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+/**
+ * Binary content that is written to JSON as a base64 string, read from its source only
+ * while it is serialized. Mappers that support it encode the bytes incrementally into the
+ * output, so neither the raw bytes of a file or stream nor their base64 text have to be
+ * held in memory as a whole.
+ * <p>
+ * Instances are compared by identity, as their source may not be read repeatedly.
+ */
+public final class BinaryData {
+
+	private final Source source;
+
+	private final String description;
+
+	private volatile String base64;
+
+	private BinaryData(Source source, String description) {
+		this.source = source;
+		this.description = description;
+	}
+
+	/**
+	 * Creates binary data backed by a byte array. The array is not copied and must not be
+	 * modified afterwards.
+	 * @param bytes the bytes. Must not be null.
+	 * @return the binary data
+	 * @throws IllegalArgumentException if bytes is null
+	 */
+	public static BinaryData of(byte[] bytes) {
+		if (bytes == null) {
+			throw new IllegalArgumentException("bytes must not be null");
+		}
+		return of(ByteBuffer.wrap(bytes));
+	}
+
+	/**
+	 * Creates binary data backed by the remaining bytes of a buffer, which may be a
+	 * direct or memory-mapped buffer. The position and limit of the buffer are not
+	 * changed, and its content must not be modified afterwards.
+	 * @param buffer the buffer. Must not be null.
+	 * @return the binary data
+	 * @throws IllegalArgumentException if buffer is null
+	 */
+	public static BinaryData of(ByteBuffer buffer) {
+		if (buffer == null) {
+			throw new IllegalArgumentException("buffer must not be null");
+		}
+		ByteBuffer content = buffer.slice().asReadOnlyBuffer();
+		return new BinaryData(() -> new ByteBufferInputStream(content.duplicate()),
+				"buffer of " + content.remaining() + " bytes");
+	}
+
+	/**
+	 * Creates binary data backed by a file. The file is memory-mapped each time the data
+	 * is read, unless it is larger than 2 GB in which case it is read as a stream.
+	 * @param path the path of the file. Must not be null.
+	 * @return the binary data
+	 * @throws IllegalArgumentException if path is null
+	 */
+	public static BinaryData of(Path path) {
+		if (path == null) {
+			throw new IllegalArgumentException("path must not be null");
+		}
+		return new BinaryData(() -> {
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				long size = channel.size();
+				if (size > Integer.MAX_VALUE) {
+					return Files.newInputStream(path);
+				}
+				return new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+			}
+		}, path.toString());
+	}
+
+	/**
+	 * Creates binary data read from the streams of a supplier. A new stream is requested
+	 * each time the data is read and closed afterwards.
+	 * @param streamSupplier supplies the streams. Must not be null.
+	 * @return the binary data
+	 * @throws IllegalArgumentException if streamSupplier is null
+	 */
+	public static BinaryData of(Supplier<InputStream> streamSupplier) {
+		if (streamSupplier == null) {
+			throw new IllegalArgumentException("streamSupplier must not be null");
+		}
+		return new BinaryData(streamSupplier::get, "stream");
+	}
+
+	/**
+	 * Opens a stream over the bytes of this data. The caller must close it.
+	 * @return the stream
+	 * @throws IOException if the source cannot be read
+	 */
+	public InputStream openStream() throws IOException {
+		InputStream stream = this.source.open();
+		if (stream == null) {
+			throw new IOException("No stream supplied for binary data");
+		}
+		return stream;
+	}
+
+	/**
+	 * Reads the whole data and encodes it as base64 text. This materializes the content
+	 * and should only be used when a String is required. The text is kept once encoded,
+	 * so later calls return it without reading the source again.
+	 * @return the base64 text
+	 * @throws UncheckedIOException if the source cannot be read
+	 */
+	public String toBase64() {
+		String base64 = this.base64;
+		if (base64 == null) {
+			try (InputStream stream = openStream()) {
+				base64 = new String(Base64.getEncoder().encode(stream.readAllBytes()), StandardCharsets.ISO_8859_1);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			this.base64 = base64;
+		}
+		return base64;
+	}
+
+	/**
+	 * Describes the source of this data without reading it.
+	 */
+	@Override
+	public String toString() {
+		return "BinaryData[" + this.description + "]";
+	}
+
+	@FunctionalInterface
+	private interface Source {
+
+		InputStream open() throws IOException;
+
+	}
+
+	private static final class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (length == 0) {
+				return 0;
+			}
+			if (!this.buffer.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(length, this.buffer.remaining());
+			this.buffer.get(bytes, offset, count);
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return this.buffer.remaining();
+		}
+
+	}
+
+}
@@ -5,6 +5,15 @@
 package io.modelcontextprotocol.json;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Abstraction for JSON serialization/deserialization to decouple the SDK from any
@@ -54,7 +63,69 @@ public interface McpJsonMapper {
 	<T> T readValue(byte[] content, TypeRef<T> type) throws IOException;
 
 	/**
-	 * Convert a value to a given type, useful for mapping nested JSON structures.
+	 * Deserialize JSON from an input stream into a target type. The stream is not closed.
+	 * @param content JSON as an input stream
+	 * @param type target class
+	 * @return deserialized instance
+	 * @param <T> generic type
+	 * @throws IOException on parse errors
+	 */
+	default <T> T readValue(InputStream content, Class<T> type) throws IOException {
+		return readValue(content.readAllBytes(), type);
+	}
+
+	/**
+	 * Deserialize a JSON object into one of several candidate types. The concrete type is
+	 * chosen by the {@code typeResolver} from the names of the top-level fields present
+	 * in the object, which allows polymorphic messages to be decoded without first
+	 * building an intermediate tree.
+	 * @param content JSON as String
+	 * @param typeResolver selects the target class given the top-level field names
+	 * @return deserialized instance
+	 * @param <T> generic type
+	 * @throws IOException on parse errors
+	 */
+	default <T> T readValue(String content, Function<Set<String>, Class<? extends T>> typeResolver) throws IOException {
+		return readValue(content.getBytes(StandardCharsets.UTF_8), typeResolver);
+	}
+
+	/**
+	 * Deserialize a JSON object into one of several candidate types. The concrete type is
+	 * chosen by the {@code typeResolver} from the names of the top-level fields present
+	 * in the object.
+	 * <p>
+	 * The default implementation reads the content into a {@link Map} first.
+	 * Implementations are encouraged to override it with a single-pass decoder.
+	 * @param content JSON as bytes
+	 * @param typeResolver selects the target class given the top-level field names
+	 * @return deserialized instance
+	 * @param <T> generic type
+	 * @throws IOException on parse errors
+	 */
+	default <T> T readValue(byte[] content, Function<Set<String>, Class<? extends T>> typeResolver) throws IOException {
+		Map<String, Object> map = readValue(content, new TypeRef<HashMap<String, Object>>() {
+		});
+		return convertValue(map, typeResolver.apply(map.keySet()));
+	}
+
+	/**
+	 * Deserialize a JSON object read from an input stream into one of several candidate
+	 * types. The stream is not closed.
+	 * @param content JSON as an input stream
+	 * @param typeResolver selects the target class given the top-level field names
+	 * @return deserialized instance
+	 * @param <T> generic type
+	 * @throws IOException on parse errors
+	 * @see #readValue(byte[], Function)
+	 */
+	default <T> T readValue(InputStream content, Function<Set<String>, Class<? extends T>> typeResolver)
+			throws IOException {
+		return readValue(content.readAllBytes(), typeResolver);
+	}
+
+	/**
+	 * Convert a value to a given type, useful for mapping nested JSON structures. A
+	 * {@link RawJson} value is bound directly from its JSON text.
 	 * @param fromValue source value
 	 * @param type target class
 	 * @return converted value
@@ -63,7 +134,8 @@ public interface McpJsonMapper {
 	<T> T convertValue(Object fromValue, Class<T> type);
 
 	/**
-	 * Convert a value to a given parameterized type.
+	 * Convert a value to a given parameterized type. A {@link RawJson} value is bound
+	 * directly from its JSON text.
 	 * @param fromValue source value
 	 * @param type target type reference
 	 * @return converted value
@@ -87,6 +159,42 @@ public interface McpJsonMapper {
 	 */
 	byte[] writeValueAsBytes(Object value) throws IOException;
 
+	/**
+	 * Serialize an object as UTF-8 encoded JSON to an output stream. The stream is
+	 * neither flushed nor closed.
+	 * <p>
+	 * The default implementation serializes the value into a byte array first.
+	 * Implementations are encouraged to override it with an encoder that writes to the
+	 * stream directly through reusable buffers.
+	 * @param output the stream to write to
+	 * @param value object to serialize
+	 * @throws IOException on serialization or I/O errors
+	 */
+	default void writeValue(OutputStream output, Object value) throws IOException {
+		output.write(writeValueAsBytes(value));
+	}
+
+	/**
+	 * Serialize an object as UTF-8 encoded JSON to a channel. The channel is not closed.
+	 * @param channel the channel to write to
+	 * @param value object to serialize
+	 * @throws IOException on serialization or I/O errors
+	 * @see #writeValue(OutputStream, Object)
+	 */
+	default void writeValue(WritableByteChannel channel, Object value) throws IOException {
+		writeValue(Channels.newOutputStream(channel), value);
+	}
+
+	/**
+	 * Returns whether this mapper writes {@link RawJson} values verbatim, so that a
+	 * caller already holding the JSON text of a value can send it in place of the value
+	 * instead of having it serialized again.
+	 * @return true if {@link RawJson} values are serialized as their JSON text
+	 */
+	default boolean supportsRawJson() {
+		return false;
+	}
+
 	/**
 	 * Returns the default {@link McpJsonMapper}.
 	 * @return The default {@link McpJsonMapper}
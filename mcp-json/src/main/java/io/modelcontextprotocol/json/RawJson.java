@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A JSON value that has not been bound to a Java type yet. It holds the UTF-8 encoded
+ * text of the value exactly as it was received, so that binding can be deferred until a
+ * caller asks for a typed view through {@link McpJsonMapper#convertValue(Object, Class)}
+ * or {@link McpJsonMapper#convertValue(Object, TypeRef)}. When serialized, the value is
+ * written back verbatim.
+ * <p>
+ * Mappers that do not support deferred binding never produce instances of this class.
+ */
+public final class RawJson {
+
+	private final byte[] content;
+
+	private RawJson(byte[] content) {
+		this.content = content;
+	}
+
+	/**
+	 * Creates a raw value from UTF-8 encoded JSON text. The array is not copied and must
+	 * not be modified afterwards.
+	 * @param content the UTF-8 encoded JSON text of a single value. Must not be null.
+	 * @return the raw value
+	 * @throws IllegalArgumentException if content is null
+	 */
+	public static RawJson of(byte[] content) {
+		if (content == null) {
+			throw new IllegalArgumentException("content must not be null");
+		}
+		return new RawJson(content);
+	}
+
+	/**
+	 * Creates a raw value from JSON text.
+	 * @param content the JSON text of a single value. Must not be null.
+	 * @return the raw value
+	 * @throws IllegalArgumentException if content is null
+	 */
+	public static RawJson of(String content) {
+		if (content == null) {
+			throw new IllegalArgumentException("content must not be null");
+		}
+		return new RawJson(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns the UTF-8 encoded JSON text of this value. The returned array is shared and
+	 * must not be modified.
+	 * @return the JSON text as UTF-8 bytes
+	 */
+	public byte[] bytes() {
+		return this.content;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		return o instanceof RawJson other && Arrays.equals(this.content, other.content);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(this.content);
+	}
+
+	/**
+	 * Returns the JSON text of this value.
+	 */
+	@Override
+	public String toString() {
+		return new String(this.content, StandardCharsets.UTF_8);
+	}
+
+}
@@ -41,6 +41,37 @@ public interface JsonSchemaValidator {
 	 */
 	ValidationResponse validate(Map<String, Object> schema, Object structuredContent);
 
+	/**
+	 * Prepares the given JSON schema for repeated validations. Implementations that
+	 * compile schemas should do so eagerly here, so that registering a tool pays the
+	 * compile cost rather than its first call. The default implementation validates
+	 * through {@link #validate(Map, Object)} on every call.
+	 * @param schema The JSON schema to validate against.
+	 * @return The schema, ready to validate structured content.
+	 */
+	default CompiledSchema compile(Map<String, Object> schema) {
+		if (schema == null) {
+			throw new IllegalArgumentException("Schema must not be null");
+		}
+		return structuredContent -> validate(schema, structuredContent);
+	}
+
+	/**
+	 * A JSON schema prepared by {@link #compile(Map)}.
+	 */
+	@FunctionalInterface
+	interface CompiledSchema {
+
+		/**
+		 * Validates the structured content against this schema.
+		 * @param structuredContent The structured content to validate.
+		 * @return A ValidationResponse indicating whether the validation was successful
+		 * or not.
+		 */
+		ValidationResponse validate(Object structuredContent);
+
+	}
+
 	/**
 	 * Creates the default {@link JsonSchemaValidator}.
 	 * @return The default {@link JsonSchemaValidator}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server.transport;
+
+import java.io.OutputStream;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.web.reactive.function.BodyInserter;
+import reactor.core.publisher.Mono;
+
+/**
+ * Body inserters that serialize values with an {@link McpJsonMapper} straight into a
+ * {@link DataBuffer} of the response, which is taken from the pooled buffers of the
+ * server, rather than into an intermediate String.
+ */
+final class JsonBodyInserters {
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private JsonBodyInserters() {
+	}
+
+	/**
+	 * Returns an inserter writing the JSON of the given value as the body.
+	 * @param jsonMapper the mapper serializing the value
+	 * @param value the value to write
+	 * @return the inserter
+	 */
+	static BodyInserter<Object, ReactiveHttpOutputMessage> fromValue(McpJsonMapper jsonMapper, Object value) {
+		return (message, context) -> message.writeWith(Mono.fromCallable(() -> {
+			DataBuffer buffer = message.bufferFactory().allocateBuffer(INITIAL_CAPACITY);
+			try (OutputStream output = buffer.asOutputStream()) {
+				jsonMapper.writeValue(output, value);
+				return buffer;
+			}
+			catch (Exception e) {
+				DataBufferUtils.release(buffer);
+				throw e;
+			}
+		}));
+	}
+
+}
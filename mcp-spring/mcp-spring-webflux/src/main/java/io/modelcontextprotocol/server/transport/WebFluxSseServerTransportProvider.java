@@ -6,13 +6,17 @@ package io.modelcontextprotocol.server.transport;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import io.modelcontextprotocol.common.McpTransportContext;
 import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.json.TypeRef;
 import io.modelcontextprotocol.server.McpTransportContextExtractor;
+import io.modelcontextprotocol.spec.EncodedMessage;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpServerSession;
@@ -21,6 +25,9 @@ import io.modelcontextprotocol.spec.McpServerTransportProvider;
 import io.modelcontextprotocol.spec.ProtocolVersions;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.KeepAliveScheduler;
+import io.modelcontextprotocol.util.NotificationBroadcaster;
+import io.modelcontextprotocol.util.SessionLifecycleManager;
+import io.modelcontextprotocol.util.SessionLimits;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.Exceptions;
@@ -64,8 +71,8 @@ import org.springframework.web.util.UriComponentsBuilder;
  *
  * <p>
  * This implementation is thread-safe and can handle multiple concurrent client
- * connections. It uses {@link ConcurrentHashMap} for session management and Project
- * Reactor's non-blocking APIs for message processing and delivery.
+ * connections. It uses a {@link SessionLifecycleManager} for session management and
+ * Project Reactor's non-blocking APIs for message processing and delivery.
  *
  * @author Christian Tzolov
  * @author Alexandros Pappas
@@ -115,9 +122,14 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 	private McpServerSession.Factory sessionFactory;
 
 	/**
-	 * Map of active client sessions, keyed by session ID.
+	 * Active client sessions, keyed by session ID.
 	 */
-	private final ConcurrentHashMap<String, McpServerSession> sessions = new ConcurrentHashMap<>();
+	private final SessionLifecycleManager<McpServerSession> sessions;
+
+	/**
+	 * Serializes broadcast notifications once for all sessions.
+	 */
+	private final NotificationBroadcaster broadcaster;
 
 	private McpTransportContextExtractor<ServerRequest> contextExtractor;
 
@@ -144,11 +156,12 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 	 * @param keepAliveInterval The interval for sending keep-alive pings to clients.
 	 * @param contextExtractor The context extractor to use for extracting MCP transport
 	 * context from HTTP requests. Must not be null.
+	 * @param sessionLimits The limits applied to the sessions. Must not be null.
 	 * @throws IllegalArgumentException if either parameter is null
 	 */
 	private WebFluxSseServerTransportProvider(McpJsonMapper jsonMapper, String baseUrl, String messageEndpoint,
 			String sseEndpoint, Duration keepAliveInterval,
-			McpTransportContextExtractor<ServerRequest> contextExtractor) {
+			McpTransportContextExtractor<ServerRequest> contextExtractor, SessionLimits sessionLimits) {
 		Assert.notNull(jsonMapper, "ObjectMapper must not be null");
 		Assert.notNull(baseUrl, "Message base path must not be null");
 		Assert.notNull(messageEndpoint, "Message endpoint must not be null");
@@ -156,10 +169,12 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 		Assert.notNull(contextExtractor, "Context extractor must not be null");
 
 		this.jsonMapper = jsonMapper;
+		this.broadcaster = new NotificationBroadcaster(jsonMapper);
 		this.baseUrl = baseUrl;
 		this.messageEndpoint = messageEndpoint;
 		this.sseEndpoint = sseEndpoint;
 		this.contextExtractor = contextExtractor;
+		this.sessions = new SessionLifecycleManager<>(sessionLimits, McpServerSession::closeGracefully);
 		this.routerFunction = RouterFunctions.route()
 			.GET(this.sseEndpoint, this::handleSseConnection)
 			.POST(this.messageEndpoint, this::handleMessage)
@@ -182,6 +197,15 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 		return List.of(ProtocolVersions.MCP_2024_11_05);
 	}
 
+	/**
+	 * Returns the session counters of this transport provider: live sessions, evicted
+	 * sessions and rejected session initializations.
+	 * @return the session counters
+	 */
+	public SessionLifecycleManager.Stats sessionStats() {
+		return this.sessions.stats();
+	}
+
 	@Override
 	public void setSessionFactory(McpServerSession.Factory sessionFactory) {
 		this.sessionFactory = sessionFactory;
@@ -189,43 +213,73 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
 	/**
 	 * Broadcasts a JSON-RPC message to all connected clients through their SSE
-	 * connections. The message is serialized to JSON and sent as a server-sent event to
-	 * each active session.
+	 * connections. The message is serialized to JSON once and the same JSON text is sent
+	 * as a server-sent event to each active session.
 	 *
 	 * <p>
 	 * The method:
 	 * <ul>
-	 * <li>Serializes the message to JSON</li>
-	 * <li>Creates a server-sent event with the message data</li>
+	 * <li>Serializes the message once and shares the JSON text between sessions</li>
 	 * <li>Attempts to send the event to all active sessions</li>
-	 * <li>Tracks and reports any delivery failures</li>
+	 * <li>Logs any delivery failures, which do not stop delivery to the other
+	 * sessions</li>
 	 * </ul>
 	 * @param method The JSON-RPC method to send to clients
 	 * @param params The method parameters to send to clients
 	 * @return A Mono that completes when the message has been sent to all sessions, or
-	 * errors if any session fails to receive the message
+	 * errors if the message cannot be serialized
 	 */
 	@Override
 	public Mono<Void> notifyClients(String method, Object params) {
-		if (sessions.isEmpty()) {
-			logger.debug("No active sessions to broadcast message to");
-			return Mono.empty();
-		}
+		return this.broadcaster.broadcast(this.sessions.asMap(), method, params).then();
+	}
 
-		logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
+	/**
+	 * Sends a notification to the clients of the given sessions. The notification is
+	 * serialized once and the same JSON text is written to every session. Sessions are
+	 * registered under the ID of their SSE connection, so they are matched by their
+	 * {@link McpServerSession#getId() session ID}.
+	 * @param sessionIds The IDs of the sessions to notify
+	 * @param method The method name for the notification
+	 * @param params The parameters for the notification
+	 * @return A Mono that completes when the delivery attempt is finished
+	 */
+	@Override
+	public Mono<Void> notifyClients(Collection<String> sessionIds, String method, Object params) {
+		Map<String, McpServerSession> targets = new HashMap<>();
+		this.sessions.asMap().forEach((connectionId, session) -> {
+			if (sessionIds.contains(session.getId())) {
+				targets.put(connectionId, session);
+			}
+		});
+		return this.broadcaster.broadcast(targets, method, params).then();
+	}
 
-		return Flux.fromIterable(sessions.values())
-			.flatMap(session -> session.sendNotification(method, params)
-				.doOnError(
-						e -> logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage()))
-				.onErrorComplete())
-			.then();
+	/**
+	 * Sends a logging message notification to the clients whose session accepts its
+	 * level. Sessions are filtered before the notification is serialized.
+	 * @param loggingMessageNotification The logging message to send
+	 * @return A Mono that completes when the delivery attempt is finished
+	 */
+	@Override
+	public Mono<Void> loggingNotification(McpSchema.LoggingMessageNotification loggingMessageNotification) {
+		return this.broadcaster.broadcastLoggingMessage(this.sessions.asMap(), loggingMessageNotification).then();
+	}
+
+	@Override
+	public void addSessionCloseListener(Consumer<String> listener) {
+		this.sessions.addRemovalListener(session -> listener.accept(session.getId()));
 	}
 
 	// FIXME: This javadoc makes claims about using isClosing flag but it's not
 	// actually
 	// doing that.
 
+	@Override
+	public boolean supportsRawJson() {
+		return this.jsonMapper.supportsRawJson();
+	}
+
 	/**
 	 * Initiates a graceful shutdown of all the sessions. This method ensures all active
 	 * sessions are properly closed and cleaned up.
@@ -240,6 +294,7 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 			.doOnSuccess(v -> {
 				logger.debug("Graceful shutdown completed");
 				sessions.clear();
+				sessions.close();
 				if (this.keepAliveScheduler != null) {
 					this.keepAliveScheduler.shutdown();
 				}
@@ -273,6 +328,10 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 			return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE).bodyValue("Server is shutting down");
 		}
 
+		if (!sessions.admitsNewSession()) {
+			return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE).bodyValue("Too many active sessions");
+		}
+
 		McpTransportContext transportContext = this.contextExtractor.extract(request);
 
 		return ServerResponse.ok()
@@ -284,7 +343,10 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 				String sessionId = session.getId();
 
 				logger.debug("Created new SSE connection for session: {}", sessionId);
-				sessions.put(sessionId, session);
+				if (!sessions.register(sessionId, session)) {
+					sink.error(new McpError("Too many active sessions"));
+					return;
+				}
 
 				// Send initial endpoint event
 				logger.debug("Sending initial endpoint event to session: {}", sessionId);
@@ -345,7 +407,7 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
 		McpTransportContext transportContext = this.contextExtractor.extract(request);
 
-		return request.bodyToMono(String.class).flatMap(body -> {
+		return request.bodyToMono(byte[].class).flatMap(body -> {
 			try {
 				McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, body);
 				return session.handle(message).flatMap(response -> ServerResponse.ok().build()).onErrorResume(error -> {
@@ -374,14 +436,23 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
 		@Override
 		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
-			return Mono.fromSupplier(() -> {
+			return sendJson(Mono.fromSupplier(() -> {
 				try {
 					return jsonMapper.writeValueAsString(message);
 				}
 				catch (IOException e) {
 					throw Exceptions.propagate(e);
 				}
-			}).doOnNext(jsonText -> {
+			}));
+		}
+
+		@Override
+		public Mono<Void> sendEncodedMessage(EncodedMessage message) {
+			return sendJson(Mono.just(message.json()));
+		}
+
+		private Mono<Void> sendJson(Mono<String> json) {
+			return json.doOnNext(jsonText -> {
 				ServerSentEvent<Object> event = ServerSentEvent.builder()
 					.event(MESSAGE_EVENT_TYPE)
 					.data(jsonText)
@@ -433,6 +504,8 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
 		private Duration keepAliveInterval;
 
+		private SessionLimits sessionLimits = SessionLimits.NONE;
+
 		private McpTransportContextExtractor<ServerRequest> contextExtractor = (
 				serverRequest) -> McpTransportContext.EMPTY;
 
@@ -497,6 +570,20 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 			return this;
 		}
 
+		/**
+		 * Sets the limits applied to the sessions: how long a session may stay idle
+		 * before it is evicted and how many sessions may be live. By default sessions are
+		 * kept until they are deleted.
+		 * @param sessionLimits The session limits. Must not be null.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if sessionLimits is null
+		 */
+		public Builder sessionLimits(SessionLimits sessionLimits) {
+			Assert.notNull(sessionLimits, "Session limits must not be null");
+			this.sessionLimits = sessionLimits;
+			return this;
+		}
+
 		/**
 		 * Sets the context extractor that allows providing the MCP feature
 		 * implementations to inspect HTTP transport level metadata that was present at
@@ -522,7 +609,7 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 		public WebFluxSseServerTransportProvider build() {
 			Assert.notNull(messageEndpoint, "Message endpoint must be set");
 			return new WebFluxSseServerTransportProvider(jsonMapper == null ? McpJsonMapper.getDefault() : jsonMapper,
-					baseUrl, messageEndpoint, sseEndpoint, keepAliveInterval, contextExtractor);
+					baseUrl, messageEndpoint, sseEndpoint, keepAliveInterval, contextExtractor, sessionLimits);
 		}
 
 	}
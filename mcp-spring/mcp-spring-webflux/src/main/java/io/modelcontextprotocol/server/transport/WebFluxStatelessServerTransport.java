@@ -66,6 +66,11 @@ public class WebFluxStatelessServerTransport implements McpStatelessServerTransp
 		this.mcpHandler = mcpHandler;
 	}
 
+	@Override
+	public boolean supportsRawJson() {
+		return this.jsonMapper.supportsRawJson();
+	}
+
 	@Override
 	public Mono<Void> closeGracefully() {
 		return Mono.fromRunnable(() -> this.isClosing = true);
@@ -104,22 +109,15 @@ public class WebFluxStatelessServerTransport implements McpStatelessServerTransp
 			return ServerResponse.badRequest().build();
 		}
 
-		return request.bodyToMono(String.class).<ServerResponse>flatMap(body -> {
+		return request.bodyToMono(byte[].class).<ServerResponse>flatMap(body -> {
 			try {
 				McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, body);
 
 				if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest) {
-					return this.mcpHandler.handleRequest(transportContext, jsonrpcRequest).flatMap(jsonrpcResponse -> {
-						try {
-							String json = jsonMapper.writeValueAsString(jsonrpcResponse);
-							return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(json);
-						}
-						catch (IOException e) {
-							logger.error("Failed to serialize response: {}", e.getMessage());
-							return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
-								.bodyValue(new McpError("Failed to serialize response"));
-						}
-					});
+					return this.mcpHandler.handleRequest(transportContext, jsonrpcRequest)
+						.flatMap(jsonrpcResponse -> ServerResponse.ok()
+							.contentType(MediaType.APPLICATION_JSON)
+							.body(JsonBodyInserters.fromValue(jsonMapper, jsonrpcResponse)));
 				}
 				else if (message instanceof McpSchema.JSONRPCNotification jsonrpcNotification) {
 					return this.mcpHandler.handleNotification(transportContext, jsonrpcNotification)
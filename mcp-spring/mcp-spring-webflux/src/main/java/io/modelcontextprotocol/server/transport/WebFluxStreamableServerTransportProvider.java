@@ -8,7 +8,10 @@ import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.json.TypeRef;
 import io.modelcontextprotocol.common.McpTransportContext;
 import io.modelcontextprotocol.server.McpTransportContextExtractor;
+import io.modelcontextprotocol.spec.EventStore;
 import io.modelcontextprotocol.spec.HttpHeaders;
+import io.modelcontextprotocol.spec.InMemoryEventStore;
+import io.modelcontextprotocol.spec.EncodedMessage;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpStreamableServerSession;
@@ -17,6 +20,9 @@ import io.modelcontextprotocol.spec.McpStreamableServerTransportProvider;
 import io.modelcontextprotocol.spec.ProtocolVersions;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.KeepAliveScheduler;
+import io.modelcontextprotocol.util.NotificationBroadcaster;
+import io.modelcontextprotocol.util.SessionLifecycleManager;
+import io.modelcontextprotocol.util.SessionLimits;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,8 +41,9 @@ import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Implementation of a WebFlux based {@link McpStreamableServerTransportProvider}.
@@ -59,25 +66,35 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 
 	private McpStreamableServerSession.Factory sessionFactory;
 
-	private final ConcurrentHashMap<String, McpStreamableServerSession> sessions = new ConcurrentHashMap<>();
+	private final SessionLifecycleManager<McpStreamableServerSession> sessions;
+
+	/**
+	 * Serializes broadcast notifications once for all sessions.
+	 */
+	private final NotificationBroadcaster broadcaster;
 
 	private McpTransportContextExtractor<ServerRequest> contextExtractor;
 
+	private final EventStore eventStore;
+
 	private volatile boolean isClosing = false;
 
 	private KeepAliveScheduler keepAliveScheduler;
 
 	private WebFluxStreamableServerTransportProvider(McpJsonMapper jsonMapper, String mcpEndpoint,
 			McpTransportContextExtractor<ServerRequest> contextExtractor, boolean disallowDelete,
-			Duration keepAliveInterval) {
+			Duration keepAliveInterval, EventStore eventStore, SessionLimits sessionLimits) {
 		Assert.notNull(jsonMapper, "JsonMapper must not be null");
 		Assert.notNull(mcpEndpoint, "Message endpoint must not be null");
 		Assert.notNull(contextExtractor, "Context extractor must not be null");
 
 		this.jsonMapper = jsonMapper;
+		this.broadcaster = new NotificationBroadcaster(jsonMapper);
 		this.mcpEndpoint = mcpEndpoint;
 		this.contextExtractor = contextExtractor;
 		this.disallowDelete = disallowDelete;
+		this.eventStore = eventStore;
+		this.sessions = new SessionLifecycleManager<>(sessionLimits, McpStreamableServerSession::delete);
 		this.routerFunction = RouterFunctions.route()
 			.GET(this.mcpEndpoint, this::handleGet)
 			.POST(this.mcpEndpoint, this::handlePost)
@@ -106,21 +123,66 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 		this.sessionFactory = sessionFactory;
 	}
 
+	@Override
+	public EventStore eventStore() {
+		return this.eventStore;
+	}
+
+	/**
+	 * Returns the session counters of this transport provider: live sessions, evicted
+	 * sessions and rejected session initializations.
+	 * @return the session counters
+	 */
+	public SessionLifecycleManager.Stats sessionStats() {
+		return this.sessions.stats();
+	}
+
+	/**
+	 * Broadcasts a notification to all connected clients. The notification is serialized
+	 * once and the same JSON text is sent to every session. If any errors occur during
+	 * sending to a particular client, they are logged but don't prevent sending to other
+	 * clients.
+	 * @param method The method name for the notification
+	 * @param params The parameters for the notification
+	 * @return A Mono that completes when the broadcast attempt is finished
+	 */
 	@Override
 	public Mono<Void> notifyClients(String method, Object params) {
-		if (sessions.isEmpty()) {
-			logger.debug("No active sessions to broadcast message to");
-			return Mono.empty();
-		}
+		return this.broadcaster.broadcast(this.sessions.asMap(), method, params).then();
+	}
+
+	/**
+	 * Sends a notification to the clients of the given sessions. The notification is
+	 * serialized once and the same JSON text is written to every session.
+	 * @param sessionIds The IDs of the sessions to notify
+	 * @param method The method name for the notification
+	 * @param params The parameters for the notification
+	 * @return A Mono that completes when the delivery attempt is finished
+	 */
+	@Override
+	public Mono<Void> notifyClients(Collection<String> sessionIds, String method, Object params) {
+		return this.broadcaster.broadcast(this.sessions.select(sessionIds), method, params).then();
+	}
+
+	/**
+	 * Sends a logging message notification to the clients whose session accepts its
+	 * level. Sessions are filtered before the notification is serialized.
+	 * @param loggingMessageNotification The logging message to send
+	 * @return A Mono that completes when the delivery attempt is finished
+	 */
+	@Override
+	public Mono<Void> loggingNotification(McpSchema.LoggingMessageNotification loggingMessageNotification) {
+		return this.broadcaster.broadcastLoggingMessage(this.sessions.asMap(), loggingMessageNotification).then();
+	}
 
-		logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
+	@Override
+	public void addSessionCloseListener(Consumer<String> listener) {
+		this.sessions.addRemovalListener(session -> listener.accept(session.getId()));
+	}
 
-		return Flux.fromIterable(sessions.values())
-			.flatMap(session -> session.sendNotification(method, params)
-				.doOnError(
-						e -> logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage()))
-				.onErrorComplete())
-			.then();
+	@Override
+	public boolean supportsRawJson() {
+		return this.jsonMapper.supportsRawJson();
 	}
 
 	@Override
@@ -133,6 +195,7 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 				.then();
 		}).then().doOnSuccess(v -> {
 			sessions.clear();
+			sessions.close();
 			if (this.keepAliveScheduler != null) {
 				this.keepAliveScheduler.shutdown();
 			}
@@ -187,23 +250,21 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 				return ServerResponse.notFound().build();
 			}
 
-			if (!request.headers().header(HttpHeaders.LAST_EVENT_ID).isEmpty()) {
-				String lastId = request.headers().asHttpHeaders().getFirst(HttpHeaders.LAST_EVENT_ID);
-				return ServerResponse.ok()
-					.contentType(MediaType.TEXT_EVENT_STREAM)
-					.body(session.replay(lastId)
-						.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext)),
-							ServerSentEvent.class);
-			}
+			// A replay request resumes the stream after sending the missed events
+			String lastId = request.headers().asHttpHeaders().getFirst(HttpHeaders.LAST_EVENT_ID);
+			Flux<EventStore.StoredEvent> missedEvents = (lastId != null) ? session.replayEvents(lastId) : Flux.empty();
 
 			return ServerResponse.ok()
 				.contentType(MediaType.TEXT_EVENT_STREAM)
 				.body(Flux.<ServerSentEvent<?>>create(sink -> {
 					WebFluxStreamableMcpSessionTransport sessionTransport = new WebFluxStreamableMcpSessionTransport(
 							sink);
-					McpStreamableServerSession.McpStreamableServerSessionStream listeningStream = session
-						.listeningStream(sessionTransport);
-					sink.onDispose(listeningStream::close);
+					missedEvents.concatMap(event -> sessionTransport.sendMessage(event.message(), event.eventId()))
+						.subscribe(null, sink::error, () -> {
+							McpStreamableServerSession.McpStreamableServerSessionStream listeningStream = session
+								.listeningStream(sessionTransport);
+							sink.onDispose(listeningStream::close);
+						});
 					// TODO Clarify why the outer context is not present in the
 					// Flux.create sink?
 				}).contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext)), ServerSentEvent.class);
@@ -229,7 +290,7 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 			return ServerResponse.badRequest().build();
 		}
 
-		return request.bodyToMono(String.class).<ServerResponse>flatMap(body -> {
+		return request.bodyToMono(byte[].class).<ServerResponse>flatMap(body -> {
 			try {
 				McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, body);
 				if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest
@@ -240,22 +301,17 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 							typeReference);
 					McpStreamableServerSession.McpStreamableServerSessionInit init = this.sessionFactory
 						.startSession(initializeRequest);
-					sessions.put(init.session().getId(), init.session());
-					return init.initResult().map(initializeResult -> {
-						McpSchema.JSONRPCResponse jsonrpcResponse = new McpSchema.JSONRPCResponse(
-								McpSchema.JSONRPC_VERSION, jsonrpcRequest.id(), initializeResult, null);
-						try {
-							return this.jsonMapper.writeValueAsString(jsonrpcResponse);
-						}
-						catch (IOException e) {
-							logger.warn("Failed to serialize initResponse", e);
-							throw Exceptions.propagate(e);
-						}
-					})
-						.flatMap(initResult -> ServerResponse.ok()
+					if (!sessions.register(init.session().getId(), init.session())) {
+						return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+							.bodyValue(new McpError("Too many active sessions"));
+					}
+					return init.initResult()
+						.map(initializeResult -> new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION,
+								jsonrpcRequest.id(), initializeResult, null))
+						.flatMap(jsonrpcResponse -> ServerResponse.ok()
 							.contentType(MediaType.APPLICATION_JSON)
 							.header(HttpHeaders.MCP_SESSION_ID, init.session().getId())
-							.bodyValue(initResult));
+							.body(JsonBodyInserters.fromValue(this.jsonMapper, jsonrpcResponse)));
 				}
 
 				if (request.headers().header(HttpHeaders.MCP_SESSION_ID).isEmpty()) {
@@ -330,7 +386,9 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 				return ServerResponse.notFound().build();
 			}
 
-			return session.delete().then(ServerResponse.ok().build());
+			return session.delete()
+				.then(Mono.fromRunnable(() -> this.sessions.remove(sessionId)))
+				.then(ServerResponse.ok().build());
 		}).contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext));
 	}
 
@@ -349,14 +407,23 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 
 		@Override
 		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message, String messageId) {
-			return Mono.fromSupplier(() -> {
+			return sendJson(Mono.fromSupplier(() -> {
 				try {
 					return jsonMapper.writeValueAsString(message);
 				}
 				catch (IOException e) {
 					throw Exceptions.propagate(e);
 				}
-			}).doOnNext(jsonText -> {
+			}), messageId);
+		}
+
+		@Override
+		public Mono<Void> sendEncodedMessage(EncodedMessage message, String messageId) {
+			return sendJson(Mono.just(message.json()), messageId);
+		}
+
+		private Mono<Void> sendJson(Mono<String> json, String messageId) {
+			return json.doOnNext(jsonText -> {
 				ServerSentEvent<Object> event = ServerSentEvent.builder()
 					.id(messageId)
 					.event(MESSAGE_EVENT_TYPE)
@@ -410,6 +477,10 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 
 		private Duration keepAliveInterval;
 
+		private EventStore eventStore;
+
+		private SessionLimits sessionLimits = SessionLimits.NONE;
+
 		private Builder() {
 			// used by a static method
 		}
@@ -477,6 +548,32 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 			return this;
 		}
 
+		/**
+		 * Sets the store recording the messages sent on session streams. When set,
+		 * clients can resume a dropped SSE stream by sending the Last-Event-ID header and
+		 * receive the messages they missed. If null, streams cannot be resumed.
+		 * @param eventStore The event store, e.g. an {@link InMemoryEventStore}
+		 * @return this builder instance
+		 */
+		public Builder eventStore(EventStore eventStore) {
+			this.eventStore = eventStore;
+			return this;
+		}
+
+		/**
+		 * Sets the limits applied to the sessions: how long a session may stay idle
+		 * before it is evicted and how many sessions may be live. By default sessions are
+		 * kept until they are deleted.
+		 * @param sessionLimits The session limits. Must not be null.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if sessionLimits is null
+		 */
+		public Builder sessionLimits(SessionLimits sessionLimits) {
+			Assert.notNull(sessionLimits, "Session limits must not be null");
+			this.sessionLimits = sessionLimits;
+			return this;
+		}
+
 		/**
 		 * Builds a new instance of {@link WebFluxStreamableServerTransportProvider} with
 		 * the configured settings.
@@ -487,7 +584,7 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 			Assert.notNull(mcpEndpoint, "Message endpoint must be set");
 			return new WebFluxStreamableServerTransportProvider(
 					jsonMapper == null ? McpJsonMapper.getDefault() : jsonMapper, mcpEndpoint, contextExtractor,
-					disallowDelete, keepAliveInterval);
+					disallowDelete, keepAliveInterval, eventStore, sessionLimits);
 		}
 
 	}
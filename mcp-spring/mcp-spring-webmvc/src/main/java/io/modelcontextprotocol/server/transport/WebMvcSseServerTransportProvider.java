@@ -6,14 +6,18 @@ package io.modelcontextprotocol.server.transport;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import io.modelcontextprotocol.common.McpTransportContext;
 import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.json.TypeRef;
 import io.modelcontextprotocol.server.McpTransportContextExtractor;
+import io.modelcontextprotocol.spec.EncodedMessage;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpServerSession;
@@ -22,10 +26,14 @@ import io.modelcontextprotocol.spec.McpServerTransportProvider;
 import io.modelcontextprotocol.spec.ProtocolVersions;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.KeepAliveScheduler;
+import io.modelcontextprotocol.util.NotificationBroadcaster;
+import io.modelcontextprotocol.util.SessionLifecycleManager;
+import io.modelcontextprotocol.util.SessionLimits;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.function.RouterFunction;
@@ -62,9 +70,9 @@ import org.springframework.web.util.UriComponentsBuilder;
  * </ul>
  *
  * <p>
- * This implementation uses {@link ConcurrentHashMap} to safely manage multiple client
- * sessions in a thread-safe manner. Each client session is assigned a unique ID and
- * maintains its own SSE connection.
+ * This implementation uses a {@link SessionLifecycleManager} to safely manage multiple
+ * client sessions in a thread-safe manner. Each client session is assigned a unique ID
+ * and maintains its own SSE connection.
  *
  * @author Christian Tzolov
  * @author Alexandros Pappas
@@ -105,9 +113,15 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 	private McpServerSession.Factory sessionFactory;
 
 	/**
-	 * Map of active client sessions, keyed by session ID.
+	 * Active client sessions, keyed by session ID.
 	 */
-	private final ConcurrentHashMap<String, McpServerSession> sessions = new ConcurrentHashMap<>();
+	private final SessionLifecycleManager<McpServerSession> sessions;
+
+	/**
+	 * Serializes broadcast notifications once for all sessions, which are written to off
+	 * the thread of the caller as writes block.
+	 */
+	private final NotificationBroadcaster broadcaster;
 
 	private McpTransportContextExtractor<ServerRequest> contextExtractor;
 
@@ -131,11 +145,12 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 	 * @param keepAliveInterval The interval for sending keep-alive messages to clients.
 	 * @param contextExtractor The contextExtractor to fill in a
 	 * {@link McpTransportContext}.
+	 * @param sessionLimits The limits applied to the sessions.
 	 * @throws IllegalArgumentException if any parameter is null
 	 */
 	private WebMvcSseServerTransportProvider(McpJsonMapper jsonMapper, String baseUrl, String messageEndpoint,
 			String sseEndpoint, Duration keepAliveInterval,
-			McpTransportContextExtractor<ServerRequest> contextExtractor) {
+			McpTransportContextExtractor<ServerRequest> contextExtractor, SessionLimits sessionLimits) {
 		Assert.notNull(jsonMapper, "McpJsonMapper must not be null");
 		Assert.notNull(baseUrl, "Message base URL must not be null");
 		Assert.notNull(messageEndpoint, "Message endpoint must not be null");
@@ -143,10 +158,12 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 		Assert.notNull(contextExtractor, "Context extractor must not be null");
 
 		this.jsonMapper = jsonMapper;
+		this.broadcaster = new NotificationBroadcaster(jsonMapper, Schedulers.boundedElastic());
 		this.baseUrl = baseUrl;
 		this.messageEndpoint = messageEndpoint;
 		this.sseEndpoint = sseEndpoint;
 		this.contextExtractor = contextExtractor;
+		this.sessions = new SessionLifecycleManager<>(sessionLimits, McpServerSession::closeGracefully);
 		this.routerFunction = RouterFunctions.route()
 			.GET(this.sseEndpoint, this::handleSseConnection)
 			.POST(this.messageEndpoint, this::handleMessage)
@@ -169,6 +186,15 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 		return List.of(ProtocolVersions.MCP_2024_11_05);
 	}
 
+	/**
+	 * Returns the session counters of this transport provider: live sessions, evicted
+	 * sessions and rejected session initializations.
+	 * @return the session counters
+	 */
+	public SessionLifecycleManager.Stats sessionStats() {
+		return this.sessions.stats();
+	}
+
 	@Override
 	public void setSessionFactory(McpServerSession.Factory sessionFactory) {
 		this.sessionFactory = sessionFactory;
@@ -176,28 +202,58 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 
 	/**
 	 * Broadcasts a notification to all connected clients through their SSE connections.
-	 * The message is serialized to JSON and sent as an SSE event with type "message". If
-	 * any errors occur during sending to a particular client, they are logged but don't
-	 * prevent sending to other clients.
+	 * The message is serialized to JSON once and the same text is sent to every session
+	 * as an SSE event with type "message". If any errors occur during sending to a
+	 * particular client, they are logged but don't prevent sending to other clients.
 	 * @param method The method name for the notification
 	 * @param params The parameters for the notification
 	 * @return A Mono that completes when the broadcast attempt is finished
 	 */
 	@Override
 	public Mono<Void> notifyClients(String method, Object params) {
-		if (sessions.isEmpty()) {
-			logger.debug("No active sessions to broadcast message to");
-			return Mono.empty();
-		}
+		return this.broadcaster.broadcast(this.sessions.asMap(), method, params).then();
+	}
+
+	/**
+	 * Sends a notification to the clients of the given sessions. The notification is
+	 * serialized once and the same JSON text is written to every session. Sessions are
+	 * registered under the ID of their SSE connection, so they are matched by their
+	 * {@link McpServerSession#getId() session ID}.
+	 * @param sessionIds The IDs of the sessions to notify
+	 * @param method The method name for the notification
+	 * @param params The parameters for the notification
+	 * @return A Mono that completes when the delivery attempt is finished
+	 */
+	@Override
+	public Mono<Void> notifyClients(Collection<String> sessionIds, String method, Object params) {
+		Map<String, McpServerSession> targets = new HashMap<>();
+		this.sessions.asMap().forEach((connectionId, session) -> {
+			if (sessionIds.contains(session.getId())) {
+				targets.put(connectionId, session);
+			}
+		});
+		return this.broadcaster.broadcast(targets, method, params).then();
+	}
+
+	/**
+	 * Sends a logging message notification to the clients whose session accepts its
+	 * level. Sessions are filtered before the notification is serialized.
+	 * @param loggingMessageNotification The logging message to send
+	 * @return A Mono that completes when the delivery attempt is finished
+	 */
+	@Override
+	public Mono<Void> loggingNotification(McpSchema.LoggingMessageNotification loggingMessageNotification) {
+		return this.broadcaster.broadcastLoggingMessage(this.sessions.asMap(), loggingMessageNotification).then();
+	}
 
-		logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
+	@Override
+	public void addSessionCloseListener(Consumer<String> listener) {
+		this.sessions.addRemovalListener(session -> listener.accept(session.getId()));
+	}
 
-		return Flux.fromIterable(sessions.values())
-			.flatMap(session -> session.sendNotification(method, params)
-				.doOnError(
-						e -> logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage()))
-				.onErrorComplete())
-			.then();
+	@Override
+	public boolean supportsRawJson() {
+		return this.jsonMapper.supportsRawJson();
 	}
 
 	/**
@@ -217,6 +273,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 		}).flatMap(McpServerSession::closeGracefully).then().doOnSuccess(v -> {
 			logger.debug("Graceful shutdown completed");
 			sessions.clear();
+			sessions.close();
 			if (this.keepAliveScheduler != null) {
 				this.keepAliveScheduler.shutdown();
 			}
@@ -255,6 +312,10 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 			return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE).body("Server is shutting down");
 		}
 
+		if (!this.sessions.admitsNewSession()) {
+			return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE).body("Too many active sessions");
+		}
+
 		// Send initial endpoint event
 		return ServerResponse.sse(sseBuilder -> {
 			WebMvcMcpSessionTransport sessionTransport = new WebMvcMcpSessionTransport(sseBuilder);
@@ -269,7 +330,10 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 				logger.debug("SSE connection timed out for session: {}", sessionId);
 				sessions.remove(sessionId);
 			});
-			this.sessions.put(sessionId, session);
+			if (!this.sessions.register(sessionId, session)) {
+				sseBuilder.error(new McpError("Too many active sessions"));
+				return;
+			}
 
 			try {
 				sseBuilder.event(ENDPOINT_EVENT_TYPE).data(buildEndpointUrl(sessionId));
@@ -327,7 +391,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 		try {
 			final McpTransportContext transportContext = this.contextExtractor.extract(request);
 
-			String body = request.body(String.class);
+			byte[] body = request.body(byte[].class);
 			McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, body);
 
 			// Process the message through the session's handle method
@@ -377,10 +441,25 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 		 */
 		@Override
 		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+			return writeMessage(message, null);
+		}
+
+		/**
+		 * Sends an already serialized JSON-RPC message to the client through the SSE
+		 * connection.
+		 * @param message The encoded JSON-RPC message to send
+		 * @return A Mono that completes when the message has been sent
+		 */
+		@Override
+		public Mono<Void> sendEncodedMessage(EncodedMessage message) {
+			return writeMessage(message.message(), message.json());
+		}
+
+		private Mono<Void> writeMessage(McpSchema.JSONRPCMessage message, String json) {
 			return Mono.fromRunnable(() -> {
 				sseBuilderLock.lock();
 				try {
-					String jsonText = jsonMapper.writeValueAsString(message);
+					String jsonText = (json != null) ? json : jsonMapper.writeValueAsString(message);
 					sseBuilder.event(MESSAGE_EVENT_TYPE).data(jsonText);
 				}
 				catch (Exception e) {
@@ -471,6 +550,8 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 
 		private Duration keepAliveInterval;
 
+		private SessionLimits sessionLimits = SessionLimits.NONE;
+
 		private McpTransportContextExtractor<ServerRequest> contextExtractor = (
 				serverRequest) -> McpTransportContext.EMPTY;
 
@@ -533,6 +614,20 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 			return this;
 		}
 
+		/**
+		 * Sets the limits applied to the sessions: how long a session may stay idle
+		 * before it is evicted and how many sessions may be live. By default sessions are
+		 * kept until they are deleted.
+		 * @param sessionLimits The session limits. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if sessionLimits is null
+		 */
+		public Builder sessionLimits(SessionLimits sessionLimits) {
+			Assert.notNull(sessionLimits, "Session limits must not be null");
+			this.sessionLimits = sessionLimits;
+			return this;
+		}
+
 		/**
 		 * Sets the context extractor that allows providing the MCP feature
 		 * implementations to inspect HTTP transport level metadata that was present at
@@ -560,7 +655,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 				throw new IllegalStateException("MessageEndpoint must be set");
 			}
 			return new WebMvcSseServerTransportProvider(jsonMapper == null ? McpJsonMapper.getDefault() : jsonMapper,
-					baseUrl, messageEndpoint, sseEndpoint, keepAliveInterval, contextExtractor);
+					baseUrl, messageEndpoint, sseEndpoint, keepAliveInterval, contextExtractor, sessionLimits);
 		}
 
 	}
@@ -70,6 +70,11 @@ public class WebMvcStatelessServerTransport implements McpStatelessServerTranspo
 		this.mcpHandler = mcpHandler;
 	}
 
+	@Override
+	public boolean supportsRawJson() {
+		return this.jsonMapper.supportsRawJson();
+	}
+
 	@Override
 	public Mono<Void> closeGracefully() {
 		return Mono.fromRunnable(() -> this.isClosing = true);
@@ -109,7 +114,7 @@ public class WebMvcStatelessServerTransport implements McpStatelessServerTranspo
 		}
 
 		try {
-			String body = request.body(String.class);
+			byte[] body = request.body(byte[].class);
 			McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, body);
 
 			if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest) {
@@ -118,7 +123,14 @@ public class WebMvcStatelessServerTransport implements McpStatelessServerTranspo
 						.handleRequest(transportContext, jsonrpcRequest)
 						.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
 						.block();
-					return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(jsonrpcResponse);
+					// Serialize with the MCP mapper rather than the message converters of
+					// the application, which know nothing about the MCP types
+					return ServerResponse.ok()
+						.contentType(MediaType.APPLICATION_JSON)
+						.build((servletRequest, servletResponse) -> {
+							jsonMapper.writeValue(servletResponse.getOutputStream(), jsonrpcResponse);
+							return null;
+						});
 				}
 				catch (Exception e) {
 					logger.error("Failed to handle request: {}", e.getMessage());
@@ -6,9 +6,10 @@ package io.modelcontextprotocol.server.transport;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import io.modelcontextprotocol.json.McpJsonMapper;
 import org.slf4j.Logger;
@@ -25,7 +26,10 @@ import io.modelcontextprotocol.json.TypeRef;
 
 import io.modelcontextprotocol.common.McpTransportContext;
 import io.modelcontextprotocol.server.McpTransportContextExtractor;
+import io.modelcontextprotocol.spec.EventStore;
 import io.modelcontextprotocol.spec.HttpHeaders;
+import io.modelcontextprotocol.spec.InMemoryEventStore;
+import io.modelcontextprotocol.spec.EncodedMessage;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpStreamableServerSession;
@@ -34,8 +38,12 @@ import io.modelcontextprotocol.spec.McpStreamableServerTransportProvider;
 import io.modelcontextprotocol.spec.ProtocolVersions;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.KeepAliveScheduler;
+import io.modelcontextprotocol.util.NotificationBroadcaster;
+import io.modelcontextprotocol.util.SessionLifecycleManager;
+import io.modelcontextprotocol.util.SessionLimits;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Server-side implementation of the Model Context Protocol (MCP) streamable transport
@@ -89,12 +97,24 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 	private McpStreamableServerSession.Factory sessionFactory;
 
 	/**
-	 * Map of active client sessions, keyed by mcp-session-id.
+	 * Active client sessions, keyed by mcp-session-id.
 	 */
-	private final ConcurrentHashMap<String, McpStreamableServerSession> sessions = new ConcurrentHashMap<>();
+	private final SessionLifecycleManager<McpStreamableServerSession> sessions;
+
+	/**
+	 * Serializes broadcast notifications once for all sessions, which are written to off
+	 * the thread of the caller as writes block.
+	 */
+	private final NotificationBroadcaster broadcaster;
 
 	private McpTransportContextExtractor<ServerRequest> contextExtractor;
 
+	/**
+	 * Store for the messages sent on session streams, or null if streams cannot be
+	 * resumed.
+	 */
+	private final EventStore eventStore;
+
 	/**
 	 * Flag indicating if the transport is shutting down.
 	 */
@@ -111,19 +131,24 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 	 * @param mcpEndpoint The endpoint URI where clients should send their JSON-RPC
 	 * messages via HTTP. This endpoint will handle GET, POST, and DELETE requests.
 	 * @param disallowDelete Whether to disallow DELETE requests on the endpoint.
+	 * @param eventStore The store for messages sent on session streams, or null.
+	 * @param sessionLimits The limits applied to the sessions.
 	 * @throws IllegalArgumentException if any parameter is null
 	 */
 	private WebMvcStreamableServerTransportProvider(McpJsonMapper jsonMapper, String mcpEndpoint,
 			boolean disallowDelete, McpTransportContextExtractor<ServerRequest> contextExtractor,
-			Duration keepAliveInterval) {
+			Duration keepAliveInterval, EventStore eventStore, SessionLimits sessionLimits) {
 		Assert.notNull(jsonMapper, "McpJsonMapper must not be null");
 		Assert.notNull(mcpEndpoint, "MCP endpoint must not be null");
 		Assert.notNull(contextExtractor, "McpTransportContextExtractor must not be null");
 
 		this.jsonMapper = jsonMapper;
+		this.broadcaster = new NotificationBroadcaster(jsonMapper, Schedulers.boundedElastic());
 		this.mcpEndpoint = mcpEndpoint;
 		this.disallowDelete = disallowDelete;
 		this.contextExtractor = contextExtractor;
+		this.eventStore = eventStore;
+		this.sessions = new SessionLifecycleManager<>(sessionLimits, McpStreamableServerSession::delete);
 		this.routerFunction = RouterFunctions.route()
 			.GET(this.mcpEndpoint, this::handleGet)
 			.POST(this.mcpEndpoint, this::handlePost)
@@ -152,33 +177,66 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 		this.sessionFactory = sessionFactory;
 	}
 
+	@Override
+	public EventStore eventStore() {
+		return this.eventStore;
+	}
+
+	/**
+	 * Returns the session counters of this transport provider: live sessions, evicted
+	 * sessions and rejected session initializations.
+	 * @return the session counters
+	 */
+	public SessionLifecycleManager.Stats sessionStats() {
+		return this.sessions.stats();
+	}
+
 	/**
 	 * Broadcasts a notification to all connected clients through their SSE connections.
-	 * If any errors occur during sending to a particular client, they are logged but
-	 * don't prevent sending to other clients.
+	 * The notification is serialized once and the same JSON text is sent to every
+	 * session. If any errors occur during sending to a particular client, they are logged
+	 * but don't prevent sending to other clients.
 	 * @param method The method name for the notification
 	 * @param params The parameters for the notification
 	 * @return A Mono that completes when the broadcast attempt is finished
 	 */
 	@Override
 	public Mono<Void> notifyClients(String method, Object params) {
-		if (this.sessions.isEmpty()) {
-			logger.debug("No active sessions to broadcast message to");
-			return Mono.empty();
-		}
+		return this.broadcaster.broadcast(this.sessions.asMap(), method, params).then();
+	}
+
+	/**
+	 * Sends a notification to the clients of the given sessions. The notification is
+	 * serialized once and the same JSON text is written to every session.
+	 * @param sessionIds The IDs of the sessions to notify
+	 * @param method The method name for the notification
+	 * @param params The parameters for the notification
+	 * @return A Mono that completes when the delivery attempt is finished
+	 */
+	@Override
+	public Mono<Void> notifyClients(Collection<String> sessionIds, String method, Object params) {
+		return this.broadcaster.broadcast(this.sessions.select(sessionIds), method, params).then();
+	}
 
-		logger.debug("Attempting to broadcast message to {} active sessions", this.sessions.size());
+	/**
+	 * Sends a logging message notification to the clients whose session accepts its
+	 * level. Sessions are filtered before the notification is serialized.
+	 * @param loggingMessageNotification The logging message to send
+	 * @return A Mono that completes when the delivery attempt is finished
+	 */
+	@Override
+	public Mono<Void> loggingNotification(McpSchema.LoggingMessageNotification loggingMessageNotification) {
+		return this.broadcaster.broadcastLoggingMessage(this.sessions.asMap(), loggingMessageNotification).then();
+	}
 
-		return Mono.fromRunnable(() -> {
-			this.sessions.values().parallelStream().forEach(session -> {
-				try {
-					session.sendNotification(method, params).block();
-				}
-				catch (Exception e) {
-					logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage());
-				}
-			});
-		});
+	@Override
+	public void addSessionCloseListener(Consumer<String> listener) {
+		this.sessions.addRemovalListener(session -> listener.accept(session.getId()));
+	}
+
+	@Override
+	public boolean supportsRawJson() {
+		return this.jsonMapper.supportsRawJson();
 	}
 
 	/**
@@ -203,6 +261,7 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 			this.sessions.clear();
 			logger.debug("Graceful shutdown completed");
 		}).then().doOnSuccess(v -> {
+			this.sessions.close();
 			if (this.keepAliveScheduler != null) {
 				this.keepAliveScheduler.shutdown();
 			}
@@ -267,36 +326,26 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 					String lastId = request.headers().asHttpHeaders().getFirst(HttpHeaders.LAST_EVENT_ID);
 
 					try {
-						session.replay(lastId)
+						session.replayEvents(lastId)
+							.concatMap(event -> sessionTransport.sendMessage(event.message(), event.eventId()))
 							.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-							.toIterable()
-							.forEach(message -> {
-								try {
-									sessionTransport.sendMessage(message)
-										.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-										.block();
-								}
-								catch (Exception e) {
-									logger.error("Failed to replay message: {}", e.getMessage());
-									sseBuilder.error(e);
-								}
-							});
+							.blockLast();
 					}
 					catch (Exception e) {
 						logger.error("Failed to replay messages: {}", e.getMessage());
 						sseBuilder.error(e);
+						return;
 					}
 				}
-				else {
-					// Establish new listening stream
-					McpStreamableServerSession.McpStreamableServerSessionStream listeningStream = session
-						.listeningStream(sessionTransport);
 
-					sseBuilder.onComplete(() -> {
-						logger.debug("SSE connection completed for session: {}", sessionId);
-						listeningStream.close();
-					});
-				}
+				// Establish new listening stream, resuming the replayed one if any
+				McpStreamableServerSession.McpStreamableServerSessionStream listeningStream = session
+					.listeningStream(sessionTransport);
+
+				sseBuilder.onComplete(() -> {
+					logger.debug("SSE connection completed for session: {}", sessionId);
+					listeningStream.close();
+				});
 			}, Duration.ZERO);
 		}
 		catch (Exception e) {
@@ -325,7 +374,7 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 		McpTransportContext transportContext = this.contextExtractor.extract(request);
 
 		try {
-			String body = request.body(String.class);
+			byte[] body = request.body(byte[].class);
 			McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, body);
 
 			// Handle initialization request
@@ -336,7 +385,10 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 						});
 				McpStreamableServerSession.McpStreamableServerSessionInit init = this.sessionFactory
 					.startSession(initializeRequest);
-				this.sessions.put(init.session().getId(), init.session());
+				if (!this.sessions.register(init.session().getId(), init.session())) {
+					return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+						.body(new McpError("Too many active sessions"));
+				}
 
 				try {
 					McpSchema.InitializeResult initResult = init.initResult().block();
@@ -504,6 +556,22 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 		 */
 		@Override
 		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message, String messageId) {
+			return writeMessage(message, null, messageId);
+		}
+
+		/**
+		 * Sends an already serialized JSON-RPC message to the client through the SSE
+		 * connection with a specific message ID.
+		 * @param message The encoded JSON-RPC message to send
+		 * @param messageId The message ID for SSE event identification
+		 * @return A Mono that completes when the message has been sent
+		 */
+		@Override
+		public Mono<Void> sendEncodedMessage(EncodedMessage message, String messageId) {
+			return writeMessage(message.message(), message.json(), messageId);
+		}
+
+		private Mono<Void> writeMessage(McpSchema.JSONRPCMessage message, String json, String messageId) {
 			return Mono.fromRunnable(() -> {
 				if (this.closed) {
 					logger.debug("Attempted to send message to closed session: {}", this.sessionId);
@@ -517,7 +585,7 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 						return;
 					}
 
-					String jsonText = jsonMapper.writeValueAsString(message);
+					String jsonText = (json != null) ? json : jsonMapper.writeValueAsString(message);
 					this.sseBuilder.id(messageId != null ? messageId : this.sessionId)
 						.event(MESSAGE_EVENT_TYPE)
 						.data(jsonText);
@@ -609,6 +677,10 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 
 		private Duration keepAliveInterval;
 
+		private EventStore eventStore;
+
+		private SessionLimits sessionLimits = SessionLimits.NONE;
+
 		/**
 		 * Sets the McpJsonMapper to use for JSON serialization/deserialization of MCP
 		 * messages.
@@ -672,6 +744,32 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 			return this;
 		}
 
+		/**
+		 * Sets the store recording the messages sent on session streams. When set,
+		 * clients can resume a dropped SSE stream by sending the Last-Event-ID header and
+		 * receive the messages they missed. If null, streams cannot be resumed.
+		 * @param eventStore The event store, e.g. an {@link InMemoryEventStore}
+		 * @return this builder instance
+		 */
+		public Builder eventStore(EventStore eventStore) {
+			this.eventStore = eventStore;
+			return this;
+		}
+
+		/**
+		 * Sets the limits applied to the sessions: how long a session may stay idle
+		 * before it is evicted and how many sessions may be live. By default sessions are
+		 * kept until they are deleted.
+		 * @param sessionLimits The session limits. Must not be null.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if sessionLimits is null
+		 */
+		public Builder sessionLimits(SessionLimits sessionLimits) {
+			Assert.notNull(sessionLimits, "Session limits must not be null");
+			this.sessionLimits = sessionLimits;
+			return this;
+		}
+
 		/**
 		 * Builds a new instance of {@link WebMvcStreamableServerTransportProvider} with
 		 * the configured settings.
@@ -682,7 +780,7 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 			Assert.notNull(this.mcpEndpoint, "MCP endpoint must be set");
 			return new WebMvcStreamableServerTransportProvider(
 					jsonMapper == null ? McpJsonMapper.getDefault() : jsonMapper, mcpEndpoint, disallowDelete,
-					contextExtractor, keepAliveInterval);
+					contextExtractor, keepAliveInterval, eventStore, sessionLimits);
 		}
 
 	}
@@ -23,10 +23,12 @@ import java.util.stream.Collectors;
 
 import io.modelcontextprotocol.client.McpClient;
 import io.modelcontextprotocol.common.McpTransportContext;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
 import io.modelcontextprotocol.server.McpServer;
 import io.modelcontextprotocol.server.McpServerFeatures;
 import io.modelcontextprotocol.server.McpSyncServer;
 import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.server.ProgressThrottle;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
@@ -52,6 +54,7 @@ import net.javacrumbs.jsonunit.core.Option;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -1254,6 +1257,104 @@ public abstract class AbstractMcpClientServerIntegrationTests {
 	// ---------------------------------------
 	// Completion Tests
 	// ---------------------------------------
+	@ParameterizedTest(name = "{0} : {displayName} ")
+	@MethodSource("clientsForTesting")
+	void testThrottledProgressNotification(String clientType) throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(2);
+		List<McpSchema.ProgressNotification> receivedNotifications = new CopyOnWriteArrayList<>();
+
+		var clientBuilder = clientBuilders.get(clientType);
+
+		McpServerFeatures.AsyncToolSpecification tool = McpServerFeatures.AsyncToolSpecification.builder()
+			.tool(McpSchema.Tool.builder()
+				.name("throttled-progress-test")
+				.description("Test throttled progress notifications")
+				.inputSchema(EMPTY_JSON_SCHEMA)
+				.build())
+			.callHandler((exchange, request) -> {
+				var progressToken = (String) request.meta().get("progressToken");
+				return Flux.range(1, 500)
+					.concatMap(row -> exchange
+						.progressNotification(new McpSchema.ProgressNotification(progressToken, row, 500.0, null)))
+					.then(Mono.just(CallToolResult.builder()
+						.content(List.of(new McpSchema.TextContent("Export completed")))
+						.build()));
+			})
+			.build();
+
+		var mcpServer = prepareAsyncServerBuilder().serverInfo("test-server", "1.0.0")
+			.capabilities(ServerCapabilities.builder().tools(true).build())
+			.progressThrottle(ProgressThrottle.builder().interval(Duration.ofHours(1)).build())
+			.tools(tool)
+			.build();
+
+		try (var mcpClient = clientBuilder.progressConsumer(notification -> {
+			receivedNotifications.add(notification);
+			latch.countDown();
+		}).build()) {
+
+			mcpClient.initialize();
+
+			CallToolResult result = mcpClient.callTool(McpSchema.CallToolRequest.builder()
+				.name("throttled-progress-test")
+				.meta(Map.of("progressToken", "export-token"))
+				.build());
+			assertThat(((McpSchema.TextContent) result.content().get(0)).text()).isEqualTo("Export completed");
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).as("Should receive notifications in reasonable time").isTrue();
+
+			// The first progress is sent right away and the final one before the result,
+			// the client may deliver them in any order
+			assertThat(receivedNotifications).extracting(McpSchema.ProgressNotification::progress)
+				.containsExactlyInAnyOrder(1.0, 500.0);
+		}
+		finally {
+			mcpServer.closeGracefully().block();
+		}
+	}
+
+	@ParameterizedTest(name = "{0} : Cancelled tool call")
+	@MethodSource("clientsForTesting")
+	void testToolCallCancelledOnClientTimeout(String clientType) throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch disposed = new CountDownLatch(1);
+		AtomicReference<McpAsyncServerExchange> exchangeRef = new AtomicReference<>();
+
+		var clientBuilder = clientBuilders.get(clientType);
+
+		McpServerFeatures.AsyncToolSpecification tool = McpServerFeatures.AsyncToolSpecification.builder()
+			.tool(McpSchema.Tool.builder()
+				.name("never-ending")
+				.description("Test cancellation of a tool call")
+				.inputSchema(EMPTY_JSON_SCHEMA)
+				.build())
+			.callHandler((exchange, request) -> Mono.<CallToolResult>never().doOnSubscribe(s -> {
+				exchangeRef.set(exchange);
+				started.countDown();
+			}).doOnCancel(disposed::countDown))
+			.build();
+
+		var mcpServer = prepareAsyncServerBuilder().serverInfo("test-server", "1.0.0")
+			.capabilities(ServerCapabilities.builder().tools(true).build())
+			.tools(tool)
+			.build();
+
+		try (var mcpClient = clientBuilder.requestTimeout(Duration.ofSeconds(2)).build()) {
+
+			mcpClient.initialize();
+
+			assertThatExceptionOfType(RuntimeException.class)
+				.isThrownBy(() -> mcpClient.callTool(McpSchema.CallToolRequest.builder().name("never-ending").build()));
+
+			assertThat(started.await(5, TimeUnit.SECONDS)).as("Tool call should have started").isTrue();
+			assertThat(disposed.await(5, TimeUnit.SECONDS)).as("Tool call should be disposed on cancellation").isTrue();
+			assertThat(exchangeRef.get().isCancelled()).isTrue();
+		}
+		finally {
+			mcpServer.closeGracefully().block();
+		}
+	}
+
 	@ParameterizedTest(name = "{0} : Completion call")
 	@MethodSource("clientsForTesting")
 	void testCompletionShouldReturnExpectedSuggestions(String clientType) {